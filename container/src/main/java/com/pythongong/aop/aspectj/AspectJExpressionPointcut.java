@@ -56,6 +56,11 @@ public class AspectJExpressionPointcut implements MethodMatcher {
 
     private static final Set<PointcutPrimitive> SUPPORTED_PRIMITIVES = new HashSet<PointcutPrimitive>(1);
 
+    /**
+     * The source of the pointcut expression.
+     */
+    private final String expression;
+
     /**
      * The compiled AspectJ pointcut expression used for method matching.
      */
@@ -75,6 +80,7 @@ public class AspectJExpressionPointcut implements MethodMatcher {
      */
     public AspectJExpressionPointcut(String expression) {
         CheckUtils.emptyString(expression, "AspectJ expression must not be empty");
+        this.expression = expression;
         PointcutParser pointcutParser = PointcutParser
                 .getPointcutParserSupportingSpecifiedPrimitivesAndUsingContextClassloaderForResolution(
                         SUPPORTED_PRIMITIVES);
@@ -96,8 +102,36 @@ public class AspectJExpressionPointcut implements MethodMatcher {
         return pointcutExpression.couldMatchJoinPointsInType(targetClass);
     }
 
+    /**
+     * Returns the source of the pointcut expression.
+     *
+     * @return the AspectJ expression this pointcut was created from
+     */
+    public String getExpression() {
+        return expression;
+    }
+
     public MethodMatcher methodMatcher() {
         return this;
     }
 
+    /**
+     * Pointcuts are equal when they are compiled from the same expression.
+     *
+     * @param other the object to compare with
+     * @return true if the other pointcut has the same expression
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        return other instanceof AspectJExpressionPointcut pointcut && expression.equals(pointcut.expression);
+    }
+
+    @Override
+    public int hashCode() {
+        return expression.hashCode();
+    }
+
 }
@@ -18,6 +18,7 @@ package com.pythongong.aop.proxy;
 import java.lang.reflect.InvocationTargetException;
 import com.pythongong.aop.AdvisedSupport;
 import com.pythongong.exception.AopConfigException;
+import com.pythongong.jfr.ProxyGenerationEvent;
 import com.pythongong.util.CheckUtils;
 import com.pythongong.util.ClassUtils;
 
@@ -89,6 +90,8 @@ public class ByteBuddyAopProxy implements AopProxy {
     @Override
     public Object getProxy() {
         Class<?> beanClass = advisedSupport.getTargetClass();
+        ProxyGenerationEvent event = new ProxyGenerationEvent();
+        event.begin();
         Class<?> proxyClass = byteBuddy
                 .subclass(beanClass, ConstructorStrategy.Default.DEFAULT_CONSTRUCTOR)
                 .method(ElementMatchers.isPublic())
@@ -101,6 +104,12 @@ public class ByteBuddyAopProxy implements AopProxy {
         } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
                 | NoSuchMethodException | SecurityException e) {
             throw new AopConfigException("Fail to invoke method ");
+        } finally {
+            if (event.shouldCommit()) {
+                event.targetClass = beanClass;
+                event.proxyClass = proxyClass;
+                event.commit();
+            }
         }
     }
 }
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.aop.proxy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.pythongong.exception.AopConfigException;
+import com.pythongong.stereotype.Nullable;
+import com.pythongong.util.CheckUtils;
+import com.pythongong.util.ClassUtils;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.InvocationHandlerAdapter;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.constant.DefaultValue;
+import net.bytebuddy.matcher.ElementMatchers;
+
+/**
+ * Creates proxies that look up their target on every method call.
+ * <p>
+ * The target is obtained from a supplier, typically a bean lookup, so a proxy
+ * can be injected before its target exists. Interfaces are proxied with JDK
+ * dynamic proxies, classes with a ByteBuddy subclass. The subclass is generated
+ * once per proxied class, in the package of that class so package-private and
+ * protected methods are delegated as well as public ones. It is instantiated
+ * without running any constructor of the proxied class where the running JVM
+ * allows it, which keeps each proxy as small as an empty object; otherwise its
+ * generated constructor calls the cheapest super constructor with default
+ * arguments.
+ *
+ * @author Cheng Gong
+ * @see ByteBuddyAopProxy
+ */
+public class TargetSourceProxy {
+
+    /** Name of the generated field holding the invocation handler */
+    private static final String HANDLER_FIELD = "$targetSourceHandler";
+
+    /** Shared ByteBuddy instance for creating proxy classes */
+    private static final ByteBuddy byteBuddy = new ByteBuddy();
+
+    /** Generated proxy constructors, held per proxied class */
+    private static final ClassValue<Constructor<?>> proxyConstructors = new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> proxyType) {
+            return createProxyConstructor(proxyType);
+        }
+    };
+
+    /** Target method handles resolved once per method, held per declaring class */
+    private static final ClassValue<Map<Method, MethodHandle>> targetMethods = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> declaringClass) {
+            return new ConcurrentHashMap<>(ClassUtils.SMALL_INIT_SIZE);
+        }
+    };
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private TargetSourceProxy() {
+    }
+
+    /**
+     * Checks whether a proxy can be created for the given type.
+     *
+     * @param proxyType the type the proxy must be assignable to
+     * @return true for interfaces and for non-final classes
+     */
+    public static boolean canProxy(Class<?> proxyType) {
+        if (proxyType == null || proxyType.isPrimitive() || proxyType.isArray()) {
+            return false;
+        }
+        if (proxyType.isInterface()) {
+            return !proxyType.isSealed();
+        }
+        int modifiers = proxyType.getModifiers();
+        return !Modifier.isFinal(modifiers) && !proxyType.isSealed() && !proxyType.isEnum()
+                && !proxyType.isRecord();
+    }
+
+    /**
+     * Creates a proxy of the given type that delegates every method call to the
+     * object returned by the target source at the time of the call.
+     *
+     * @param proxyType    the type the proxy must be assignable to
+     * @param targetSource the supplier of the target
+     * @return the proxy instance
+     * @throws IllegalArgumentException if either argument is null
+     * @throws AopConfigException       if the type can't be proxied
+     */
+    public static Object createProxy(Class<?> proxyType, Supplier<?> targetSource) {
+        return createProxy(proxyType, targetSource, null);
+    }
+
+    /**
+     * Creates a proxy of the given type that delegates every method call to the
+     * object returned by the target source at the time of the call, and hands
+     * the target to the release callback once the call returns, for example to
+     * give it back to a pool.
+     *
+     * @param proxyType     the type the proxy must be assignable to
+     * @param targetSource  the supplier of the target
+     * @param targetRelease the callback receiving the target after each call,
+     *                      or null for none
+     * @return the proxy instance
+     * @throws IllegalArgumentException if proxyType or targetSource is null
+     * @throws AopConfigException       if the type can't be proxied
+     */
+    public static Object createProxy(Class<?> proxyType, Supplier<?> targetSource,
+            @Nullable Consumer<Object> targetRelease) {
+        CheckUtils.nullArgs(proxyType, "TargetSourceProxy.createProxy recevies null proxy type");
+        CheckUtils.nullArgs(targetSource, "TargetSourceProxy.createProxy recevies null target source");
+        if (!canProxy(proxyType)) {
+            throw new AopConfigException(String.format("Type {%s} can't be proxied", proxyType.getName()));
+        }
+
+        InvocationHandler invocationHandler = new TargetSourceInvocationHandler(proxyType, targetSource,
+                targetRelease);
+        if (proxyType.isInterface()) {
+            return Proxy.newProxyInstance(getClassLoader(proxyType), new Class<?>[] { proxyType },
+                    invocationHandler);
+        }
+
+        try {
+            Object proxy = proxyConstructors.get(proxyType).newInstance();
+            proxy.getClass().getField(HANDLER_FIELD).set(proxy, invocationHandler);
+            return proxy;
+        } catch (ReflectiveOperationException | IllegalArgumentException e) {
+            throw new AopConfigException(String.format("Fail to create proxy of {%s}", proxyType.getName()), e);
+        }
+    }
+
+    /**
+     * Generates the proxy subclass of a class and returns a constructor that
+     * instantiates it, skipping the constructors of the class itself when
+     * possible.
+     */
+    private static Constructor<?> createProxyConstructor(Class<?> proxyType) {
+        Constructor<?> superConstructor = Arrays.stream(proxyType.getDeclaredConstructors())
+                .filter(constructor -> !Modifier.isPrivate(constructor.getModifiers()))
+                .min(Comparator.comparingInt(Constructor::getParameterCount))
+                .orElseThrow(() -> new AopConfigException(
+                        String.format("Type {%s} has no constructor visible to its proxy", proxyType.getName())));
+        MethodCall superCall = MethodCall.invoke(superConstructor);
+        for (Class<?> parameterType : superConstructor.getParameterTypes()) {
+            superCall = superCall.with(DefaultValue.of(TypeDescription.ForLoadedType.of(parameterType)),
+                    parameterType);
+        }
+        DynamicType.Unloaded<?> proxyClassType = byteBuddy
+                .subclass(proxyType, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                .defineField(HANDLER_FIELD, InvocationHandler.class, Visibility.PUBLIC)
+                .defineConstructor(Visibility.PUBLIC)
+                .intercept(superCall)
+                .method(ElementMatchers.not(ElementMatchers.isDeclaredBy(Object.class))
+                        .or(ElementMatchers.isPublic()))
+                .intercept(InvocationHandlerAdapter.toField(HANDLER_FIELD))
+                .make();
+        Class<?> proxyClass = loadProxyClass(proxyType, proxyClassType);
+        Constructor<?> constructor = SerializationConstructors.find(proxyClass);
+        if (constructor != null) {
+            return constructor;
+        }
+        try {
+            return proxyClass.getConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new AopConfigException(String.format("Fail to create proxy of {%s}", proxyType.getName()), e);
+        }
+    }
+
+    /**
+     * Defines the proxy class next to the proxied class so it shares its runtime
+     * package, falling back to a child class loader where the package isn't
+     * open to this module.
+     */
+    private static Class<?> loadProxyClass(Class<?> proxyType, DynamicType.Unloaded<?> proxyClassType) {
+        if (proxyType.getClassLoader() != null) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(proxyType, MethodHandles.lookup());
+                return proxyClassType.load(proxyType.getClassLoader(), ClassLoadingStrategy.UsingLookup.of(lookup))
+                        .getLoaded();
+            } catch (IllegalAccessException | IllegalStateException e) {
+                // Not open to this module: only public and protected methods are delegated
+            }
+        }
+        return proxyClassType.load(getClassLoader(proxyType)).getLoaded();
+    }
+
+    /**
+     * Resolves the accessible handle invoking a method, typed to take the
+     * target and the argument array.
+     */
+    private static MethodHandle resolveTargetMethod(Method method) {
+        return targetMethods.get(method.getDeclaringClass()).computeIfAbsent(method, key -> {
+            try {
+                key.trySetAccessible();
+                return MethodHandles.lookup().unreflect(key)
+                        .asSpreader(Object[].class, key.getParameterCount())
+                        .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+            } catch (IllegalAccessException e) {
+                throw new AopConfigException(String.format("Method {%s} can't be proxied", key), e);
+            }
+        });
+    }
+
+    private static ClassLoader getClassLoader(Class<?> proxyType) {
+        ClassLoader classLoader = proxyType.getClassLoader();
+        return classLoader == null ? ClassUtils.getDefaultClassLoader() : classLoader;
+    }
+
+    /**
+     * Invocation handler resolving the target on every call.
+     *
+     * @param proxyType     the proxied type, used in error messages
+     * @param targetSource  the supplier of the target
+     * @param targetRelease the callback receiving the target after each call,
+     *                      or null
+     */
+    private record TargetSourceInvocationHandler(Class<?> proxyType, Supplier<?> targetSource,
+            Consumer<Object> targetRelease) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object target = targetSource.get();
+            if (target == null) {
+                throw new AopConfigException(
+                        String.format("Proxy of {%s} resolved a null target", proxyType.getName()));
+            }
+            MethodHandle targetMethod = resolveTargetMethod(method);
+            Object[] arguments = args == null ? NO_ARGS : args;
+            try {
+                return (Object) targetMethod.invokeExact(target, arguments);
+            } finally {
+                if (targetRelease != null) {
+                    targetRelease.accept(target);
+                }
+            }
+        }
+    }
+
+    /**
+     * Looks up serialization constructors, which create an instance without
+     * running the constructors of any serializable superclass. The factory
+     * lives in the jdk.unsupported module and is reached reflectively, so the
+     * proxy class's own constructor is used where that module is absent.
+     */
+    private static final class SerializationConstructors {
+
+        @Nullable
+        private static final MethodHandle FACTORY_METHOD = findFactoryMethod();
+
+        private SerializationConstructors() {
+        }
+
+        @Nullable
+        static Constructor<?> find(Class<?> type) {
+            if (FACTORY_METHOD == null) {
+                return null;
+            }
+            try {
+                Constructor<?> constructor = (Constructor<?>) FACTORY_METHOD.invoke(type,
+                        Object.class.getDeclaredConstructor());
+                return constructor != null && constructor.trySetAccessible() ? constructor : null;
+            } catch (Throwable e) {
+                return null;
+            }
+        }
+
+        @Nullable
+        private static MethodHandle findFactoryMethod() {
+            try {
+                Class<?> factoryClass = Class.forName("sun.reflect.ReflectionFactory");
+                Object factory = factoryClass.getMethod("getReflectionFactory").invoke(null);
+                return MethodHandles.publicLookup()
+                        .findVirtual(factoryClass, "newConstructorForSerialization",
+                                MethodType.methodType(Constructor.class, Class.class, Constructor.class))
+                        .bindTo(factory);
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+}
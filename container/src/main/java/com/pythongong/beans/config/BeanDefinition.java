@@ -67,13 +67,26 @@ public record BeanDefinition(
          */
         ScopeEnum scope,
 
+        /**
+         * The name of the scope, under which the managing bean scope is
+         * registered. Required for custom scopes, derived from the scope
+         * otherwise.
+         */
+        String scopeName,
+
         /**
          * The constructor to be used for instantiating the bean.
          * May be null, in which case the default constructor will be used.
          */
         Constructor<?> constructor,
         Object[] constructorArgus,
-        FactoryDefinition factoryDefinition) {
+        FactoryDefinition factoryDefinition,
+
+        /**
+         * Whether a singleton is created on first use instead of being
+         * pre-instantiated when the context is refreshed.
+         */
+        boolean lazyInit) {
     /**
      * Canonical constructor with default value handling.
      * Ensures fieldValueList is never null and scope has a default value.
@@ -83,6 +96,11 @@ public record BeanDefinition(
         CheckUtils.nullArgs(beanClass, "BeanDefinition recevies null bean class");
         fieldValueList = fieldValueList == null ? new FieldValueList() : fieldValueList;
         scope = scope != null ? scope : ScopeEnum.SINGLETON;
+        if (ScopeEnum.CUSTOM.equals(scope)) {
+            CheckUtils.emptyString(scopeName, "BeanDefinition recevies empty custom scope name");
+        } else {
+            scopeName = scope.getScopeName();
+        }
     }
 
     /**
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.config;
+
+/**
+ * Represents a field injected with all the beans of a type, as a
+ * {@code List}, {@code Set}, {@code Collection}, array or
+ * {@code Map<String, T>} keyed by bean name. The beans are resolved when the
+ * injection of the bean is planned.
+ *
+ * @author Cheng Gong
+ */
+public record CollectionReference(
+    /** Declared class of the field, such as List or Handler[] */
+    Class<?> collectionType,
+    /** Type of the injected beans */
+    Class<?> elementType
+) {
+}
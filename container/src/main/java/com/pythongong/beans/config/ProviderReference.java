@@ -0,0 +1,34 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.config;
+
+import com.pythongong.beans.factory.ObjectProvider;
+import com.pythongong.stereotype.Nullable;
+
+/**
+ * Represents a field to inject an {@link ObjectProvider} into. Unlike a
+ * {@link BeanReference}, it doesn't make the bean depend on the provided
+ * beans, which are only resolved when the provider is used.
+ *
+ * @author Cheng Gong
+ */
+public record ProviderReference(
+    /** Type of the provided beans */
+    Class<?> beanType,
+    /** Name of the single provided bean, or null to provide by type */
+    @Nullable String beanName
+) {
+}
@@ -16,6 +16,8 @@
 package com.pythongong.beans.factory;
 
 import com.pythongong.beans.config.BeanProcessor;
+import com.pythongong.beans.scope.BeanScope;
+import com.pythongong.stereotype.Nullable;
 
 /**
  * Configuration interface to be implemented by most bean factories.
@@ -29,9 +31,10 @@ import com.pythongong.beans.config.BeanProcessor;
  *
  * @author Cheng Gong
  * @see BeanFactory
+ * @see HierarchicalBeanFactory
  * @see beanProcessor
  */
-public interface ConfigurableBeanFactory extends BeanFactory {
+public interface ConfigurableBeanFactory extends HierarchicalBeanFactory {
 
     /**
      * Add a new beanProcessor that will get applied to beans created
@@ -44,4 +47,34 @@ public interface ConfigurableBeanFactory extends BeanFactory {
      * @param beanProcessor the post processor to register
      */
     void addBeanProcessor(BeanProcessor beanProcessor);
+
+    /**
+     * Register the given scope, backed by the given bean scope, replacing the
+     * scope registered under the same name. The request and thread scopes are
+     * registered by default.
+     *
+     * @param scopeName the name of the scope
+     * @param beanScope the bean scope managing the instances of the scope
+     * @throws IllegalArgumentException if the name is empty or names the
+     *                                  singleton or prototype scope
+     */
+    void registerScope(String scopeName, BeanScope beanScope);
+
+    /**
+     * Return the bean scope registered under the given name.
+     *
+     * @param scopeName the name of the scope
+     * @return the registered bean scope, or null if none
+     */
+    @Nullable
+    BeanScope getRegisteredScope(String scopeName);
+
+    /**
+     * Hand a bean obtained from this factory back once the caller is done with
+     * it. Pooled beans return to their pool; other beans are left untouched.
+     *
+     * @param beanName the name of the bean
+     * @param bean     the instance obtained from {@code getBean}
+     */
+    void releaseBean(String beanName, Object bean);
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.factory;
+
+import com.pythongong.stereotype.Nullable;
+
+/**
+ * Sub-interface implemented by bean factories that can be part of a
+ * hierarchy.
+ * <p>
+ * A child factory creates the beans of its own definitions and resolves the
+ * beans it doesn't define from its parent, so the beans shared by several
+ * children are created once, in the parent.
+ *
+ * @author Cheng Gong
+ * @see ConfigurableBeanFactory
+ */
+public interface HierarchicalBeanFactory extends BeanFactory {
+
+    /**
+     * Return the parent bean factory.
+     *
+     * @return the parent bean factory, or null if there is none
+     */
+    @Nullable
+    BeanFactory getParentBeanFactory();
+
+    /**
+     * Return whether this factory defines or holds a bean with the given name,
+     * ignoring the ancestor factories.
+     *
+     * @param beanName the name of the bean
+     * @return true if the bean is local to this factory
+     */
+    boolean containsLocalBean(String beanName);
+
+    /**
+     * Return whether this factory or one of its ancestors defines or holds a
+     * bean with the given name.
+     *
+     * @param beanName the name of the bean
+     * @return true if the bean can be obtained from this factory
+     */
+    boolean containsBean(String beanName);
+}
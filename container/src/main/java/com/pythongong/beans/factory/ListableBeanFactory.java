@@ -45,4 +45,30 @@ public interface ListableBeanFactory extends BeanFactory {
      * @throws BeansException if a bean could not be created
      */
     <T> Map<String, T> getBeansOfType(Class<T> type) throws BeansException;
+
+    /**
+     * Returns the single bean assignable to the given type. When several beans
+     * match, the one whose class is exactly the given type is chosen, if there
+     * is just one; use {@link #getBean(String, Class)} to pick a bean by name
+     * instead.
+     *
+     * @param <T>          the required type of the bean
+     * @param requiredType the class or interface to match
+     * @return the matching bean, never null
+     * @throws com.pythongong.exception.NoSuchBeanException if no bean matches
+     * @throws BeansException                                if several beans
+     *                                                       match or the bean
+     *                                                       can't be created
+     */
+    <T> T getBean(Class<T> requiredType) throws BeansException;
+
+    /**
+     * Returns a provider of the beans assignable to the given type, which
+     * resolves them on first use and can be kept for repeated lookups.
+     *
+     * @param <T>          the type of the provided beans
+     * @param requiredType the class or interface to match
+     * @return the provider, never null
+     */
+    <T> ObjectProvider<T> getBeanProvider(Class<T> requiredType);
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.factory;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.pythongong.exception.BeansException;
+import com.pythongong.stereotype.Nullable;
+
+/**
+ * Lazy handle on the beans of a type, injected into an
+ * {@link com.pythongong.stereotype.AutoWired} field declared as
+ * {@code ObjectProvider<T>}.
+ * <p>
+ * Nothing is resolved until the provider is used, so a bean can depend on
+ * beans created after it or on beans that may not exist. A provider is meant
+ * to be kept and called on every use: it resolves its candidates once and
+ * caches the singleton it returns, until beans are registered or destroyed.
+ * A prototype is created anew on every call.
+ *
+ * @param <T> the type of the provided beans
+ * @author Cheng Gong
+ */
+public interface ObjectProvider<T> extends Iterable<T> {
+
+    /**
+     * Returns the single bean this provider matches.
+     *
+     * @return the bean, never null
+     * @throws com.pythongong.exception.NoSuchBeanException if no bean matches
+     * @throws BeansException                                if several beans
+     *                                                       match or the bean
+     *                                                       can't be created
+     */
+    T getObject() throws BeansException;
+
+    /**
+     * Returns the single bean this provider matches, if there is one.
+     *
+     * @return the bean, or null if no bean matches
+     * @throws BeansException if several beans match or the bean can't be
+     *                        created
+     */
+    @Nullable
+    T getIfAvailable() throws BeansException;
+
+    /**
+     * Passes the single bean this provider matches to the consumer, if there
+     * is one.
+     *
+     * @param consumer the consumer of the bean
+     * @throws BeansException if several beans match or the bean can't be
+     *                        created
+     */
+    default void ifAvailable(Consumer<T> consumer) throws BeansException {
+        T bean = getIfAvailable();
+        if (bean != null) {
+            consumer.accept(bean);
+        }
+    }
+
+    /**
+     * Returns all the beans this provider matches, in bean name order. The
+     * beans are created as the stream is consumed.
+     *
+     * @return the stream of matching beans
+     */
+    Stream<T> stream();
+
+    @Override
+    default Iterator<T> iterator() {
+        return stream().iterator();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.impl;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import com.pythongong.beans.config.BeanDefinition;
+import com.pythongong.beans.factory.ObjectProvider;
+import com.pythongong.exception.BeansException;
+import com.pythongong.exception.NoSuchBeanException;
+import com.pythongong.stereotype.Nullable;
+
+/**
+ * {@link ObjectProvider} backed by a {@link DefaultListableBeanFactory}.
+ * <p>
+ * The candidate names are resolved on first use and kept together with the
+ * factory's registration version. While the version doesn't change, a unique
+ * singleton candidate is returned from the provider without going through
+ * the factory, and the definition of a unique prototype candidate is kept so
+ * that each call creates the instance from it without looking the bean up.
+ *
+ * @param <T> the type of the provided beans
+ * @author Cheng Gong
+ */
+final class BeanObjectProvider<T> implements ObjectProvider<T> {
+
+    private final DefaultListableBeanFactory beanFactory;
+
+    private final Class<T> requiredType;
+
+    /** Name of the single provided bean, or null to provide by type */
+    @Nullable
+    private final String beanName;
+
+    /** Candidates of the last resolution, null before first use */
+    private volatile Resolution<T> resolution;
+
+    BeanObjectProvider(DefaultListableBeanFactory beanFactory, Class<T> requiredType, @Nullable String beanName) {
+        this.beanFactory = beanFactory;
+        this.requiredType = requiredType;
+        this.beanName = beanName;
+    }
+
+    @Override
+    public T getObject() throws BeansException {
+        T bean = getIfAvailable();
+        if (bean == null) {
+            throw beanName == null ? new NoSuchBeanException(requiredType)
+                    : new NoSuchBeanException(beanName, requiredType);
+        }
+        return bean;
+    }
+
+    @Nullable
+    @Override
+    public T getIfAvailable() throws BeansException {
+        Resolution<T> current = resolve();
+        if (current.singleton() != null) {
+            return current.singleton();
+        }
+        if (current.prototype() != null) {
+            return requiredType.cast(beanFactory.createPrototype(current.prototype()));
+        }
+        if (current.uniqueName() != null) {
+            return getBean(current.uniqueName());
+        }
+        if (current.beanNames().length == 0) {
+            return null;
+        }
+        throw new BeansException(String.format("Expect a single bean of type {%s} but found %s",
+                requiredType.getName(), Arrays.toString(current.beanNames())));
+    }
+
+    @Override
+    public Stream<T> stream() {
+        Resolution<T> current = resolve();
+        if (current.singleton() != null && current.beanNames().length == 1) {
+            return Stream.of(current.singleton());
+        }
+        if (current.prototype() != null && current.beanNames().length == 1) {
+            return Stream.of(current.prototype())
+                    .map(prototype -> requiredType.cast(beanFactory.createPrototype(prototype)));
+        }
+        return Arrays.stream(current.beanNames()).map(this::getBean);
+    }
+
+    /**
+     * Returns the candidates of the current registration version, resolving
+     * them again after beans were registered or destroyed.
+     *
+     * @return the current resolution
+     */
+    private Resolution<T> resolve() {
+        long version = beanFactory.getRegistrationVersion();
+        Resolution<T> current = resolution;
+        if (current != null && current.version() == version) {
+            return current;
+        }
+
+        String[] beanNames;
+        if (beanName == null) {
+            beanNames = beanFactory.resolveBeanNamesOfType(requiredType).toArray(String[]::new);
+        } else {
+            beanNames = beanFactory.containsBean(beanName) ? new String[] { beanName } : new String[0];
+        }
+        String uniqueName = beanFactory.determineUniqueBeanName(requiredType, beanNames);
+        T singleton = null;
+        BeanDefinition prototype = null;
+        if (uniqueName != null && beanFactory.isCacheableSingleton(uniqueName)) {
+            singleton = getBean(uniqueName);
+        } else if (uniqueName != null) {
+            prototype = beanFactory.findLocalPrototype(uniqueName);
+        }
+        current = new Resolution<>(version, beanNames, uniqueName, singleton, prototype);
+        resolution = current;
+        return current;
+    }
+
+    private T getBean(String candidateName) {
+        return requiredType.cast(beanFactory.getBean(candidateName));
+    }
+
+    /**
+     * Candidates of a provider at a registration version of the factory.
+     *
+     * @param version    the registration version they were resolved at
+     * @param beanNames  the names of the candidates
+     * @param uniqueName the name of the candidate returned on its own, or null
+     *                   if there is none or the candidates are ambiguous
+     * @param singleton  the unique candidate if it is a singleton, or null
+     * @param prototype  the definition of the unique candidate if it is a
+     *                   prototype of the factory, or null
+     */
+    private record Resolution<T>(long version, String[] beanNames, @Nullable String uniqueName,
+            @Nullable T singleton, @Nullable BeanDefinition prototype) {
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.pythongong.beans.aware.BeanClassLoaderAware;
+import com.pythongong.beans.aware.BeanFactoryAware;
+import com.pythongong.beans.aware.BeanNameAware;
+import com.pythongong.beans.config.AfterInitializationpProcessor;
+import com.pythongong.beans.config.BeanDefinition;
+import com.pythongong.beans.config.BeanProcessor;
+import com.pythongong.beans.config.BeforeInitializationProcessor;
+import com.pythongong.beans.config.InitializingBean;
+import com.pythongong.beans.factory.BeanFactory;
+import com.pythongong.exception.BeansException;
+import com.pythongong.exception.NoSuchBeanException;
+import com.pythongong.util.CheckUtils;
+import com.pythongong.util.ClassUtils;
+import com.pythongong.util.ResolvableType;
+import com.pythongong.util.StringUtils;
+
+/**
+ * Precomputed creation steps of a prototype bean definition.
+ * <p>
+ * The recipe resolves everything that doesn't change between two creations
+ * of the bean: the beans passed to its constructor, its {@link InjectionPlan},
+ * which Aware callbacks apply, the bean processors split by type and the init
+ * method handle. {@link #create} then runs the same steps as the general
+ * creation path without reflection, stream pipelines or type checks.
+ *
+ * @author Cheng Gong
+ */
+final class BeanRecipe {
+
+    /** Type of the init method handle: (bean) */
+    private static final MethodType INIT_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private final String beanName;
+
+    private final Class<?> beanClass;
+
+    private final Constructor<?> constructor;
+
+    /** Types of the constructor parameters, null for the default constructor */
+    private final Class<?>[] argumentTypes;
+
+    /** Names of the beans passed to the constructor, in parameter order */
+    private final String[] argumentBeanNames;
+
+    /** Beans passed to the constructor as collections, null for single beans */
+    private final CollectionDependency[] argumentCollections;
+
+    private final InjectionPlan injectionPlan;
+
+    private final boolean beanFactoryAware;
+
+    private final boolean beanClassLoaderAware;
+
+    private final boolean beanNameAware;
+
+    private final boolean initializingBean;
+
+    private final BeforeInitializationProcessor[] beforeProcessors;
+
+    private final AfterInitializationpProcessor[] afterProcessors;
+
+    /** Handle of the custom init method, null if there is none */
+    private final MethodHandle initMethod;
+
+    private final String initMethodName;
+
+    private BeanRecipe(BeanDefinition beanDefinition, InjectionPlan injectionPlan, List<BeanProcessor> beanProcessors,
+            Function<Type, List<String>> beanNamesOfType) {
+        beanName = beanDefinition.beanName();
+        beanClass = beanDefinition.beanClass();
+        constructor = beanDefinition.constructor();
+        argumentTypes = constructor == null || constructor.getParameterCount() == 0 ? null
+                : constructor.getParameterTypes();
+        argumentCollections = argumentTypes == null ? null : new CollectionDependency[argumentTypes.length];
+        argumentBeanNames = argumentTypes == null ? null
+                : resolveArgumentBeanNames(ResolvableType.getGenericParameterTypes(constructor), beanNamesOfType,
+                        argumentCollections);
+        this.injectionPlan = injectionPlan;
+
+        beanFactoryAware = BeanFactoryAware.class.isAssignableFrom(beanClass);
+        beanClassLoaderAware = BeanClassLoaderAware.class.isAssignableFrom(beanClass);
+        beanNameAware = BeanNameAware.class.isAssignableFrom(beanClass);
+        initializingBean = InitializingBean.class.isAssignableFrom(beanClass);
+
+        beforeProcessors = beanProcessors.stream()
+                .filter(beanProcessor -> beanProcessor instanceof BeforeInitializationProcessor)
+                .toArray(BeforeInitializationProcessor[]::new);
+        afterProcessors = beanProcessors.stream()
+                .filter(beanProcessor -> beanProcessor instanceof AfterInitializationpProcessor)
+                .toArray(AfterInitializationpProcessor[]::new);
+
+        initMethodName = beanDefinition.initMethodName();
+        initMethod = resolveInitMethod(beanClass, beanName, initMethodName);
+    }
+
+    /**
+     * Builds the recipe of a prototype bean created through its constructor.
+     *
+     * @param beanDefinition  the bean definition
+     * @param injectionPlan   the injection plan of the definition
+     * @param beanProcessors  the bean processors registered at build time
+     * @param beanNamesOfType function resolving a type to the names of the beans
+     *                        that can be assigned to it
+     * @return the recipe
+     * @throws BeansException if a constructor argument or the init method can't
+     *                        be resolved
+     */
+    static BeanRecipe build(BeanDefinition beanDefinition, InjectionPlan injectionPlan,
+            List<BeanProcessor> beanProcessors, Function<Type, List<String>> beanNamesOfType) {
+        CheckUtils.nullArgs(beanDefinition, "BeanRecipe.build recevies null bean definition");
+        CheckUtils.nullArgs(injectionPlan, "BeanRecipe.build recevies null injection plan");
+        CheckUtils.nullArgs(beanProcessors, "BeanRecipe.build recevies null bean processors");
+        CheckUtils.nullArgs(beanNamesOfType, "BeanRecipe.build recevies null type resolver");
+        return new BeanRecipe(beanDefinition, injectionPlan, beanProcessors, beanNamesOfType);
+    }
+
+    /**
+     * Creates and initializes a new instance of the bean.
+     *
+     * @param instantiationStrategy the strategy instantiating the bean
+     * @param resolveDependency     function resolving a bean name and the type of
+     *                              its injection point to the object to inject
+     * @param beanFactory           the factory passed to {@link BeanFactoryAware}
+     *                              beans
+     * @return the new bean instance
+     * @throws BeansException if any step fails
+     */
+    Object create(InstantiationStrategy instantiationStrategy,
+            BiFunction<String, Class<?>, Object> resolveDependency, BeanFactory beanFactory) {
+        Object[] args = null;
+        if (argumentTypes != null) {
+            args = new Object[argumentTypes.length];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = argumentCollections[i] != null ? argumentCollections[i].resolve(resolveDependency)
+                        : resolveDependency.apply(argumentBeanNames[i], argumentTypes[i]);
+            }
+        }
+        Object bean = instantiationStrategy.instance(beanClass, constructor, args);
+
+        injectionPlan.inject(bean, resolveDependency);
+
+        if (beanFactoryAware) {
+            ((BeanFactoryAware) bean).setBeanFactory(beanFactory);
+        }
+        if (beanClassLoaderAware) {
+            ((BeanClassLoaderAware) bean).setBeanClassLoader(ClassUtils.getDefaultClassLoader());
+        }
+        if (beanNameAware) {
+            ((BeanNameAware) bean).setBeanName(beanName);
+        }
+
+        for (BeforeInitializationProcessor beforeProcessor : beforeProcessors) {
+            beforeProcessor.postProcessBeforeInitialization(bean, beanName);
+        }
+
+        invokeInitMethods(bean);
+
+        for (AfterInitializationpProcessor afterProcessor : afterProcessors) {
+            afterProcessor.postProcessAfterInitialization(bean, beanName);
+        }
+        return bean;
+    }
+
+    private void invokeInitMethods(Object bean) {
+        if (initializingBean) {
+            try {
+                ((InitializingBean) bean).afterPropertiesSet();
+            } catch (Exception e) {
+                throw new BeansException(String.format("{%s} inits in failure", beanName));
+            }
+        }
+
+        if (initMethod == null) {
+            return;
+        }
+        try {
+            initMethod.invokeExact(bean);
+        } catch (Throwable e) {
+            throw new BeansException(String.format("{%s} inits by {%s} in failure", beanName, initMethodName));
+        }
+    }
+
+    private static String[] resolveArgumentBeanNames(Type[] argumentTypes,
+            Function<Type, List<String>> beanNamesOfType, CollectionDependency[] argumentCollections) {
+        String[] argumentBeanNames = new String[argumentTypes.length];
+        for (int i = 0; i < argumentTypes.length; i++) {
+            List<String> beanNames = beanNamesOfType.apply(argumentTypes[i]);
+            if (beanNames.isEmpty()) {
+                argumentCollections[i] = CollectionDependency.build(argumentTypes[i], beanNamesOfType);
+                if (argumentCollections[i] != null) {
+                    continue;
+                }
+            }
+            if (beanNames.size() != 1) {
+                throw new NoSuchBeanException(argumentTypes[i]);
+            }
+            argumentBeanNames[i] = beanNames.get(0);
+        }
+        return argumentBeanNames;
+    }
+
+    private static MethodHandle resolveInitMethod(Class<?> beanClass, String beanName, String initMethodName) {
+        if (StringUtils.isEmpty(initMethodName)) {
+            return null;
+        }
+        try {
+            Method method = beanClass.getMethod(initMethodName);
+            method.trySetAccessible();
+            return MethodHandles.lookup().unreflect(method).asType(INIT_TYPE);
+        } catch (NoSuchMethodException | SecurityException | IllegalAccessException e) {
+            throw new BeansException(String.format("{%s} inits by {%s} in failure", beanName, initMethodName));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.impl;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.pythongong.stereotype.Nullable;
+import com.pythongong.util.ResolvableType;
+
+/**
+ * Planned injection of all the beans of a type into a {@code List},
+ * {@code Set}, {@code Collection}, array or {@code Map<String, T>}.
+ * <p>
+ * The names of the beans are resolved and ordered once, when the injection is
+ * planned. Each injection then resolves the beans and copies them into an
+ * immutable list, set or map, or a new array, so a singleton holds a
+ * collection materialized once that iterates without allocating.
+ *
+ * @author Cheng Gong
+ */
+final class CollectionDependency {
+
+    /** Declared class of the injection point */
+    private final Class<?> collectionType;
+
+    /** Class of the injected beans */
+    private final Class<?> elementClass;
+
+    /** Names of the injected beans, in injection order */
+    private final String[] beanNames;
+
+    private CollectionDependency(Class<?> collectionType, Class<?> elementClass, String[] beanNames) {
+        this.collectionType = collectionType;
+        this.elementClass = elementClass;
+        this.beanNames = beanNames;
+    }
+
+    /**
+     * Plans the injection of the beans of the element type of a declared
+     * collection, array or map type.
+     *
+     * @param type            the declared type of the injection point
+     * @param beanNamesOfType function resolving a type to the ordered names of
+     *                        the beans that can be assigned to it
+     * @return the planned injection, or null if the type doesn't hold beans
+     */
+    @Nullable
+    static CollectionDependency build(Type type, Function<Type, List<String>> beanNamesOfType) {
+        Type elementType = ResolvableType.getCollectionElementType(type);
+        if (elementType == null) {
+            return null;
+        }
+        return new CollectionDependency(ResolvableType.forType(type).getRawClass(),
+                ResolvableType.forType(elementType).getRawClass(),
+                beanNamesOfType.apply(elementType).toArray(String[]::new));
+    }
+
+    /**
+     * Returns the names of the injected beans, in injection order.
+     *
+     * @return the bean names
+     */
+    List<String> getBeanNames() {
+        return List.of(beanNames);
+    }
+
+    /**
+     * Resolves the beans and collects them into the declared type.
+     *
+     * @param resolveDependency function resolving a bean name and the type of
+     *                          its injection point to the object to inject
+     * @return an immutable list, set or map of the beans, or an array of them
+     */
+    Object resolve(BiFunction<String, Class<?>, Object> resolveDependency) {
+        if (collectionType.isArray()) {
+            Object array = Array.newInstance(elementClass, beanNames.length);
+            for (int i = 0; i < beanNames.length; i++) {
+                Array.set(array, i, resolveDependency.apply(beanNames[i], elementClass));
+            }
+            return array;
+        }
+        if (Map.class.equals(collectionType)) {
+            Map<String, Object> beans = new LinkedHashMap<>(beanNames.length * 2);
+            for (String beanName : beanNames) {
+                beans.put(beanName, resolveDependency.apply(beanName, elementClass));
+            }
+            return Collections.unmodifiableMap(beans);
+        }
+        Object[] beans = new Object[beanNames.length];
+        for (int i = 0; i < beanNames.length; i++) {
+            beans[i] = resolveDependency.apply(beanNames[i], elementClass);
+        }
+        return Set.class.equals(collectionType)
+                ? Collections.unmodifiableSet(new LinkedHashSet<>(List.of(beans)))
+                : List.of(beans);
+    }
+}
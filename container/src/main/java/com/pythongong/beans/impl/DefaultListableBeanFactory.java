@@ -16,16 +16,36 @@
 package com.pythongong.beans.impl;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import com.pythongong.aop.autoproxy.AutoProxyCreator;
+import com.pythongong.aop.proxy.TargetSourceProxy;
 import com.pythongong.beans.aware.Aware;
 import com.pythongong.beans.aware.BeanClassLoaderAware;
 import com.pythongong.beans.aware.BeanFactoryAware;
@@ -33,33 +53,42 @@ import com.pythongong.beans.aware.BeanNameAware;
 import com.pythongong.beans.config.AfterInitializationpProcessor;
 import com.pythongong.beans.config.BeanDefinition;
 import com.pythongong.beans.config.BeanProcessor;
-import com.pythongong.beans.config.BeanReference;
 import com.pythongong.beans.config.BeforeInitializationProcessor;
 import com.pythongong.beans.config.DisposableBean;
+import com.pythongong.beans.config.FactoryBean;
 import com.pythongong.beans.config.FactoryDefinition;
 import com.pythongong.beans.config.InitializingBean;
-import com.pythongong.beans.config.FieldValue;
-import com.pythongong.beans.config.FieldValueList;
+import com.pythongong.beans.config.ProviderReference;
 import com.pythongong.beans.factory.ConfigurableListableBeanFactory;
+import com.pythongong.beans.factory.ObjectProvider;
 import com.pythongong.beans.registry.BeanDefinitionRegistry;
+import com.pythongong.beans.scope.BeanScope;
+import com.pythongong.beans.scope.PooledScope;
+import com.pythongong.beans.scope.RequestScope;
+import com.pythongong.beans.scope.ThreadScope;
 import com.pythongong.context.event.ApplicationEventMulticaster;
 import com.pythongong.context.event.GeneralApplicationEventMulticaster;
+import com.pythongong.context.startup.ApplicationStartup;
+import com.pythongong.context.startup.StartupStep;
 import com.pythongong.enums.ScopeEnum;
 import com.pythongong.exception.BeansException;
 import com.pythongong.exception.NoSuchBeanException;
-import com.pythongong.stereotype.AutoWired;
+import com.pythongong.jfr.BeanInstantiationEvent;
 import com.pythongong.stereotype.Nullable;
+import com.pythongong.stereotype.Order;
 import com.pythongong.util.CheckUtils;
 import com.pythongong.util.ClassUtils;
+import com.pythongong.util.ResolvableType;
 import com.pythongong.util.StringUtils;
 
 /**
  * Default implementation of the ConfigurableListableBeanFactory and
  * BeanDefinitionRegistry interfaces.
  * This is a complete bean factory implementation that supports singleton and
- * prototype beans,
+ * prototype beans, beans of pluggable scopes such as request and thread,
  * Aware interfaces, lifecycle methods, property injection, and bean post
- * processing.
+ * processing. A factory can have a parent, which provides the beans it
+ * doesn't define.
  *
  * @author Cheng Gong
  */
@@ -67,14 +96,76 @@ import com.pythongong.util.StringUtils;
 public class DefaultListableBeanFactory
         implements BeanDefinitionRegistry, ConfigurableListableBeanFactory {
 
+    /** {@link Order} values of bean classes, shared by every factory */
+    private static final ClassValue<Integer> ORDER_CACHE = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> beanClass) {
+            Order order = ClassUtils.findAnnotation(beanClass, Order.class);
+            return order == null ? Order.LOWEST_PRECEDENCE : order.value();
+        }
+    };
+
     /** Map of bean definitions, keyed by bean name */
     private final Map<String, BeanDefinition> beanDefinitionMap = new ConcurrentHashMap<>(ClassUtils.BIG_INIT_SIZE);
 
-    /** List of bean post processors */
-    private final List<BeanProcessor> beanProcessors = new ArrayList<>(ClassUtils.SMALL_INIT_SIZE);
+    /**
+     * Index of bean names keyed by every type a bean can be assigned to: its
+     * class, superclasses and interfaces
+     */
+    private final Map<Class<?>, Set<String>> beanNamesByType = new ConcurrentHashMap<>(ClassUtils.BIG_INIT_SIZE);
+
+    /** List of bean post processors, read on every bean creation */
+    private final CopyOnWriteArrayList<BeanProcessor> beanProcessors = new CopyOnWriteArrayList<>();
+
+    /** Cache of injection plans, keyed by bean name and reset on registration */
+    private final Map<String, InjectionPlan> injectionPlans = new ConcurrentHashMap<>(ClassUtils.BIG_INIT_SIZE);
+
+    /** Cache of prototype recipes, keyed by bean name and reset on registration */
+    private final Map<String, BeanRecipe> beanRecipes = new ConcurrentHashMap<>(ClassUtils.SMALL_INIT_SIZE);
+
+    /** Bean scopes keyed by scope name */
+    private final Map<String, BeanScope> scopes = new ConcurrentHashMap<>(ClassUtils.SMALL_INIT_SIZE);
+
+    /** Ordinals of the beans of pluggable scopes, keyed by bean name */
+    private final Map<String, Integer> scopedOrdinals = new ConcurrentHashMap<>(ClassUtils.SMALL_INIT_SIZE);
+
+    /** Next ordinal given to a bean of a pluggable scope */
+    private final AtomicInteger nextScopedOrdinal = new AtomicInteger();
+
+    /**
+     * Providers resolving {@link #getBean(Class)}, keyed by type. They revalidate
+     * their resolution against the registration version, so they never need
+     * to be evicted
+     */
+    private final Map<Class<?>, ObjectProvider<?>> beanProviders = new ConcurrentHashMap<>(
+            ClassUtils.SMALL_INIT_SIZE);
+
+    /**
+     * Source of the registration versions, shared by every factory so that a
+     * version is never handed out twice, even by a replaced parent
+     */
+    private static final AtomicLong REGISTRATION_VERSIONS = new AtomicLong();
+
+    /** Version of the definitions and singletons, renewed on every change */
+    private volatile long registrationVersion = REGISTRATION_VERSIONS.incrementAndGet();
+
+    /** Dependency graph of all the definitions, reset on registration */
+    private volatile DependencyGraph dependencyGraph;
+
+    /** Whether prototypes are created through their precomputed recipes */
+    private volatile boolean prototypeRecipes = true;
+
+    /** Resolver of injected beans shared by every injection */
+    private final BiFunction<String, Class<?>, Object> dependencyResolver = this::resolveDependency;
 
     /** Strategy for creating bean instances */
-    private InstantiationStrategy instantiationStrategy = new SimpleInstantiation();
+    private volatile InstantiationStrategy instantiationStrategy = new SimpleInstantiation();
+
+    /** Whether singletons are pre-instantiated concurrently in dependency order */
+    private volatile boolean parallelPreInstantiation;
+
+    /** Recorder of the bean creation steps */
+    private volatile ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
 
     /** Delegate for core bean factory operations */
     private final GeneralBeanFactory generalBeanFactory;
@@ -82,24 +173,77 @@ public class DefaultListableBeanFactory
     /** Registry for singleton beans */
     private final DefaultSingletonBeanRegistry singletonBeanRegistry;
 
+    /** Supplier of the factory resolving the beans this factory doesn't define */
+    private final Supplier<DefaultListableBeanFactory> parentBeanFactory;
+
     /**
      * Creates a new DefaultListableBeanFactory.
      * Initializes the singleton registry and general bean factory.
      */
     public DefaultListableBeanFactory() {
+        this((DefaultListableBeanFactory) null);
+    }
+
+    /**
+     * Creates a new DefaultListableBeanFactory resolving the beans it doesn't
+     * define from the given parent. The beans of the parent are created and
+     * shared by the parent; this factory only creates the beans of its own
+     * definitions, which take precedence over the parent's.
+     *
+     * @param parentBeanFactory the parent bean factory, or null if there is
+     *                          none
+     */
+    public DefaultListableBeanFactory(@Nullable DefaultListableBeanFactory parentBeanFactory) {
+        this(() -> parentBeanFactory);
+    }
+
+    /**
+     * Creates a new DefaultListableBeanFactory resolving the beans it doesn't
+     * define from the parent returned by the given supplier. The supplier is
+     * asked on every lookup, so the parent can be replaced, for example by
+     * refreshing the parent context, without leaving this factory on the
+     * destroyed one.
+     *
+     * @param parentBeanFactory the supplier of the current parent bean
+     *                          factory, returning null if there is none
+     * @throws IllegalArgumentException if parentBeanFactory is null
+     */
+    public DefaultListableBeanFactory(Supplier<DefaultListableBeanFactory> parentBeanFactory) {
+        CheckUtils.nullArgs(parentBeanFactory,
+                "DefaultListableBeanFactory recevies null parent bean factory supplier");
+        this.parentBeanFactory = parentBeanFactory;
         singletonBeanRegistry = new DefaultSingletonBeanRegistry();
-        generalBeanFactory = new GeneralBeanFactory(this::getBeanDefinition, this::createBean, singletonBeanRegistry);
+        generalBeanFactory = new GeneralBeanFactory(this::getBeanDefinition, this::createBeanInScope,
+                singletonBeanRegistry);
+        scopes.put(ScopeEnum.REQUEST.getScopeName(), new RequestScope());
+        scopes.put(ScopeEnum.THREAD.getScopeName(), new ThreadScope());
+        scopes.put(ScopeEnum.POOLED.getScopeName(), new PooledScope());
     }
 
     @Nullable
     public List<BeanDefinition> getBeanDefinitionsOfType(Class<?> requiredType) throws BeansException {
         CheckUtils.nullArgs(requiredType,
                 "DefaultListableBeanFactory.getBeanDefinitionsOfType recevies null bean class");
-        return beanDefinitionMap.values().stream()
-                .filter(beanDefinition -> requiredType.isAssignableFrom(beanDefinition.beanClass()))
+        return getBeanNamesOfType(requiredType).stream()
+                .map(beanDefinitionMap::get)
+                .filter(beanDefinition -> beanDefinition != null)
                 .toList();
     }
 
+    /**
+     * Returns the names of the bean definitions whose class is assignable to the
+     * given type, in name order. The lookup is served by the type index, so it
+     * costs O(matches) instead of a scan over all definitions.
+     *
+     * @param requiredType the class or interface to match
+     * @return the names of the matching beans, never null
+     */
+    public List<String> getBeanNamesOfType(Class<?> requiredType) {
+        CheckUtils.nullArgs(requiredType, "DefaultListableBeanFactory.getBeanNamesOfType recevies null bean type");
+        Set<String> beanNames = beanNamesByType.get(requiredType);
+        return beanNames == null ? Collections.emptyList() : List.copyOf(beanNames);
+    }
+
     @Override
     @Nullable
     public BeanDefinition getBeanDefinition(String beanName) throws BeansException {
@@ -111,56 +255,613 @@ public class DefaultListableBeanFactory
     public void registerBeanDefinition(BeanDefinition beanDefinition) {
         CheckUtils.nullArgs(beanDefinition,
                 "DefaultListableBeanFactory.registerBeanDefinition recevies null bean definition");
-        beanDefinitionMap.put(beanDefinition.beanName(), beanDefinition);
+        BeanDefinition oldDefinition = beanDefinitionMap.put(beanDefinition.beanName(), beanDefinition);
+        if (oldDefinition != null) {
+            removeFromTypeIndex(oldDefinition);
+        }
+        addToTypeIndex(beanDefinition);
+        // Planned method injections resolve bean names by type
+        injectionPlans.clear();
+        beanRecipes.clear();
+        dependencyGraph = null;
+        registrationVersion = REGISTRATION_VERSIONS.incrementAndGet();
+    }
+
+    @Nullable
+    @Override
+    public BeanDefinition removeBeanDefinition(String beanName) {
+        CheckUtils.emptyString(beanName, "DefaultListableBeanFactory.removeBeanDefinition recevies empty bean name");
+        BeanDefinition oldDefinition = beanDefinitionMap.remove(beanName);
+        if (oldDefinition == null) {
+            return null;
+        }
+        removeFromTypeIndex(oldDefinition);
+        injectionPlans.clear();
+        beanRecipes.clear();
+        dependencyGraph = null;
+        registrationVersion = REGISTRATION_VERSIONS.incrementAndGet();
+        destroySingleton(beanName);
+        return oldDefinition;
+    }
+
+    /**
+     * Replaces a set of registered definitions with a new version of it, such
+     * as the result of parsing the configuration again, keeping every
+     * singleton that no change reaches.
+     * <p>
+     * The singletons of the changed and removed definitions are destroyed,
+     * together with the beans depending on them, dependents first. New
+     * definitions also destroy the beans depending on them, since they may
+     * change what these beans resolve by type. The destroyed beans are created
+     * again by the next {@link #preInstantiateSingletons()} or on first use.
+     * Instances of pluggable scopes are left to their scope.
+     *
+     * @param oldDefinitions the definitions registered from the previous
+     *                       version
+     * @param newDefinitions the definitions of the new version
+     * @return the names of the destroyed and of the new beans
+     */
+    public Set<String> updateBeanDefinitions(Collection<BeanDefinition> oldDefinitions,
+            Collection<BeanDefinition> newDefinitions) {
+        CheckUtils.nullArgs(oldDefinitions,
+                "DefaultListableBeanFactory.updateBeanDefinitions recevies null old definitions");
+        CheckUtils.nullArgs(newDefinitions,
+                "DefaultListableBeanFactory.updateBeanDefinitions recevies null new definitions");
+        DefinitionChanges changes = DefinitionChanges.of(oldDefinitions, newDefinitions);
+        Set<String> affected = new TreeSet<>();
+        // The current graph still has the edges to the old definitions
+        destroyInReverseOrder(getDependencyGraph(), changes.oldChanges(), affected);
+        changes.removed().forEach(this::removeBeanDefinition);
+        changes.changed().forEach(beanName -> registerBeanDefinition(changes.newByName().get(beanName)));
+        destroyInReverseOrder(getDependencyGraph(), changes.changed(), affected);
+        affected.removeAll(changes.removed());
+        return affected;
+    }
+
+    /**
+     * Returns the beans that {@link #updateBeanDefinitions(Collection,
+     * Collection)} would destroy and create again, without changing anything,
+     * so that a caller can choose another way to apply the change first.
+     *
+     * @param oldDefinitions the definitions registered from the previous
+     *                       version
+     * @param newDefinitions the definitions of the new version
+     * @return the names of the beans the update would destroy and of the new
+     *         beans
+     */
+    public Set<String> findAffectedBeans(Collection<BeanDefinition> oldDefinitions,
+            Collection<BeanDefinition> newDefinitions) {
+        CheckUtils.nullArgs(oldDefinitions,
+                "DefaultListableBeanFactory.findAffectedBeans recevies null old definitions");
+        CheckUtils.nullArgs(newDefinitions,
+                "DefaultListableBeanFactory.findAffectedBeans recevies null new definitions");
+        DefinitionChanges changes = DefinitionChanges.of(oldDefinitions, newDefinitions);
+        Set<String> affected = getDependencyGraph().getTransitiveDependents(changes.oldChanges());
+        if (!changes.changed().isEmpty()) {
+            // Resolves the new edges by type against the updated definitions, in a factory of its own
+            DefaultListableBeanFactory preview = new DefaultListableBeanFactory(parentBeanFactory);
+            beanDefinitionMap.forEach((beanName, beanDefinition) -> {
+                if (!changes.removed().contains(beanName) && !changes.changed().contains(beanName)) {
+                    preview.registerBeanDefinition(beanDefinition);
+                }
+            });
+            changes.changed().forEach(beanName -> preview.registerBeanDefinition(changes.newByName().get(beanName)));
+            affected.addAll(preview.getDependencyGraph().getTransitiveDependents(changes.changed()));
+        }
+        affected.removeAll(changes.removed());
+        return affected;
+    }
+
+    /**
+     * Returns the dependency graph of all the registered definitions, built on
+     * first use after a registration.
+     *
+     * @return the dependency graph
+     */
+    public DependencyGraph getDependencyGraph() {
+        DependencyGraph graph = dependencyGraph;
+        if (graph == null) {
+            graph = DependencyGraph.build(List.copyOf(beanDefinitionMap.values()),
+                    this::resolveAutowireCandidates);
+            dependencyGraph = graph;
+        }
+        return graph;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> Map<String, T> getBeansOfType(Class<T> type) throws BeansException {
         CheckUtils.nullArgs(type, "DefaultListableBeanFactory.getBeansOfType recevies null bean type");
-        Map<String, T> results = new HashMap<>();
-        beanDefinitionMap.forEach((beanName, beanDefinition) -> {
-            if (type.isAssignableFrom(beanDefinition.beanClass())) {
-                results.put(beanName, (T) getBean(beanName));
-            }
-        });
-
+        List<String> beanNames = getBeanNamesOfType(type);
+        Map<String, T> results = new HashMap<>(beanNames.size() * 2);
+        beanNames.forEach(beanName -> results.put(beanName, (T) getBean(beanName)));
         return results;
     }
 
+    /**
+     * Checks the dependency graph, then creates the eager beans in dependency
+     * order.
+     *
+     * @throws NoSuchBeanException if an eager bean refers to a bean or type
+     *                             that no definition matches
+     * @throws BeansException      if beans depend on each other through their
+     *                             constructors or factory methods only
+     */
     @Override
     public void preInstantiateSingletons() throws BeansException {
-        beanDefinitionMap.keySet().forEach(this::getBean);
+        List<BeanDefinition> eagerDefinitions = beanDefinitionMap.values().stream()
+                .filter(beanDefinition -> !beanDefinition.lazyInit() && !beanDefinition.scope().isPluggable())
+                .toList();
+        DependencyGraph fullGraph = getDependencyGraph();
+        validateDependencies(fullGraph, eagerDefinitions);
+        if (!parallelPreInstantiation) {
+            Set<String> eagerNames = eagerDefinitions.stream()
+                    .map(BeanDefinition::beanName)
+                    .collect(Collectors.toSet());
+            fullGraph.getCreationOrder().stream()
+                    .filter(eagerNames::contains)
+                    .forEach(this::getBean);
+            return;
+        }
+
+        // Lazy beans are left out, so edges to them don't order the layers
+        DependencyGraph dependencyGraph = DependencyGraph.build(eagerDefinitions, this::resolveAutowireCandidates);
+        Set<String> cyclicBeans = dependencyGraph.getCycles().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toSet());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (List<String> layer : dependencyGraph.getCreationLayers()) {
+                if (layer.size() == 1 || cyclicBeans.contains(layer.get(0))) {
+                    // The beans of a cycle are created on one thread, through early references
+                    layer.forEach(this::getBean);
+                    continue;
+                }
+                List<Future<Object>> creations = layer.stream()
+                        .map(beanName -> executor.submit(() -> getBean(beanName)))
+                        .toList();
+                awaitCreations(layer, creations);
+            }
+        }
+    }
+
+    /**
+     * Enables or disables parallel pre-instantiation of singletons.
+     * <p>
+     * When enabled, {@link #preInstantiateSingletons()} builds a
+     * {@link DependencyGraph} from the registered definitions and creates the
+     * beans of each dependency layer concurrently on virtual threads, so that
+     * slow constructors and init methods of independent beans overlap. The
+     * beans of a cycle are still created one after the other.
+     *
+     * @param parallelPreInstantiation true to create independent singletons
+     *                                 concurrently
+     */
+    public void setParallelPreInstantiation(boolean parallelPreInstantiation) {
+        this.parallelPreInstantiation = parallelPreInstantiation;
+    }
+
+    /**
+     * Sets the strategy used to instantiate beans through their constructors.
+     * Defaults to {@link SimpleInstantiation}; {@link MethodHandleInstantiation}
+     * is cheaper for beans that are created repeatedly, such as prototypes.
+     *
+     * @param instantiationStrategy the instantiation strategy
+     * @throws IllegalArgumentException if instantiationStrategy is null
+     */
+    public void setInstantiationStrategy(InstantiationStrategy instantiationStrategy) {
+        CheckUtils.nullArgs(instantiationStrategy,
+                "DefaultListableBeanFactory.setInstantiationStrategy recevies null strategy");
+        this.instantiationStrategy = instantiationStrategy;
+    }
+
+    /**
+     * Enables or disables the creation of prototypes through precomputed
+     * recipes. Enabled by default; disabling it runs every prototype creation
+     * through the general creation path.
+     *
+     * @param prototypeRecipes true to create prototypes through their recipes
+     */
+    public void setPrototypeRecipes(boolean prototypeRecipes) {
+        this.prototypeRecipes = prototypeRecipes;
+    }
+
+    /**
+     * Sets the recorder of the creation steps of every bean, of their
+     * construction, initialization and proxy creation. Defaults to
+     * {@link ApplicationStartup#DEFAULT}, which records nothing.
+     *
+     * @param applicationStartup the startup recorder
+     * @throws IllegalArgumentException if applicationStartup is null
+     */
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        CheckUtils.nullArgs(applicationStartup,
+                "DefaultListableBeanFactory.setApplicationStartup recevies null startup");
+        this.applicationStartup = applicationStartup;
+    }
+
+    /**
+     * Returns the recorder of the bean creation steps.
+     *
+     * @return the startup recorder
+     */
+    public ApplicationStartup getApplicationStartup() {
+        return applicationStartup;
     }
 
     @Nullable
     @Override
     public Object getBean(String name) throws BeansException {
+        DefaultListableBeanFactory parent = getParentBeanFactory();
+        if (parent != null && !containsLocalBean(name)) {
+            return parent.getBean(name);
+        }
         return this.generalBeanFactory.getBean(name);
     }
 
+    @Nullable
+    @Override
+    public DefaultListableBeanFactory getParentBeanFactory() {
+        return parentBeanFactory.get();
+    }
+
+    @Override
+    public boolean containsLocalBean(String beanName) {
+        CheckUtils.emptyString(beanName, "DefaultListableBeanFactory.containsLocalBean recevies empty bean name");
+        return beanDefinitionMap.containsKey(beanName) || singletonBeanRegistry.getSingleton(beanName) != null;
+    }
+
+    @Override
+    public boolean containsBean(String beanName) {
+        DefaultListableBeanFactory parent = getParentBeanFactory();
+        return containsLocalBean(beanName) || (parent != null && parent.containsBean(beanName));
+    }
+
+    /**
+     * Returns the names of the beans assignable to the given type that this
+     * factory can inject: its own beans, or the beans of the nearest ancestor
+     * that has any when it has none itself.
+     *
+     * @param requiredType the class or interface to match
+     * @return the names of the matching beans, never null
+     */
+    public List<String> resolveBeanNamesOfType(Class<?> requiredType) {
+        List<String> beanNames = getBeanNamesOfType(requiredType);
+        DefaultListableBeanFactory parent = getParentBeanFactory();
+        if (!beanNames.isEmpty() || parent == null) {
+            return beanNames;
+        }
+        return parent.resolveBeanNamesOfType(requiredType);
+    }
+
+    /**
+     * Returns a provider of the beans assignable to the given type, which
+     * resolves them on first use and then serves the single singleton from
+     * its cache.
+     *
+     * @param <T>          the type of the provided beans
+     * @param requiredType the class or interface to match
+     * @return the provider, never null
+     * @throws IllegalArgumentException if requiredType is null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> ObjectProvider<T> getBeanProvider(Class<T> requiredType) {
+        CheckUtils.nullArgs(requiredType, "DefaultListableBeanFactory.getBeanProvider recevies null bean type");
+        return (ObjectProvider<T>) beanProviders.computeIfAbsent(requiredType,
+                type -> new BeanObjectProvider<>(this, type, null));
+    }
+
+    /**
+     * Returns the single bean assignable to the given type. The type is
+     * resolved once through a cached provider, which keeps the bean name, and
+     * the instance of a singleton, until beans are registered or destroyed.
+     */
+    @Override
+    public <T> T getBean(Class<T> requiredType) throws BeansException {
+        return getBeanProvider(requiredType).getObject();
+    }
+
+    /**
+     * Picks the bean to return for a type among its candidates: the only
+     * candidate, or else the only one whose class is exactly the type, as
+     * autowiring by type does.
+     *
+     * @param requiredType the class or interface to match
+     * @param beanNames    the names of the candidates
+     * @return the name of the unique candidate, or null if there is none or
+     *         the candidates are ambiguous
+     */
+    @Nullable
+    String determineUniqueBeanName(Class<?> requiredType, String[] beanNames) {
+        if (beanNames.length <= 1) {
+            return beanNames.length == 0 ? null : beanNames[0];
+        }
+        String uniqueName = null;
+        for (String candidateName : beanNames) {
+            BeanDefinition beanDefinition = findBeanDefinition(candidateName);
+            if (beanDefinition != null && requiredType.equals(beanDefinition.beanClass())) {
+                if (uniqueName != null) {
+                    return null;
+                }
+                uniqueName = candidateName;
+            }
+        }
+        return uniqueName;
+    }
+
+    /**
+     * Returns the definition of a bean of this factory or of its ancestors.
+     *
+     * @param beanName the name of the bean
+     * @return the bean definition, or null if none defines the bean
+     */
+    @Nullable
+    private BeanDefinition findBeanDefinition(String beanName) {
+        BeanDefinition beanDefinition = beanDefinitionMap.get(beanName);
+        DefaultListableBeanFactory parent = getParentBeanFactory();
+        if (beanDefinition == null && parent != null) {
+            return parent.findBeanDefinition(beanName);
+        }
+        return beanDefinition;
+    }
+
+    /**
+     * Returns the version of the definitions and singletons of this factory
+     * and its ancestors, which changes whenever a bean is registered or
+     * destroyed, or an ancestor is replaced. Versions are never reused, so the
+     * highest one of the chain is enough. Providers compare it to know when
+     * their cache is stale.
+     *
+     * @return the registration version
+     */
+    long getRegistrationVersion() {
+        DefaultListableBeanFactory parent = getParentBeanFactory();
+        return parent == null ? registrationVersion
+                : Math.max(registrationVersion, parent.getRegistrationVersion());
+    }
+
+    /**
+     * Checks whether a bean is the same instance on every lookup, so that a
+     * provider can keep it. Beans made by a FactoryBean are left out, since
+     * their factory decides whether it makes singletons.
+     *
+     * @param beanName the name of the bean
+     * @return true if the bean is a singleton that can be cached
+     */
+    boolean isCacheableSingleton(String beanName) {
+        BeanDefinition beanDefinition = beanDefinitionMap.get(beanName);
+        if (beanDefinition == null) {
+            DefaultListableBeanFactory parent = getParentBeanFactory();
+            if (parent != null && !containsLocalBean(beanName)) {
+                return parent.isCacheableSingleton(beanName);
+            }
+            return singletonBeanRegistry.getSingleton(beanName) != null;
+        }
+        return ScopeEnum.SINGLETON.equals(beanDefinition.scope())
+                && !FactoryBean.class.isAssignableFrom(beanDefinition.beanClass());
+    }
+
+    /**
+     * Returns the definition of a prototype of this factory, so that a
+     * provider can create its instances without looking the bean up each
+     * time. Prototypes of ancestors and FactoryBeans are left out, as their
+     * instances come from another factory or from the FactoryBean.
+     *
+     * @param beanName the name of the bean
+     * @return the bean definition, or null if the bean is no such prototype
+     */
+    @Nullable
+    BeanDefinition findLocalPrototype(String beanName) {
+        BeanDefinition beanDefinition = beanDefinitionMap.get(beanName);
+        if (beanDefinition == null || !ScopeEnum.PROTOTYPE.equals(beanDefinition.scope())
+                || FactoryBean.class.isAssignableFrom(beanDefinition.beanClass())) {
+            return null;
+        }
+        return beanDefinition;
+    }
+
+    /**
+     * Creates a new instance of a prototype returned by
+     * {@link #findLocalPrototype(String)}.
+     *
+     * @param beanDefinition the definition of the prototype
+     * @return the new bean instance
+     */
+    Object createPrototype(BeanDefinition beanDefinition) throws BeansException {
+        return createBean(beanDefinition);
+    }
+
+    /**
+     * Returns the names of the beans that can be injected into a declared
+     * type, such as a constructor parameter of type {@code Repository<User>}.
+     * The candidates of the raw class are narrowed to the beans whose classes
+     * bind the required type arguments; beans leaving them unresolved are only
+     * taken when no bean binds them. Several candidates are sorted by the
+     * {@link Order} of their classes, then by name.
+     *
+     * @param type the declared type of the injection point
+     * @return the names of the matching beans, never null
+     */
+    public List<String> resolveAutowireCandidates(Type type) {
+        ResolvableType resolvableType = ResolvableType.forType(type);
+        List<String> beanNames = resolveBeanNamesOfType(resolvableType.getRawClass());
+        if (resolvableType.hasGenerics() && !beanNames.isEmpty()) {
+            List<String> strictNames = filterCandidates(beanNames, resolvableType, true);
+            beanNames = strictNames.isEmpty() ? filterCandidates(beanNames, resolvableType, false) : strictNames;
+        }
+        if (beanNames.size() < 2) {
+            return beanNames;
+        }
+        return beanNames.stream()
+                .sorted(Comparator.comparingInt(this::getOrder))
+                .toList();
+    }
+
+    /**
+     * Returns the {@link Order} of the class of a bean, cached per class.
+     */
+    private int getOrder(String beanName) {
+        Class<?> beanClass = getCandidateClass(beanName);
+        if (beanClass == null) {
+            return Order.LOWEST_PRECEDENCE;
+        }
+        return ORDER_CACHE.get(beanClass);
+    }
+
+    private List<String> filterCandidates(List<String> beanNames, ResolvableType resolvableType, boolean strict) {
+        return beanNames.stream()
+                .filter(beanName -> {
+                    Class<?> beanClass = getCandidateClass(beanName);
+                    return beanClass != null && resolvableType.isAssignableFrom(beanClass, strict);
+                })
+                .toList();
+    }
+
+    /**
+     * Returns the class of a bean from its definition, or from its instance
+     * for singletons registered without one.
+     */
+    @Nullable
+    private Class<?> getCandidateClass(String beanName) {
+        BeanDefinition beanDefinition = findBeanDefinition(beanName);
+        if (beanDefinition != null) {
+            return beanDefinition.beanClass();
+        }
+        Object singleton = getSingleton(beanName);
+        return singleton == null ? null : singleton.getClass();
+    }
+
     @Nullable
     @Override
     public Object getSingleton(String beanName) {
         return singletonBeanRegistry.getSingleton(beanName);
     }
 
+    @Override
+    public Object getSingleton(String beanName, Supplier<Object> singletonFactory) {
+        return singletonBeanRegistry.getSingleton(beanName, singletonFactory);
+    }
+
+    /**
+     * Destroys a singleton and forgets the object it created if it is a
+     * FactoryBean. Its definition stays registered, so it is created again on
+     * next use.
+     *
+     * @param beanName the name of the bean
+     */
+    @Override
+    public void destroySingleton(String beanName) {
+        singletonBeanRegistry.destroySingleton(beanName);
+        generalBeanFactory.removeFactoryBeanObject(beanName);
+        registrationVersion = REGISTRATION_VERSIONS.incrementAndGet();
+    }
+
+    /**
+     * Destroys the singletons in reverse dependency order, then the bean
+     * scopes which hold instances beyond a single scope, such as the pooled
+     * scope. Singletons that don't depend on each other are destroyed
+     * concurrently, and a failing or slow destroy callback doesn't keep the
+     * others from running.
+     *
+     * @throws BeansException if destroy callbacks failed or timed out, with
+     *                        every failure attached as suppressed exception
+     */
     @Override
     public void destroySingletons() {
-        singletonBeanRegistry.destroySingletons();
+        registrationVersion = REGISTRATION_VERSIONS.incrementAndGet();
+        BeansException failure = null;
+        try {
+            singletonBeanRegistry.destroySingletons(getDependencyGraph().getCreationLayers().reversed(),
+                    applicationStartup);
+        } catch (BeansException e) {
+            failure = e;
+        }
+        for (BeanScope beanScope : scopes.values()) {
+            if (beanScope instanceof DisposableBean disposableScope) {
+                try {
+                    disposableScope.destroy();
+                } catch (Exception e) {
+                    BeansException scopeFailure = new BeansException("Fail to destroy bean scope", e);
+                    if (failure == null) {
+                        failure = scopeFailure;
+                    } else {
+                        failure.addSuppressed(scopeFailure);
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Sets the time the destroy callback of each singleton may take on
+     * shutdown before it is abandoned.
+     *
+     * @param destroyTimeout the timeout of each destroy callback
+     * @throws IllegalArgumentException if destroyTimeout is null or negative
+     */
+    public void setDestroyTimeout(Duration destroyTimeout) {
+        singletonBeanRegistry.setDestroyTimeout(destroyTimeout);
+    }
+
+    /**
+     * Returns how long the destroy callback of each singleton took during the
+     * last shutdown.
+     *
+     * @return the durations keyed by bean name
+     */
+    public Map<String, Duration> getDestructionTimes() {
+        return singletonBeanRegistry.getDestructionTimes();
     }
 
     @Override
     public void addBeanProcessor(BeanProcessor beanProcessor) {
         CheckUtils.nullArgs(beanProcessor, "GeneralBeanFactory.addbeanProcessor recevies null processor");
-        if (!beanProcessors.contains(beanProcessor)) {
-            beanProcessors.add(beanProcessor);
+        if (beanProcessors.addIfAbsent(beanProcessor)) {
+            beanRecipes.clear();
+        }
+    }
+
+    @Override
+    public void registerScope(String scopeName, BeanScope beanScope) {
+        CheckUtils.emptyString(scopeName, "DefaultListableBeanFactory.registerScope recevies empty scope name");
+        CheckUtils.nullArgs(beanScope, "DefaultListableBeanFactory.registerScope recevies null bean scope");
+        if (ScopeEnum.SINGLETON.getScopeName().equals(scopeName)
+                || ScopeEnum.PROTOTYPE.getScopeName().equals(scopeName)) {
+            throw new IllegalArgumentException(
+                    String.format("DefaultListableBeanFactory.registerScope can't replace {%s} scope", scopeName));
+        }
+        scopes.put(scopeName, beanScope);
+    }
+
+    @Nullable
+    @Override
+    public BeanScope getRegisteredScope(String scopeName) {
+        CheckUtils.emptyString(scopeName,
+                "DefaultListableBeanFactory.getRegisteredScope recevies empty scope name");
+        return scopes.get(scopeName);
+    }
+
+    @Override
+    public void releaseBean(String beanName, Object bean) {
+        CheckUtils.emptyString(beanName, "DefaultListableBeanFactory.releaseBean recevies empty bean name");
+        CheckUtils.nullArgs(bean, "DefaultListableBeanFactory.releaseBean recevies null bean");
+        BeanDefinition beanDefinition = beanDefinitionMap.get(beanName);
+        if (beanDefinition == null || !beanDefinition.scope().isPluggable()) {
+            return;
         }
+        getBeanScope(beanDefinition).release(beanName, getScopedOrdinal(beanDefinition), bean);
     }
 
     @Nullable
     @Override
     public <T> T getBean(String name, Class<T> requiredType) throws BeansException {
+        DefaultListableBeanFactory parent = getParentBeanFactory();
+        if (parent != null && !containsLocalBean(name)) {
+            return parent.getBean(name, requiredType);
+        }
         return generalBeanFactory.getBean(name, requiredType);
     }
 
@@ -173,34 +874,286 @@ public class DefaultListableBeanFactory
     }
 
     /**
-     * Creates a new instance of a bean from its definition.
+     * Fails fast on the dependency problems that would otherwise surface in the
+     * middle of the creation: references without a match and cycles that no
+     * early reference or proxy can break.
+     *
+     * @param graph            the dependency graph of all the definitions
+     * @param eagerDefinitions the definitions created on refresh
+     */
+    private void validateDependencies(DependencyGraph graph, List<BeanDefinition> eagerDefinitions) {
+        Map<String, Set<String>> missingDependencies = graph.getMissingDependencies();
+        List<String> problems = new ArrayList<>();
+        for (BeanDefinition beanDefinition : eagerDefinitions) {
+            Set<String> missing = missingDependencies.get(beanDefinition.beanName());
+            if (missing == null) {
+                continue;
+            }
+            // Singletons registered directly and the beans of the parent have
+            // no definition here
+            List<String> unmatched = missing.stream()
+                    .filter(dependency -> !containsBean(dependency))
+                    .toList();
+            if (!unmatched.isEmpty()) {
+                problems.add(String.format("{%s} depends on {%s}", beanDefinition.beanName(),
+                        String.join(", ", unmatched)));
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new NoSuchBeanException("Missing dependencies: " + String.join("; ", problems));
+        }
+
+        for (List<String> cycle : graph.getUnresolvableCycles()) {
+            // Lazy and scoped beans are injected as proxies, which break the cycle
+            boolean proxied = cycle.stream()
+                    .map(beanDefinitionMap::get)
+                    .anyMatch(beanDefinition -> beanDefinition.lazyInit() || beanDefinition.scope().isPluggable());
+            if (!proxied) {
+                throw new BeansException(String.format(
+                        "Beans {%s} depend on each other through their constructors or factory methods",
+                        String.join(", ", cycle)));
+            }
+        }
+    }
+
+    /**
+     * Destroys the given beans and their transitive dependents, dependents
+     * before their dependencies.
+     *
+     * @param graph     the graph ordering the beans
+     * @param beanNames the names of the changed beans
+     * @param destroyed the names of the beans destroyed so far, extended with
+     *                  the newly destroyed ones
+     */
+    private void destroyInReverseOrder(DependencyGraph graph, Set<String> beanNames, Set<String> destroyed) {
+        if (beanNames.isEmpty()) {
+            return;
+        }
+        Set<String> dependents = graph.getTransitiveDependents(beanNames);
+        List<String> creationOrder = graph.getCreationOrder();
+        for (int i = creationOrder.size() - 1; i >= 0; i--) {
+            String beanName = creationOrder.get(i);
+            if (dependents.contains(beanName) && destroyed.add(beanName)) {
+                destroySingleton(beanName);
+            }
+        }
+    }
+
+    /**
+     * Difference between two versions of a set of definitions.
+     *
+     * @param removed    the names of the beans only the old version defines
+     * @param changed    the names of the beans the new version defines
+     *                   differently or adds
+     * @param oldChanges the names of the removed beans and of the changed
+     *                   beans the old version already defined
+     * @param newByName  the definitions of the new version by bean name
+     */
+    private record DefinitionChanges(Set<String> removed, Set<String> changed, Set<String> oldChanges,
+            Map<String, BeanDefinition> newByName) {
+
+        static DefinitionChanges of(Collection<BeanDefinition> oldDefinitions,
+                Collection<BeanDefinition> newDefinitions) {
+            Map<String, BeanDefinition> oldByName = oldDefinitions.stream()
+                    .collect(Collectors.toMap(BeanDefinition::beanName, beanDefinition -> beanDefinition));
+            Map<String, BeanDefinition> newByName = newDefinitions.stream()
+                    .collect(Collectors.toMap(BeanDefinition::beanName, beanDefinition -> beanDefinition));
+            Set<String> removed = new TreeSet<>(oldByName.keySet());
+            removed.removeAll(newByName.keySet());
+            Set<String> changed = new TreeSet<>();
+            newByName.forEach((beanName, beanDefinition) -> {
+                BeanDefinition oldDefinition = oldByName.get(beanName);
+                if (oldDefinition == null || !isSameDefinition(oldDefinition, beanDefinition)) {
+                    changed.add(beanName);
+                }
+            });
+            Set<String> oldChanges = new TreeSet<>(removed);
+            changed.stream().filter(oldByName::containsKey).forEach(oldChanges::add);
+            return new DefinitionChanges(removed, changed, oldChanges, newByName);
+        }
+    }
+
+    /**
+     * Returns whether two definitions of a bean describe the same bean. Unlike
+     * {@link BeanDefinition#equals(Object)}, which only compares names, every
+     * component is compared.
+     *
+     * @param oldDefinition the previous definition
+     * @param newDefinition the new definition
+     * @return true if creating the bean from either gives the same bean
+     */
+    private static boolean isSameDefinition(BeanDefinition oldDefinition, BeanDefinition newDefinition) {
+        FactoryDefinition oldFactory = oldDefinition.factoryDefinition();
+        FactoryDefinition newFactory = newDefinition.factoryDefinition();
+        boolean sameFactory = oldFactory == null ? newFactory == null
+                : newFactory != null && oldFactory.factoryName().equals(newFactory.factoryName())
+                        && oldFactory.factoryMethodName().equals(newFactory.factoryMethodName())
+                        && Arrays.equals(oldFactory.factoryMethodParamTypes(), newFactory.factoryMethodParamTypes());
+        return sameFactory
+                && oldDefinition.beanClass() == newDefinition.beanClass()
+                && Objects.equals(oldDefinition.fieldValueList(), newDefinition.fieldValueList())
+                && Objects.equals(oldDefinition.initMethodName(), newDefinition.initMethodName())
+                && Objects.equals(oldDefinition.destroyMethodName(), newDefinition.destroyMethodName())
+                && oldDefinition.scope() == newDefinition.scope()
+                && Objects.equals(oldDefinition.scopeName(), newDefinition.scopeName())
+                && Objects.equals(oldDefinition.constructor(), newDefinition.constructor())
+                && Arrays.equals(oldDefinition.constructorArgus(), newDefinition.constructorArgus())
+                && oldDefinition.lazyInit() == newDefinition.lazyInit();
+    }
+
+    /**
+     * Waits for the beans of a creation layer and rethrows the first failure in
+     * layer order.
+     *
+     * @param layer     the names of the beans being created
+     * @param creations the pending creations, in layer order
+     * @throws BeansException if a bean could not be created
+     */
+    private void awaitCreations(List<String> layer, List<Future<Object>> creations) {
+        BeansException failure = null;
+        for (int i = 0; i < creations.size(); i++) {
+            try {
+                creations.get(i).get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof BeansException beansException ? beansException
+                            : new BeansException(String.format("Fail to create {%s} bean", layer.get(i)),
+                                    e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BeansException("Interrupted while pre-instantiating singletons", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Adds the bean name under every type of the bean's class hierarchy.
+     *
+     * @param beanDefinition the registered bean definition
+     */
+    private void addToTypeIndex(BeanDefinition beanDefinition) {
+        String beanName = beanDefinition.beanName();
+        for (Class<?> type : ClassUtils.getTypeHierarchy(beanDefinition.beanClass())) {
+            beanNamesByType.computeIfAbsent(type, key -> new ConcurrentSkipListSet<>()).add(beanName);
+        }
+    }
+
+    /**
+     * Removes the bean name from every type of the bean's class hierarchy.
+     *
+     * @param beanDefinition the replaced bean definition
+     */
+    private void removeFromTypeIndex(BeanDefinition beanDefinition) {
+        String beanName = beanDefinition.beanName();
+        for (Class<?> type : ClassUtils.getTypeHierarchy(beanDefinition.beanClass())) {
+            Set<String> beanNames = beanNamesByType.get(type);
+            if (beanNames != null) {
+                beanNames.remove(beanName);
+            }
+        }
+    }
+
+    /**
+     * Returns the instance of a non-singleton bean: the one held by its bean
+     * scope for beans of pluggable scopes, a new one otherwise.
+     *
+     * @param beanDefinition the bean definition
+     * @return the bean instance
+     * @throws BeansException if no bean scope is registered for the scope
+     */
+    private Object createBeanInScope(BeanDefinition beanDefinition) throws BeansException {
+        if (!beanDefinition.scope().isPluggable()) {
+            return createBean(beanDefinition);
+        }
+        return getBeanScope(beanDefinition).get(beanDefinition.beanName(), getScopedOrdinal(beanDefinition),
+                () -> createBean(beanDefinition));
+    }
+
+    private BeanScope getBeanScope(BeanDefinition beanDefinition) {
+        BeanScope beanScope = scopes.get(beanDefinition.scopeName());
+        if (beanScope == null) {
+            throw new BeansException(String.format("No scope registered under {%s} for {%s} bean",
+                    beanDefinition.scopeName(), beanDefinition.beanName()));
+        }
+        return beanScope;
+    }
+
+    /**
+     * Returns the ordinal of a bean of a pluggable scope, giving it one on
+     * first use. Ordinals are never reused, so a redefined bean can't read the
+     * instance of another bean.
+     */
+    private int getScopedOrdinal(BeanDefinition beanDefinition) {
+        return scopedOrdinals.computeIfAbsent(beanDefinition.beanName(),
+                beanName -> nextScopedOrdinal.getAndIncrement());
+    }
+
+    /**
+     * Creates a new instance of a bean from its definition. Singletons are only
+     * created through the singleton registry, which registers the returned
+     * instance.
      *
      * @param beanDefinition the bean definition to create an instance from
      * @return the created bean instance
      */
     private Object createBean(BeanDefinition beanDefinition) throws BeansException {
+        BeanInstantiationEvent event = new BeanInstantiationEvent();
+        event.begin();
+        try (StartupStep step = applicationStartup.start(ApplicationStartup.BEAN_INSTANTIATE)) {
+            step.tag(ApplicationStartup.BEAN_NAME_TAG, beanDefinition.beanName());
+            return doCreateBean(beanDefinition);
+        } finally {
+            if (event.shouldCommit()) {
+                event.beanName = beanDefinition.beanName();
+                event.beanClass = beanDefinition.beanClass();
+                event.scope = String.valueOf(beanDefinition.scope());
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Creates a new instance of a bean from its definition, either through its
+     * recipe or through the general creation path.
+     *
+     * @param beanDefinition the bean definition to create an instance from
+     * @return the created bean instance
+     */
+    private Object doCreateBean(BeanDefinition beanDefinition) throws BeansException {
+        if (prototypeRecipes && ScopeEnum.PROTOTYPE.equals(beanDefinition.scope())
+                && beanDefinition.factoryDefinition() == null) {
+            return getBeanRecipe(beanDefinition).create(instantiationStrategy, dependencyResolver, this);
+        }
+
         Object bean;
         String beanName = beanDefinition.beanName();
 
-        bean = createBeanInstance(beanDefinition);
+        try (StartupStep step = applicationStartup.start(ApplicationStartup.BEAN_CONSTRUCT)) {
+            step.tag(ApplicationStartup.BEAN_NAME_TAG, beanName);
+            bean = createBeanInstance(beanDefinition);
+        }
 
         // Avoid the cylclic dependency problem
         if (ScopeEnum.SINGLETON.equals(beanDefinition.scope())) {
-            singletonBeanRegistry.registerSingleton(beanName, getEarlyBeanReference(bean, beanName));
+            singletonBeanRegistry.registerEarlySingleton(beanName, getEarlyBeanReference(bean, beanName));
         }
 
-        bean = initializeBean(bean, beanDefinition);
+        try (StartupStep step = applicationStartup.start(ApplicationStartup.BEAN_INITIALIZE)) {
+            step.tag(ApplicationStartup.BEAN_NAME_TAG, beanName);
+            bean = initializeBean(bean, beanDefinition);
+        }
 
         registerDisposableBeanIfNecessary(bean, beanDefinition);
         if (!ScopeEnum.SINGLETON.equals(beanDefinition.scope())) {
             return bean;
         }
-        Object singleton = singletonBeanRegistry.getSingleton(beanName);
-        if (singleton == null) {
-            singleton = bean;
-            singletonBeanRegistry.registerSingleton(beanName, bean);
-        }
-        return singleton;
+        // The registry publishes the early reference, which may be a proxy
+        Object earlySingleton = singletonBeanRegistry.getEarlySingleton(beanName);
+        return earlySingleton == null ? bean : earlySingleton;
     }
 
     /**
@@ -226,7 +1179,12 @@ public class DefaultListableBeanFactory
                 if (creator.getBeanFactory() == null) {
                     creator.setBeanFactory(generalBeanFactory);
                 }
-                Object curBean = creator.create(bean, beanName);
+                Object curBean;
+                try (StartupStep step = applicationStartup.start(ApplicationStartup.AOP_PROXY_CREATE)) {
+                    step.tag(ApplicationStartup.BEAN_NAME_TAG, beanName);
+                    curBean = creator.create(bean, beanName);
+                    step.tag("proxied", String.valueOf(curBean != null && curBean != bean));
+                }
                 if (curBean != null) {
                     bean = curBean;
                 }
@@ -238,17 +1196,31 @@ public class DefaultListableBeanFactory
 
     /**
      * Registers a bean as disposable if it implements DisposableBean
-     * or has a custom destroy method.
+     * or has a custom destroy method. Singletons are destroyed with the
+     * registry, beans of pluggable scopes when their scope ends.
      */
     private void registerDisposableBeanIfNecessary(Object bean, BeanDefinition beanDefinition) {
-        if (!ScopeEnum.SINGLETON.equals(beanDefinition.scope())) {
+        if (ScopeEnum.PROTOTYPE.equals(beanDefinition.scope())) {
+            return;
+        }
+
+        DisposableBean disposableBean = getDisposableBean(bean, beanDefinition);
+        if (disposableBean == null) {
             return;
         }
+        if (beanDefinition.scope().isPluggable()) {
+            getBeanScope(beanDefinition).registerDestructionCallback(beanDefinition.beanName(),
+                    getScopedOrdinal(beanDefinition), bean, disposableBean);
+        } else {
+            singletonBeanRegistry.registerDisposableBean(beanDefinition.beanName(), disposableBean);
+        }
+    }
 
+    private DisposableBean getDisposableBean(Object bean, BeanDefinition beanDefinition) {
         if (bean instanceof DisposableBean) {
-            singletonBeanRegistry.registerDisposableBean(beanDefinition.beanName(), (DisposableBean) bean);
+            return (DisposableBean) bean;
         } else if (!StringUtils.isEmpty(beanDefinition.destroyMethodName())) {
-            singletonBeanRegistry.registerDisposableBean(beanDefinition.beanName(), () -> {
+            return () -> {
                 try {
                     Method destroyMethod = beanDefinition.beanClass().getMethod(beanDefinition.destroyMethodName());
                     destroyMethod.setAccessible(true);
@@ -256,8 +1228,9 @@ public class DefaultListableBeanFactory
                 } catch (IllegalAccessException | InvocationTargetException e) {
                     throw new BeansException(String.format("Fail to destory {%s} bean", beanDefinition.beanName()), e);
                 }
-            });
+            };
         }
+        return null;
     }
 
     /**
@@ -282,7 +1255,7 @@ public class DefaultListableBeanFactory
         Class<?>[] parameterTypes = factpryDefinition.factoryMethodParamTypes();
         try {
             Method factoryMethod = factory.getClass().getMethod(factoryMethodName, parameterTypes);
-            Object[] arguBeans = createArguBeans(parameterTypes);
+            Object[] arguBeans = createArguBeans(ResolvableType.getGenericParameterTypes(factoryMethod));
             factoryMethod.setAccessible(true);
             return arguBeans == null ? factoryMethod.invoke(factory) : factoryMethod.invoke(factory, arguBeans);
         } catch (NoSuchMethodException | SecurityException | IllegalAccessException | InvocationTargetException e) {
@@ -295,23 +1268,29 @@ public class DefaultListableBeanFactory
     private Object createBeanInstanceByConstructor(BeanDefinition beanDefinition) {
         Constructor<?> constructorToUse = beanDefinition.constructor();
         Class<?> beanClass = beanDefinition.beanClass();
-        Class<?>[] parameterTypes = null;
+        Type[] parameterTypes = null;
         if (constructorToUse != null) {
-            parameterTypes = constructorToUse.getParameterTypes();
+            parameterTypes = ResolvableType.getGenericParameterTypes(constructorToUse);
         }
         return instantiationStrategy.instance(beanClass, constructorToUse, createArguBeans(parameterTypes));
     }
 
-    private Object[] createArguBeans(Class<?>[] parameterTypes) {
+    private Object[] createArguBeans(Type[] parameterTypes) {
         if (ClassUtils.isArrayEmpty(parameterTypes)) {
             return null;
         }
 
         Object[] args = new Object[parameterTypes.length];
         for (int i = 0; i < args.length; i++) {
-            Map<String, ?> beansOfType = getBeansOfType(parameterTypes[i]);
-            if (beansOfType.size() == 1) {
-                args[i] = beansOfType.values().iterator().next();
+            List<String> beanNames = resolveAutowireCandidates(parameterTypes[i]);
+            CollectionDependency collection = beanNames.isEmpty()
+                    ? CollectionDependency.build(parameterTypes[i], this::resolveAutowireCandidates)
+                    : null;
+            if (collection != null) {
+                args[i] = collection.resolve(dependencyResolver);
+            } else if (beanNames.size() == 1) {
+                Class<?> parameterClass = ResolvableType.forType(parameterTypes[i]).getRawClass();
+                args[i] = resolveDependency(beanNames.get(0), parameterClass);
             } else {
                 throw new NoSuchBeanException(parameterTypes[i]);
             }
@@ -320,31 +1299,74 @@ public class DefaultListableBeanFactory
     }
 
     /**
-     * Populates bean properties from its property values.
+     * Resolves a bean to inject into a dependency of the given type.
+     * <p>
+     * A lazy singleton that doesn't exist yet is injected as a
+     * {@link TargetSourceProxy}, which creates the bean on its first method
+     * call. A bean of a pluggable scope, such as a request scoped bean, is
+     * injected as a scoped proxy, which looks the instance of the current scope
+     * up on every method call and releases it afterwards. Types that can't be proxied fall back to
+     * getting the bean now. Beans this factory doesn't have are resolved by
+     * the parent.
+     *
+     * @param beanName       the name of the bean to inject
+     * @param dependencyType the declared type of the injection point
+     * @return the bean or a lazy-resolution proxy of it
      */
-    private void fillFieldValues(BeanDefinition beanDefinition, Object bean) {
-        FieldValueList fieldValueList = beanDefinition.fieldValueList();
-        if (fieldValueList == null) {
-            return;
+    private Object resolveDependency(String beanName, Class<?> dependencyType) {
+        BeanDefinition beanDefinition = beanDefinitionMap.get(beanName);
+        DefaultListableBeanFactory parent = getParentBeanFactory();
+        if (beanDefinition == null && parent != null && !containsLocalBean(beanName)) {
+            return parent.resolveDependency(beanName, dependencyType);
         }
-        Class<?> beanClass = beanDefinition.beanClass();
-        for (FieldValue fieldValue : fieldValueList) {
-            String propertyName = fieldValue.name();
-            Object value = fieldValue.value();
+        if (beanDefinition != null && beanDefinition.lazyInit()
+                && ScopeEnum.SINGLETON.equals(beanDefinition.scope())
+                && singletonBeanRegistry.getSingleton(beanName) == null
+                && TargetSourceProxy.canProxy(dependencyType)) {
+            return TargetSourceProxy.createProxy(dependencyType, () -> getBean(beanName));
+        }
+        if (beanDefinition != null && beanDefinition.scope().isPluggable()
+                && TargetSourceProxy.canProxy(dependencyType)) {
+            return TargetSourceProxy.createProxy(dependencyType, () -> getBean(beanName),
+                    bean -> releaseBean(beanName, bean));
+        }
+        return getBean(beanName);
+    }
 
-            if (value instanceof BeanReference) {
-                BeanReference beanReference = (BeanReference) value;
-                value = generalBeanFactory.getBean(beanReference.beanName());
-            }
+    /**
+     * Returns the injection plan of a bean definition, building it on first use.
+     *
+     * @param beanDefinition the bean definition
+     * @return the cached injection plan
+     */
+    private InjectionPlan getInjectionPlan(BeanDefinition beanDefinition) {
+        return injectionPlans.computeIfAbsent(beanDefinition.beanName(),
+                beanName -> InjectionPlan.build(beanDefinition, this::resolveAutowireCandidates,
+                        this::createBeanProvider));
+    }
 
-            try {
-                Field declaredField = beanClass.getDeclaredField(propertyName);
-                declaredField.setAccessible(true);
-                declaredField.set(bean, value);
-            } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-                throw new BeansException("Error setting property values: " + beanClass.getName(), e);
-            }
-        }
+    /**
+     * Creates the provider injected into a field planned with a
+     * {@link ProviderReference}.
+     *
+     * @param providerReference the provided type and bean name
+     * @return the provider
+     */
+    private ObjectProvider<?> createBeanProvider(ProviderReference providerReference) {
+        return new BeanObjectProvider<>(this, providerReference.beanType(), providerReference.beanName());
+    }
+
+    /**
+     * Returns the recipe of a prototype bean definition, building it on first
+     * use.
+     *
+     * @param beanDefinition the prototype bean definition
+     * @return the cached recipe
+     */
+    private BeanRecipe getBeanRecipe(BeanDefinition beanDefinition) {
+        return beanRecipes.computeIfAbsent(beanDefinition.beanName(),
+                beanName -> BeanRecipe.build(beanDefinition, getInjectionPlan(beanDefinition), beanProcessors,
+                        this::resolveAutowireCandidates));
     }
 
     /**
@@ -352,9 +1374,7 @@ public class DefaultListableBeanFactory
      * and applying post processors.
      */
     private Object initializeBean(Object bean, BeanDefinition beanDefinition) {
-        fillFieldValues(beanDefinition, bean);
-
-        methodInject(bean, beanDefinition);
+        getInjectionPlan(beanDefinition).inject(bean, dependencyResolver);
 
         String beanName = beanDefinition.beanName();
 
@@ -396,69 +1416,6 @@ public class DefaultListableBeanFactory
         }
     }
 
-    /**
-     * Performs method injection for methods annotated with @AutoWired.
-     * This method processes methods with a single parameter that should be
-     * autowired with a bean from the container.
-     *
-     * @param wrappedBean    the bean instance being configured
-     * @param beanDefinition the bean definition
-     * @throws BeansException if method injection fails
-     */
-    private void methodInject(Object wrappedBean, BeanDefinition beanDefinition) {
-        Class<?> beanClass = beanDefinition.beanClass();
-        Method[] methods = beanClass.getMethods();
-        for (Method method : methods) {
-            AutoWired autoWired = method.getAnnotation(AutoWired.class);
-            if (autoWired == null) {
-                continue;
-            }
-            int count = method.getParameterCount();
-
-            if (count == 0) {
-                throw new BeansException(String.format("Class {%s}'s inject method {%s} has no arugment",
-                        beanClass, method.getName()));
-            }
-
-            if (count > 1) {
-                throw new BeansException(String.format("Class {%s}'s inject method {%s} has no arugment",
-                        beanClass, method.getName()));
-            }
-
-            Class<?> parameterType = method.getParameterTypes()[0];
-
-            setInjectingParameter(wrappedBean, method, parameterType);
-
-        }
-    }
-
-    private void setInjectingParameter(Object wrappedBean, Method method, Class<?> parameterType) {
-        if (parameterType.isPrimitive()) {
-            throw new BeansException(String.format("Class {%s}'s inject method {%s} has primitive type arugment",
-                    parameterType, method.getName()));
-        }
-
-        Object injectingBean = null;
-        List<BeanDefinition> beanDefinitions = getBeanDefinitionsOfType(parameterType);
-        if (ClassUtils.isCollectionEmpty(beanDefinitions)) {
-            throw new NoSuchBeanException(parameterType);
-        } else if (beanDefinitions.size() > 1) {
-            throw new BeansException(String.format("Can not specify arugment bean {%s} in inject method {%s} ",
-                    parameterType, method.getName()));
-
-        } else {
-            injectingBean = getBean(beanDefinitions.get(0).beanName());
-        }
-
-        try {
-            method.invoke(wrappedBean, injectingBean);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            throw new BeansException(String.format("Class {%s}'s inject method {%s} failed",
-                    parameterType, method.getName()), e);
-        }
-
-    }
-
     /**
      * Invokes initialization methods on the bean if it implements InitializingBean
      * or has a custom init method specified.
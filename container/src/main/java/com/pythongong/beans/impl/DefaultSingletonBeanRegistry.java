@@ -16,15 +16,32 @@
  */
 package com.pythongong.beans.impl;
 
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 import com.pythongong.beans.config.DisposableBean;
 import com.pythongong.beans.registry.SingletonBeanRegistry;
+import com.pythongong.context.startup.ApplicationStartup;
+import com.pythongong.context.startup.StartupStep;
 import com.pythongong.exception.BeansException;
-import com.pythongong.exception.NoSuchBeanException;
 import com.pythongong.util.CheckUtils;
 import com.pythongong.util.ClassUtils;
 
@@ -35,6 +52,17 @@ import com.pythongong.util.ClassUtils;
  * Supports registration of disposable beans, which will be destroyed when
  * the registry is destroyed. Uses thread-safe collections to support concurrent
  * access to singleton beans.
+ * <p>
+ * Each singleton is created exactly once. The first thread asking for a
+ * missing singleton creates it while later threads wait on its in-flight
+ * creation; readers of a finished singleton take no lock. A thread asking for
+ * a singleton that it is creating itself, directly or through threads waiting
+ * on it, receives the early reference instead, which resolves cyclic
+ * dependencies without deadlocking.
+ * <p>
+ * Disposable beans are destroyed layer by layer, the beans of one layer
+ * concurrently, each within a timeout. Failures don't stop the shutdown; they
+ * are reported together once every bean was given its chance.
  *
  * @author Cheng Gong
  * @see SingletonBeanRegistry
@@ -42,11 +70,33 @@ import com.pythongong.util.ClassUtils;
  */
 public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 
-    /** Cache of singleton objects: bean name to bean instance */
+    /** Cache of fully initialized singleton objects: bean name to bean instance */
     private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(ClassUtils.BIG_INIT_SIZE);
 
-    /** Map of disposable beans: bean name to disposable instance */
-    private final Map<String, DisposableBean> disposableBeanMap = new HashMap<>(ClassUtils.SMALL_INIT_SIZE);
+    /** Cache of early singleton references: bean name to uninitialized instance */
+    private final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>(ClassUtils.SMALL_INIT_SIZE);
+
+    /** Singletons currently in creation: bean name to in-flight creation */
+    private final Map<String, SingletonCreation> singletonsInCreation = new HashMap<>(ClassUtils.SMALL_INIT_SIZE);
+
+    /** Threads waiting on another thread's creation: thread to bean name */
+    private final Map<Thread, String> waitingThreads = new HashMap<>(ClassUtils.SMALL_INIT_SIZE);
+
+    /** Guards the in-creation and waiting thread bookkeeping */
+    private final Object creationLock = new Object();
+
+    /** Default time a destroy callback may take before it is abandoned */
+    public static final Duration DEFAULT_DESTROY_TIMEOUT = Duration.ofSeconds(30);
+
+    /** Map of disposable beans in registration order: bean name to disposable instance */
+    private final Map<String, DisposableBean> disposableBeanMap = Collections
+            .synchronizedMap(new LinkedHashMap<>(ClassUtils.SMALL_INIT_SIZE));
+
+    /** Durations of the destroy callbacks of the last shutdown: bean name to duration */
+    private final Map<String, Duration> destructionTimes = new ConcurrentHashMap<>(ClassUtils.SMALL_INIT_SIZE);
+
+    /** Time a destroy callback may take before it is abandoned */
+    private volatile Duration destroyTimeout = DEFAULT_DESTROY_TIMEOUT;
 
     /**
      * Register a disposable bean for later destruction.
@@ -68,24 +118,206 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
         return singletonObjects.get(beanName);
     }
 
+    @Override
+    public Object getSingleton(String beanName, Supplier<Object> singletonFactory) {
+        CheckUtils.emptyString(beanName, "DefaultSingletonBeanRegistry.getSingleton receives empty bean name");
+        CheckUtils.nullArgs(singletonFactory, "DefaultSingletonBeanRegistry.getSingleton receives null factory");
+        Object singleton = singletonObjects.get(beanName);
+        if (singleton != null) {
+            return singleton;
+        }
+
+        Thread currentThread = Thread.currentThread();
+        SingletonCreation creation;
+        synchronized (creationLock) {
+            singleton = singletonObjects.get(beanName);
+            if (singleton != null) {
+                return singleton;
+            }
+            creation = singletonsInCreation.get(beanName);
+            if (creation == null) {
+                creation = new SingletonCreation(currentThread, new CompletableFuture<>());
+                singletonsInCreation.put(beanName, creation);
+            } else if (isWaitingOn(creation.creator(), currentThread)) {
+                return getEarlySingletonInCycle(beanName);
+            } else {
+                waitingThreads.put(currentThread, beanName);
+            }
+        }
+
+        if (creation.creator() == currentThread) {
+            return createSingleton(beanName, creation, singletonFactory);
+        }
+        return awaitSingleton(currentThread, creation);
+    }
+
+    @Override
+    public void destroySingleton(String beanName) {
+        CheckUtils.emptyString(beanName, "DefaultSingletonBeanRegistry.destroySingleton receives empty bean name");
+        singletonObjects.remove(beanName);
+        earlySingletonObjects.remove(beanName);
+        DisposableBean bean = disposableBeanMap.remove(beanName);
+        if (bean == null) {
+            return;
+        }
+        try {
+            bean.destroy();
+        } catch (Exception e) {
+            throw new BeansException(String.format("Fail to destory {%s} bean", beanName), e);
+        }
+    }
+
+    /**
+     * Destroys the disposable beans in reverse registration order. A bean is
+     * registered once it is initialized, so after the beans it depends on.
+     *
+     * @throws BeansException if destroy callbacks failed or timed out, with
+     *                        every failure attached as suppressed exception
+     */
     @Override
     public void destroySingletons() {
-        Object[] disaposableNames = disposableBeanMap.keySet().toArray();
+        destroySingletons(List.of(), ApplicationStartup.DEFAULT);
+    }
 
-        Arrays.stream(disaposableNames).forEach(beanName -> {
-            DisposableBean bean = disposableBeanMap.get(beanName);
-            if (bean == null) {
-                throw new NoSuchBeanException((String) beanName, DisposableBean.class);
+    /**
+     * Sets the time a destroy callback may take during
+     * {@link #destroySingletons()}. A callback taking longer is interrupted
+     * and reported as failed, and the shutdown goes on without it. Defaults to
+     * {@link #DEFAULT_DESTROY_TIMEOUT}.
+     *
+     * @param destroyTimeout the timeout of each destroy callback
+     * @throws IllegalArgumentException if destroyTimeout is null or negative
+     */
+    public void setDestroyTimeout(Duration destroyTimeout) {
+        CheckUtils.nullArgs(destroyTimeout, "DefaultSingletonBeanRegistry.setDestroyTimeout receives null timeout");
+        if (destroyTimeout.isNegative()) {
+            throw new IllegalArgumentException(
+                    "DefaultSingletonBeanRegistry.setDestroyTimeout receives negative timeout");
+        }
+        this.destroyTimeout = destroyTimeout;
+    }
+
+    /**
+     * Returns how long the destroy callback of each bean took during the last
+     * shutdown. A bean that timed out is reported with the time it was given.
+     *
+     * @return the durations keyed by bean name
+     */
+    public Map<String, Duration> getDestructionTimes() {
+        return Map.copyOf(destructionTimes);
+    }
+
+    /**
+     * Destroys the disposable beans layer by layer. The beans of one layer are
+     * destroyed concurrently on virtual threads, and a layer starts once the
+     * previous one has finished or timed out. Disposable beans missing from the
+     * layers are destroyed last, one by one in reverse registration order.
+     *
+     * @param destructionLayers  the bean names in destruction layers, so that
+     *                           a bean comes before the beans it depends on
+     * @param applicationStartup the recorder of the destroy steps
+     * @throws BeansException if destroy callbacks failed or timed out, with
+     *                        every failure attached as suppressed exception
+     */
+    void destroySingletons(List<? extends Collection<String>> destructionLayers,
+            ApplicationStartup applicationStartup) {
+        List<List<String>> layers = new ArrayList<>();
+        Set<String> plannedNames = new HashSet<>();
+        for (Collection<String> layer : destructionLayers) {
+            List<String> disposableNames = layer.stream()
+                    .filter(disposableBeanMap::containsKey)
+                    .filter(plannedNames::add)
+                    .toList();
+            if (!disposableNames.isEmpty()) {
+                layers.add(disposableNames);
+            }
+        }
+        List<String> registeredNames;
+        synchronized (disposableBeanMap) {
+            registeredNames = new ArrayList<>(disposableBeanMap.keySet());
+        }
+        registeredNames.reversed().stream()
+                .filter(plannedNames::add)
+                .forEach(beanName -> layers.add(List.of(beanName)));
+
+        destructionTimes.clear();
+        List<BeansException> failures = new ArrayList<>();
+        // Not closed through try-with-resources, which would wait for timed out callbacks
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            layers.forEach(layer -> destroyLayer(executor, layer, applicationStartup, failures));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (!failures.isEmpty()) {
+            BeansException failure = new BeansException(
+                    String.format("Fail to destroy %d of %d beans", failures.size(), plannedNames.size()));
+            failures.forEach(failure::addSuppressed);
+            throw failure;
+        }
+    }
+
+    /**
+     * Destroys the beans of one layer concurrently and waits for them until
+     * the destroy timeout has passed.
+     *
+     * @param executor           the executor running the destroy callbacks
+     * @param layer              the names of the beans to destroy
+     * @param applicationStartup the recorder of the destroy steps
+     * @param failures           collects the failed and timed out callbacks
+     */
+    private void destroyLayer(ExecutorService executor, List<String> layer,
+            ApplicationStartup applicationStartup, List<BeansException> failures) {
+        Duration timeout = destroyTimeout;
+        Map<String, Future<Object>> destructions = new LinkedHashMap<>(layer.size() * 2);
+        for (String beanName : layer) {
+            DisposableBean bean = disposableBeanMap.remove(beanName);
+            if (bean != null) {
+                destructions.put(beanName,
+                        executor.submit(() -> destroyBean(beanName, bean, applicationStartup)));
             }
-            disposableBeanMap.remove(beanName);
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        destructions.forEach((beanName, destruction) -> {
             try {
-                bean.destroy();
-            } catch (Exception e) {
-                throw new BeansException(String.format("Fail to destory {%s} bean", beanName), e);
+                destruction.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                destructionTimes.putIfAbsent(beanName, timeout);
+                destruction.cancel(true);
+                failures.add(new BeansException(String.format("Timed out destroying {%s} bean after %d ms",
+                        beanName, timeout.toMillis())));
+            } catch (ExecutionException e) {
+                failures.add(new BeansException(String.format("Fail to destory {%s} bean", beanName), e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                destruction.cancel(true);
+                failures.add(new BeansException(
+                        String.format("Interrupted while destroying {%s} bean", beanName), e));
             }
         });
     }
 
+    /**
+     * Calls the destroy callback of a bean and records how long it took.
+     *
+     * @return null, so that the callback can be submitted as a callable
+     * @throws Exception if the destroy callback fails
+     */
+    private Object destroyBean(String beanName, DisposableBean bean, ApplicationStartup applicationStartup)
+            throws Exception {
+        long start = System.nanoTime();
+        try (StartupStep step = applicationStartup.start(ApplicationStartup.BEAN_DESTROY)) {
+            step.tag(ApplicationStartup.BEAN_NAME_TAG, beanName);
+            bean.destroy();
+            return null;
+        } finally {
+            // A callback that timed out is already reported with its timeout
+            destructionTimes.putIfAbsent(beanName, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
     /**
      * Register the given existing object as singleton in the bean registry.
      *
@@ -99,4 +331,135 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
         singletonObjects.put(beanName, bean);
     }
 
+    /**
+     * Exposes the early reference of a singleton that is being created, so that
+     * beans referring back to it can be wired before it is initialized.
+     *
+     * @param beanName the name of the bean
+     * @param bean     the early bean reference
+     * @throws IllegalArgumentException if beanName is empty or bean is null
+     */
+    void registerEarlySingleton(String beanName, Object bean) {
+        CheckUtils.emptyString(beanName,
+                "DefaultSingletonBeanRegistry.registerEarlySingleton receives empty bean name");
+        CheckUtils.nullArgs(bean, "DefaultSingletonBeanRegistry.registerEarlySingleton receives null bean");
+        earlySingletonObjects.put(beanName, bean);
+    }
+
+    /**
+     * Returns the early reference of a singleton that is being created.
+     *
+     * @param beanName the name of the bean
+     * @return the early bean reference, or null if none was exposed
+     */
+    Object getEarlySingleton(String beanName) {
+        CheckUtils.emptyString(beanName, "DefaultSingletonBeanRegistry.getEarlySingleton receives empty bean name");
+        return earlySingletonObjects.get(beanName);
+    }
+
+    /**
+     * Creates a singleton on the current thread, which owns its creation, and
+     * publishes the result to the threads waiting for it.
+     *
+     * @param beanName         the name of the bean
+     * @param creation         the in-flight creation owned by the current thread
+     * @param singletonFactory the factory creating the singleton instance
+     * @return the created singleton
+     */
+    private Object createSingleton(String beanName, SingletonCreation creation, Supplier<Object> singletonFactory) {
+        Object singleton;
+        try {
+            singleton = singletonFactory.get();
+            if (singleton == null) {
+                throw new BeansException(String.format("Bean {%s} is created as null", beanName));
+            }
+        } catch (RuntimeException | Error e) {
+            synchronized (creationLock) {
+                earlySingletonObjects.remove(beanName);
+                singletonsInCreation.remove(beanName);
+            }
+            creation.future().completeExceptionally(e);
+            throw e;
+        }
+
+        synchronized (creationLock) {
+            singletonObjects.put(beanName, singleton);
+            earlySingletonObjects.remove(beanName);
+            singletonsInCreation.remove(beanName);
+        }
+        creation.future().complete(singleton);
+        return singleton;
+    }
+
+    /**
+     * Blocks until another thread has finished creating a singleton.
+     *
+     * @param currentThread the waiting thread
+     * @param creation      the in-flight creation
+     * @return the created singleton
+     * @throws BeansException if the creating thread failed
+     */
+    private Object awaitSingleton(Thread currentThread, SingletonCreation creation) {
+        try {
+            return creation.future().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BeansException("Fail to create singleton bean", e.getCause());
+        } finally {
+            synchronized (creationLock) {
+                waitingThreads.remove(currentThread);
+            }
+        }
+    }
+
+    /**
+     * Follows the chain of waiting threads from the creator of a singleton and
+     * checks whether it leads back to the given thread. Must be called while
+     * holding the creation lock.
+     *
+     * @param creator       the thread creating the requested singleton
+     * @param currentThread the thread requesting the singleton
+     * @return true if waiting for the creator would deadlock
+     */
+    private boolean isWaitingOn(Thread creator, Thread currentThread) {
+        Set<Thread> visited = new HashSet<>();
+        Thread thread = creator;
+        while (thread != null && visited.add(thread)) {
+            if (thread == currentThread) {
+                return true;
+            }
+            String awaitedName = waitingThreads.get(thread);
+            SingletonCreation awaited = awaitedName == null ? null : singletonsInCreation.get(awaitedName);
+            thread = awaited == null ? null : awaited.creator();
+        }
+        return false;
+    }
+
+    /**
+     * Returns the early reference of a singleton requested again within its own
+     * creation.
+     *
+     * @throws BeansException if the singleton exposed no early reference yet,
+     *                        e.g. for a cycle through constructor arguments
+     */
+    private Object getEarlySingletonInCycle(String beanName) {
+        Object earlySingleton = earlySingletonObjects.get(beanName);
+        if (earlySingleton == null) {
+            throw new BeansException(
+                    String.format("Bean {%s} is in an unresolvable circular reference", beanName));
+        }
+        return earlySingleton;
+    }
+
+    /**
+     * In-flight creation of a singleton.
+     *
+     * @param creator the thread creating the singleton
+     * @param future  completed with the singleton once it is created
+     */
+    private record SingletonCreation(Thread creator, CompletableFuture<Object> future) {
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,563 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.impl;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import com.pythongong.beans.config.BeanDefinition;
+import com.pythongong.beans.config.BeanReference;
+import com.pythongong.beans.config.CollectionReference;
+import com.pythongong.beans.config.FactoryDefinition;
+import com.pythongong.beans.config.FieldValue;
+import com.pythongong.stereotype.AutoWired;
+import com.pythongong.util.CheckUtils;
+import com.pythongong.util.ResolvableType;
+
+/**
+ * Dependency graph between bean definitions.
+ * <p>
+ * Edges are derived from the definitions alone: constructor parameters,
+ * {@link AutoWired} fields and methods, and the factory bean and factory
+ * method parameters of a {@link FactoryDefinition}. Nodes and edges are kept in
+ * name order so that every traversal of the graph is deterministic. An
+ * injected collection, array or map depends on every bean of its element type.
+ * <p>
+ * Built before any bean is created, the graph gives the creation order,
+ * reports the cycles, and reports the references which no definition can
+ * satisfy. Constructor and factory edges are hard: a cycle made of them only
+ * can't be broken by early references.
+ *
+ * @author Cheng Gong
+ */
+public class DependencyGraph {
+
+    /** Bean name to the names of the beans it depends on */
+    private final Map<String, Set<String>> dependencies = new TreeMap<>();
+
+    /** Bean name to the names of the beans depending on it */
+    private final Map<String, Set<String>> dependents = new TreeMap<>();
+
+    /** Bean name to the beans it needs to be constructed */
+    private final Map<String, Set<String>> hardDependencies = new TreeMap<>();
+
+    /** Bean name to the bean names and types it refers to without a match */
+    private final Map<String, Set<String>> missingDependencies = new TreeMap<>();
+
+    /**
+     * Builds the dependency graph of the given bean definitions.
+     *
+     * @param beanDefinitions the bean definitions to analyze
+     * @param beanNamesOfType function resolving a type to the names of the beans
+     *                        that can be assigned to it
+     * @return the dependency graph
+     */
+    public static DependencyGraph build(Collection<BeanDefinition> beanDefinitions,
+            Function<Type, List<String>> beanNamesOfType) {
+        CheckUtils.nullArgs(beanDefinitions, "DependencyGraph.build recevies null bean definitions");
+        CheckUtils.nullArgs(beanNamesOfType, "DependencyGraph.build recevies null type resolver");
+
+        DependencyGraph graph = new DependencyGraph();
+        Map<String, Class<?>> beanClasses = new HashMap<>(beanDefinitions.size() * 2);
+        beanDefinitions.forEach(beanDefinition -> {
+            graph.addNode(beanDefinition.beanName());
+            beanClasses.put(beanDefinition.beanName(), beanDefinition.beanClass());
+        });
+        beanDefinitions.forEach(beanDefinition -> {
+            String beanName = beanDefinition.beanName();
+            Set<String> hard = new TreeSet<>();
+            Set<String> soft = new TreeSet<>();
+            Set<String> missing = new TreeSet<>();
+            findDependencies(beanDefinition, beanClasses, beanNamesOfType, hard, soft, missing);
+            soft.addAll(hard);
+            for (String dependency : soft) {
+                if (!graph.dependencies.containsKey(dependency)) {
+                    missing.add(dependency);
+                } else if (!beanName.equals(dependency)) {
+                    graph.dependencies.get(beanName).add(dependency);
+                    graph.dependents.get(dependency).add(beanName);
+                    if (hard.contains(dependency)) {
+                        graph.hardDependencies.get(beanName).add(dependency);
+                    }
+                }
+            }
+            if (!missing.isEmpty()) {
+                graph.missingDependencies.put(beanName, missing);
+            }
+        });
+        return graph;
+    }
+
+    /**
+     * Returns the bean names and types that beans of the graph refer to but
+     * that no bean of the graph matches.
+     *
+     * @return bean name to the missing bean names and type names, in name
+     *         order
+     */
+    public Map<String, Set<String>> getMissingDependencies() {
+        return Collections.unmodifiableMap(missingDependencies);
+    }
+
+    /**
+     * Returns the cycles of the graph: the groups of beans which depend on
+     * each other, directly or not.
+     *
+     * @return the cycles, each one sorted by bean name
+     */
+    public List<List<String>> getCycles() {
+        return findCycles(dependencies);
+    }
+
+    /**
+     * Returns the cycles made of constructor and factory dependencies only,
+     * which no early reference can break.
+     *
+     * @return the unresolvable cycles, each one sorted by bean name
+     */
+    public List<List<String>> getUnresolvableCycles() {
+        return findCycles(hardDependencies);
+    }
+
+    /**
+     * Returns the beans in creation order: every bean comes after the beans it
+     * depends on, except inside cycles, whose beans are kept together.
+     *
+     * @return the bean names in topological order
+     */
+    public List<String> getCreationOrder() {
+        return getCreationLayers().stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    /**
+     * Returns the critical path of the creation: the chain of dependencies
+     * whose creation costs the most, which bounds the creation time however
+     * many beans are created concurrently. A bean of a cycle only counts the
+     * dependencies ordered before it.
+     *
+     * @param beanCost the cost of creating one bean alone, such as its
+     *                 creation time without its dependencies
+     * @return the bean names of the path, from the first bean to create to the
+     *         last one, empty for an empty graph
+     */
+    public List<String> getCriticalPath(ToLongFunction<String> beanCost) {
+        CheckUtils.nullArgs(beanCost, "DependencyGraph.getCriticalPath recevies null bean cost");
+        Map<String, Long> pathCosts = new HashMap<>(dependencies.size() * 2);
+        Map<String, String> predecessors = new HashMap<>(dependencies.size() * 2);
+        String last = null;
+        for (String beanName : getCreationOrder()) {
+            long dependencyCost = 0;
+            String predecessor = null;
+            for (String dependency : dependencies.get(beanName)) {
+                Long cost = pathCosts.get(dependency);
+                if (cost != null && (predecessor == null || cost > dependencyCost)) {
+                    dependencyCost = cost;
+                    predecessor = dependency;
+                }
+            }
+            if (predecessor != null) {
+                predecessors.put(beanName, predecessor);
+            }
+            long pathCost = dependencyCost + beanCost.applyAsLong(beanName);
+            pathCosts.put(beanName, pathCost);
+            if (last == null || pathCost > pathCosts.get(last)) {
+                last = beanName;
+            }
+        }
+
+        LinkedList<String> path = new LinkedList<>();
+        for (String beanName = last; beanName != null; beanName = predecessors.get(beanName)) {
+            path.addFirst(beanName);
+        }
+        return path;
+    }
+
+    /**
+     * Returns the names of the beans the given bean depends on.
+     *
+     * @param beanName the name of the bean
+     * @return the direct dependencies, empty if the bean is unknown
+     */
+    public Set<String> getDependencies(String beanName) {
+        return Collections.unmodifiableSet(dependencies.getOrDefault(beanName, Collections.emptySet()));
+    }
+
+    /**
+     * Returns the names of the beans depending on the given bean.
+     *
+     * @param beanName the name of the bean
+     * @return the direct dependents, empty if the bean is unknown
+     */
+    public Set<String> getDependents(String beanName) {
+        return Collections.unmodifiableSet(dependents.getOrDefault(beanName, Collections.emptySet()));
+    }
+
+    /**
+     * Returns the given beans and every bean depending on them, directly or
+     * through other beans: the beans to recreate when the given ones change.
+     *
+     * @param beanNames the names of the beans
+     * @return the given names and the names of their transitive dependents
+     */
+    public Set<String> getTransitiveDependents(Collection<String> beanNames) {
+        CheckUtils.nullArgs(beanNames, "DependencyGraph.getTransitiveDependents recevies null bean names");
+        Set<String> affected = new TreeSet<>(beanNames);
+        Deque<String> pending = new ArrayDeque<>(beanNames);
+        while (!pending.isEmpty()) {
+            for (String dependent : dependents.getOrDefault(pending.poll(), Collections.emptySet())) {
+                if (affected.add(dependent)) {
+                    pending.add(dependent);
+                }
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Splits the graph into creation layers. Every bean of a layer only depends
+     * on beans of earlier layers, so the beans of one layer can be created
+     * concurrently.
+     * <p>
+     * A cycle can't be ordered inside, so its beans form a layer of their own,
+     * placed after every bean the cycle depends on and before every bean
+     * depending on it. The beans of such a layer depend on each other and must
+     * be created one after the other, relying on early references. Reversed,
+     * the layers still destroy the dependents of a cycle before the cycle.
+     *
+     * @return the creation layers, each one sorted by bean name, the layer of
+     *         the beans without a cycle first when several are ready together
+     * @see #getCycles()
+     */
+    public List<List<String>> getCreationLayers() {
+        List<List<String>> components = findComponents(dependencies);
+        Map<String, Integer> componentIndexes = new HashMap<>(dependencies.size() * 2);
+        for (int i = 0; i < components.size(); i++) {
+            for (String beanName : components.get(i)) {
+                componentIndexes.put(beanName, i);
+            }
+        }
+        int[] inDegrees = new int[components.size()];
+        List<Set<Integer>> dependentComponents = new ArrayList<>(components.size());
+        for (int i = 0; i < components.size(); i++) {
+            Set<Integer> componentDependents = new TreeSet<>();
+            for (String beanName : components.get(i)) {
+                for (String dependent : dependents.get(beanName)) {
+                    componentDependents.add(componentIndexes.get(dependent));
+                }
+            }
+            componentDependents.remove(i);
+            componentDependents.forEach(dependent -> inDegrees[dependent]++);
+            dependentComponents.add(componentDependents);
+        }
+
+        Comparator<Integer> byFirstBean = Comparator.comparing(i -> components.get(i).get(0));
+        Set<Integer> ready = new TreeSet<>(byFirstBean);
+        for (int i = 0; i < components.size(); i++) {
+            if (inDegrees[i] == 0) {
+                ready.add(i);
+            }
+        }
+        List<List<String>> layers = new ArrayList<>();
+        while (!ready.isEmpty()) {
+            List<String> acyclicLayer = new ArrayList<>();
+            List<List<String>> cycleLayers = new ArrayList<>();
+            Set<Integer> nextReady = new TreeSet<>(byFirstBean);
+            for (int i : ready) {
+                List<String> component = components.get(i);
+                if (component.size() == 1) {
+                    acyclicLayer.add(component.get(0));
+                } else {
+                    cycleLayers.add(component);
+                }
+                for (int dependent : dependentComponents.get(i)) {
+                    if (--inDegrees[dependent] == 0) {
+                        nextReady.add(dependent);
+                    }
+                }
+            }
+            if (!acyclicLayer.isEmpty()) {
+                layers.add(List.copyOf(acyclicLayer));
+            }
+            layers.addAll(cycleLayers);
+            ready = nextReady;
+        }
+        return layers;
+    }
+
+    /**
+     * Adds a bean without edges to the graph.
+     *
+     * @param beanName the name of the bean
+     */
+    private void addNode(String beanName) {
+        dependencies.putIfAbsent(beanName, new TreeSet<>());
+        dependents.putIfAbsent(beanName, new TreeSet<>());
+        hardDependencies.putIfAbsent(beanName, new TreeSet<>());
+    }
+
+    /**
+     * Finds the strongly connected components of more than one bean.
+     *
+     * @param edges bean name to the names of the beans it depends on
+     * @return the cycles, each one sorted by bean name, in order of their
+     *         first bean
+     */
+    private static List<List<String>> findCycles(Map<String, Set<String>> edges) {
+        return findComponents(edges).stream()
+                .filter(component -> component.size() > 1)
+                .sorted(Comparator.comparing(cycle -> cycle.get(0)))
+                .toList();
+    }
+
+    /**
+     * Finds every strongly connected component, single beans included, with
+     * Tarjan's algorithm.
+     *
+     * @param edges bean name to the names of the beans it depends on
+     * @return the components, each one sorted by bean name, every component
+     *         after the components it depends on
+     */
+    private static List<List<String>> findComponents(Map<String, Set<String>> edges) {
+        Tarjan tarjan = new Tarjan(edges);
+        edges.keySet().forEach(beanName -> {
+            if (!tarjan.indexes.containsKey(beanName)) {
+                tarjan.visit(beanName);
+            }
+        });
+        return tarjan.components;
+    }
+
+    /**
+     * Collects the names of the beans a definition refers to.
+     *
+     * @param beanDefinition  the bean definition to analyze
+     * @param beanClasses     bean name to bean class, for the factory beans
+     * @param beanNamesOfType function resolving a type to bean names
+     * @param hard            the set collecting the constructor and factory
+     *                        dependencies
+     * @param soft            the set collecting the injected dependencies
+     * @param missingTypes    the set collecting the types without a bean
+     */
+    private static void findDependencies(BeanDefinition beanDefinition, Map<String, Class<?>> beanClasses,
+            Function<Type, List<String>> beanNamesOfType, Set<String> hard, Set<String> soft,
+            Set<String> missingTypes) {
+        FactoryDefinition factoryDefinition = beanDefinition.factoryDefinition();
+        if (factoryDefinition != null) {
+            hard.add(factoryDefinition.factoryName());
+            addTypeDependencies(getFactoryMethodParamTypes(factoryDefinition, beanClasses), beanNamesOfType, hard,
+                    missingTypes);
+        }
+
+        Constructor<?> constructor = beanDefinition.constructor();
+        if (constructor != null) {
+            addTypeDependencies(ResolvableType.getGenericParameterTypes(constructor), beanNamesOfType, hard,
+                    missingTypes);
+        }
+
+        for (FieldValue fieldValue : beanDefinition.fieldValueList()) {
+            if (fieldValue.value() instanceof BeanReference beanReference) {
+                soft.add(beanReference.beanName());
+            } else if (fieldValue.value() instanceof CollectionReference collectionReference) {
+                soft.addAll(beanNamesOfType.apply(
+                        getElementType(beanDefinition.beanClass(), fieldValue.name(), collectionReference)));
+            }
+        }
+
+        for (Method method : beanDefinition.beanClass().getMethods()) {
+            if (method.isAnnotationPresent(AutoWired.class)) {
+                addTypeDependencies(method.getGenericParameterTypes(), beanNamesOfType, soft, missingTypes);
+            }
+        }
+    }
+
+    /**
+     * Returns the element type of a collection field as declared, such as
+     * {@code Repository<User>} for a {@code List<Repository<User>>}, since the
+     * reference only keeps its raw class. The injection resolves the beans of
+     * the declared type, so the edges must not take every bean of the raw one.
+     *
+     * @param beanClass           the class declaring the field
+     * @param fieldName           the name of the field
+     * @param collectionReference the reference injected into the field
+     * @return the declared element type, or the raw one if the field can't be
+     *         read
+     */
+    private static Type getElementType(Class<?> beanClass, String fieldName,
+            CollectionReference collectionReference) {
+        try {
+            Type elementType = ResolvableType.getCollectionElementType(
+                    beanClass.getDeclaredField(fieldName).getGenericType());
+            return elementType == null ? collectionReference.elementType() : elementType;
+        } catch (NoSuchFieldException e) {
+            return collectionReference.elementType();
+        }
+    }
+
+    /**
+     * Adds the beans matching each of the given parameter types.
+     *
+     * @param parameterTypes   the parameter types to resolve, may be null
+     * @param beanNamesOfType  function resolving a type to bean names
+     * @param beanDependencies the set collecting the dependencies
+     * @param missingTypes     the set collecting the types without a bean
+     */
+    private static void addTypeDependencies(Type[] parameterTypes,
+            Function<Type, List<String>> beanNamesOfType, Set<String> beanDependencies,
+            Set<String> missingTypes) {
+        if (parameterTypes == null) {
+            return;
+        }
+        for (Type parameterType : parameterTypes) {
+            List<String> beanNames = beanNamesOfType.apply(parameterType);
+            if (beanNames.isEmpty()) {
+                Type elementType = ResolvableType.getCollectionElementType(parameterType);
+                if (elementType != null) {
+                    beanNames = beanNamesOfType.apply(elementType);
+                } else {
+                    missingTypes.add(parameterType.getTypeName());
+                }
+            }
+            beanDependencies.addAll(beanNames);
+        }
+    }
+
+    /**
+     * Returns the generic parameter types of a factory method, or its declared
+     * classes when the factory bean isn't part of the graph.
+     */
+    private static Type[] getFactoryMethodParamTypes(FactoryDefinition factoryDefinition,
+            Map<String, Class<?>> beanClasses) {
+        Class<?>[] paramTypes = factoryDefinition.factoryMethodParamTypes();
+        Class<?> factoryClass = beanClasses.get(factoryDefinition.factoryName());
+        if (factoryClass == null || paramTypes == null) {
+            return paramTypes;
+        }
+        try {
+            return ResolvableType.getGenericParameterTypes(
+                    factoryClass.getMethod(factoryDefinition.factoryMethodName(), paramTypes));
+        } catch (NoSuchMethodException e) {
+            return paramTypes;
+        }
+    }
+
+    /**
+     * State of one run of Tarjan's strongly connected components algorithm.
+     */
+    private static final class Tarjan {
+
+        private final Map<String, Set<String>> edges;
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private final Map<String, Integer> lowLinks = new HashMap<>();
+
+        private final Deque<String> stack = new ArrayDeque<>();
+
+        private final Set<String> onStack = new HashSet<>();
+
+        private final List<List<String>> components = new ArrayList<>();
+
+        private Tarjan(Map<String, Set<String>> edges) {
+            this.edges = edges;
+        }
+
+        /**
+         * Walks the graph depth first from a bean. The walk keeps its own stack
+         * of frames instead of recursing, so a dependency chain of any length
+         * can't overflow the thread stack.
+         *
+         * @param root the bean to start from, not visited yet
+         */
+        private void visit(String root) {
+            Deque<Frame> frames = new ArrayDeque<>();
+            frames.push(open(root));
+            while (!frames.isEmpty()) {
+                Frame frame = frames.peek();
+                if (frame.dependencies().hasNext()) {
+                    String dependency = frame.dependencies().next();
+                    if (!indexes.containsKey(dependency)) {
+                        frames.push(open(dependency));
+                    } else if (onStack.contains(dependency)) {
+                        lowLinks.merge(frame.beanName(), indexes.get(dependency), Math::min);
+                    }
+                    continue;
+                }
+                frames.pop();
+                close(frame.beanName());
+                if (!frames.isEmpty()) {
+                    lowLinks.merge(frames.peek().beanName(), lowLinks.get(frame.beanName()), Math::min);
+                }
+            }
+        }
+
+        private Frame open(String beanName) {
+            int index = indexes.size();
+            indexes.put(beanName, index);
+            lowLinks.put(beanName, index);
+            stack.push(beanName);
+            onStack.add(beanName);
+            return new Frame(beanName, edges.getOrDefault(beanName, Collections.emptySet()).iterator());
+        }
+
+        /**
+         * Pops the strongly connected component rooted at a bean whose
+         * dependencies were all visited.
+         */
+        private void close(String beanName) {
+            if (!lowLinks.get(beanName).equals(indexes.get(beanName))) {
+                return;
+            }
+            List<String> component = new ArrayList<>();
+            String member;
+            do {
+                member = stack.pop();
+                onStack.remove(member);
+                component.add(member);
+            } while (!member.equals(beanName));
+            Collections.sort(component);
+            components.add(component);
+        }
+
+        /**
+         * Bean being visited, with the dependencies left to walk.
+         *
+         * @param beanName     the name of the bean
+         * @param dependencies the iterator over its remaining dependencies
+         */
+        private record Frame(String beanName, Iterator<String> dependencies) {
+        }
+    }
+}
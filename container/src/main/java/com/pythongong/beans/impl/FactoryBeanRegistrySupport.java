@@ -51,9 +51,23 @@ public class FactoryBeanRegistrySupport {
         return cachedObject;
     }
 
+    /**
+     * Removes the cached object of a FactoryBean, so that the next lookup asks
+     * the factory again.
+     *
+     * @param beanName the name of the factory bean
+     */
+    void removeCachedObjectForFactoryBean(String beanName) {
+        CheckUtils.emptyString(beanName,
+                "FactoryBeanRegistrySupport.removeCachedObjectForFactoryBean recevies empty bean name");
+        factoryBeanObjectCache.remove(beanName);
+    }
+
     /**
      * Obtains an object from the FactoryBean.
-     * For singleton-scoped factory beans, the object will be cached.
+     * For singleton-scoped factory beans, the object will be cached. The
+     * factory is locked while its singleton object is created, so concurrent
+     * callers never create it twice.
      *
      * @param factory        the FactoryBean instance
      * @param beanDefinition the bean definition for the factory bean
@@ -63,30 +77,35 @@ public class FactoryBeanRegistrySupport {
     @Nullable
     Object getObjectFromFactoryBean(FactoryBean<?> factory, String beanName) {
         CheckUtils.nullArgs(factory, "FactoryBeanRegistrySupport.getObjectFromFactoryBean recevies null factory bean");
-        Object curObject = null;
-        try {
-            curObject = factory.getObject();
-        } catch (Exception e) {
-            throw new BeansException("FactoryBean throws exception on object: " + beanName);
-        }
 
         // For non-singleton scoped beans, return without caching
         if (!factory.isSingleton()) {
-            return curObject;
+            return doGetObjectFromFactoryBean(factory, beanName);
         }
 
         CheckUtils.emptyString(beanName,
                 "FactoryBeanRegistrySupport.getObjectFromFactoryBean recevies empty bean name");
-        // Check if object is already cached
-        Object cachedObject = factoryBeanObjectCache.get(beanName);
-        if (cachedObject != null) {
-            return cachedObject;
+        synchronized (factory) {
+            // Check if object is already cached
+            Object cachedObject = factoryBeanObjectCache.get(beanName);
+            if (cachedObject != null) {
+                return cachedObject;
+            }
+
+            Object curObject = doGetObjectFromFactoryBean(factory, beanName);
+            if (curObject == null) {
+                throw new BeansException("FactoryBean returned null object: " + beanName);
+            }
+            factoryBeanObjectCache.put(beanName, curObject);
+            return curObject;
         }
+    }
 
-        if (curObject == null) {
-            throw new BeansException("FactoryBean returned null object: " + beanName);
+    private Object doGetObjectFromFactoryBean(FactoryBean<?> factory, String beanName) {
+        try {
+            return factory.getObject();
+        } catch (Exception e) {
+            throw new BeansException("FactoryBean throws exception on object: " + beanName, e);
         }
-        factoryBeanObjectCache.put(beanName, curObject);
-        return curObject;
     }
 }
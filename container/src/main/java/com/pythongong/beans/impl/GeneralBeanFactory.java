@@ -21,6 +21,7 @@ import com.pythongong.beans.config.BeanDefinition;
 import com.pythongong.beans.config.FactoryBean;
 import com.pythongong.beans.factory.BeanFactory;
 import com.pythongong.beans.registry.SingletonBeanRegistry;
+import com.pythongong.enums.ScopeEnum;
 import com.pythongong.exception.BeansException;
 import com.pythongong.exception.NoSuchBeanException;
 import com.pythongong.util.CheckUtils;
@@ -77,12 +78,29 @@ public class GeneralBeanFactory implements BeanFactory {
     public <T> T getBean(String name, Class<T> requiredType) throws BeansException {
         CheckUtils.emptyString(name, "GeneralBeanFactory.getBean recevies empty bean name");
         CheckUtils.nullArgs(requiredType, "GeneralBeanFactory.getBean recevies null bean type");
-        return doGetBean(name);
+        Object bean = doGetBean(name);
+        if (bean != null && !requiredType.isInstance(bean)) {
+            throw new BeansException(String.format("Bean {%s} is of type {%s}, not {%s}",
+                    name, bean.getClass().getName(), requiredType.getName()));
+        }
+        return requiredType.cast(bean);
+    }
+
+    /**
+     * Forgets the object a singleton FactoryBean created, typically because
+     * the factory bean is destroyed.
+     *
+     * @param beanName the name of the factory bean
+     */
+    void removeFactoryBeanObject(String beanName) {
+        beanRegistrySupport.removeCachedObjectForFactoryBean(beanName);
     }
 
     /**
      * Template method for retrieving a bean instance, handling both
-     * regular beans and FactoryBean instances.
+     * regular beans and FactoryBean instances. Singletons are created through
+     * the registry, so each one is created exactly once even when several
+     * threads ask for it at the same time.
      *
      * @param <T>      the type of bean to return
      * @param beanName the name of the bean to retrieve
@@ -99,7 +117,10 @@ public class GeneralBeanFactory implements BeanFactory {
             return null;
         }
 
-        return (T) getObjectForBeanInstance(createBean.apply(beanDefinition), beanName);
+        Object beanInstance = ScopeEnum.SINGLETON.equals(beanDefinition.scope())
+                ? singletonBeanRegistry.getSingleton(beanName, () -> createBean.apply(beanDefinition))
+                : createBean.apply(beanDefinition);
+        return (T) getObjectForBeanInstance(beanInstance, beanName);
     }
 
     /**
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.pythongong.beans.config.BeanDefinition;
+import com.pythongong.beans.config.BeanReference;
+import com.pythongong.beans.config.CollectionReference;
+import com.pythongong.beans.config.FieldValue;
+import com.pythongong.beans.config.ProviderReference;
+import com.pythongong.exception.BeansException;
+import com.pythongong.exception.NoSuchBeanException;
+import com.pythongong.stereotype.AutoWired;
+import com.pythongong.stereotype.Nullable;
+import com.pythongong.util.CheckUtils;
+
+/**
+ * Immutable plan of the field and method injections of a bean definition.
+ * <p>
+ * Building the plan does the reflection once: fields are looked up and
+ * unreflected into setter handles, {@link AutoWired} methods are validated and
+ * unreflected, and the bean names they inject are resolved. Each creation of
+ * the bean then only replays the handles.
+ *
+ * @author Cheng Gong
+ */
+final class InjectionPlan {
+
+    /** Type of every setter and injection method handle: (bean, value) */
+    private static final MethodType INJECTION_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /** Field injections, in definition order */
+    private final List<FieldInjection> fieldInjections;
+
+    /** Method injections, in {@link Class#getMethods()} order */
+    private final List<MethodInjection> methodInjections;
+
+    private InjectionPlan(List<FieldInjection> fieldInjections, List<MethodInjection> methodInjections) {
+        this.fieldInjections = List.copyOf(fieldInjections);
+        this.methodInjections = List.copyOf(methodInjections);
+    }
+
+    /**
+     * Builds the injection plan of a bean definition.
+     *
+     * @param beanDefinition  the bean definition to plan
+     * @param beanNamesOfType function resolving a type to the names of the beans
+     *                        that can be assigned to it
+     * @param providerFactory function creating the provider injected for a
+     *                        {@link ProviderReference}, once per plan
+     * @return the injection plan
+     * @throws BeansException if a field is missing or an inject method is
+     *                        invalid or ambiguous
+     */
+    static InjectionPlan build(BeanDefinition beanDefinition, Function<Type, List<String>> beanNamesOfType,
+            Function<ProviderReference, ?> providerFactory) {
+        CheckUtils.nullArgs(beanDefinition, "InjectionPlan.build recevies null bean definition");
+        CheckUtils.nullArgs(beanNamesOfType, "InjectionPlan.build recevies null type resolver");
+        CheckUtils.nullArgs(providerFactory, "InjectionPlan.build recevies null provider factory");
+        return new InjectionPlan(planFields(beanDefinition, beanNamesOfType, providerFactory),
+                planMethods(beanDefinition, beanNamesOfType));
+    }
+
+    /**
+     * Injects the planned values and beans into a bean instance.
+     *
+     * @param bean              the bean instance to populate
+     * @param resolveDependency function resolving a bean name and the type of
+     *                          its injection point to the object to inject
+     * @throws BeansException if an injection fails
+     */
+    void inject(Object bean, BiFunction<String, Class<?>, Object> resolveDependency) {
+        for (FieldInjection fieldInjection : fieldInjections) {
+            Object value = fieldInjection.value();
+            if (value instanceof BeanReference beanReference) {
+                value = resolveDependency.apply(beanReference.beanName(), fieldInjection.fieldType());
+            } else if (value instanceof CollectionDependency collectionDependency) {
+                value = collectionDependency.resolve(resolveDependency);
+            }
+            try {
+                fieldInjection.setter().invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw new BeansException("Error setting property values: " + bean.getClass().getName(), e);
+            }
+        }
+
+        for (MethodInjection methodInjection : methodInjections) {
+            Object injectingBean = methodInjection.collection() != null
+                    ? methodInjection.collection().resolve(resolveDependency)
+                    : resolveDependency.apply(methodInjection.beanName(), methodInjection.parameterType());
+            try {
+                methodInjection.method().invokeExact(bean, injectingBean);
+            } catch (Throwable e) {
+                throw new BeansException(String.format("Class {%s}'s inject method {%s} failed",
+                        methodInjection.parameterType(), methodInjection.methodName()), e);
+            }
+        }
+    }
+
+    private static List<FieldInjection> planFields(BeanDefinition beanDefinition,
+            Function<Type, List<String>> beanNamesOfType, Function<ProviderReference, ?> providerFactory) {
+        Class<?> beanClass = beanDefinition.beanClass();
+        List<FieldInjection> fieldInjections = new ArrayList<>(beanDefinition.fieldValueList().size());
+        for (FieldValue fieldValue : beanDefinition.fieldValueList()) {
+            try {
+                Field declaredField = beanClass.getDeclaredField(fieldValue.name());
+                declaredField.setAccessible(true);
+                MethodHandle setter = MethodHandles.lookup().unreflectSetter(declaredField).asType(INJECTION_TYPE);
+                Object value = fieldValue.value();
+                if (value instanceof ProviderReference providerReference) {
+                    value = providerFactory.apply(providerReference);
+                } else if (value instanceof CollectionReference) {
+                    value = CollectionDependency.build(declaredField.getGenericType(), beanNamesOfType);
+                    if (value == null) {
+                        throw new BeansException(String.format("Field {%s} of {%s} can't hold beans",
+                                declaredField.getName(), beanClass.getName()));
+                    }
+                }
+                fieldInjections.add(new FieldInjection(declaredField.getType(), value, setter));
+            } catch (NoSuchFieldException | SecurityException | IllegalAccessException e) {
+                throw new BeansException("Error setting property values: " + beanClass.getName(), e);
+            }
+        }
+        return fieldInjections;
+    }
+
+    private static List<MethodInjection> planMethods(BeanDefinition beanDefinition,
+            Function<Type, List<String>> beanNamesOfType) {
+        Class<?> beanClass = beanDefinition.beanClass();
+        List<MethodInjection> methodInjections = new ArrayList<>();
+        for (Method method : beanClass.getMethods()) {
+            if (!method.isAnnotationPresent(AutoWired.class)) {
+                continue;
+            }
+            int count = method.getParameterCount();
+            if (count == 0) {
+                throw new BeansException(String.format("Class {%s}'s inject method {%s} has no arugment",
+                        beanClass, method.getName()));
+            }
+            if (count > 1) {
+                throw new BeansException(String.format("Class {%s}'s inject method {%s} has no arugment",
+                        beanClass, method.getName()));
+            }
+
+            Class<?> parameterType = method.getParameterTypes()[0];
+            if (parameterType.isPrimitive()) {
+                throw new BeansException(String.format("Class {%s}'s inject method {%s} has primitive type arugment",
+                        parameterType, method.getName()));
+            }
+
+            Type genericType = method.getGenericParameterTypes()[0];
+            List<String> beanNames = beanNamesOfType.apply(genericType);
+            CollectionDependency collection = beanNames.isEmpty()
+                    ? CollectionDependency.build(genericType, beanNamesOfType)
+                    : null;
+            if (beanNames.isEmpty() && collection == null) {
+                throw new NoSuchBeanException(parameterType);
+            } else if (beanNames.size() > 1) {
+                throw new BeansException(String.format("Can not specify arugment bean {%s} in inject method {%s} ",
+                        parameterType, method.getName()));
+            }
+
+            try {
+                method.trySetAccessible();
+                MethodHandle handle = MethodHandles.lookup().unreflect(method).asType(INJECTION_TYPE);
+                methodInjections.add(new MethodInjection(method.getName(), parameterType,
+                        collection == null ? beanNames.get(0) : null, collection, handle));
+            } catch (IllegalAccessException e) {
+                throw new BeansException(String.format("Class {%s}'s inject method {%s} failed",
+                        parameterType, method.getName()), e);
+            }
+        }
+        return methodInjections;
+    }
+
+    /**
+     * Planned injection of a field.
+     *
+     * @param fieldType the declared type of the field
+     * @param value     the value or provider to inject, a {@link BeanReference}
+     *                  or a {@link CollectionDependency}
+     * @param setter    the setter handle of type (bean, value)
+     */
+    private record FieldInjection(Class<?> fieldType, Object value, MethodHandle setter) {
+    }
+
+    /**
+     * Planned injection through an {@link AutoWired} method.
+     *
+     * @param methodName    the name of the method, used in error messages
+     * @param parameterType the type of the single parameter
+     * @param beanName      the name of the bean to inject, null for a collection
+     * @param collection    the beans to inject as a collection, null for a bean
+     * @param method        the method handle of type (bean, value)
+     */
+    private record MethodInjection(String methodName, Class<?> parameterType, @Nullable String beanName,
+            @Nullable CollectionDependency collection, MethodHandle method) {
+    }
+}
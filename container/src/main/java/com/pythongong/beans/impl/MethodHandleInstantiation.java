@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.impl;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.pythongong.exception.BeansException;
+import com.pythongong.stereotype.Nullable;
+import com.pythongong.util.CheckUtils;
+import com.pythongong.util.ClassUtils;
+
+/**
+ * {@link InstantiationStrategy} that creates bean instances through compiled
+ * constructor handles instead of {@link Constructor#newInstance}.
+ * <p>
+ * The first call for a constructor links it once: a no-argument constructor
+ * becomes a {@link LambdaMetafactory}-generated {@link Supplier}, any other
+ * constructor a {@link MethodHandle} spreading the argument array. The result
+ * is cached per constructor, which is per bean definition, so repeated
+ * creations of prototype beans skip the reflective access checks and argument
+ * copying.
+ *
+ * @author Cheng Gong
+ * @see SimpleInstantiation
+ */
+public class MethodHandleInstantiation implements InstantiationStrategy {
+
+    /** Cache of linked constructors: constructor to instance creator */
+    private final Map<Constructor<?>, Function<Object[], Object>> instantiators = new ConcurrentHashMap<>(
+            ClassUtils.BIG_INIT_SIZE);
+
+    /** Cache of linked default constructors: class to instance creator */
+    private final Map<Class<?>, Function<Object[], Object>> defaultInstantiators = new ConcurrentHashMap<>(
+            ClassUtils.BIG_INIT_SIZE);
+
+    /**
+     * Creates a new instance of the specified class using either the provided
+     * constructor or the default constructor if none is specified.
+     *
+     * @param clazz       the class to instantiate
+     * @param constructor the constructor to use, may be null for default
+     *                    constructor
+     * @param args        the arguments to pass to the constructor, may be null
+     * @return the new instance
+     * @throws BeansException if instantiation fails
+     */
+    @Override
+    public Object instance(Class<?> clazz, @Nullable Constructor<?> constructor, Object[] args) throws BeansException {
+        CheckUtils.nullArgs(clazz, "MethodHandleInstantiation.instance recevies null bean class");
+        Function<Object[], Object> instantiator;
+        int parameterCount;
+        if (constructor == null) {
+            // Avoids copying the default constructor out of the class on every call
+            instantiator = defaultInstantiators.computeIfAbsent(clazz, this::linkDefaultConstructor);
+            parameterCount = 0;
+        } else {
+            instantiator = instantiators.computeIfAbsent(constructor, this::link);
+            parameterCount = constructor.getParameterCount();
+        }
+
+        int argCount = args == null ? 0 : args.length;
+        if (argCount != parameterCount) {
+            throw new BeansException(String.format("Constructor of class {%s} expects %d arguments but receives %d",
+                    clazz.getName(), parameterCount, argCount));
+        }
+
+        try {
+            return instantiator.apply(args);
+        } catch (BeansException e) {
+            throw e;
+        } catch (Exception e) {
+            // Constructors may throw checked exceptions through the linked handles
+            throw new BeansException(String.format("Failed to instantiate class {%s}", clazz.getName()), e);
+        }
+    }
+
+    /**
+     * Links the default constructor of a class.
+     *
+     * @param clazz the class to instantiate
+     * @return the function creating instances
+     * @throws BeansException if the class has no accessible default constructor
+     */
+    private Function<Object[], Object> linkDefaultConstructor(Class<?> clazz) {
+        try {
+            return link(clazz.getDeclaredConstructor());
+        } catch (NoSuchMethodException | SecurityException e) {
+            throw new BeansException(String.format("Failed to find constructor for class {%s}", clazz.getName()), e);
+        }
+    }
+
+    /**
+     * Links a constructor into an instance creator.
+     *
+     * @param constructor the constructor to link
+     * @return the function creating instances from an argument array
+     * @throws BeansException if the constructor is not accessible
+     */
+    private Function<Object[], Object> link(Constructor<?> constructor) {
+        Class<?> clazz = constructor.getDeclaringClass();
+        if (!constructor.canAccess(null)) {
+            throw new BeansException(String.format("Constructor of class {%s} is not accessible", clazz.getName()));
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+            MethodHandle handle = lookup.unreflectConstructor(constructor);
+            if (constructor.getParameterCount() == 0) {
+                Supplier<?> supplier = (Supplier<?>) LambdaMetafactory.metafactory(lookup, "get",
+                        MethodType.methodType(Supplier.class), MethodType.methodType(Object.class), handle,
+                        MethodType.methodType(clazz))
+                        .getTarget().invoke();
+                return args -> supplier.get();
+            }
+
+            MethodHandle spreader = handle
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            return args -> invoke(spreader, args, clazz);
+        } catch (Throwable e) {
+            throw new BeansException(String.format("Failed to link constructor of class {%s}", clazz.getName()), e);
+        }
+    }
+
+    /**
+     * Invokes a spread constructor handle, rethrowing checked failures.
+     */
+    private static Object invoke(MethodHandle spreader, Object[] args, Class<?> clazz) {
+        try {
+            return spreader.invokeExact(args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new BeansException(String.format("Failed to instantiate class {%s}", clazz.getName()), e);
+        }
+    }
+}
@@ -40,4 +40,14 @@ public interface BeanDefinitionRegistry {
      * @throws IllegalArgumentException if the bean definition is invalid
      */
     void registerBeanDefinition(BeanDefinition beanDefinition);
+
+    /**
+     * Remove the bean definition registered under the given name, destroying
+     * the singleton created from it.
+     *
+     * @param beanName the name of the bean
+     * @return the removed definition, or null if none was registered
+     * @throws IllegalArgumentException if the bean name is empty
+     */
+    BeanDefinition removeBeanDefinition(String beanName);
 }
\ No newline at end of file
@@ -15,6 +15,8 @@
  */
 package com.pythongong.beans.registry;
 
+import java.util.function.Supplier;
+
 /**
  * Interface that defines a registry for singleton beans.
  * Used to track and manage singleton instances in a Spring container.
@@ -32,6 +34,26 @@ public interface SingletonBeanRegistry {
      */
     Object getSingleton(String beanName);
 
+    /**
+     * Returns the singleton bean instance registered under the given name,
+     * creating and registering it with the given factory if it doesn't exist
+     * yet. The factory is invoked at most once per bean, however many threads
+     * ask for the bean concurrently.
+     *
+     * @param beanName         the name of the bean
+     * @param singletonFactory the factory creating the singleton instance
+     * @return the registered singleton instance
+     */
+    Object getSingleton(String beanName, Supplier<Object> singletonFactory);
+
+    /**
+     * Destroys the singleton bean registered under the given name, if any,
+     * and removes it from this registry.
+     *
+     * @param beanName the name of the bean
+     */
+    void destroySingleton(String beanName);
+
     /**
      * Destroys all singleton beans in this registry.
      * Typically called on shutdown of a bean factory.
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.scope;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.pythongong.stereotype.Nullable;
+
+/**
+ * Lock-free bounded pool of the idle instances of one pooled bean.
+ * <p>
+ * Idle instances sit in a fixed array of slots. Borrowing takes an instance
+ * out of a slot with a compare-and-set, returning puts it into an empty slot
+ * the same way; neither blocks. Each thread starts probing at its own slot so
+ * that concurrent threads rarely race for the same one. A pool never creates
+ * instances itself and never holds borrowed ones.
+ *
+ * @author Cheng Gong
+ */
+final class BeanPool {
+
+    /** Name of the pooled bean */
+    private final String beanName;
+
+    /** Slots of the idle instances, null when empty */
+    private final AtomicReferenceArray<Object> slots;
+
+    private final LongAdder borrowed = new LongAdder();
+
+    private final LongAdder reused = new LongAdder();
+
+    private final LongAdder returned = new LongAdder();
+
+    private final LongAdder discarded = new LongAdder();
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param beanName the name of the pooled bean
+     * @param maxIdle  the maximum number of idle instances
+     * @throws IllegalArgumentException if maxIdle is negative
+     */
+    BeanPool(String beanName, int maxIdle) {
+        if (maxIdle < 0) {
+            throw new IllegalArgumentException(
+                    String.format("BeanPool of {%s} recevies negative max idle size", beanName));
+        }
+        this.beanName = beanName;
+        slots = new AtomicReferenceArray<>(maxIdle);
+    }
+
+    /**
+     * Takes an idle instance out of the pool.
+     *
+     * @return the idle instance, or null if the pool is empty
+     */
+    @Nullable
+    Object borrow() {
+        borrowed.increment();
+        int length = slots.length();
+        int start = startSlot(length);
+        for (int i = 0; i < length; i++) {
+            int slot = (start + i) % length;
+            Object bean = slots.get(slot);
+            if (bean != null && slots.compareAndSet(slot, bean, null)) {
+                reused.increment();
+                return bean;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Puts an instance back into an empty slot.
+     *
+     * @param bean the returned instance
+     * @return false if the pool is full and the caller must discard the
+     *         instance
+     */
+    boolean giveBack(Object bean) {
+        returned.increment();
+        int length = slots.length();
+        int start = startSlot(length);
+        for (int i = 0; i < length; i++) {
+            int slot = (start + i) % length;
+            if (slots.get(slot) == null && slots.compareAndSet(slot, null, bean)) {
+                return true;
+            }
+        }
+        discarded.increment();
+        return false;
+    }
+
+    /**
+     * Counts a returned instance that was discarded before reaching the pool.
+     */
+    void discard() {
+        returned.increment();
+        discarded.increment();
+    }
+
+    /**
+     * Takes every idle instance out of the pool.
+     *
+     * @return the idle instances
+     */
+    List<Object> drain() {
+        List<Object> beans = new ArrayList<>();
+        for (int slot = 0; slot < slots.length(); slot++) {
+            Object bean = slots.getAndSet(slot, null);
+            if (bean != null) {
+                beans.add(bean);
+            }
+        }
+        return beans;
+    }
+
+    /**
+     * Returns a snapshot of the metrics of this pool.
+     *
+     * @return the pool metrics
+     */
+    PoolMetrics getMetrics() {
+        int idle = 0;
+        for (int slot = 0; slot < slots.length(); slot++) {
+            if (slots.get(slot) != null) {
+                idle++;
+            }
+        }
+        long borrowedCount = borrowed.sum();
+        long reusedCount = reused.sum();
+        return new PoolMetrics(beanName, slots.length(), idle, borrowedCount, reusedCount,
+                borrowedCount - reusedCount, returned.sum(), discarded.sum());
+    }
+
+    private static int startSlot(int length) {
+        return length == 0 ? 0 : (int) (Thread.currentThread().threadId() % length);
+    }
+}
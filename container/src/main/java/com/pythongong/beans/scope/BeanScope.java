@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.scope;
+
+import java.util.function.Supplier;
+
+import com.pythongong.beans.config.DisposableBean;
+import com.pythongong.exception.BeansException;
+import com.pythongong.stereotype.Nullable;
+
+/**
+ * Strategy interface for the scopes whose instances are managed outside of
+ * the singleton registry, such as the request and thread scopes.
+ * <p>
+ * A bean scope is registered in the bean factory under a scope name. The
+ * factory gives every bean of a pluggable scope a small ordinal, unique in
+ * the factory, so implementations can keep their instances in arrays indexed
+ * by ordinal instead of maps keyed by bean name; see {@link ScopedBeanStore}.
+ *
+ * @author Cheng Gong
+ * @see ThreadScope
+ * @see RequestScope
+ * @see PooledScope
+ */
+public interface BeanScope {
+
+    /**
+     * Returns the instance of a bean in the current scope, creating it with
+     * the given factory when the scope doesn't hold one yet.
+     *
+     * @param beanName      the name of the bean
+     * @param ordinal       the ordinal of the bean in the factory
+     * @param objectFactory the factory creating the bean
+     * @return the instance of the bean in the current scope
+     * @throws BeansException if the scope is not active
+     */
+    Object get(String beanName, int ordinal, Supplier<Object> objectFactory) throws BeansException;
+
+    /**
+     * Removes the instance of a bean from the current scope, without calling
+     * its destruction callback.
+     *
+     * @param beanName the name of the bean
+     * @param ordinal  the ordinal of the bean in the factory
+     * @return the removed instance, or null if none was held
+     */
+    @Nullable
+    Object remove(String beanName, int ordinal);
+
+    /**
+     * Registers a callback to destroy an instance of a bean when the current
+     * scope ends, or when the scope drops the instance.
+     *
+     * @param beanName the name of the bean
+     * @param ordinal  the ordinal of the bean in the factory
+     * @param bean     the instance the callback destroys
+     * @param callback the destruction callback
+     */
+    void registerDestructionCallback(String beanName, int ordinal, Object bean, DisposableBean callback);
+
+    /**
+     * Hands an instance obtained from {@link #get} back to the scope once the
+     * caller is done with it. Scopes holding their instances until the scope
+     * ends ignore it; pooling scopes return the instance to their pool.
+     *
+     * @param beanName the name of the bean
+     * @param ordinal  the ordinal of the bean in the factory
+     * @param bean     the instance obtained from {@link #get}
+     */
+    default void release(String beanName, int ordinal, Object bean) {
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.scope;
+
+/**
+ * Snapshot of the metrics of the pool of one pooled bean.
+ *
+ * @author Cheng Gong
+ * @see PooledScope#getMetrics()
+ */
+public record PoolMetrics(
+        /**
+         * The name of the pooled bean.
+         */
+        String beanName,
+
+        /**
+         * The maximum number of idle instances kept by the pool.
+         */
+        int maxIdle,
+
+        /**
+         * The number of idle instances in the pool.
+         */
+        int idle,
+
+        /**
+         * The number of instances borrowed from the pool.
+         */
+        long borrowed,
+
+        /**
+         * The number of borrows served by an idle instance instead of a new
+         * one.
+         */
+        long reused,
+
+        /**
+         * The number of instances created because the pool had no idle one.
+         */
+        long created,
+
+        /**
+         * The number of instances returned to the pool.
+         */
+        long returned,
+
+        /**
+         * The number of returned instances destroyed because the pool was full
+         * or their reset failed.
+         */
+        long discarded) {
+
+    /**
+     * Returns the share of the borrows served by an idle instance.
+     *
+     * @return the hit ratio between 0 and 1, 0 when nothing was borrowed
+     */
+    public double hitRatio() {
+        return borrowed == 0 ? 0 : (double) reused / borrowed;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.scope;
+
+/**
+ * Interface to be implemented by pooled beans that must be reset before they
+ * are borrowed again, for example to clear a buffer or the state of a parser.
+ * <p>
+ * A bean whose reset fails is destroyed instead of being returned to its
+ * pool.
+ *
+ * @author Cheng Gong
+ * @see PooledScope
+ */
+@FunctionalInterface
+public interface PoolableBean {
+
+    /**
+     * Invoked by the pooled scope when the bean is returned to its pool.
+     *
+     * @throws Exception if the bean can't be reused
+     */
+    void reset() throws Exception;
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.scope;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import com.pythongong.beans.config.DisposableBean;
+import com.pythongong.context.impl.PropertyResolver;
+import com.pythongong.exception.BeansException;
+import com.pythongong.stereotype.Nullable;
+import com.pythongong.util.CheckUtils;
+
+/**
+ * Scope lending the instances of a bean out of a bounded pool.
+ * <p>
+ * {@link #get} borrows an idle instance, or creates one when the pool is
+ * empty, and {@link #release} returns it after resetting it when the bean is
+ * a {@link PoolableBean}. A returned instance that doesn't fit in the pool is
+ * destroyed. Pooled beans injected into other beans are proxies which borrow
+ * an instance for every method call.
+ * <p>
+ * The pools are lock-free and indexed by bean ordinal. The maximum number of
+ * idle instances of a bean is read from the {@code tiny-spring.pool.<bean
+ * name>.max-idle} property, then from {@code tiny-spring.pool.max-idle},
+ * and defaults to {@value #DEFAULT_MAX_IDLE}.
+ *
+ * @author Cheng Gong
+ * @see PoolableBean
+ * @see PoolMetrics
+ */
+public class PooledScope implements BeanScope, DisposableBean {
+
+    /** Default maximum number of idle instances of each pooled bean */
+    public static final int DEFAULT_MAX_IDLE = 8;
+
+    /** Property holding the maximum number of idle instances of every bean */
+    public static final String MAX_IDLE_PROPERTY = "tiny-spring.pool.max-idle";
+
+    /** Prefix of the property holding the maximum idle instances of one bean */
+    private static final String BEAN_PROPERTY_PREFIX = "tiny-spring.pool.";
+
+    /** Suffix of the property holding the maximum idle instances of one bean */
+    private static final String BEAN_PROPERTY_SUFFIX = ".max-idle";
+
+    /** Resolver of the pool sizes, null to use the default size */
+    private final PropertyResolver propertyResolver;
+
+    /** Pools indexed by bean ordinal, grown under the scope's lock */
+    private volatile BeanPool[] pools = new BeanPool[0];
+
+    /** Destruction callbacks of the live instances, by instance identity */
+    private final Map<Object, DisposableBean> destructionCallbacks = Collections
+            .synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * Creates a pooled scope keeping {@value #DEFAULT_MAX_IDLE} idle instances
+     * of each bean.
+     */
+    public PooledScope() {
+        this(null);
+    }
+
+    /**
+     * Creates a pooled scope reading the pool sizes from the given resolver.
+     *
+     * @param propertyResolver the resolver of the pool sizes, or null to use
+     *                         the default size
+     */
+    public PooledScope(PropertyResolver propertyResolver) {
+        this.propertyResolver = propertyResolver;
+    }
+
+    @Override
+    public Object get(String beanName, int ordinal, Supplier<Object> objectFactory) {
+        CheckUtils.emptyString(beanName, "PooledScope.get recevies empty bean name");
+        CheckUtils.nullArgs(objectFactory, "PooledScope.get recevies null factory");
+        Object bean = getPool(beanName, ordinal).borrow();
+        return bean != null ? bean : objectFactory.get();
+    }
+
+    @Override
+    public void release(String beanName, int ordinal, Object bean) {
+        CheckUtils.emptyString(beanName, "PooledScope.release recevies empty bean name");
+        CheckUtils.nullArgs(bean, "PooledScope.release recevies null bean");
+        BeanPool pool = getPool(beanName, ordinal);
+        if (bean instanceof PoolableBean poolableBean) {
+            try {
+                poolableBean.reset();
+            } catch (Exception e) {
+                pool.discard();
+                destroyInstance(beanName, bean);
+                return;
+            }
+        }
+        if (!pool.giveBack(bean)) {
+            destroyInstance(beanName, bean);
+        }
+    }
+
+    @Nullable
+    @Override
+    public Object remove(String beanName, int ordinal) {
+        // Instances are owned by their borrowers, the pool only holds idle ones
+        return null;
+    }
+
+    @Override
+    public void registerDestructionCallback(String beanName, int ordinal, Object bean, DisposableBean callback) {
+        CheckUtils.nullArgs(bean, "PooledScope.registerDestructionCallback recevies null bean");
+        CheckUtils.nullArgs(callback, "PooledScope.registerDestructionCallback recevies null callback");
+        destructionCallbacks.put(bean, callback);
+    }
+
+    /**
+     * Returns a snapshot of the metrics of every pool, in bean ordinal order.
+     *
+     * @return the pool metrics
+     */
+    public List<PoolMetrics> getMetrics() {
+        return Arrays.stream(pools)
+                .filter(Objects::nonNull)
+                .map(BeanPool::getMetrics)
+                .toList();
+    }
+
+    /**
+     * Destroys the idle instances and the borrowed instances having a
+     * destruction callback. All the callbacks are called even if some of
+     * them fail.
+     *
+     * @throws BeansException if a callback failed, with the first failure as
+     *                        its cause
+     */
+    @Override
+    public void destroy() {
+        for (BeanPool pool : pools) {
+            if (pool != null) {
+                pool.drain();
+            }
+        }
+        List<DisposableBean> callbacks;
+        synchronized (destructionCallbacks) {
+            callbacks = new ArrayList<>(destructionCallbacks.values());
+            destructionCallbacks.clear();
+        }
+        Exception failure = null;
+        for (DisposableBean callback : callbacks) {
+            try {
+                callback.destroy();
+            } catch (Exception e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw new BeansException("Fail to destroy pooled beans", failure);
+        }
+    }
+
+    private BeanPool getPool(String beanName, int ordinal) {
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("PooledScope recevies negative ordinal");
+        }
+        BeanPool[] current = pools;
+        if (ordinal < current.length && current[ordinal] != null) {
+            return current[ordinal];
+        }
+        synchronized (this) {
+            // Pools are published by replacing the array, never by writing into it
+            current = Arrays.copyOf(pools, Math.max(ordinal + 1, pools.length));
+            if (current[ordinal] == null) {
+                current[ordinal] = new BeanPool(beanName, resolveMaxIdle(beanName));
+            }
+            pools = current;
+            return current[ordinal];
+        }
+    }
+
+    private int resolveMaxIdle(String beanName) {
+        if (propertyResolver == null) {
+            return DEFAULT_MAX_IDLE;
+        }
+        String defaultSize = propertyResolver.getProperty("${" + MAX_IDLE_PROPERTY + ":" + DEFAULT_MAX_IDLE + "}");
+        return (int) propertyResolver.getProperty(
+                "${" + BEAN_PROPERTY_PREFIX + beanName + BEAN_PROPERTY_SUFFIX + ":" + defaultSize + "}", int.class);
+    }
+
+    private void destroyInstance(String beanName, Object bean) {
+        DisposableBean callback = destructionCallbacks.remove(bean);
+        if (callback == null) {
+            return;
+        }
+        try {
+            callback.destroy();
+        } catch (Exception e) {
+            throw new BeansException(String.format("Fail to destory pooled {%s} bean", beanName), e);
+        }
+    }
+}
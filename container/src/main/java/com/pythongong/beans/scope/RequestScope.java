@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.scope;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.pythongong.beans.config.DisposableBean;
+import com.pythongong.exception.BeansException;
+import com.pythongong.util.CheckUtils;
+
+/**
+ * Scope holding one instance of a bean per web request.
+ * <p>
+ * The web layer binds a request to the serving thread with
+ * {@link #beginRequest()} and ends it with {@link #endRequest()}, which
+ * destroys the instances created during the request. Asking for a request
+ * scoped bean outside of a request fails, so request scoped beans are
+ * injected into longer-lived beans as proxies.
+ * <p>
+ * Every bean factory registers its own request scope and numbers its scoped
+ * beans on its own, so a request keeps one {@link ScopedBeanStore} per scope
+ * instance. The beans of a parent and a child context never share an ordinal.
+ *
+ * @author Cheng Gong
+ * @see ScopedBeanStore
+ */
+public class RequestScope implements BeanScope {
+
+    /** Stores of the request served by the current thread, keyed by scope */
+    private static final ThreadLocal<LinkedHashMap<RequestScope, ScopedBeanStore>> CURRENT_REQUEST = new ThreadLocal<>();
+
+    /**
+     * Binds a new request to the current thread, unless one is already bound,
+     * for example when a request is forwarded.
+     *
+     * @return true if a new request was bound and must be ended by the caller
+     */
+    public static boolean beginRequest() {
+        if (CURRENT_REQUEST.get() != null) {
+            return false;
+        }
+        CURRENT_REQUEST.set(new LinkedHashMap<>());
+        return true;
+    }
+
+    /**
+     * Unbinds the request of the current thread and destroys its instances,
+     * those of the scope used last first. The instances of every scope are
+     * destroyed even if some of them fail.
+     *
+     * @throws BeansException if an instance could not be destroyed
+     */
+    public static void endRequest() {
+        LinkedHashMap<RequestScope, ScopedBeanStore> stores = CURRENT_REQUEST.get();
+        if (stores == null) {
+            return;
+        }
+        CURRENT_REQUEST.remove();
+        BeansException failure = null;
+        for (ScopedBeanStore store : stores.sequencedValues().reversed()) {
+            try {
+                store.destroy();
+            } catch (BeansException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Checks whether a request is bound to the current thread.
+     *
+     * @return true inside of a request
+     */
+    public static boolean isRequestActive() {
+        return CURRENT_REQUEST.get() != null;
+    }
+
+    @Override
+    public Object get(String beanName, int ordinal, Supplier<Object> objectFactory) {
+        CheckUtils.emptyString(beanName, "RequestScope.get recevies empty bean name");
+        return currentRequest(beanName).computeIfAbsent(ordinal, objectFactory);
+    }
+
+    @Override
+    public Object remove(String beanName, int ordinal) {
+        Map<RequestScope, ScopedBeanStore> stores = CURRENT_REQUEST.get();
+        ScopedBeanStore store = stores == null ? null : stores.get(this);
+        return store == null ? null : store.remove(ordinal);
+    }
+
+    @Override
+    public void registerDestructionCallback(String beanName, int ordinal, Object bean, DisposableBean callback) {
+        currentRequest(beanName).registerDestructionCallback(ordinal, callback);
+    }
+
+    /**
+     * Returns the store of this scope in the current request, creating it on
+     * first use.
+     */
+    private ScopedBeanStore currentRequest(String beanName) {
+        Map<RequestScope, ScopedBeanStore> stores = CURRENT_REQUEST.get();
+        if (stores == null) {
+            throw new BeansException(
+                    String.format("Request scoped bean {%s} is used outside of a request", beanName));
+        }
+        return stores.computeIfAbsent(this, scope -> new ScopedBeanStore());
+    }
+}
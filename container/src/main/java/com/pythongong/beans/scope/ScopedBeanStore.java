@@ -0,0 +1,171 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.scope;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import com.pythongong.beans.config.DisposableBean;
+import com.pythongong.exception.BeansException;
+import com.pythongong.stereotype.Nullable;
+import com.pythongong.util.CheckUtils;
+
+/**
+ * Storage of the bean instances of one scope instance, such as one request or
+ * one thread.
+ * <p>
+ * Instances and destruction callbacks are kept in arrays indexed by the bean
+ * ordinal, which grow to the highest ordinal used. A store only holds the few
+ * scoped beans actually used, so a lookup is an array access and binding a
+ * new scope costs one small object. A store is not thread-safe; it belongs to
+ * the thread serving its scope.
+ *
+ * @author Cheng Gong
+ */
+public final class ScopedBeanStore {
+
+    /** Initial length of the arrays once the first bean is stored */
+    private static final int INITIAL_CAPACITY = 8;
+
+    private static final Object[] EMPTY_BEANS = new Object[0];
+
+    private static final DisposableBean[] EMPTY_CALLBACKS = new DisposableBean[0];
+
+    /** Bean instances by ordinal */
+    private Object[] beans = EMPTY_BEANS;
+
+    /** Destruction callbacks by ordinal */
+    private DisposableBean[] destructionCallbacks = EMPTY_CALLBACKS;
+
+    /**
+     * Returns the instance stored under an ordinal.
+     *
+     * @param ordinal the bean ordinal
+     * @return the instance, or null if none is stored
+     */
+    @Nullable
+    public Object get(int ordinal) {
+        return ordinal < beans.length ? beans[ordinal] : null;
+    }
+
+    /**
+     * Returns the instance stored under an ordinal, creating and storing it
+     * with the given factory when none is stored.
+     *
+     * @param ordinal       the bean ordinal
+     * @param objectFactory the factory creating the bean
+     * @return the stored instance
+     * @throws IllegalArgumentException if objectFactory is null
+     */
+    public Object computeIfAbsent(int ordinal, Supplier<Object> objectFactory) {
+        CheckUtils.nullArgs(objectFactory, "ScopedBeanStore.computeIfAbsent recevies null factory");
+        Object bean = get(ordinal);
+        if (bean == null) {
+            // The factory may store the scoped dependencies of the bean first
+            bean = objectFactory.get();
+            put(ordinal, bean);
+        }
+        return bean;
+    }
+
+    /**
+     * Stores an instance under an ordinal.
+     *
+     * @param ordinal the bean ordinal
+     * @param bean    the instance
+     * @throws IllegalArgumentException if the ordinal is negative or bean is
+     *                                  null
+     */
+    public void put(int ordinal, Object bean) {
+        CheckUtils.nullArgs(bean, "ScopedBeanStore.put recevies null bean");
+        beans = ensureCapacity(beans, ordinal);
+        beans[ordinal] = bean;
+    }
+
+    /**
+     * Removes the instance and the destruction callback stored under an
+     * ordinal.
+     *
+     * @param ordinal the bean ordinal
+     * @return the removed instance, or null if none was stored
+     */
+    @Nullable
+    public Object remove(int ordinal) {
+        Object bean = get(ordinal);
+        if (bean != null) {
+            beans[ordinal] = null;
+        }
+        if (ordinal < destructionCallbacks.length) {
+            destructionCallbacks[ordinal] = null;
+        }
+        return bean;
+    }
+
+    /**
+     * Registers the destruction callback of the instance stored under an
+     * ordinal.
+     *
+     * @param ordinal  the bean ordinal
+     * @param callback the destruction callback
+     * @throws IllegalArgumentException if the ordinal is negative or callback
+     *                                  is null
+     */
+    public void registerDestructionCallback(int ordinal, DisposableBean callback) {
+        CheckUtils.nullArgs(callback, "ScopedBeanStore.registerDestructionCallback recevies null callback");
+        destructionCallbacks = ensureCapacity(destructionCallbacks, ordinal);
+        destructionCallbacks[ordinal] = callback;
+    }
+
+    /**
+     * Calls every destruction callback, in reverse ordinal order, and clears
+     * the store. All the callbacks are called even if some of them fail.
+     *
+     * @throws BeansException if a callback failed, with the first failure as
+     *                        its cause
+     */
+    public void destroy() {
+        DisposableBean[] callbacks = destructionCallbacks;
+        beans = EMPTY_BEANS;
+        destructionCallbacks = EMPTY_CALLBACKS;
+
+        Exception failure = null;
+        for (int i = callbacks.length - 1; i >= 0; i--) {
+            if (callbacks[i] == null) {
+                continue;
+            }
+            try {
+                callbacks[i].destroy();
+            } catch (Exception e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw new BeansException("Fail to destroy scoped beans", failure);
+        }
+    }
+
+    private static <T> T[] ensureCapacity(T[] array, int ordinal) {
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("ScopedBeanStore recevies negative ordinal");
+        }
+        if (ordinal < array.length) {
+            return array;
+        }
+        return Arrays.copyOf(array, Math.max(ordinal + 1, Math.max(INITIAL_CAPACITY, array.length * 2)));
+    }
+}
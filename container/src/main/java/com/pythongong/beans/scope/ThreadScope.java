@@ -0,0 +1,63 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.scope;
+
+import java.util.function.Supplier;
+
+import com.pythongong.beans.config.DisposableBean;
+import com.pythongong.util.CheckUtils;
+
+/**
+ * Scope holding one instance of a bean per thread.
+ * <p>
+ * The instances live until {@link #destroyCurrentThread()} is called on
+ * their thread, which also calls their destruction callbacks. A thread that
+ * ends without it leaves its instances to the garbage collector without
+ * destroying them.
+ *
+ * @author Cheng Gong
+ * @see ScopedBeanStore
+ */
+public class ThreadScope implements BeanScope {
+
+    /** Store of the current thread */
+    private final ThreadLocal<ScopedBeanStore> stores = ThreadLocal.withInitial(ScopedBeanStore::new);
+
+    @Override
+    public Object get(String beanName, int ordinal, Supplier<Object> objectFactory) {
+        CheckUtils.emptyString(beanName, "ThreadScope.get recevies empty bean name");
+        return stores.get().computeIfAbsent(ordinal, objectFactory);
+    }
+
+    @Override
+    public Object remove(String beanName, int ordinal) {
+        return stores.get().remove(ordinal);
+    }
+
+    @Override
+    public void registerDestructionCallback(String beanName, int ordinal, Object bean, DisposableBean callback) {
+        stores.get().registerDestructionCallback(ordinal, callback);
+    }
+
+    /**
+     * Destroys the instances of the current thread and clears its store.
+     */
+    public void destroyCurrentThread() {
+        ScopedBeanStore store = stores.get();
+        stores.remove();
+        store.destroy();
+    }
+}
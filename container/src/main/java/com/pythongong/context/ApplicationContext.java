@@ -18,7 +18,9 @@ package com.pythongong.context;
 
 import com.pythongong.beans.factory.ListableBeanFactory;
 import com.pythongong.context.event.ApplicationEventPublisher;
+import com.pythongong.context.startup.ApplicationStartup;
 import com.pythongong.exception.BeansException;
+import com.pythongong.stereotype.Nullable;
 
 /**
  * Central interface to provide configuration for an application.
@@ -66,4 +68,25 @@ public interface ApplicationContext extends ListableBeanFactory, ApplicationEven
      * destroying all cached singleton beans.
      */
     void close();
+
+    /**
+     * Return the parent of this context, which provides the beans this context
+     * doesn't define.
+     *
+     * @return the parent context, or null if there is none
+     */
+    @Nullable
+    default ApplicationContext getParent() {
+        return null;
+    }
+
+    /**
+     * Return the recorder of the startup steps of this context.
+     *
+     * @return the startup recorder, {@link ApplicationStartup#DEFAULT} if
+     *         the steps are not recorded
+     */
+    default ApplicationStartup getApplicationStartup() {
+        return ApplicationStartup.DEFAULT;
+    }
 }
@@ -0,0 +1,558 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.context.annotation;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.pythongong.aop.aspectj.AspectJExpressionPointcut;
+import com.pythongong.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import com.pythongong.beans.config.BeanDefinition;
+import com.pythongong.beans.config.BeanReference;
+import com.pythongong.beans.config.CollectionReference;
+import com.pythongong.beans.config.FactoryDefinition;
+import com.pythongong.beans.config.FieldValue;
+import com.pythongong.beans.config.FieldValueList;
+import com.pythongong.beans.config.ProviderReference;
+import com.pythongong.context.impl.PropertyResolver;
+import com.pythongong.enums.AdviceEnum;
+import com.pythongong.enums.ScopeEnum;
+import com.pythongong.stereotype.Nullable;
+import com.pythongong.stereotype.Value;
+import com.pythongong.util.CheckUtils;
+import com.pythongong.util.ClassPathSerchParam;
+import com.pythongong.util.ClassUtils;
+import com.pythongong.util.FileUtils;
+import com.pythongong.util.ScanCache;
+
+/**
+ * Binary snapshot of the bean definitions parsed from a configuration class.
+ * <p>
+ * Parsing scans the classpath and reflects over every component, its
+ * constructors, {@code Bean} methods and advice methods. A snapshot stores the
+ * result of a parse in a compact binary file, so that later startups restore
+ * the definitions instead of parsing again. The file is keyed by the
+ * configuration class and by a fingerprint of the scanned packages: any change
+ * of a class file in these packages makes it stale, and the configuration is
+ * parsed again.
+ * <p>
+ * {@link Value} fields are stored as their placeholders and resolved again on
+ * restore, so changed properties never need a new snapshot. The inputs of
+ * the conditions enabling beans, such as the properties they test, are stored
+ * too; a snapshot whose inputs changed is stale. Definitions
+ * holding other values, such as constructor arguments, are not snapshotted.
+ * Like the {@link ScanCache}, the snapshot is best effort: a file that can't be
+ * read, written or restored just falls back to parsing.
+ *
+ * @author Cheng Gong
+ * @see ConfigurableClassParser#setSnapshot(BeanDefinitionSnapshot)
+ */
+public final class BeanDefinitionSnapshot {
+
+    /** First int of every snapshot, changed whenever the format changes */
+    private static final int FORMAT_VERSION = 0x54530002;
+
+    /** Tag of a null field value */
+    private static final byte NULL_VALUE = 0;
+
+    /** Tag of a field value referencing a bean */
+    private static final byte BEAN_REFERENCE = 1;
+
+    /** Tag of a field value resolved from a property placeholder */
+    private static final byte PROPERTY = 2;
+
+    /** Tag of the advisors of the AOP creator */
+    private static final byte ADVISORS = 3;
+
+    /** Tag of a field value injecting an object provider */
+    private static final byte PROVIDER_REFERENCE = 4;
+
+    /** Tag of a field value injecting all the beans of a type */
+    private static final byte COLLECTION_REFERENCE = 5;
+
+    /** Primitive types by name, which {@link Class#forName(String)} can't load */
+    private static final Map<String, Class<?>> PRIMITIVE_TYPES = Stream
+            .of(boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class,
+                    double.class, void.class)
+            .collect(Collectors.toMap(Class::getName, type -> type));
+
+    /** File holding the snapshot */
+    private final Path snapshotFile;
+
+    /** Loader of the classes named in the snapshot */
+    private final ClassLoader classLoader;
+
+    /** Encoded parse result waiting to be saved, null if none */
+    private volatile byte[] pendingSnapshot;
+
+    /**
+     * Creates a snapshot stored in the given file.
+     *
+     * @param snapshotFile the file holding the snapshot
+     * @throws IllegalArgumentException if snapshotFile is null
+     */
+    public BeanDefinitionSnapshot(Path snapshotFile) {
+        CheckUtils.nullArgs(snapshotFile, "BeanDefinitionSnapshot recevies null snapshot file");
+        this.snapshotFile = snapshotFile;
+        this.classLoader = ClassUtils.getDefaultClassLoader();
+    }
+
+    /**
+     * Computes the fingerprint of the classpath roots holding the given
+     * packages.
+     *
+     * @param basePackages the scanned packages
+     * @return the fingerprint, or null if a root can't be inspected
+     */
+    @Nullable
+    public String fingerprint(String[] basePackages) {
+        CheckUtils.emptyArray(basePackages, "BeanDefinitionSnapshot.fingerprint recevies empty package names");
+        List<Path> basePaths = new ArrayList<>();
+        for (String basePackage : basePackages) {
+            basePaths.addAll(FileUtils.findClassPathRoots(ClassPathSerchParam.builder()
+                    .packagePath(FileUtils.convertPackageToPath(basePackage))
+                    .serachJar(true)
+                    .serachFile(true)
+                    .searchSudDirect(true)
+                    .build()));
+        }
+        try {
+            return ScanCache.fingerprint(basePaths);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Restores the definitions of a configuration class, resolving the
+     * property placeholders of their fields. The snapshot is stale if an input
+     * of the conditions evaluated by the parse has changed since.
+     *
+     * @param configurationClass the parsed configuration class
+     * @param fingerprint        the current fingerprint of the scanned packages
+     * @param propertyResolver   the resolver of the property placeholders
+     * @param conditionInputs    function evaluating a recorded condition input
+     *                           to its current value
+     * @return the restored definitions, or null if the snapshot is missing,
+     *         stale or unreadable
+     * @throws java.util.NoSuchElementException if a property of a field doesn't
+     *                                          exist
+     */
+    @Nullable
+    public Set<BeanDefinition> restore(Class<?> configurationClass, String fingerprint,
+            PropertyResolver propertyResolver, Function<String, String> conditionInputs) {
+        CheckUtils.nullArgs(configurationClass, "BeanDefinitionSnapshot.restore recevies null class");
+        CheckUtils.emptyString(fingerprint, "BeanDefinitionSnapshot.restore recevies empty fingerprint");
+        CheckUtils.nullArgs(propertyResolver, "BeanDefinitionSnapshot.restore recevies null propertyResolver");
+        CheckUtils.nullArgs(conditionInputs, "BeanDefinitionSnapshot.restore recevies null condition inputs");
+        if (!Files.isRegularFile(snapshotFile)) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (input.readInt() != FORMAT_VERSION || !configurationClass.getName().equals(input.readUTF())
+                    || !fingerprint.equals(input.readUTF())) {
+                return null;
+            }
+            int conditionCount = input.readInt();
+            for (int i = 0; i < conditionCount; i++) {
+                String key = input.readUTF();
+                if (!Objects.equals(readNullableString(input), conditionInputs.apply(key))) {
+                    return null;
+                }
+            }
+            int count = input.readInt();
+            Set<BeanDefinition> beanDefinitions = new LinkedHashSet<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                beanDefinitions.add(readBeanDefinition(input, propertyResolver));
+            }
+            return beanDefinitions;
+        } catch (IOException | ReflectiveOperationException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Encodes the definitions parsed from a configuration class, to be written
+     * by {@link #save()}. Definitions are encoded right after parsing, before
+     * post processors can change them.
+     *
+     * @param configurationClass the parsed configuration class
+     * @param fingerprint        the fingerprint of the scanned packages
+     * @param conditionInputs    the inputs of the conditions evaluated by the
+     *                           parse and their values, null for a missing
+     *                           property
+     * @param beanDefinitions    the parsed definitions
+     * @return true if the definitions could be encoded
+     */
+    public boolean record(Class<?> configurationClass, String fingerprint, Map<String, String> conditionInputs,
+            Collection<BeanDefinition> beanDefinitions) {
+        CheckUtils.nullArgs(configurationClass, "BeanDefinitionSnapshot.record recevies null class");
+        CheckUtils.emptyString(fingerprint, "BeanDefinitionSnapshot.record recevies empty fingerprint");
+        CheckUtils.nullArgs(conditionInputs, "BeanDefinitionSnapshot.record recevies null condition inputs");
+        CheckUtils.nullArgs(beanDefinitions, "BeanDefinitionSnapshot.record recevies null definitions");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeUTF(configurationClass.getName());
+            output.writeUTF(fingerprint);
+            output.writeInt(conditionInputs.size());
+            for (Map.Entry<String, String> conditionInput : conditionInputs.entrySet()) {
+                output.writeUTF(conditionInput.getKey());
+                writeNullableString(output, conditionInput.getValue());
+            }
+            output.writeInt(beanDefinitions.size());
+            for (BeanDefinition beanDefinition : beanDefinitions) {
+                writeBeanDefinition(output, beanDefinition);
+            }
+        } catch (IOException e) {
+            pendingSnapshot = null;
+            return false;
+        }
+        pendingSnapshot = bytes.toByteArray();
+        return true;
+    }
+
+    /**
+     * Writes the recorded definitions atomically, so concurrent startups never
+     * read a partial snapshot. Typically invoked once the context refreshed
+     * successfully.
+     *
+     * @return true if a snapshot was written
+     */
+    public boolean save() {
+        byte[] snapshot = pendingSnapshot;
+        if (snapshot == null) {
+            return false;
+        }
+        pendingSnapshot = null;
+        try {
+            Path snapshotDir = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(snapshotDir);
+            Path tempFile = Files.createTempFile(snapshotDir, snapshotFile.getFileName().toString(), null);
+            try {
+                Files.write(tempFile, snapshot);
+                Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            return true;
+        } catch (IOException e) {
+            // The definitions are still valid, they just won't be restored
+            return false;
+        }
+    }
+
+    /**
+     * Encodes a bean definition.
+     *
+     * @param output         the snapshot being written
+     * @param beanDefinition the definition to encode
+     * @throws NotSerializableException if the definition holds a value that
+     *                                  can't be restored
+     */
+    private void writeBeanDefinition(DataOutputStream output, BeanDefinition beanDefinition) throws IOException {
+        if (beanDefinition.constructorArgus() != null) {
+            throw new NotSerializableException(beanDefinition.beanName());
+        }
+        output.writeUTF(beanDefinition.beanName());
+        output.writeUTF(beanDefinition.beanClass().getName());
+        writeNullableString(output, beanDefinition.initMethodName());
+        writeNullableString(output, beanDefinition.destroyMethodName());
+        output.writeUTF(beanDefinition.scope().name());
+        writeNullableString(output, beanDefinition.scopeName());
+        output.writeBoolean(beanDefinition.lazyInit());
+
+        Constructor<?> constructor = beanDefinition.constructor();
+        output.writeBoolean(constructor != null);
+        if (constructor != null) {
+            writeTypes(output, constructor.getParameterTypes());
+        }
+        FactoryDefinition factoryDefinition = beanDefinition.factoryDefinition();
+        output.writeBoolean(factoryDefinition != null);
+        if (factoryDefinition != null) {
+            output.writeUTF(factoryDefinition.factoryName());
+            output.writeUTF(factoryDefinition.factoryMethodName());
+            writeTypes(output, factoryDefinition.factoryMethodParamTypes());
+        }
+
+        // The list iterates from its last field, so write the fields in the
+        // order they were added
+        List<FieldValue> fieldValues = new ArrayList<>(beanDefinition.fieldValueList().size());
+        beanDefinition.fieldValueList().forEach(fieldValue -> fieldValues.add(0, fieldValue));
+        output.writeInt(fieldValues.size());
+        for (FieldValue fieldValue : fieldValues) {
+            output.writeUTF(fieldValue.name());
+            writeFieldValue(output, beanDefinition.beanClass(), fieldValue);
+        }
+    }
+
+    /**
+     * Decodes a bean definition, resolving the property placeholders of its
+     * fields.
+     *
+     * @param input            the snapshot being read
+     * @param propertyResolver the resolver of the property placeholders
+     * @return the bean definition
+     */
+    private BeanDefinition readBeanDefinition(DataInputStream input, PropertyResolver propertyResolver)
+            throws IOException, ReflectiveOperationException {
+        String beanName = input.readUTF();
+        Class<?> beanClass = loadClass(input.readUTF());
+        BeanDefinition.BeanDefinitionBuilder builder = BeanDefinition.builder()
+                .beanName(beanName)
+                .beanClass(beanClass)
+                .initMethodName(readNullableString(input))
+                .destroyMethodName(readNullableString(input))
+                .scope(ScopeEnum.valueOf(input.readUTF()))
+                .scopeName(readNullableString(input))
+                .lazyInit(input.readBoolean());
+        if (input.readBoolean()) {
+            builder.constructor(beanClass.getDeclaredConstructor(readTypes(input)));
+        }
+        if (input.readBoolean()) {
+            builder.factoryDefinition(new FactoryDefinition(input.readUTF(), input.readUTF(), readTypes(input)));
+        }
+
+        int fieldCount = input.readInt();
+        FieldValueList fieldValueList = new FieldValueList();
+        for (int i = 0; i < fieldCount; i++) {
+            String fieldName = input.readUTF();
+            fieldValueList.add(new FieldValue(fieldName, readFieldValue(input, propertyResolver)));
+        }
+        return builder.fieldValueList(fieldValueList).build();
+    }
+
+    /**
+     * Encodes the value of a field: a bean, provider or collection reference,
+     * the placeholder of a {@link Value} field or the advisors of the AOP
+     * creator.
+     *
+     * @param output     the snapshot being written
+     * @param beanClass  the class declaring the field
+     * @param fieldValue the field value to encode
+     * @throws NotSerializableException if the value is of another kind
+     */
+    private void writeFieldValue(DataOutputStream output, Class<?> beanClass, FieldValue fieldValue)
+            throws IOException {
+        Object value = fieldValue.value();
+        if (value == null) {
+            output.writeByte(NULL_VALUE);
+            return;
+        }
+        if (value instanceof BeanReference beanReference) {
+            output.writeByte(BEAN_REFERENCE);
+            output.writeUTF(beanReference.beanName());
+            return;
+        }
+        if (value instanceof ProviderReference providerReference) {
+            output.writeByte(PROVIDER_REFERENCE);
+            output.writeUTF(providerReference.beanType().getName());
+            writeNullableString(output, providerReference.beanName());
+            return;
+        }
+        if (value instanceof CollectionReference collectionReference) {
+            output.writeByte(COLLECTION_REFERENCE);
+            output.writeUTF(collectionReference.collectionType().getName());
+            output.writeUTF(collectionReference.elementType().getName());
+            return;
+        }
+        if (value instanceof List<?> advisors && !advisors.isEmpty()
+                && advisors.stream().allMatch(AspectJExpressionPointcutAdvisor.class::isInstance)) {
+            output.writeByte(ADVISORS);
+            output.writeInt(advisors.size());
+            for (Object advisor : advisors) {
+                writeAdvisor(output, (AspectJExpressionPointcutAdvisor) advisor);
+            }
+            return;
+        }
+
+        Field field;
+        try {
+            field = beanClass.getDeclaredField(fieldValue.name());
+        } catch (NoSuchFieldException e) {
+            throw new NotSerializableException(beanClass.getName() + "." + fieldValue.name());
+        }
+        Value placeholder = field.getAnnotation(Value.class);
+        if (placeholder == null) {
+            throw new NotSerializableException(beanClass.getName() + "." + fieldValue.name());
+        }
+        output.writeByte(PROPERTY);
+        output.writeUTF(placeholder.value());
+        output.writeUTF(field.getType().getName());
+    }
+
+    /**
+     * Decodes the value of a field.
+     *
+     * @param input            the snapshot being read
+     * @param propertyResolver the resolver of the property placeholders
+     * @return the field value
+     */
+    private Object readFieldValue(DataInputStream input, PropertyResolver propertyResolver)
+            throws IOException, ReflectiveOperationException {
+        byte tag = input.readByte();
+        switch (tag) {
+            case NULL_VALUE:
+                return null;
+            case BEAN_REFERENCE:
+                return new BeanReference(input.readUTF());
+            case PROVIDER_REFERENCE:
+                return new ProviderReference(loadClass(input.readUTF()), readNullableString(input));
+            case COLLECTION_REFERENCE:
+                return new CollectionReference(loadClass(input.readUTF()), loadClass(input.readUTF()));
+            case PROPERTY:
+                String placeholder = input.readUTF();
+                return propertyResolver.getProperty(placeholder, loadClass(input.readUTF()));
+            case ADVISORS:
+                int count = input.readInt();
+                List<AspectJExpressionPointcutAdvisor> advisors = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    advisors.add(readAdvisor(input));
+                }
+                return advisors;
+            default:
+                throw new IOException("Unknown field value tag: " + tag);
+        }
+    }
+
+    /**
+     * Encodes an advisor as its advice method and pointcut expression.
+     *
+     * @param output  the snapshot being written
+     * @param advisor the advisor to encode
+     */
+    private void writeAdvisor(DataOutputStream output, AspectJExpressionPointcutAdvisor advisor)
+            throws IOException {
+        Method method = advisor.method();
+        writeNullableString(output, advisor.aspectName());
+        writeNullableString(output, advisor.adviceEnum() == null ? null : advisor.adviceEnum().name());
+        output.writeUTF(method.getDeclaringClass().getName());
+        output.writeUTF(method.getName());
+        writeTypes(output, method.getParameterTypes());
+        output.writeUTF(advisor.pointcut().getExpression());
+    }
+
+    /**
+     * Decodes an advisor, compiling its pointcut expression again.
+     *
+     * @param input the snapshot being read
+     * @return the advisor
+     */
+    private AspectJExpressionPointcutAdvisor readAdvisor(DataInputStream input)
+            throws IOException, ReflectiveOperationException {
+        String aspectName = readNullableString(input);
+        String adviceName = readNullableString(input);
+        Class<?> declaringClass = loadClass(input.readUTF());
+        Method method = declaringClass.getDeclaredMethod(input.readUTF(), readTypes(input));
+        return AspectJExpressionPointcutAdvisor.builder()
+                .aspectName(aspectName)
+                .adviceEnum(adviceName == null ? null : AdviceEnum.valueOf(adviceName))
+                .method(method)
+                .pointcut(new AspectJExpressionPointcut(input.readUTF()))
+                .build();
+    }
+
+    /**
+     * Encodes parameter types by name, -1 standing for null.
+     *
+     * @param output the snapshot being written
+     * @param types  the types, may be null
+     */
+    private static void writeTypes(DataOutputStream output, Class<?>[] types) throws IOException {
+        output.writeInt(types == null ? -1 : types.length);
+        if (types == null) {
+            return;
+        }
+        for (Class<?> type : types) {
+            output.writeUTF(type.getName());
+        }
+    }
+
+    /**
+     * Decodes parameter types.
+     *
+     * @param input the snapshot being read
+     * @return the types, or null
+     */
+    private Class<?>[] readTypes(DataInputStream input) throws IOException, ClassNotFoundException {
+        int count = input.readInt();
+        if (count < 0) {
+            return null;
+        }
+        Class<?>[] types = new Class<?>[count];
+        for (int i = 0; i < count; i++) {
+            types[i] = loadClass(input.readUTF());
+        }
+        return types;
+    }
+
+    /**
+     * Encodes a string that may be null.
+     *
+     * @param output the snapshot being written
+     * @param value  the string, may be null
+     */
+    private static void writeNullableString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    /**
+     * Decodes a string that may be null.
+     *
+     * @param input the snapshot being read
+     * @return the string, or null
+     */
+    @Nullable
+    private static String readNullableString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    /**
+     * Loads a class or a primitive type by name, without initializing it.
+     *
+     * @param className the name of the class
+     * @return the class
+     */
+    private Class<?> loadClass(String className) throws ClassNotFoundException {
+        Class<?> primitiveType = PRIMITIVE_TYPES.get(className);
+        return primitiveType != null ? primitiveType : Class.forName(className, false, classLoader);
+    }
+}
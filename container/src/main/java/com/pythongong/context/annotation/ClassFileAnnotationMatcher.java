@@ -0,0 +1,315 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.context.annotation;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.pythongong.util.CheckUtils;
+import com.pythongong.util.ClassUtils;
+import com.pythongong.util.FileUtils;
+
+/**
+ * Matches classes against an annotation by reading their class files instead
+ * of loading them.
+ * <p>
+ * Only the constant pool, the header and the class-level
+ * {@code RuntimeVisibleAnnotations} attribute are parsed. Like
+ * {@link ClassUtils#findAnnotation(Class, Class)}, an annotation is also
+ * found when it is present on one of the annotations of the class, so
+ * stereotypes such as {@code @Configuration} match {@code @Component}. The
+ * result for every annotation type is cached, which keeps the meta-annotation
+ * lookup to one class-file read per annotation type.
+ *
+ * @author Cheng Gong
+ * @see ConfigurableClassScanner
+ */
+final class ClassFileAnnotationMatcher {
+
+    /** Magic number starting every class file */
+    private static final int MAGIC = 0xCAFEBABE;
+
+    /** Name of the attribute holding the runtime visible annotations */
+    private static final String ANNOTATIONS_ATTRIBUTE = "RuntimeVisibleAnnotations";
+
+    /** Descriptor prefix of JDK annotations, which never carry stereotypes */
+    private static final String JDK_DESCRIPTOR_PREFIX = "Ljava/";
+
+    /** Class loader reading the class files */
+    private final ClassLoader classLoader;
+
+    /** Descriptor of the annotation to match */
+    private final String annotationDescriptor;
+
+    /** Whether an annotation type, by descriptor, carries the annotation */
+    private final Map<String, Boolean> annotationTypeMatches = new ConcurrentHashMap<>(ClassUtils.SMALL_INIT_SIZE);
+
+    /**
+     * Creates a new matcher.
+     *
+     * @param classLoader    the class loader reading the class files
+     * @param annotationType the annotation to match
+     * @throws IllegalArgumentException if an argument is null
+     */
+    ClassFileAnnotationMatcher(ClassLoader classLoader, Class<? extends Annotation> annotationType) {
+        CheckUtils.nullArgs(classLoader, "ClassFileAnnotationMatcher recevies null class loader");
+        CheckUtils.nullArgs(annotationType, "ClassFileAnnotationMatcher recevies null annotation type");
+        this.classLoader = classLoader;
+        this.annotationDescriptor = toDescriptor(annotationType.getName());
+    }
+
+    /**
+     * Checks whether a class is annotated, directly or through its annotations,
+     * with the annotation of this matcher.
+     *
+     * @param className the fully qualified name of the class
+     * @return true if the class carries the annotation
+     * @throws IOException if the class file can't be found or parsed
+     */
+    boolean matches(String className) throws IOException {
+        return matches(readClassAnnotations(className));
+    }
+
+    /**
+     * Checks whether a list of class annotations, as returned by
+     * {@link #readClassAnnotations(String)}, contains the annotation of this
+     * matcher directly or through meta-annotations.
+     *
+     * @param annotationDescriptors the descriptors of the class annotations
+     * @return true if the annotation is found
+     */
+    boolean matches(List<String> annotationDescriptors) {
+        return matchesAnnotations(annotationDescriptors, new HashSet<>());
+    }
+
+    /**
+     * Reads the descriptors of the runtime visible annotations of a class.
+     *
+     * @param className the fully qualified name of the class
+     * @return the annotation descriptors, such as {@code Lcom/example/Foo;}
+     * @throws IOException if the class file can't be found or parsed
+     */
+    List<String> readClassAnnotations(String className) throws IOException {
+        return readAnnotations(toDescriptor(className));
+    }
+
+    /**
+     * Checks whether a list of annotation descriptors contains the annotation
+     * of this matcher, directly or as meta-annotation.
+     *
+     * @param descriptors the annotation descriptors to check
+     * @param visited     the annotation types already on the lookup path
+     * @return true if the annotation is found
+     */
+    private boolean matchesAnnotations(List<String> descriptors, Set<String> visited) {
+        for (String descriptor : descriptors) {
+            if (descriptor.equals(annotationDescriptor)) {
+                return true;
+            }
+        }
+        for (String descriptor : descriptors) {
+            if (!descriptor.startsWith(JDK_DESCRIPTOR_PREFIX) && visited.add(descriptor)
+                    && matchesAnnotationType(descriptor, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether an annotation type carries the annotation of this matcher.
+     *
+     * @param descriptor the descriptor of the annotation type
+     * @param visited    the annotation types already on the lookup path
+     * @return true if the annotation type carries the annotation
+     */
+    private boolean matchesAnnotationType(String descriptor, Set<String> visited) {
+        Boolean cached = annotationTypeMatches.get(descriptor);
+        if (cached != null) {
+            return cached;
+        }
+        boolean matched;
+        try {
+            matched = matchesAnnotations(readAnnotations(descriptor), visited);
+        } catch (IOException e) {
+            // Annotation types missing from the classpath are ignored, as reflection does
+            matched = false;
+        }
+        annotationTypeMatches.put(descriptor, matched);
+        return matched;
+    }
+
+    /**
+     * Reads the class-level runtime visible annotations of a class file.
+     *
+     * @param descriptor the descriptor of the class
+     * @return the descriptors of the annotations of the class
+     * @throws IOException if the class file can't be found or parsed
+     */
+    private List<String> readAnnotations(String descriptor) throws IOException {
+        String resource = descriptor.substring(1, descriptor.length() - 1) + FileUtils.CLASS_FILE_SUFFIX;
+        byte[] bytes;
+        try (InputStream inputStream = classLoader.getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                throw new FileNotFoundException(String.format("Class file {%s} not found", resource));
+            }
+            bytes = inputStream.readAllBytes();
+        }
+
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (input.readInt() != MAGIC) {
+            throw new IOException(String.format("{%s} is not a class file", resource));
+        }
+        // minor and major version
+        input.skipNBytes(4);
+        String[] utf8Constants = readConstantPool(input);
+
+        // access flags, this class and super class
+        input.skipNBytes(6);
+        input.skipNBytes(2L * input.readUnsignedShort());
+        skipMembers(input);
+        skipMembers(input);
+
+        int attributeCount = input.readUnsignedShort();
+        for (int i = 0; i < attributeCount; i++) {
+            String attributeName = utf8Constants[input.readUnsignedShort()];
+            int length = input.readInt();
+            if (!ANNOTATIONS_ATTRIBUTE.equals(attributeName)) {
+                input.skipNBytes(length);
+                continue;
+            }
+            int annotationCount = input.readUnsignedShort();
+            List<String> annotations = new ArrayList<>(annotationCount);
+            for (int j = 0; j < annotationCount; j++) {
+                annotations.add(utf8Constants[input.readUnsignedShort()]);
+                skipElementValuePairs(input);
+            }
+            return annotations;
+        }
+        return List.of();
+    }
+
+    /**
+     * Reads the constant pool, keeping only its UTF-8 entries.
+     *
+     * @param input the class file positioned at the constant pool count
+     * @return the UTF-8 constants by constant pool index
+     * @throws IOException if the constant pool is malformed
+     */
+    private static String[] readConstantPool(DataInputStream input) throws IOException {
+        int count = input.readUnsignedShort();
+        String[] utf8Constants = new String[count];
+        for (int i = 1; i < count; i++) {
+            int tag = input.readUnsignedByte();
+            switch (tag) {
+                // Utf8
+                case 1 -> utf8Constants[i] = input.readUTF();
+                // Class, String, MethodType, Module, Package
+                case 7, 8, 16, 19, 20 -> input.skipNBytes(2);
+                // MethodHandle
+                case 15 -> input.skipNBytes(3);
+                // Integer, Float, Fieldref, Methodref, InterfaceMethodref, NameAndType,
+                // Dynamic, InvokeDynamic
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> input.skipNBytes(4);
+                // Long and Double take two entries
+                case 5, 6 -> {
+                    input.skipNBytes(8);
+                    i++;
+                }
+                default -> throw new IOException(String.format("Unknown constant pool tag {%d}", tag));
+            }
+        }
+        return utf8Constants;
+    }
+
+    /**
+     * Skips the fields or the methods of a class file.
+     *
+     * @param input the class file positioned at the member count
+     * @throws IOException if the members are malformed
+     */
+    private static void skipMembers(DataInputStream input) throws IOException {
+        int memberCount = input.readUnsignedShort();
+        for (int i = 0; i < memberCount; i++) {
+            // access flags, name and descriptor
+            input.skipNBytes(6);
+            int attributeCount = input.readUnsignedShort();
+            for (int j = 0; j < attributeCount; j++) {
+                input.skipNBytes(2);
+                input.skipNBytes(Integer.toUnsignedLong(input.readInt()));
+            }
+        }
+    }
+
+    /**
+     * Skips the element-value pairs of an annotation.
+     *
+     * @param input the class file positioned at the pair count
+     * @throws IOException if the annotation is malformed
+     */
+    private static void skipElementValuePairs(DataInputStream input) throws IOException {
+        int pairCount = input.readUnsignedShort();
+        for (int i = 0; i < pairCount; i++) {
+            input.skipNBytes(2);
+            skipElementValue(input);
+        }
+    }
+
+    /**
+     * Skips one element value of an annotation.
+     *
+     * @param input the class file positioned at the element value tag
+     * @throws IOException if the element value is malformed
+     */
+    private static void skipElementValue(DataInputStream input) throws IOException {
+        int tag = input.readUnsignedByte();
+        switch (tag) {
+            case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' -> input.skipNBytes(2);
+            case 'e' -> input.skipNBytes(4);
+            case '@' -> {
+                input.skipNBytes(2);
+                skipElementValuePairs(input);
+            }
+            case '[' -> {
+                int valueCount = input.readUnsignedShort();
+                for (int i = 0; i < valueCount; i++) {
+                    skipElementValue(input);
+                }
+            }
+            default -> throw new IOException(String.format("Unknown element value tag {%c}", tag));
+        }
+    }
+
+    /**
+     * Converts a class name to its field descriptor.
+     *
+     * @param className the fully qualified class name
+     * @return the descriptor, such as {@code Lcom/example/Foo;}
+     */
+    private static String toDescriptor(String className) {
+        return "L" + className.replace(FileUtils.PACKAGE_SEPARATOR, FileUtils.PATH_SEPARATOR) + ";";
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.context.annotation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.pythongong.exception.BeansException;
+import com.pythongong.stereotype.Nullable;
+import com.pythongong.util.CheckUtils;
+import com.pythongong.util.ClassUtils;
+import com.pythongong.util.FileUtils;
+
+/**
+ * Reader of the component index written at compile time by
+ * {@link ComponentIndexProcessor}.
+ * <p>
+ * Every classpath root compiled with the processor carries an
+ * {@value #INDEX_LOCATION} file listing its component classes and their
+ * stereotypes. A package can only be served by the index when every root
+ * containing it has an index; otherwise the scanner falls back to walking the
+ * package, so classes compiled without the processor are never missed.
+ * <p>
+ * The index is skipped entirely when the {@value #IGNORE_INDEX_PROPERTY}
+ * system property is {@code true}.
+ *
+ * @author Cheng Gong
+ * @see ComponentIndexProcessor
+ */
+public class ComponentIndex {
+
+    /** Location of the index in every classpath root */
+    public static final String INDEX_LOCATION = "META-INF/tiny-spring.components";
+
+    /** System property disabling the index */
+    public static final String IGNORE_INDEX_PROPERTY = "tiny-spring.index.ignore";
+
+    /** Separator of the stereotypes of an index entry */
+    static final String STEREOTYPE_SEPARATOR = ",";
+
+    /** Marker of a classpath root without index */
+    private static final Map<String, Set<String>> NO_INDEX = Collections.unmodifiableMap(new TreeMap<>());
+
+    /** Loaded indexes: classpath root to class name to stereotypes */
+    private final Map<String, Map<String, Set<String>>> rootIndexes = new ConcurrentHashMap<>(
+            ClassUtils.SMALL_INIT_SIZE);
+
+    /** Class loader resolving packages and indexes */
+    private final ClassLoader classLoader;
+
+    /**
+     * Creates a new index reader.
+     *
+     * @param classLoader the class loader resolving packages and indexes
+     * @throws IllegalArgumentException if classLoader is null
+     */
+    public ComponentIndex(ClassLoader classLoader) {
+        CheckUtils.nullArgs(classLoader, "ComponentIndex recevies null class loader");
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Checks whether the index is disabled through the
+     * {@value #IGNORE_INDEX_PROPERTY} system property.
+     *
+     * @return true if scanning must not use the index
+     */
+    public static boolean isIgnored() {
+        return Boolean.getBoolean(IGNORE_INDEX_PROPERTY);
+    }
+
+    /**
+     * Returns the indexed classes of a package and its subpackages that carry
+     * the given stereotype.
+     *
+     * @param basePackage the package to look up
+     * @param stereotype  the fully qualified name of the stereotype annotation
+     * @return the sorted class names, or null if a classpath root containing
+     *         the package has no index
+     * @throws IllegalArgumentException if an argument is empty
+     * @throws BeansException           if an index can't be read
+     */
+    @Nullable
+    public Set<String> getCandidateTypes(String basePackage, String stereotype) {
+        CheckUtils.emptyString(basePackage, "ComponentIndex.getCandidateTypes recevies empty package name");
+        CheckUtils.emptyString(stereotype, "ComponentIndex.getCandidateTypes recevies empty stereotype");
+
+        String packagePath = FileUtils.convertPackageToPath(basePackage);
+        String packagePrefix = basePackage + FileUtils.PACKAGE_SEPARATOR;
+        Set<String> candidates = new TreeSet<>();
+        try {
+            Enumeration<URL> packageUrls = classLoader.getResources(packagePath);
+            while (packageUrls.hasMoreElements()) {
+                String packageUrl = packageUrls.nextElement().toString();
+                if (!packageUrl.endsWith(packagePath) && !packageUrl.endsWith(packagePath + FileUtils.PATH_SEPARATOR)) {
+                    return null;
+                }
+                String root = packageUrl.substring(0, packageUrl.lastIndexOf(packagePath));
+                Map<String, Set<String>> rootIndex = rootIndexes.computeIfAbsent(root, this::loadRootIndex);
+                if (rootIndex == NO_INDEX) {
+                    return null;
+                }
+                rootIndex.forEach((className, stereotypes) -> {
+                    if (className.startsWith(packagePrefix) && stereotypes.contains(stereotype)) {
+                        candidates.add(className);
+                    }
+                });
+            }
+        } catch (IOException e) {
+            throw new BeansException(String.format("Fail to resolve package {%s}", basePackage), e);
+        }
+        return candidates;
+    }
+
+    /**
+     * Loads the index of a classpath root.
+     *
+     * @param root the URL of the root, ending with a path separator
+     * @return the index entries, {@link #NO_INDEX} if the root has no index
+     */
+    private Map<String, Set<String>> loadRootIndex(String root) {
+        Properties properties = new Properties();
+        try (InputStream inputStream = URI.create(root + INDEX_LOCATION).toURL().openStream();
+                Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            // The root was compiled without the processor
+            return NO_INDEX;
+        }
+
+        Map<String, Set<String>> rootIndex = new TreeMap<>();
+        properties.forEach((className, stereotypes) -> rootIndex.put((String) className,
+                Set.copyOf(Arrays.asList(((String) stereotypes).split(STEREOTYPE_SEPARATOR)))));
+        return rootIndex;
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.context.annotation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import com.pythongong.stereotype.Bean;
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.Configuration;
+
+/**
+ * Annotation processor writing the component index read by
+ * {@link ComponentIndex}.
+ * <p>
+ * Every class annotated with {@link Component}, directly or through a
+ * stereotype such as {@link Configuration}, is written to
+ * {@value ComponentIndex#INDEX_LOCATION} with its stereotypes: the
+ * {@link Component} and {@link Configuration} annotations, the AspectJ
+ * {@code Aspect} annotation and {@link Bean} if the class declares
+ * {@link Bean} methods. Entries use the properties format, keyed by binary
+ * class name and sorted, so the index is reproducible.
+ * <p>
+ * Incremental builds compile only the changed sources, so the index left in
+ * the class output by the previous build is merged in: its entries for types
+ * compiled again are replaced, and entries whose class files are gone are
+ * dropped.
+ * <p>
+ * The processor is registered as a service of the container jar, so every
+ * module compiled against it gets an index without further configuration.
+ *
+ * @author Cheng Gong
+ * @see ComponentIndex
+ */
+@SupportedAnnotationTypes("*")
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    /** Qualified name of the AspectJ aspect annotation */
+    static final String ASPECT_ANNOTATION = "org.aspectj.lang.annotation.Aspect";
+
+    /** Indexed components: binary class name to stereotypes */
+    private final Map<String, Set<String>> components = new TreeMap<>();
+
+    /** Binary names of every type compiled in this run, components or not */
+    private final Set<String> compiledTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            collect(element);
+        }
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        // Never claims annotations, other processors must still see them
+        return false;
+    }
+
+    /**
+     * Records a type and its nested types if they are components.
+     *
+     * @param element the root or nested element to inspect
+     */
+    private void collect(Element element) {
+        if (!element.getKind().isClass()) {
+            return;
+        }
+        TypeElement type = (TypeElement) element;
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        compiledTypes.add(binaryName);
+        Set<String> stereotypes = new TreeSet<>();
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            String annotationName = annotationType.getQualifiedName().toString();
+            if (isComponent(annotationType, new HashSet<>())) {
+                stereotypes.add(Component.class.getName());
+            }
+            if (annotationName.equals(Configuration.class.getName()) || annotationName.equals(ASPECT_ANNOTATION)) {
+                stereotypes.add(annotationName);
+            }
+        }
+
+        if (stereotypes.contains(Component.class.getName())) {
+            boolean hasBeanMethods = type.getEnclosedElements().stream()
+                    .anyMatch(enclosed -> enclosed.getKind() == ElementKind.METHOD
+                            && enclosed.getAnnotation(Bean.class) != null);
+            if (hasBeanMethods) {
+                stereotypes.add(Bean.class.getName());
+            }
+            components.put(binaryName, stereotypes);
+        }
+
+        type.getEnclosedElements().forEach(this::collect);
+    }
+
+    /**
+     * Checks whether an annotation is {@link Component} or is meta-annotated
+     * with it.
+     *
+     * @param annotationType the annotation to check
+     * @param visited        the annotations already checked, against cycles
+     * @return true if the annotation marks a component
+     */
+    private boolean isComponent(TypeElement annotationType, Set<String> visited) {
+        String annotationName = annotationType.getQualifiedName().toString();
+        if (annotationName.equals(Component.class.getName())) {
+            return true;
+        }
+        if (annotationName.startsWith("java.lang.annotation.") || !visited.add(annotationName)) {
+            return false;
+        }
+        for (AnnotationMirror metaAnnotation : annotationType.getAnnotationMirrors()) {
+            if (isComponent((TypeElement) metaAnnotation.getAnnotationType().asElement(), visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the collected components to the index, merged with the index of
+     * the previous build.
+     */
+    private void writeIndex() {
+        boolean hasPreviousIndex = mergePreviousIndex();
+        if (components.isEmpty() && !hasPreviousIndex) {
+            return;
+        }
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    ComponentIndex.INDEX_LOCATION);
+            try (Writer writer = index.openWriter()) {
+                for (Map.Entry<String, Set<String>> component : components.entrySet()) {
+                    writer.write(component.getKey());
+                    writer.write('=');
+                    writer.write(String.join(ComponentIndex.STEREOTYPE_SEPARATOR, component.getValue()));
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Fail to write component index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the entries of the index already in the class output for types not
+     * compiled in this run whose class files still exist.
+     *
+     * @return true if a previous index was found
+     */
+    private boolean mergePreviousIndex() {
+        Properties previousIndex = new Properties();
+        try {
+            FileObject index = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                    ComponentIndex.INDEX_LOCATION);
+            try (Reader reader = index.openReader(true)) {
+                previousIndex.load(reader);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No index yet, or not readable: this run's components are complete
+            return false;
+        }
+        for (String className : previousIndex.stringPropertyNames()) {
+            if (!compiledTypes.contains(className) && hasClassFile(className)) {
+                components.put(className, new TreeSet<>(Arrays.asList(
+                        previousIndex.getProperty(className).split(ComponentIndex.STEREOTYPE_SEPARATOR))));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the class output holds the class file of a type.
+     *
+     * @param className the binary name of the type
+     * @return true if the class file exists
+     */
+    private boolean hasClassFile(String className) {
+        int packageEnd = className.lastIndexOf('.');
+        String packageName = packageEnd < 0 ? "" : className.substring(0, packageEnd);
+        String classFile = className.substring(packageEnd + 1) + ".class";
+        try {
+            processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, packageName, classFile)
+                    .openInputStream().close();
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
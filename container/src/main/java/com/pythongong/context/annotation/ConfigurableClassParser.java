@@ -16,15 +16,22 @@
 package com.pythongong.context.annotation;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.*;
+import java.util.function.Function;
 
 import org.aspectj.lang.annotation.Aspect;
 
 import com.pythongong.beans.config.*;
+import com.pythongong.beans.factory.ObjectProvider;
 import com.pythongong.context.impl.PropertyResolver;
+import com.pythongong.context.startup.ApplicationStartup;
+import com.pythongong.context.startup.StartupStep;
 import com.pythongong.enums.FiledAnnoEnum;
 import com.pythongong.enums.ScopeEnum;
 import com.pythongong.exception.BeansException;
@@ -33,6 +40,7 @@ import com.pythongong.stereotype.*;
 import com.pythongong.util.AopUtils;
 import com.pythongong.util.CheckUtils;
 import com.pythongong.util.ClassUtils;
+import com.pythongong.util.ResolvableType;
 import com.pythongong.util.StringUtils;
 
 /**
@@ -52,6 +60,7 @@ import com.pythongong.util.StringUtils;
  * <li>Processing of {@link Configuration} classes</li>
  * <li>Handling of dependency injection annotations</li>
  * <li>Processing of bean lifecycle annotations</li>
+ * <li>Evaluation of the conditions enabling beans</li>
  * </ul>
  *
  * @author Cheng Gong
@@ -62,6 +71,15 @@ import com.pythongong.util.StringUtils;
  */
 public class ConfigurableClassParser {
 
+    /** Prefix of the condition inputs holding a property value */
+    private static final String PROPERTY_CONDITION = "property:";
+
+    /** Prefix of the condition inputs holding whether a class is present */
+    private static final String CLASS_CONDITION = "class:";
+
+    /** Prefix of the condition inputs holding whether the parent has a bean of a type */
+    private static final String PARENT_BEAN_CONDITION = "parentBean:";
+
     /** Scanner used to find candidate component classes */
     private final ConfigurableClassScanner scanner;
 
@@ -73,6 +91,27 @@ public class ConfigurableClassParser {
 
     private BeanDefinition aopBeanPostProcessorDefinition;
 
+    /** Recorder of the classpath scan step */
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+    /** Snapshot restoring and recording parse results, null if disabled */
+    private BeanDefinitionSnapshot snapshot;
+
+    /** Parsed bean definitions indexed by every type of their class hierarchy */
+    private Map<Class<?>, List<BeanDefinition>> beanDefinitionsByType = Collections.emptyMap();
+
+    /** Resolver of the parent's beans, for the types no parsed bean has */
+    private Function<Type, List<String>> parentBeanNamesOfType = requiredType -> Collections.emptyList();
+
+    /** Beans waiting for the others to evaluate their {@link ConditionalOnMissingBean} */
+    private List<DeferredBean> deferredBeans = new ArrayList<>();
+
+    /**
+     * Inputs of the conditions evaluated by the current parse, recorded with the
+     * snapshot so that a restore checks them again
+     */
+    private Map<String, String> conditionInputs = new TreeMap<>();
+
     /**
      * Creates a new parser with the specified property resolver.
      *
@@ -85,11 +124,52 @@ public class ConfigurableClassParser {
         this.propertyResolver = propertyResolver;
     }
 
+    /**
+     * Sets the recorder of the classpath scan step. Defaults to
+     * {@link ApplicationStartup#DEFAULT}, which records nothing.
+     *
+     * @param applicationStartup the startup recorder
+     * @throws IllegalArgumentException if applicationStartup is null
+     */
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        CheckUtils.nullArgs(applicationStartup, "ConfigurableClassParser receives null applicationStartup");
+        this.applicationStartup = applicationStartup;
+    }
+
+    /**
+     * Sets the snapshot of the parse results. When set, {@link #parse(Class)}
+     * restores the definitions from the snapshot if the scanned packages are
+     * unchanged, and otherwise records the definitions it parses; the caller
+     * saves them with {@link BeanDefinitionSnapshot#save()} once they proved
+     * valid.
+     *
+     * @param snapshot the snapshot, or null to always parse
+     */
+    public void setSnapshot(@Nullable BeanDefinitionSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Sets the resolver of the beans of the parent factory. Autowired fields
+     * whose type no parsed bean has are wired to the single bean of that type
+     * in the parent, so a child context doesn't need to define the beans it
+     * shares with its parent.
+     *
+     * @param parentBeanNamesOfType function resolving a type to the names of
+     *                              the parent's beans assignable to it
+     * @throws IllegalArgumentException if parentBeanNamesOfType is null
+     */
+    public void setParentBeanNamesOfType(Function<Type, List<String>> parentBeanNamesOfType) {
+        CheckUtils.nullArgs(parentBeanNamesOfType, "ConfigurableClassParser receives null parentBeanNamesOfType");
+        this.parentBeanNamesOfType = parentBeanNamesOfType;
+    }
+
     /**
      * Parses a configuration class to discover and create bean definitions.
      * <p>
      * Processes {@link ComponentScan} configuration and scans for components
-     * in the specified base packages.
+     * in the specified base packages, unless the definitions are restored from
+     * the snapshot.
      *
      * @param declaredClass the configuration class to parse
      * @return a Set of discovered bean definitions
@@ -107,16 +187,77 @@ public class ConfigurableClassParser {
         }
 
         String[] basePackages = componentScan.basePackages();
-        Set<Class<?>> beanClasses = scanner.scan(
-                ClassUtils.isArrayEmpty(basePackages) ? new String[] { declaredClass.getPackageName() } : basePackages);
+        if (ClassUtils.isArrayEmpty(basePackages)) {
+            basePackages = new String[] { declaredClass.getPackageName() };
+        }
+        String fingerprint = snapshot == null ? null : snapshot.fingerprint(basePackages);
+        if (fingerprint != null) {
+            Set<BeanDefinition> restored = snapshot.restore(declaredClass, fingerprint, propertyResolver,
+                    this::evaluateConditionInput);
+            if (restored != null) {
+                return restored;
+            }
+        }
+
+        Set<Class<?>> beanClasses;
+        try (StartupStep step = applicationStartup.start(ApplicationStartup.CONFIG_SCAN)) {
+            step.tag("packages", String.join(",", basePackages));
+            beanClasses = scanner.scan(basePackages);
+            step.tag("classes", String.valueOf(beanClasses.size()));
+        }
         this.beanDefinitions = new HashSet<>(beanClasses.size());
+        this.deferredBeans = new ArrayList<>();
+        this.conditionInputs = new TreeMap<>();
         beanClasses.forEach(beanClass -> createBeanDefinition(beanClass));
+        registerDeferredBeans();
+        this.beanDefinitionsByType = indexByType(this.beanDefinitions);
         this.beanDefinitions.forEach(this::fillfieldValueList);
+        if (fingerprint != null) {
+            snapshot.record(declaredClass, fingerprint, this.conditionInputs, this.beanDefinitions);
+        }
         return this.beanDefinitions;
     }
 
     /**
-     * Creates a bean definition from a component class.
+     * Indexes bean definitions by the classes and interfaces of their class
+     * hierarchy, so that fields find their candidates without a scan.
+     *
+     * @param beanDefinitions the definitions to index
+     * @return the definitions keyed by type, each list sorted by bean name
+     */
+    private static Map<Class<?>, List<BeanDefinition>> indexByType(Set<BeanDefinition> beanDefinitions) {
+        Map<Class<?>, List<BeanDefinition>> definitionsByType = new HashMap<>(beanDefinitions.size() * 4);
+        beanDefinitions.stream()
+                .sorted(Comparator.comparing(BeanDefinition::beanName))
+                .forEach(beanDefinition -> ClassUtils.getTypeHierarchy(beanDefinition.beanClass())
+                        .forEach(type -> definitionsByType.computeIfAbsent(type, key -> new ArrayList<>())
+                                .add(beanDefinition)));
+        return definitionsByType;
+    }
+
+    /**
+     * Creates a bean definition from a component class, unless its conditions
+     * disable it. A component waiting for {@link ConditionalOnMissingBean} is
+     * created once the other beans are known.
+     *
+     * @param beanClass the class to create a bean definition for
+     * @throws DuplicateBeanException if a bean definition already exists
+     */
+    private void createBeanDefinition(Class<?> beanClass) {
+        if (!matchesConditions(beanClass)) {
+            return;
+        }
+        ConditionalOnMissingBean onMissingBean = beanClass.getAnnotation(ConditionalOnMissingBean.class);
+        if (onMissingBean != null) {
+            deferredBeans.add(new DeferredBean(generateBeanName(beanClass),
+                    missingBeanTypes(onMissingBean, beanClass), () -> registerBeanDefinition(beanClass)));
+            return;
+        }
+        registerBeanDefinition(beanClass);
+    }
+
+    /**
+     * Registers the bean definition of a component class.
      * <p>
      * Processes component configuration including scope, lifecycle methods,
      * and factory methods for {@link Configuration} classes.
@@ -124,7 +265,7 @@ public class ConfigurableClassParser {
      * @param beanClass the class to create a bean definition for
      * @throws DuplicateBeanException if a bean definition already exists
      */
-    private void createBeanDefinition(Class<?> beanClass) {
+    private void registerBeanDefinition(Class<?> beanClass) {
         String beanName = generateBeanName(beanClass);
         BeanDefinition beanDefinition = BeanDefinition.builder()
                 .constructor(getSuitableConstrucor(beanClass))
@@ -133,6 +274,8 @@ public class ConfigurableClassParser {
                 .initMethodName(findInitOrDestoryMethod(beanClass, PostConstruct.class))
                 .destroyMethodName(findInitOrDestoryMethod(beanClass, PreDestroy.class))
                 .scope(extractScope(beanClass))
+                .scopeName(extractScopeName(beanClass))
+                .lazyInit(isLazy(beanClass))
                 .build();
 
         addBeanDef(beanDefinition);
@@ -160,7 +303,7 @@ public class ConfigurableClassParser {
     private void createFactoryBeanDefinitions(Class<?> beanClass, String factoryName) {
         Method[] methods = beanClass.getMethods();
         Arrays.stream(methods)
-                .filter(method -> method.isAnnotationPresent(Bean.class))
+                .filter(method -> method.isAnnotationPresent(Bean.class) && matchesConditions(method))
                 .forEach(method -> {
                     Bean beanAnno = method.getAnnotation(Bean.class);
                     Class<?> returnType = method.getReturnType();
@@ -178,13 +321,129 @@ public class ConfigurableClassParser {
                             .initMethodName(beanAnno.init())
                             .destroyMethodName(beanAnno.destroy())
                             .scope(extractScope(returnType))
+                            .scopeName(extractScopeName(returnType))
+                            .lazyInit(method.isAnnotationPresent(Lazy.class) ? method.getAnnotation(Lazy.class).value()
+                                    : isLazy(returnType))
                             .factoryDefinition(factpryDefinition)
                             .build();
 
+                    ConditionalOnMissingBean onMissingBean = method.getAnnotation(ConditionalOnMissingBean.class);
+                    if (onMissingBean != null) {
+                        deferredBeans.add(new DeferredBean(beanDefinition.beanName(),
+                                missingBeanTypes(onMissingBean, returnType), () -> addBeanDef(beanDefinition)));
+                        return;
+                    }
                     addBeanDef(beanDefinition);
                 });
     }
 
+    /**
+     * Checks the {@link ConditionalOnProperty} and {@link ConditionalOnClass}
+     * conditions of a component class or bean method.
+     *
+     * @param element the annotated class or method
+     * @return true if the bean is enabled
+     */
+    private boolean matchesConditions(AnnotatedElement element) {
+        ConditionalOnProperty onProperty = element.getAnnotation(ConditionalOnProperty.class);
+        if (onProperty != null && !matchesProperty(onProperty)) {
+            return false;
+        }
+        ConditionalOnClass onClass = element.getAnnotation(ConditionalOnClass.class);
+        return onClass == null || Arrays.stream(onClass.value())
+                .allMatch(className -> Boolean.parseBoolean(recordConditionInput(CLASS_CONDITION + className)));
+    }
+
+    private boolean matchesProperty(ConditionalOnProperty onProperty) {
+        String value = recordConditionInput(PROPERTY_CONDITION + onProperty.value());
+        if (value == null) {
+            return onProperty.matchIfMissing();
+        }
+        if (StringUtils.isEmpty(onProperty.havingValue())) {
+            return !"false".equalsIgnoreCase(value);
+        }
+        return onProperty.havingValue().equals(value);
+    }
+
+    private static Class<?>[] missingBeanTypes(ConditionalOnMissingBean onMissingBean, Class<?> beanClass) {
+        return onMissingBean.value().length == 0 ? new Class<?>[] { beanClass } : onMissingBean.value();
+    }
+
+    /**
+     * Registers the beans waiting for {@link ConditionalOnMissingBean}, in name
+     * order, each only if no bean registered so far, here or in the parent,
+     * has one of its types. Configuration classes registered this way may
+     * defer more beans, which are evaluated next.
+     */
+    private void registerDeferredBeans() {
+        while (!deferredBeans.isEmpty()) {
+            List<DeferredBean> pending = deferredBeans.stream()
+                    .sorted(Comparator.comparing(DeferredBean::beanName))
+                    .toList();
+            deferredBeans = new ArrayList<>();
+            for (DeferredBean deferredBean : pending) {
+                if (Arrays.stream(deferredBean.missingTypes()).noneMatch(this::hasBeanOfType)) {
+                    deferredBean.registration().run();
+                }
+            }
+        }
+    }
+
+    private boolean hasBeanOfType(Class<?> type) {
+        return beanDefinitions.stream().anyMatch(beanDefinition -> type.isAssignableFrom(beanDefinition.beanClass()))
+                || Boolean.parseBoolean(recordConditionInput(PARENT_BEAN_CONDITION + type.getName()));
+    }
+
+    /**
+     * Evaluates a condition input and records it for the snapshot.
+     *
+     * @param key the prefixed input, such as {@code property:cache.enabled}
+     * @return the current value of the input
+     */
+    @Nullable
+    private String recordConditionInput(String key) {
+        String value = evaluateConditionInput(key);
+        conditionInputs.put(key, value);
+        return value;
+    }
+
+    /**
+     * Evaluates a condition input: the value of a property, or whether a class
+     * is present or the parent has a bean of a type.
+     *
+     * @param key the prefixed input, such as {@code property:cache.enabled}
+     * @return the current value of the input, null for a missing property
+     */
+    @Nullable
+    private String evaluateConditionInput(String key) {
+        if (key.startsWith(PROPERTY_CONDITION)) {
+            return propertyResolver.findProperty(key.substring(PROPERTY_CONDITION.length()));
+        }
+        if (key.startsWith(CLASS_CONDITION)) {
+            return String.valueOf(ClassUtils.isPresent(key.substring(CLASS_CONDITION.length())));
+        }
+        if (key.startsWith(PARENT_BEAN_CONDITION)) {
+            String className = key.substring(PARENT_BEAN_CONDITION.length());
+            try {
+                Class<?> type = Class.forName(className, false, ClassUtils.getDefaultClassLoader());
+                return String.valueOf(!parentBeanNamesOfType.apply(type).isEmpty());
+            } catch (ClassNotFoundException e) {
+                return String.valueOf(false);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Bean whose registration waits for {@link ConditionalOnMissingBean}.
+     *
+     * @param beanName     the name of the bean, which orders the evaluation
+     * @param missingTypes the types no bean may have
+     * @param registration the registration of the bean
+     */
+    private record DeferredBean(String beanName, Class<?>[] missingTypes, Runnable registration) {
+    }
+
     /**
      * Adds a bean definition to the set of discovered definitions.
      *
@@ -208,6 +467,28 @@ public class ConfigurableClassParser {
         return scope == null ? ScopeEnum.SINGLETON : scope.value();
     }
 
+    /**
+     * Extracts the custom scope name from a bean class.
+     *
+     * @param beanClass the class to check for scope
+     * @return the custom scope name, or null if none is declared
+     */
+    private String extractScopeName(Class<?> beanClass) {
+        Scope scope = beanClass.getAnnotation(Scope.class);
+        return scope == null || StringUtils.isEmpty(scope.name()) ? null : scope.name();
+    }
+
+    /**
+     * Checks whether a bean class is marked with {@link Lazy}.
+     *
+     * @param beanClass the class to check for lazy initialization
+     * @return true if the bean is created on first use
+     */
+    private boolean isLazy(Class<?> beanClass) {
+        Lazy lazy = beanClass.getAnnotation(Lazy.class);
+        return lazy != null && lazy.value();
+    }
+
     /**
      * Finds an {@link AutoWired} annotated constructor.
      *
@@ -339,7 +620,9 @@ public class ConfigurableClassParser {
     }
 
     /**
-     * Creates a property value for an {@link AutoWired} annotated field.
+     * Creates a property value for an {@link AutoWired} annotated field. A
+     * collection, array or {@code Map<String, T>} field that no bean matches
+     * directly is injected with all the beans of its element type.
      *
      * @param autoWired the AutoWired annotation
      * @param field     the annotated field
@@ -347,34 +630,108 @@ public class ConfigurableClassParser {
      */
     private FieldValue getAutowiredField(AutoWired autoWired, Field field) {
         String beanName = autoWired.value();
+        if (ObjectProvider.class.equals(field.getType())) {
+            return new FieldValue(field.getName(), new ProviderReference(getProvidedType(field),
+                    StringUtils.isEmpty(beanName) ? null : beanName));
+        }
         if (!StringUtils.isEmpty(beanName)) {
             return new FieldValue(field.getName(), new BeanReference(beanName));
         }
 
-        Class<?> fieldClass = field.getType();
-        BeanDefinition beanDefinition = getBeanDefinitionByType(fieldClass);
+        ResolvableType fieldType = ResolvableType.forType(field.getGenericType());
+        List<BeanDefinition> candidates = findAutowireCandidates(fieldType);
+        if (candidates.isEmpty()) {
+            List<String> parentBeanNames = parentBeanNamesOfType.apply(field.getGenericType());
+            if (parentBeanNames.size() == 1) {
+                return new FieldValue(field.getName(), new BeanReference(parentBeanNames.get(0)));
+            }
+            Type elementType = ResolvableType.getCollectionElementType(field.getGenericType());
+            if (elementType != null) {
+                return new FieldValue(field.getName(), new CollectionReference(field.getType(),
+                        ResolvableType.forType(elementType).getRawClass()));
+            }
+        }
+        BeanDefinition beanDefinition = getBeanDefinitionByType(fieldType, candidates);
         beanName = beanDefinition.beanName();
         return new FieldValue(field.getName(), new BeanReference(beanName));
     }
 
     /**
-     * Finds a bean definition by type.
+     * Finds the parsed beans that can be injected into a declared type.
+     * <p>
+     * The beans assignable to the raw class come from the type index. For a
+     * generic type, they are narrowed to the beans binding its type arguments,
+     * or else to the beans leaving them unresolved. When no bean is assignable,
+     * a bean method declaring a supertype of the required class is taken, since
+     * the bean it returns may be of the required class.
+     *
+     * @param requiredType the declared type of the injection point
+     * @return the candidate definitions
+     */
+    private List<BeanDefinition> findAutowireCandidates(ResolvableType requiredType) {
+        Class<?> rawClass = requiredType.getRawClass();
+        List<BeanDefinition> assignable = beanDefinitionsByType.getOrDefault(rawClass, Collections.emptyList());
+        if (!assignable.isEmpty()) {
+            if (!requiredType.hasGenerics()) {
+                return assignable;
+            }
+            List<BeanDefinition> strict = assignable.stream()
+                    .filter(beanDefinition -> requiredType.isAssignableFrom(beanDefinition.beanClass(), true))
+                    .toList();
+            return strict.isEmpty() ? assignable.stream()
+                    .filter(beanDefinition -> requiredType.isAssignableFrom(beanDefinition.beanClass(), false))
+                    .toList() : strict;
+        }
+        return beanDefinitions.stream()
+                .filter(beanDefinition -> beanDefinition.factoryDefinition() != null
+                        && !Object.class.equals(beanDefinition.beanClass())
+                        && beanDefinition.beanClass().isAssignableFrom(rawClass))
+                .toList();
+    }
+
+    /**
+     * Returns the type of the beans provided to an {@link ObjectProvider}
+     * field, from its type argument.
+     *
+     * @param field the ObjectProvider field
+     * @return the provided bean type
+     * @throws BeansException if the field doesn't declare a type argument
+     */
+    private Class<?> getProvidedType(Field field) {
+        if (field.getGenericType() instanceof ParameterizedType providerType) {
+            Type providedType = providerType.getActualTypeArguments()[0];
+            if (providedType instanceof ParameterizedType parameterizedType) {
+                providedType = parameterizedType.getRawType();
+            }
+            if (providedType instanceof Class<?> providedClass) {
+                return providedClass;
+            }
+        }
+        throw new BeansException(String.format("Field {%s} in {%s} doesn't declare the type of its provided beans",
+                field.getName(), field.getDeclaringClass().getName()));
+    }
+
+    /**
+     * Picks the bean definition to inject among the candidates of a type: the
+     * only candidate, or else the only one whose class is exactly the raw
+     * class of the type.
      *
      * @param requiredType the required bean type
+     * @param candidates   the candidate definitions
      * @return the matching bean definition
      * @throws NoSuchElementException if no matching bean is found
      * @throws BeansException         if multiple matching beans are found
      */
-    private BeanDefinition getBeanDefinitionByType(Class<?> requiredType) {
-        List<BeanDefinition> requiredDefs = beanDefinitions.stream()
-                .filter(beanDefinition -> beanDefinition.beanClass().equals(requiredType))
+    private BeanDefinition getBeanDefinitionByType(ResolvableType requiredType, List<BeanDefinition> candidates) {
+        List<BeanDefinition> requiredDefs = candidates.size() <= 1 ? candidates : candidates.stream()
+                .filter(beanDefinition -> beanDefinition.beanClass().equals(requiredType.getRawClass()))
                 .toList();
 
-        if (requiredDefs.isEmpty()) {
+        if (candidates.isEmpty()) {
             throw new NoSuchElementException();
         }
 
-        if (requiredDefs.size() > 1) {
+        if (requiredDefs.size() != 1) {
             throw new BeansException("conflicting beans found");
         }
 
@@ -15,9 +15,19 @@
  */
 package com.pythongong.context.annotation;
 
+import java.io.IOException;
 import java.lang.reflect.Modifier;
-import java.util.HashSet;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.pythongong.exception.BeansException;
 import com.pythongong.stereotype.Component;
@@ -25,6 +35,7 @@ import com.pythongong.util.CheckUtils;
 import com.pythongong.util.ClassPathSerchParam;
 import com.pythongong.util.ClassUtils;
 import com.pythongong.util.FileUtils;
+import com.pythongong.util.ScanCache;
 import com.pythongong.util.StringUtils;
 
 /**
@@ -35,6 +46,25 @@ import com.pythongong.util.StringUtils;
  * Can be configured with custom type filters to identify additional component
  * types.
  * Scans both classes in directories and within JAR files.
+ * <p>
+ * Packages covered by the compile-time {@link ComponentIndex} are resolved
+ * from the index, which skips walking the package and loading every class in
+ * it.
+ * <p>
+ * Packages without index are walked, and every class file found is first
+ * matched against {@link Component} by reading its bytes, so only candidates
+ * are loaded. Classes are loaded without being initialized. Setting the
+ * {@value #BYTECODE_FILTER_PROPERTY} system property to {@code false} loads
+ * every class found instead.
+ * <p>
+ * Base packages, classpath roots and the classes found are processed in
+ * parallel on the common {@link java.util.concurrent.ForkJoinPool} unless the
+ * {@value #PARALLEL_SCAN_PROPERTY} system property is {@code false}. The
+ * scanned classes are always returned ordered by name.
+ * <p>
+ * When a {@link ScanCache} is configured, the classes and class annotations
+ * found in every classpath root are cached on disk, and roots that did not
+ * change since the last scan are restored from the cache.
  * 
  * @author Cheng Gong
  * @see Component
@@ -43,6 +73,39 @@ import com.pythongong.util.StringUtils;
  */
 public class ConfigurableClassScanner {
 
+    /** System property disabling the class-file filtering of walked classes */
+    public static final String BYTECODE_FILTER_PROPERTY = "tiny-spring.scan.bytecode";
+
+    /** Cache region of the classes of a classpath root */
+    private static final String CLASS_SCAN_REGION = "classes";
+
+    /** Cache region of the classes of a classpath root, with their annotations */
+    private static final String ANNOTATED_CLASS_SCAN_REGION = "annotated-classes";
+
+    /** Separator of the class name and the annotations of a scan entry */
+    private static final String ENTRY_SEPARATOR = "=";
+
+    /** Separator of the annotations of a scan entry */
+    private static final String ANNOTATION_SEPARATOR = ",";
+
+    /** System property disabling parallel scanning */
+    public static final String PARALLEL_SCAN_PROPERTY = "tiny-spring.scan.parallel";
+
+    /** Class loader loading the candidates */
+    private final ClassLoader classLoader;
+
+    /** Compile-time component index, null if scanning ignores it */
+    private final ComponentIndex componentIndex;
+
+    /** Class-file matcher of walked classes, null if filtering is disabled */
+    private final ClassFileAnnotationMatcher candidateMatcher;
+
+    /** On-disk cache of walked classpath roots, null if disabled */
+    private final ScanCache scanCache;
+
+    /** Whether packages, roots and classes are scanned in parallel */
+    private final boolean parallel;
+
     /**
      * Creates a new scanner with the specified filters.
      * Always adds the {@link Component} annotation filter to the provided list.
@@ -50,25 +113,35 @@ public class ConfigurableClassScanner {
      * @param includeFilters the filters to use, or null for defaults only
      */
     public ConfigurableClassScanner() {
+        classLoader = ClassUtils.getDefaultClassLoader();
+        componentIndex = ComponentIndex.isIgnored() ? null : new ComponentIndex(classLoader);
+        candidateMatcher = Boolean.parseBoolean(System.getProperty(BYTECODE_FILTER_PROPERTY, "true"))
+                ? new ClassFileAnnotationMatcher(classLoader, Component.class)
+                : null;
+        parallel = Boolean.parseBoolean(System.getProperty(PARALLEL_SCAN_PROPERTY, "true"));
+        scanCache = ScanCache.fromSystemProperties();
     }
 
     /**
      * Scan one or more base packages for candidate components.
      *
      * @param basePackages the packages to scan
-     * @return a set of candidate component classes
+     * @return the candidate component classes ordered by name
      * @throws IllegalArgumentException if basePackages is empty
      * @throws BeansException           if a candidate class cannot be loaded
      */
     public Set<Class<?>> scan(String... basePackages) {
         CheckUtils.emptyArray(basePackages, "ConfigurableClassScanner.scan recevies empty package names");
-
-        Set<Class<?>> beanClasses = new HashSet<>();
         for (String basePackage : basePackages) {
             CheckUtils.emptyString(basePackage, "ConfigurableClassScanner.scan recevies empty package name");
-            beanClasses.addAll(scanCandidateComponents(basePackage));
         }
-        return beanClasses;
+
+        Set<Class<?>> beanClasses = ConcurrentHashMap.newKeySet(ClassUtils.BIG_INIT_SIZE);
+        stream(Arrays.asList(basePackages))
+                .forEach(basePackage -> beanClasses.addAll(scanCandidateComponents(basePackage)));
+        return beanClasses.stream()
+                .sorted(Comparator.comparing(Class::getName))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
     /**
@@ -79,45 +152,157 @@ public class ConfigurableClassScanner {
      * @throws BeansException if class loading fails
      */
     private Set<Class<?>> scanCandidateComponents(String basePackage) {
-        Set<String> classNames = new HashSet<>(ClassUtils.BIG_INIT_SIZE);
+        Set<String> indexedNames = componentIndex == null ? null
+                : componentIndex.getCandidateTypes(basePackage, Component.class.getName());
+        Set<String> classNames = indexedNames == null ? findCandidateNames(basePackage) : indexedNames;
+
+        return stream(classNames)
+                .map(className -> loadClass(className, basePackage))
+                .filter(this::isCandidateComponent)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Loads a class without initializing it.
+     *
+     * @param className   the name of the class
+     * @param basePackage the package being scanned
+     * @return the loaded class
+     * @throws BeansException if the class can't be found
+     */
+    private Class<?> loadClass(String className, String basePackage) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new BeansException(
+                    String.format("Can not find class: {%s} in packge: {%s} ", className, basePackage), e);
+        }
+    }
+
+    /**
+     * Streams a collection, in parallel if the scanner is parallel.
+     *
+     * @param <T>        the type of the elements
+     * @param collection the collection to stream
+     * @return the stream of the collection
+     */
+    private <T> Stream<T> stream(Collection<T> collection) {
+        return parallel ? collection.parallelStream() : collection.stream();
+    }
+
+    /**
+     * Walks a package and its subpackages in every classpath root for classes
+     * that may be components.
+     *
+     * @param basePackage the package to walk
+     * @return the names of the candidate classes in the package
+     * @throws BeansException if the package can't be walked
+     */
+    private Set<String> findCandidateNames(String basePackage) {
         String packagePath = FileUtils.convertPackageToPath(basePackage);
+        List<Path> basePaths = FileUtils.findClassPathRoots(searchParam(packagePath, null));
+        String region = candidateMatcher == null ? CLASS_SCAN_REGION : ANNOTATED_CLASS_SCAN_REGION;
+
+        Set<String> candidateNames = ConcurrentHashMap.newKeySet(ClassUtils.BIG_INIT_SIZE);
+        stream(basePaths).forEach(basePath -> {
+            List<String> entries = scanCache == null ? scanClassEntries(basePath, packagePath)
+                    : scanCache.get(region, basePath, true, path -> scanClassEntries(path, packagePath));
+            for (String entry : entries) {
+                addCandidateName(entry, candidateNames);
+            }
+        });
+        return candidateNames;
+    }
+
+    /**
+     * Walks a package of a classpath root for class files. When class files
+     * are filtered, every entry also lists the annotations read from the class
+     * file.
+     *
+     * @param basePath    the package directory of the classpath root
+     * @param packagePath the path of the package
+     * @return one entry per class, ordered by class name
+     * @throws BeansException if the package can't be walked
+     */
+    private List<String> scanClassEntries(Path basePath, String packagePath) {
+        Set<String> classNames = ConcurrentHashMap.newKeySet(ClassUtils.BIG_INIT_SIZE);
+        FileUtils.findClassPathFileNames(basePath, searchParam(packagePath, (root, filePath) -> {
+            String filePathStr = filePath.toString();
+            if (!filePathStr.endsWith(FileUtils.CLASS_FILE_SUFFIX)) {
+                return;
+            }
+            String basePathStr = root.toString();
+            // For Jar file system, it's 0
+            int startIndex = basePathStr.length() - packagePath.length();
+            int endIndex = filePathStr.length() - FileUtils.CLASS_FILE_SUFFIX.length();
+            String className = filePathStr.substring(startIndex, endIndex);
+            className = className.replace(FileUtils.PATH_SEPARATOR, FileUtils.PACKAGE_SEPARATOR)
+                    .replace(FileUtils.SYSTEM_PATH_SEPARATOR, FileUtils.PACKAGE_SEPARATOR);
+            if (!StringUtils.isEmpty(className)) {
+                classNames.add(className);
+            }
+        }));
+
+        Stream<String> entries = stream(classNames);
+        if (candidateMatcher != null) {
+            entries = entries.map(this::toAnnotatedEntry);
+        }
+        return entries.sorted().toList();
+    }
 
-        FileUtils.findClassPathFileNames(ClassPathSerchParam.builder()
+    /**
+     * Creates the search parameters of a package walk.
+     *
+     * @param packagePath the path of the package
+     * @param pathMapper  the consumer of the found files
+     * @return the search parameters
+     */
+    private ClassPathSerchParam searchParam(String packagePath, BiConsumer<Path, Path> pathMapper) {
+        return ClassPathSerchParam.builder()
                 .packagePath(packagePath)
                 .serachJar(true)
                 .serachFile(true)
                 .searchSudDirect(true)
-                .pathMapper((basePath, filePath) -> {
-                    String filePathStr = filePath.toString();
-                    if (!filePathStr.endsWith(FileUtils.CLASS_FILE_SUFFIX)) {
-                        return;
-                    }
-                    String basePathStr = basePath.toString();
-                    // For Jar file system, it's 0
-                    int startIndex = basePathStr.length() - packagePath.length();
-                    int endIndex = filePathStr.length() - FileUtils.CLASS_FILE_SUFFIX.length();
-                    String className = filePathStr.substring(startIndex, endIndex);
-                    className = className.replace(FileUtils.PATH_SEPARATOR, FileUtils.PACKAGE_SEPARATOR)
-                            .replace(FileUtils.SYSTEM_PATH_SEPARATOR, FileUtils.PACKAGE_SEPARATOR);
-                    if (!StringUtils.isEmpty(className)) {
-                        classNames.add(className);
-                    }
-                })
-                .build());
-
-        Set<Class<?>> beanClasses = new HashSet<>();
-        classNames.forEach(className -> {
-            try {
-                Class<?> clazz = Class.forName(className);
-                if (isCandidateComponent(clazz)) {
-                    beanClasses.add(clazz);
-                }
-            } catch (ClassNotFoundException e) {
-                throw new BeansException(
-                        String.format("Can not find class: {%s} in packge: {%s} ", className, basePackage), e);
-            }
-        });
-        return beanClasses;
+                .parallel(parallel)
+                .pathMapper(pathMapper)
+                .build();
+    }
+
+    /**
+     * Creates the scan entry of a class with the annotations of its class file.
+     * Class files that can't be read produce an entry without annotations, so
+     * that loading the class decides.
+     *
+     * @param className the name of the class
+     * @return the scan entry
+     */
+    private String toAnnotatedEntry(String className) {
+        try {
+            return className + ENTRY_SEPARATOR
+                    + String.join(ANNOTATION_SEPARATOR, candidateMatcher.readClassAnnotations(className));
+        } catch (IOException e) {
+            return className;
+        }
+    }
+
+    /**
+     * Adds the class of a scan entry to the candidates unless its annotations
+     * show it is not a {@link Component}.
+     *
+     * @param entry          the scan entry
+     * @param candidateNames the candidate class names
+     */
+    private void addCandidateName(String entry, Set<String> candidateNames) {
+        int separatorIndex = entry.indexOf(ENTRY_SEPARATOR);
+        if (candidateMatcher == null || separatorIndex < 0) {
+            candidateNames.add(separatorIndex < 0 ? entry : entry.substring(0, separatorIndex));
+            return;
+        }
+        String annotations = entry.substring(separatorIndex + ENTRY_SEPARATOR.length());
+        if (!annotations.isEmpty()
+                && candidateMatcher.matches(Arrays.asList(annotations.split(ANNOTATION_SEPARATOR)))) {
+            candidateNames.add(entry.substring(0, separatorIndex));
+        }
     }
 
     /**
@@ -15,25 +15,44 @@
  */
 package com.pythongong.context.impl;
 
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.pythongong.beans.config.BeanDefinition;
 import com.pythongong.beans.config.BeanFactoryPostProcessor;
 import com.pythongong.beans.config.BeanProcessor;
 import com.pythongong.beans.factory.ConfigurableListableBeanFactory;
+import com.pythongong.beans.factory.ObjectProvider;
 import com.pythongong.beans.impl.DefaultListableBeanFactory;
+import com.pythongong.beans.impl.DependencyGraph;
+import com.pythongong.beans.scope.PooledScope;
 import com.pythongong.context.ApplicationContext;
+import com.pythongong.context.annotation.BeanDefinitionSnapshot;
 import com.pythongong.context.annotation.ConfigurableClassParser;
 import com.pythongong.context.event.ApplicationEvent;
 import com.pythongong.context.event.ApplicationEventMulticaster;
 import com.pythongong.context.event.ApplicationListener;
 import com.pythongong.context.event.ConextClosedEvent;
 import com.pythongong.context.event.ContextRefreshedEvent;
+import com.pythongong.context.startup.ApplicationStartup;
+import com.pythongong.context.startup.BufferingApplicationStartup;
+import com.pythongong.context.startup.StartupStep;
+import com.pythongong.context.startup.StartupStepRecord;
+import com.pythongong.enums.ScopeEnum;
 import com.pythongong.exception.BeansException;
+import com.pythongong.stereotype.Nullable;
 import com.pythongong.util.CheckUtils;
 import com.pythongong.util.ClassUtils;
 import com.pythongong.util.ContextUtils;
+import com.pythongong.util.StringUtils;
 
 /**
  * Central class for handling annotation-based configuration and bootstrapping
@@ -49,6 +68,34 @@ import com.pythongong.util.ContextUtils;
  */
 public class AnnotationConfigApplicationContext implements ApplicationContext {
 
+    /**
+     * Property switching on the concurrent, dependency-ordered creation of
+     * singletons during refresh.
+     */
+    public static final String PARALLEL_INIT_PROPERTY = "${tiny-spring.context.parallel-init:false}";
+
+    /**
+     * Property switching on the recording of the startup steps, when no
+     * recorder is given to the constructor.
+     */
+    public static final String STARTUP_RECORD_PROPERTY = "${tiny-spring.startup.record:false}";
+
+    /** Property holding the maximum number of recorded startup steps */
+    public static final String STARTUP_CAPACITY_PROPERTY = "${tiny-spring.startup.capacity:10000}";
+
+    /**
+     * Property holding the milliseconds the destroy callback of each bean may
+     * take on close before it is abandoned.
+     */
+    public static final String SHUTDOWN_TIMEOUT_PROPERTY = "${tiny-spring.context.shutdown-timeout-ms:30000}";
+
+    /**
+     * Property naming the file of the {@link BeanDefinitionSnapshot}, which
+     * spares later refreshes the parse of the configuration. Empty disables
+     * the snapshot.
+     */
+    public static final String SNAPSHOT_FILE_PROPERTY = "${tiny-spring.context.snapshot-file:}";
+
     /**
      * The configuration class that serves as the entry point for component scanning
      * and bean definitions.
@@ -57,17 +104,34 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
 
     private final PropertyResolver propertyResolver;
 
+    /** Recorder of the startup steps */
+    private final ApplicationStartup applicationStartup;
+
+    /** Context providing the beans this context doesn't define, may be null */
+    @Nullable
+    private final AnnotationConfigApplicationContext parent;
+
+    /** Snapshot of the parsed definitions, null if disabled */
+    @Nullable
+    private final BeanDefinitionSnapshot snapshot;
+
     /**
      * The core container that holds bean definitions and handles bean
      * instantiation.
      */
-    private DefaultListableBeanFactory beanFactory;
+    private volatile DefaultListableBeanFactory beanFactory;
 
     /**
      * Handles the publishing of application events to registered listeners.
      */
     private ApplicationEventMulticaster applicationEventMulticaster;
 
+    /** Definitions of the last parse of the configuration class */
+    private Set<BeanDefinition> parsedDefinitions = Set.of();
+
+    /** Listener beans registered with the multicaster, keyed by bean name */
+    private final Map<String, ApplicationListener<?>> registeredListeners = new ConcurrentHashMap<>();
+
     /**
      * Creates a new AnnotationConfigApplicationContext with the specified
      * configuration class.
@@ -77,14 +141,74 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
      *                           application context
      */
     public AnnotationConfigApplicationContext(Class<?> configurationClass) {
-        this(configurationClass, null);
+        this(configurationClass, null, null, null);
 
     }
 
     public AnnotationConfigApplicationContext(Class<?> configurationClass, PropertyResolver propertyResolver) {
+        this(configurationClass, propertyResolver, null);
+    }
+
+    /**
+     * Creates a new child AnnotationConfigApplicationContext of the given
+     * parent. The child parses and creates only the beans of its own
+     * configuration and resolves the other beans from the parent, so beans
+     * shared by many children, such as data sources, are created once. The
+     * context will be immediately refreshed upon construction.
+     *
+     * @param configurationClass the configuration class that defines the
+     *                           application context
+     * @param parent             the parent context
+     */
+    public AnnotationConfigApplicationContext(Class<?> configurationClass,
+            AnnotationConfigApplicationContext parent) {
+        this(configurationClass, null, null, parent);
+    }
+
+    /**
+     * Creates a new AnnotationConfigApplicationContext recording its startup
+     * steps with the given recorder. The context will be immediately refreshed
+     * upon construction.
+     *
+     * @param configurationClass the configuration class that defines the
+     *                           application context
+     * @param propertyResolver   the property resolver, or null to load the
+     *                           properties from the classpath
+     * @param applicationStartup the startup recorder, or null to create one
+     *                           from {@link #STARTUP_RECORD_PROPERTY}
+     */
+    public AnnotationConfigApplicationContext(Class<?> configurationClass, PropertyResolver propertyResolver,
+            ApplicationStartup applicationStartup) {
+        this(configurationClass, propertyResolver, applicationStartup, null);
+    }
+
+    /**
+     * Creates a new AnnotationConfigApplicationContext, child of the given
+     * parent, recording its startup steps with the given recorder. The
+     * parent's beans, bean processors and properties are shared with the
+     * child; the beans the child defines take precedence over the parent's.
+     * The context will be immediately refreshed upon construction.
+     *
+     * @param configurationClass the configuration class that defines the
+     *                           application context
+     * @param propertyResolver   the property resolver, or null to use the
+     *                           parent's or to load the properties from the
+     *                           classpath
+     * @param applicationStartup the startup recorder, or null to create one
+     *                           from {@link #STARTUP_RECORD_PROPERTY}
+     * @param parent             the parent context, or null if there is none
+     */
+    public AnnotationConfigApplicationContext(Class<?> configurationClass, PropertyResolver propertyResolver,
+            ApplicationStartup applicationStartup, @Nullable AnnotationConfigApplicationContext parent) {
         CheckUtils.nullArgs(configurationClass, "AnnotationConfigApplicationContext receives null class");
         this.configurationClass = configurationClass;
-        this.propertyResolver = propertyResolver == null ? ContextUtils.createPropertyResolver() : propertyResolver;
+        this.parent = parent;
+        if (propertyResolver == null) {
+            propertyResolver = parent == null ? ContextUtils.createPropertyResolver() : parent.propertyResolver;
+        }
+        this.propertyResolver = propertyResolver;
+        this.applicationStartup = applicationStartup == null ? createApplicationStartup() : applicationStartup;
+        this.snapshot = createSnapshot();
         refresh();
     }
 
@@ -99,23 +223,166 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
      */
     @Override
     public void refresh() throws BeansException {
-        this.beanFactory = new DefaultListableBeanFactory();
+        try (StartupStep refreshStep = applicationStartup.start(ApplicationStartup.CONTEXT_REFRESH)) {
+            refreshStep.tag("configurationClass", configurationClass.getName());
+            // The parent is looked up on every use, so refreshing it doesn't strand this context
+            this.beanFactory = parent == null ? new DefaultListableBeanFactory()
+                    : new DefaultListableBeanFactory(() -> parent.beanFactory);
+            beanFactory.setParallelPreInstantiation(
+                    Boolean.parseBoolean(propertyResolver.getProperty(PARALLEL_INIT_PROPERTY)));
+            beanFactory.setApplicationStartup(applicationStartup);
+            beanFactory.setDestroyTimeout(Duration.ofMillis(
+                    (long) propertyResolver.getProperty(SHUTDOWN_TIMEOUT_PROPERTY, long.class)));
+            beanFactory.registerScope(ScopeEnum.POOLED.getScopeName(), new PooledScope(propertyResolver));
+
+            refreshBeanFactory();
+
+            beanFactory.addBeanProcessor(new ApplicationContextAwareProcessor(this));
 
-        refreshBeanFactory();
+            invokeBeanFactoryPostProcessors(beanFactory);
 
-        beanFactory.addBeanProcessor(new ApplicationContextAwareProcessor(this));
+            registerBeanProcessors(beanFactory);
 
-        invokeBeanFactoryPostProcessors(beanFactory);
+            applicationEventMulticaster = beanFactory.initApplicationEventMulticaster();
 
-        registerBeanProcessors(beanFactory);
+            StartupStep step = applicationStartup.start(ApplicationStartup.SINGLETONS_PRE_INSTANTIATE);
+            try {
+                beanFactory.preInstantiateSingletons();
+            } finally {
+                step.end();
+            }
+
+            registerListeners();
+
+            publishEvent(new ContextRefreshedEvent(this));
+
+            if (snapshot != null) {
+                snapshot.save();
+            }
+        }
+    }
+
+    /**
+     * Refreshes this context in place: parses the configuration class again
+     * and recreates only the beans whose definition changed, the new beans and
+     * the beans depending on them. Every other singleton is kept, so
+     * configuration-driven components can be reloaded without a full restart.
+     * <p>
+     * Falls back to a full {@link #refresh()} when a bean processor or a bean
+     * factory post processor is affected, since these already processed the
+     * kept beans. Bean factory post processors are not invoked again, so
+     * changed definitions are used as parsed.
+     *
+     * @return the names of the recreated beans, or of all the beans after a
+     *         full refresh
+     * @throws BeansException if a changed bean can't be created
+     */
+    public Set<String> incrementalRefresh() throws BeansException {
+        try (StartupStep refreshStep = applicationStartup.start(ApplicationStartup.CONTEXT_REFRESH)) {
+            refreshStep.tag("configurationClass", configurationClass.getName());
+            refreshStep.tag("incremental", "true");
+            Set<BeanDefinition> oldDefinitions = parsedDefinitions;
+            Set<BeanDefinition> newDefinitions = parseConfiguration();
+            // Decided before the factory is touched, so a fallback starts from intact beans
+            Set<String> affected = beanFactory.findAffectedBeans(oldDefinitions, newDefinitions);
+            if (isProcessorAffected(affected, oldDefinitions, newDefinitions)) {
+                refreshStep.tag("fullRefresh", "true");
+            } else {
+                refreshStep.tag("recreatedBeans", String.join(",", affected));
+                return applyIncrementalRefresh(oldDefinitions, newDefinitions);
+            }
+        }
 
-        applicationEventMulticaster = beanFactory.initApplicationEventMulticaster();
+        beanFactory.destroySingletons();
+        refresh();
+        return parsedDefinitions.stream()
+                .map(BeanDefinition::beanName)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
 
-        beanFactory.preInstantiateSingletons();
+    /**
+     * Replaces the changed definitions, recreates the affected singletons and
+     * registers the affected listeners again.
+     *
+     * @param oldDefinitions the definitions currently registered
+     * @param newDefinitions the definitions parsed again
+     * @return the names of the recreated beans
+     */
+    private Set<String> applyIncrementalRefresh(Set<BeanDefinition> oldDefinitions,
+            Set<BeanDefinition> newDefinitions) {
+        Set<String> affected = beanFactory.updateBeanDefinitions(oldDefinitions, newDefinitions);
+        parsedDefinitions = newDefinitions;
+        for (String beanName : affected) {
+            ApplicationListener<?> listener = registeredListeners.remove(beanName);
+            if (listener != null) {
+                applicationEventMulticaster.removeApplicationListener(listener);
+            }
+        }
+        StartupStep step = applicationStartup.start(ApplicationStartup.SINGLETONS_PRE_INSTANTIATE);
+        try {
+            beanFactory.preInstantiateSingletons();
+        } finally {
+            step.end();
+        }
+        for (String beanName : affected) {
+            BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+            if (beanDefinition != null && ApplicationListener.class.isAssignableFrom(beanDefinition.beanClass())) {
+                registerListener(beanName, (ApplicationListener<?>) beanFactory.getBean(beanName));
+            }
+        }
 
-        registerListeners();
+        if (snapshot != null) {
+            snapshot.save();
+        }
+        return affected;
+    }
 
-        publishEvent(new ContextRefreshedEvent(this));
+    /**
+     * Returns the recorder of the startup steps of this context.
+     *
+     * @return the startup recorder
+     */
+    @Override
+    public ApplicationStartup getApplicationStartup() {
+        return applicationStartup;
+    }
+
+    /**
+     * Returns the parent of this context.
+     *
+     * @return the parent context, or null if there is none
+     */
+    @Nullable
+    @Override
+    public AnnotationConfigApplicationContext getParent() {
+        return parent;
+    }
+
+    /**
+     * Returns the dependency graph of the bean definitions of this context.
+     *
+     * @return the dependency graph
+     */
+    public DependencyGraph getDependencyGraph() {
+        return beanFactory.getDependencyGraph();
+    }
+
+    /**
+     * Returns the critical path of the bean creations of the last refresh:
+     * the chain of dependencies whose creation took the longest, weighted by
+     * the recorded creation time of each bean without its dependencies.
+     *
+     * @return the bean names of the path, from the first created bean to the
+     *         last one, empty if the startup steps are not recorded
+     */
+    public List<String> getStartupCriticalPath() {
+        if (!(applicationStartup instanceof BufferingApplicationStartup startup)) {
+            return List.of();
+        }
+        Map<String, Long> selfNanos = startup.getSlowestBeans(Integer.MAX_VALUE).stream()
+                .collect(Collectors.toMap(step -> step.tags().get(ApplicationStartup.BEAN_NAME_TAG),
+                        StartupStepRecord::selfNanos, Long::sum));
+        return getDependencyGraph().getCriticalPath(beanName -> selfNanos.getOrDefault(beanName, 0L));
     }
 
     /**
@@ -129,12 +396,31 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
 
     /**
      * Closes this application context, publishing a context closed event and
-     * destroying all singleton beans.
+     * destroying all singleton beans in reverse dependency order. Every bean
+     * is given its chance to be destroyed, even when others fail or time out.
+     *
+     * @throws BeansException if destroy callbacks failed or timed out
+     * @see #getShutdownTimes()
      */
     @Override
     public void close() {
-        publishEvent(new ConextClosedEvent(this));
-        beanFactory.destroySingletons();
+        StartupStep step = applicationStartup.start(ApplicationStartup.CONTEXT_CLOSE);
+        try {
+            publishEvent(new ConextClosedEvent(this));
+            beanFactory.destroySingletons();
+        } finally {
+            step.end();
+        }
+    }
+
+    /**
+     * Returns how long the destroy callback of each bean took during the last
+     * close, to find the beans slowing the shutdown down.
+     *
+     * @return the durations keyed by bean name
+     */
+    public Map<String, Duration> getShutdownTimes() {
+        return beanFactory.getDestructionTimes();
     }
 
     /**
@@ -168,10 +454,38 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
      */
     @SuppressWarnings("rawtypes")
     private void registerListeners() {
+        registeredListeners.clear();
         Map<String, ApplicationListener> listenerMap = beanFactory.getBeansOfType(ApplicationListener.class);
-        listenerMap.forEach((name, lister) -> {
-            applicationEventMulticaster.addApplicationListener(lister);
-        });
+        listenerMap.forEach(this::registerListener);
+    }
+
+    /**
+     * Registers a listener bean with the ApplicationEventMulticaster.
+     *
+     * @param beanName the name of the listener bean
+     * @param listener the listener
+     */
+    private void registerListener(String beanName, ApplicationListener<?> listener) {
+        registeredListeners.put(beanName, listener);
+        applicationEventMulticaster.addApplicationListener(listener);
+    }
+
+    /**
+     * Returns whether a recreated bean is a bean processor or a bean factory
+     * post processor, which the kept beans went through.
+     *
+     * @param affected       the names of the recreated beans
+     * @param oldDefinitions the definitions before the change
+     * @param newDefinitions the definitions after the change
+     * @return true if a processor is affected
+     */
+    private boolean isProcessorAffected(Set<String> affected, Set<BeanDefinition> oldDefinitions,
+            Set<BeanDefinition> newDefinitions) {
+        return Stream.concat(oldDefinitions.stream(), newDefinitions.stream())
+                .filter(beanDefinition -> affected.contains(beanDefinition.beanName()))
+                .map(BeanDefinition::beanClass)
+                .anyMatch(beanClass -> BeanProcessor.class.isAssignableFrom(beanClass)
+                        || BeanFactoryPostProcessor.class.isAssignableFrom(beanClass));
     }
 
     /**
@@ -181,9 +495,60 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
      * @throws BeansException if an error occurs during bean factory refresh
      */
     private void refreshBeanFactory() throws BeansException {
+        parsedDefinitions = parseConfiguration();
+        parsedDefinitions.forEach(this.beanFactory::registerBeanDefinition);
+    }
+
+    /**
+     * Parses the configuration class, or restores its definitions from the
+     * snapshot.
+     *
+     * @return the bean definitions of the configuration
+     * @throws BeansException if the configuration can't be parsed
+     */
+    private Set<BeanDefinition> parseConfiguration() throws BeansException {
         ConfigurableClassParser parser = new ConfigurableClassParser(propertyResolver);
-        Set<BeanDefinition> beanDefinitions = parser.parse(configurationClass);
-        beanDefinitions.forEach(this.beanFactory::registerBeanDefinition);
+        parser.setApplicationStartup(applicationStartup);
+        parser.setSnapshot(snapshot);
+        if (parent != null) {
+            parser.setParentBeanNamesOfType(type -> parent.beanFactory.resolveAutowireCandidates(type));
+        }
+        Set<BeanDefinition> beanDefinitions;
+        try (StartupStep step = applicationStartup.start(ApplicationStartup.CONFIG_PARSE)) {
+            beanDefinitions = parser.parse(configurationClass);
+            step.tag("beanDefinitions", String.valueOf(beanDefinitions.size()));
+        }
+        return beanDefinitions;
+    }
+
+    /**
+     * Creates the snapshot configured by {@link #SNAPSHOT_FILE_PROPERTY}. Child
+     * contexts are not snapshotted, since their definitions are wired to the
+     * beans of the parent.
+     *
+     * @return the snapshot, or null if disabled
+     */
+    @Nullable
+    private BeanDefinitionSnapshot createSnapshot() {
+        String snapshotFile = propertyResolver.getProperty(SNAPSHOT_FILE_PROPERTY);
+        if (parent != null || StringUtils.isEmpty(snapshotFile)) {
+            return null;
+        }
+        return new BeanDefinitionSnapshot(Paths.get(snapshotFile));
+    }
+
+    /**
+     * Creates the startup recorder configured by
+     * {@link #STARTUP_RECORD_PROPERTY} and {@link #STARTUP_CAPACITY_PROPERTY}.
+     *
+     * @return the startup recorder
+     */
+    private ApplicationStartup createApplicationStartup() {
+        if (!Boolean.parseBoolean(propertyResolver.getProperty(STARTUP_RECORD_PROPERTY))) {
+            return ApplicationStartup.DEFAULT;
+        }
+        return new BufferingApplicationStartup(
+                (int) propertyResolver.getProperty(STARTUP_CAPACITY_PROPERTY, int.class));
     }
 
     /**
@@ -200,6 +565,33 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
         return beanFactory.getBean(name, requiredType);
     }
 
+    /**
+     * Retrieves the single bean of the specified type from the application
+     * context, or from its parent when it has none.
+     *
+     * @param <T>          the required type of the bean
+     * @param requiredType the class or interface to match
+     * @return the matching bean
+     * @throws BeansException if no bean or several beans match
+     */
+    @Override
+    public <T> T getBean(Class<T> requiredType) throws BeansException {
+        return beanFactory.getBean(requiredType);
+    }
+
+    /**
+     * Returns a provider of the beans of the specified type, to keep for
+     * repeated lookups.
+     *
+     * @param <T>          the type of the provided beans
+     * @param requiredType the class or interface to match
+     * @return the provider
+     */
+    @Override
+    public <T> ObjectProvider<T> getBeanProvider(Class<T> requiredType) {
+        return beanFactory.getBeanProvider(requiredType);
+    }
+
     /**
      * Publishes an application event to all registered listeners.
      *
@@ -220,17 +612,27 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
         Map<String, BeanFactoryPostProcessor> beanFactoryPostProcessorMap = beanFactory
                 .getBeansOfType(BeanFactoryPostProcessor.class);
         for (BeanFactoryPostProcessor beanFactoryPostProcessor : beanFactoryPostProcessorMap.values()) {
-            beanFactoryPostProcessor.postProcessBeanFactory(beanFactory);
+            try (StartupStep step = applicationStartup.start(ApplicationStartup.BEAN_FACTORY_POST_PROCESS)) {
+                step.tag("postProcessor", beanFactoryPostProcessor.getClass().getName());
+                beanFactoryPostProcessor.postProcessBeanFactory(beanFactory);
+            }
         }
     }
 
     /**
-     * Registers all BeanProcessor beans with the bean factory.
+     * Registers all BeanProcessor beans with the bean factory, including the
+     * processor beans of the ancestors that this context doesn't override, so
+     * a child applies the parent's AOP creator instead of defining its own.
      *
      * @param beanFactory the bean factory to register processors with
      */
     private void registerBeanProcessors(ConfigurableListableBeanFactory beanFactory) {
-        Map<String, BeanProcessor> beanProcessorMap = beanFactory.getBeansOfType(BeanProcessor.class);
+        Map<String, BeanProcessor> beanProcessorMap = new LinkedHashMap<>();
+        for (AnnotationConfigApplicationContext context = parent; context != null; context = context.parent) {
+            context.beanFactory.getBeansOfType(BeanProcessor.class).forEach(beanProcessorMap::putIfAbsent);
+        }
+        beanProcessorMap.keySet().removeIf(beanFactory::containsLocalBean);
+        beanProcessorMap.putAll(beanFactory.getBeansOfType(BeanProcessor.class));
         if (ClassUtils.isMapEmpty(beanProcessorMap)) {
             return;
         }
@@ -103,17 +103,7 @@ public class PropertyResolver {
      */
     public String getProperty(String key) {
         CheckUtils.emptyString(key, "PropertyResolver.getProperty receives empty key");
-        PropertyExpr propertyExpr = parsePropertyExpr(key);
-        String value = null;
-        if (propertyExpr != null && propertyExpr.defaultValue() != null) {
-            value = properties.getProperty(propertyExpr.key(), propertyExpr.defaultValue());
-        } else if (propertyExpr != null) {
-            value = properties.getProperty(propertyExpr.key());
-
-        } else {
-            value = properties.getProperty(key);
-        }
-
+        String value = findProperty(key);
         if (value == null) {
             throw new NoSuchElementException(key + " doesn't exist");
         }
@@ -121,6 +111,25 @@ public class PropertyResolver {
         return value;
     }
 
+    /**
+     * Resolves a property value by its key like {@link #getProperty(String)},
+     * but returns null instead of failing when the property doesn't exist.
+     *
+     * @param key the property key to resolve
+     * @return the resolved property value, or null if it doesn't exist
+     */
+    @Nullable
+    public String findProperty(String key) {
+        CheckUtils.emptyString(key, "PropertyResolver.findProperty receives empty key");
+        PropertyExpr propertyExpr = parsePropertyExpr(key);
+        if (propertyExpr != null && propertyExpr.defaultValue() != null) {
+            return properties.getProperty(propertyExpr.key(), propertyExpr.defaultValue());
+        } else if (propertyExpr != null) {
+            return properties.getProperty(propertyExpr.key());
+        }
+        return properties.getProperty(key);
+    }
+
     @Nullable
     public Object getProperty(String key, Class<?> targetType) {
         String value = getProperty(key);
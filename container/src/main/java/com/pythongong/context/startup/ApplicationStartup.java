@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.context.startup;
+
+/**
+ * Recorder of the steps of the application startup, such as scanning,
+ * post-processing the bean factory or creating a bean.
+ * <p>
+ * The {@link #DEFAULT} recorder records nothing and costs no allocation, so
+ * the container can always report its steps. {@link BufferingApplicationStartup}
+ * keeps them for a startup timeline report.
+ *
+ * @author Cheng Gong
+ * @see StartupStep
+ * @see BufferingApplicationStartup
+ */
+public interface ApplicationStartup {
+
+    /** Recorder that records nothing */
+    ApplicationStartup DEFAULT = NoOpApplicationStartup.INSTANCE;
+
+    /** Refresh of an application context */
+    String CONTEXT_REFRESH = "context.refresh";
+
+    /** Close of an application context, including the destruction of its beans */
+    String CONTEXT_CLOSE = "context.close";
+
+    /** Parse of the configuration class into bean definitions */
+    String CONFIG_PARSE = "context.config.parse";
+
+    /** Classpath scan of the component packages */
+    String CONFIG_SCAN = "context.config.scan";
+
+    /** Call of one bean factory post processor */
+    String BEAN_FACTORY_POST_PROCESS = "context.bean-factory.post-process";
+
+    /** Creation of the non-lazy singletons */
+    String SINGLETONS_PRE_INSTANTIATE = "context.singletons.pre-instantiate";
+
+    /** Creation of one bean, including its dependencies */
+    String BEAN_INSTANTIATE = "beans.instantiate";
+
+    /** Constructor or factory method call of one bean */
+    String BEAN_CONSTRUCT = "beans.construct";
+
+    /** Injection, processors and init methods of one bean */
+    String BEAN_INITIALIZE = "beans.initialize";
+
+    /** Proxy creation for one bean */
+    String AOP_PROXY_CREATE = "aop.proxy.create";
+
+    /** Destroy callback of one bean */
+    String BEAN_DESTROY = "beans.destroy";
+
+    /** Tag holding the name of a bean */
+    String BEAN_NAME_TAG = "beanName";
+
+    /**
+     * Start a new step. The step must be ended on the calling thread.
+     *
+     * @param name the step name
+     * @return the started step
+     */
+    StartupStep start(String name);
+}
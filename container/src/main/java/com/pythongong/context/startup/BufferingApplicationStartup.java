@@ -0,0 +1,302 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.context.startup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.pythongong.util.CheckUtils;
+import com.pythongong.util.ClassUtils;
+
+/**
+ * {@link ApplicationStartup} that keeps the recorded steps in a fixed-size
+ * buffer for reporting.
+ * <p>
+ * Recording a step takes a slot of the buffer with one atomic increment and
+ * allocates only the step itself, so it can stay enabled in production. Steps
+ * started once the buffer is full are not recorded and only counted. Steps
+ * are nested per thread: a step is the child of the step running on the same
+ * thread when it started.
+ * <p>
+ * The reports, {@link #getTimeline()}, {@link #getSlowestSteps(String, int)}
+ * and {@link #toJson()}, only include ended steps and can be taken at any
+ * time.
+ *
+ * @author Cheng Gong
+ */
+public class BufferingApplicationStartup implements ApplicationStartup {
+
+    /** Default number of steps kept */
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    /** Parent id of top-level steps */
+    private static final long NO_PARENT = -1;
+
+    /** Recorded steps, by id */
+    private final AtomicReferenceArray<BufferedStep> steps;
+
+    /** Id of the next step, also counting the steps that were dropped */
+    private final AtomicLong nextId = new AtomicLong();
+
+    /** Step running on each thread */
+    private final ThreadLocal<BufferedStep> currentStep = new ThreadLocal<>();
+
+    /** Time origin of the recorded steps */
+    private final long originNanos = System.nanoTime();
+
+    /**
+     * Creates a recorder keeping {@value #DEFAULT_CAPACITY} steps.
+     */
+    public BufferingApplicationStartup() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a recorder keeping the given number of steps.
+     *
+     * @param capacity the maximum number of steps kept
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public BufferingApplicationStartup(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("BufferingApplicationStartup recevies non-positive capacity");
+        }
+        this.steps = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public StartupStep start(String name) {
+        CheckUtils.emptyString(name, "BufferingApplicationStartup.start recevies empty step name");
+        long id = nextId.getAndIncrement();
+        if (id >= steps.length()) {
+            return ApplicationStartup.DEFAULT.start(name);
+        }
+        BufferedStep step = new BufferedStep((int) id, currentStep.get(), name, System.nanoTime());
+        steps.set((int) id, step);
+        currentStep.set(step);
+        return step;
+    }
+
+    /**
+     * Return the number of steps that were not recorded because the buffer was
+     * full.
+     *
+     * @return the number of dropped steps
+     */
+    public long getDroppedSteps() {
+        return Math.max(0, nextId.get() - steps.length());
+    }
+
+    /**
+     * Return the ended steps in start order.
+     *
+     * @return the timeline of the startup
+     */
+    public List<StartupStepRecord> getTimeline() {
+        List<BufferedStep> ended = new ArrayList<>(ClassUtils.BIG_INIT_SIZE);
+        int recorded = (int) Math.min(nextId.get(), steps.length());
+        for (int i = 0; i < recorded; i++) {
+            BufferedStep step = steps.get(i);
+            if (step != null && step.endNanos >= 0) {
+                ended.add(step);
+            }
+        }
+
+        Map<Integer, Long> childNanos = new HashMap<>(ended.size());
+        for (BufferedStep step : ended) {
+            if (step.parent != null) {
+                childNanos.merge(step.parent.id, step.durationNanos(), Long::sum);
+            }
+        }
+
+        List<StartupStepRecord> timeline = new ArrayList<>(ended.size());
+        for (BufferedStep step : ended) {
+            long duration = step.durationNanos();
+            timeline.add(new StartupStepRecord(step.id, step.parent == null ? NO_PARENT : step.parent.id,
+                    step.name, Collections.unmodifiableMap(new LinkedHashMap<>(step.tags)),
+                    step.startNanos - originNanos, duration,
+                    Math.max(0, duration - childNanos.getOrDefault(step.id, 0L))));
+        }
+        return timeline;
+    }
+
+    /**
+     * Return the slowest ended steps of the given name, ranked by their own
+     * duration without nested steps. For {@link #BEAN_INSTANTIATE}, this ranks
+     * beans by the cost of their own construction and initialization rather
+     * than by the cost of their dependencies.
+     *
+     * @param name  the step name
+     * @param limit the maximum number of steps returned
+     * @return the slowest steps, slowest first
+     * @throws IllegalArgumentException if name is empty or limit is negative
+     */
+    public List<StartupStepRecord> getSlowestSteps(String name, int limit) {
+        CheckUtils.emptyString(name, "BufferingApplicationStartup.getSlowestSteps recevies empty step name");
+        if (limit < 0) {
+            throw new IllegalArgumentException("BufferingApplicationStartup.getSlowestSteps recevies negative limit");
+        }
+        return getTimeline().stream()
+                .filter(step -> step.name().equals(name))
+                .sorted(Comparator.comparingLong(StartupStepRecord::selfNanos)
+                        .thenComparingLong(StartupStepRecord::durationNanos)
+                        .reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Return the slowest created beans.
+     *
+     * @param limit the maximum number of beans returned
+     * @return the {@link #BEAN_INSTANTIATE} steps, slowest first
+     * @see #getSlowestSteps(String, int)
+     */
+    public List<StartupStepRecord> getSlowestBeans(int limit) {
+        return getSlowestSteps(BEAN_INSTANTIATE, limit);
+    }
+
+    /**
+     * Dump the timeline as JSON, with times in nanoseconds.
+     *
+     * @return the JSON document
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(ClassUtils.BIG_INIT_SIZE);
+        json.append("{\"droppedSteps\":").append(getDroppedSteps()).append(",\"steps\":[");
+        List<StartupStepRecord> timeline = getTimeline();
+        for (int i = 0; i < timeline.size(); i++) {
+            StartupStepRecord step = timeline.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(step.id())
+                    .append(",\"parentId\":").append(step.parentId())
+                    .append(",\"name\":");
+            appendJsonString(json, step.name());
+            json.append(",\"startNanos\":").append(step.startNanos())
+                    .append(",\"durationNanos\":").append(step.durationNanos())
+                    .append(",\"selfNanos\":").append(step.selfNanos())
+                    .append(",\"tags\":{");
+            boolean firstTag = true;
+            for (Map.Entry<String, String> tag : step.tags().entrySet()) {
+                if (!firstTag) {
+                    json.append(',');
+                }
+                firstTag = false;
+                appendJsonString(json, tag.getKey());
+                json.append(':');
+                appendJsonString(json, tag.getValue());
+            }
+            json.append("}}");
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Appends a quoted and escaped JSON string.
+     *
+     * @param json  the JSON being built
+     * @param value the string to append
+     */
+    private static void appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * A step kept in the buffer. Only the starting thread tags and ends it;
+     * the volatile end time publishes the tags to the reports.
+     */
+    private final class BufferedStep implements StartupStep {
+
+        private final int id;
+
+        private final BufferedStep parent;
+
+        private final String name;
+
+        private final long startNanos;
+
+        private final Map<String, String> tags = new LinkedHashMap<>(4);
+
+        private volatile long endNanos = -1;
+
+        private BufferedStep(int id, BufferedStep parent, String name, long startNanos) {
+            this.id = id;
+            this.parent = parent;
+            this.name = name;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            CheckUtils.emptyString(key, "StartupStep.tag recevies empty key");
+            if (endNanos < 0) {
+                tags.put(key, String.valueOf(value));
+            }
+            return this;
+        }
+
+        @Override
+        public void end() {
+            if (endNanos >= 0) {
+                return;
+            }
+            endNanos = System.nanoTime();
+            if (currentStep.get() == this) {
+                if (parent == null) {
+                    currentStep.remove();
+                } else {
+                    currentStep.set(parent);
+                }
+            }
+        }
+
+        private long durationNanos() {
+            return endNanos - startNanos;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.context.startup;
+
+/**
+ * {@link ApplicationStartup} that records nothing.
+ *
+ * @author Cheng Gong
+ */
+final class NoOpApplicationStartup implements ApplicationStartup, StartupStep {
+
+    /** Shared instance, which is also its only step */
+    static final NoOpApplicationStartup INSTANCE = new NoOpApplicationStartup();
+
+    private NoOpApplicationStartup() {
+    }
+
+    @Override
+    public StartupStep start(String name) {
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return "noop";
+    }
+
+    @Override
+    public StartupStep tag(String key, String value) {
+        return this;
+    }
+
+    @Override
+    public void end() {
+    }
+}
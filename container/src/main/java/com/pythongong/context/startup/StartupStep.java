@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.context.startup;
+
+/**
+ * A step of the application startup, recorded by an
+ * {@link ApplicationStartup}.
+ * <p>
+ * Steps are started by {@link ApplicationStartup#start(String)} and must be
+ * ended on the thread that started them. A step started while another one is
+ * running on the same thread is recorded as its child, so a step's timing
+ * includes the timings of its nested steps. Steps are {@link AutoCloseable} so
+ * they can be ended by try-with-resources.
+ *
+ * @author Cheng Gong
+ * @see ApplicationStartup
+ */
+public interface StartupStep extends AutoCloseable {
+
+    /**
+     * Return the name of this step.
+     *
+     * @return the step name
+     */
+    String getName();
+
+    /**
+     * Attach a key/value tag to this step, such as the name of the bean being
+     * created.
+     *
+     * @param key   the tag key
+     * @param value the tag value
+     * @return this step
+     */
+    StartupStep tag(String key, String value);
+
+    /**
+     * Record the end of this step.
+     */
+    void end();
+
+    /**
+     * Same as {@link #end()}.
+     */
+    @Override
+    default void close() {
+        end();
+    }
+}
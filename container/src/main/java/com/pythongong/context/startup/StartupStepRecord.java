@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.context.startup;
+
+import java.util.Map;
+
+/**
+ * Timing of an ended {@link StartupStep}, as reported by
+ * {@link BufferingApplicationStartup}.
+ *
+ * @author Cheng Gong
+ */
+public record StartupStepRecord(
+        /**
+         * The id of the step, in start order.
+         */
+        long id,
+
+        /**
+         * The id of the enclosing step, or -1 for a top-level step.
+         */
+        long parentId,
+
+        /**
+         * The name of the step.
+         */
+        String name,
+
+        /**
+         * The tags of the step.
+         */
+        Map<String, String> tags,
+
+        /**
+         * The start of the step, relative to the creation of the recorder.
+         */
+        long startNanos,
+
+        /**
+         * The duration of the step, including its nested steps.
+         */
+        long durationNanos,
+
+        /**
+         * The duration of the step minus the durations of its nested steps.
+         */
+        long selfNanos) {
+}
@@ -17,7 +17,9 @@ package com.pythongong.enums;
 
 /**
  * Enumeration representing the possible scopes for beans in the framework.
- * Supports singleton and prototype scopes, with singleton being the default.
+ * Supports singleton and prototype scopes, with singleton being the default,
+ * and the scopes backed by a {@link com.pythongong.beans.scope.BeanScope}
+ * registered in the bean factory under the scope name.
  *
  * @author Cheng Gong
  */
@@ -26,11 +28,60 @@ public enum ScopeEnum {
     /**
      * Singleton scope - only one instance of the bean is created
      */
-    SINGLETON(),
+    SINGLETON("singleton"),
 
     /**
      * Prototype scope - a new instance is created each time the bean is requested
      */
-    PROTOTYPE();
+    PROTOTYPE("prototype"),
 
-}
\ No newline at end of file
+    /**
+     * Request scope - one instance is created per web request
+     */
+    REQUEST("request"),
+
+    /**
+     * Thread scope - one instance is created per thread
+     */
+    THREAD("thread"),
+
+    /**
+     * Pooled scope - instances are borrowed from a bounded pool and returned
+     * to it after use
+     */
+    POOLED("pooled"),
+
+    /**
+     * Custom scope - instances are managed by the bean scope registered under
+     * the name given in the bean definition
+     */
+    CUSTOM(null);
+
+    /**
+     * The name of the scope, null for custom scopes
+     */
+    private final String scopeName;
+
+    ScopeEnum(String scopeName) {
+        this.scopeName = scopeName;
+    }
+
+    /**
+     * Returns the name of the scope.
+     *
+     * @return the scope name, or null for {@link #CUSTOM}
+     */
+    public String getScopeName() {
+        return scopeName;
+    }
+
+    /**
+     * Checks whether the instances of this scope are managed by a registered
+     * {@link com.pythongong.beans.scope.BeanScope}.
+     *
+     * @return true for every scope except singleton and prototype
+     */
+    public boolean isPluggable() {
+        return this != SINGLETON && this != PROTOTYPE;
+    }
+}
@@ -7,4 +7,8 @@ public class AopConfigException extends RuntimeException {
         super(msg);
     }
 
+    public AopConfigException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+
 }
\ No newline at end of file
@@ -15,6 +15,8 @@
  */
 package com.pythongong.exception;
 
+import java.lang.reflect.Type;
+
 /**
  * Exception thrown when a bean cannot be found in the container.
  * This can occur when attempting to retrieve a bean by name or type
@@ -47,9 +49,10 @@ public class NoSuchBeanException extends BeansException {
     /**
      * Constructs a new NoScuhBeanException for a bean not found by type.
      *
-     * @param beanType the type of the bean that was not found
+     * @param beanType the type of the bean that was not found, which may be
+     *                 a generic type such as {@code Repository<User>}
      */
-    public NoSuchBeanException(Class<?> beanType) {
-        this(String.format("No bean as type: {%s}", beanType.getName()));
+    public NoSuchBeanException(Type beanType) {
+        this(String.format("No bean as type: {%s}", beanType.getTypeName()));
     }
 }
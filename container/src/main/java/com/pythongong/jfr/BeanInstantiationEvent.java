@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for the creation of one bean by the bean factory,
+ * including the creation of its dependencies, its initialization and its
+ * proxying.
+ *
+ * @author Cheng Gong
+ * @see FrameworkEvents
+ */
+@Name(BeanInstantiationEvent.NAME)
+@Label("Bean Instantiation")
+@Category({ FrameworkEvents.CATEGORY, FrameworkEvents.BEANS })
+@Description("Creation of a bean by the bean factory")
+@Enabled(false)
+@StackTrace(false)
+public final class BeanInstantiationEvent extends jdk.jfr.Event {
+
+    /** Name of the event */
+    public static final String NAME = FrameworkEvents.PREFIX + "BeanInstantiation";
+
+    @Label("Bean Name")
+    public String beanName;
+
+    @Label("Bean Class")
+    public Class<?> beanClass;
+
+    @Label("Scope")
+    public String scope;
+}
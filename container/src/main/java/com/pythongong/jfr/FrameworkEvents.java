@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.jfr;
+
+/**
+ * Names and categories of the Java Flight Recorder events emitted by the
+ * framework.
+ * <p>
+ * All the events are disabled by default, so a recording started with the
+ * JDK settings does not contain them and the instrumented code only pays for
+ * an {@code isEnabled()} check. Each category is enabled on its own, either
+ * through the {@code tiny-spring.jfc} settings shipped in
+ * {@code META-INF/jfr}:
+ *
+ * <pre>
+ * -XX:StartFlightRecording:settings=default,settings=tiny-spring.jfc,tiny-spring-jdbc=true
+ * </pre>
+ *
+ * or per event, for example
+ * {@code -XX:StartFlightRecording:+tinyspring.SqlExecution#enabled=true}.
+ *
+ * @author Cheng Gong
+ */
+public final class FrameworkEvents {
+
+    /** Top level category of all the events */
+    public static final String CATEGORY = "Tiny Spring";
+
+    /** Category of the bean container events */
+    public static final String BEANS = "Beans";
+
+    /** Category of the proxy events */
+    public static final String AOP = "AOP";
+
+    /** Category of the request dispatch events */
+    public static final String WEB = "Web";
+
+    /** Category of the SQL execution events */
+    public static final String JDBC = "JDBC";
+
+    /** Category of the transaction events */
+    public static final String TRANSACTIONS = "Transactions";
+
+    /** Prefix of the event names */
+    public static final String PREFIX = "tinyspring.";
+
+    private FrameworkEvents() {
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for the generation, loading and instantiation of a
+ * proxy class.
+ *
+ * @author Cheng Gong
+ * @see FrameworkEvents
+ */
+@Name(ProxyGenerationEvent.NAME)
+@Label("Proxy Generation")
+@Category({ FrameworkEvents.CATEGORY, FrameworkEvents.AOP })
+@Description("Generation of a proxy class for a bean")
+@Enabled(false)
+@StackTrace(false)
+public final class ProxyGenerationEvent extends jdk.jfr.Event {
+
+    /** Name of the event */
+    public static final String NAME = FrameworkEvents.PREFIX + "ProxyGeneration";
+
+    @Label("Target Class")
+    public Class<?> targetClass;
+
+    @Label("Proxy Class")
+    public Class<?> proxyClass;
+}
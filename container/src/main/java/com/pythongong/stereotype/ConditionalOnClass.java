@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.stereotype;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Registers a bean only if the given classes are on the classpath.
+ * Can be applied to both component classes and @Bean methods.
+ * <p>
+ * Classes are named rather than referenced, so that reading the annotation
+ * doesn't fail when they are missing. The condition is evaluated when the
+ * configuration is parsed, without initializing the classes.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * @Component
+ * @ConditionalOnClass("com.fasterxml.jackson.databind.ObjectMapper")
+ * public class JacksonCodec implements Codec {
+ *     // ...
+ * }
+ * }</pre>
+ *
+ * @author Cheng Gong
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(value = {ElementType.TYPE, ElementType.METHOD})
+@Documented
+public @interface ConditionalOnClass {
+
+    /**
+     * Specifies the fully qualified names of the required classes.
+     *
+     * @return the class names, all of which must be present
+     */
+    String[] value();
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.stereotype;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Registers a bean only if no other bean of the given types is registered,
+ * such as a default implementation that a deployment can replace.
+ * Can be applied to both component classes and @Bean methods.
+ * <p>
+ * The condition is evaluated when the configuration is parsed, after all the
+ * unconditional beans, and against the beans of the parent context too.
+ * Conditional beans are then evaluated in name order.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * @Component
+ * @ConditionalOnMissingBean(Codec.class)
+ * public class DefaultCodec implements Codec {
+ *     // ...
+ * }
+ * }</pre>
+ *
+ * @author Cheng Gong
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(value = {ElementType.TYPE, ElementType.METHOD})
+@Documented
+public @interface ConditionalOnMissingBean {
+
+    /**
+     * Specifies the types no bean may have.
+     * Defaults to the class of the annotated bean.
+     *
+     * @return the bean types to look for
+     */
+    Class<?>[] value() default {};
+}
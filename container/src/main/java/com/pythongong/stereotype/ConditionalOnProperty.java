@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.stereotype;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Registers a bean only if a property has a given value.
+ * Can be applied to both component classes and @Bean methods.
+ * <p>
+ * The condition is evaluated when the configuration is parsed, so a disabled
+ * bean is never registered. Without {@link #havingValue()}, the property
+ * matches unless it is {@code false}.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * @Component
+ * @ConditionalOnProperty(value = "cache.enabled", matchIfMissing = true)
+ * public class CacheManager {
+ *     // ...
+ * }
+ * }</pre>
+ *
+ * @author Cheng Gong
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(value = {ElementType.TYPE, ElementType.METHOD})
+@Documented
+public @interface ConditionalOnProperty {
+
+    /**
+     * Specifies the key of the property.
+     *
+     * @return the property key
+     */
+    String value();
+
+    /**
+     * Specifies the value the property must have.
+     * Defaults to any value but {@code false}.
+     *
+     * @return the expected value, or empty for any value but false
+     */
+    String havingValue() default "";
+
+    /**
+     * Specifies whether the bean is registered when the property is missing.
+     * Defaults to false.
+     *
+     * @return true if a missing property matches
+     */
+    boolean matchIfMissing() default false;
+}
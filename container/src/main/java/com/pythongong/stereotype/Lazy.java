@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.stereotype;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indicates that a singleton bean is created on first use instead of when the
+ * context is refreshed.
+ * Can be applied to both component classes and @Bean methods.
+ * <p>
+ * A lazy bean injected into an eager one is injected as a proxy that resolves
+ * the bean on its first method call.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * @Component
+ * @Lazy
+ * public class ReportGenerator {
+ *     // ...
+ * }
+ * }</pre>
+ *
+ * @author Cheng Gong
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(value = {ElementType.TYPE, ElementType.METHOD})
+@Documented
+public @interface Lazy {
+
+    /**
+     * Specifies whether the bean is lazily initialized.
+     * Defaults to true.
+     *
+     * @return true if the bean is created on first use
+     */
+    boolean value() default true;
+}
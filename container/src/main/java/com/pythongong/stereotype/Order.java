@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.stereotype;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the position of a component among the beans injected together into a
+ * collection, array or map. Lower values come first; components without the
+ * annotation come last, in name order.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * @Component
+ * @Order(1)
+ * public class AuthenticationHandler implements RequestHandler {
+ *     // ...
+ * }
+ * }</pre>
+ *
+ * @author Cheng Gong
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+public @interface Order {
+
+    /** Order of the components that don't declare one */
+    int LOWEST_PRECEDENCE = Integer.MAX_VALUE;
+
+    /**
+     * Specifies the order of the component.
+     * Defaults to {@link #LOWEST_PRECEDENCE}.
+     *
+     * @return the order value, lower values first
+     */
+    int value() default LOWEST_PRECEDENCE;
+}
@@ -43,8 +43,18 @@ import com.pythongong.enums.ScopeEnum;
  *         return new SingletonBean();
  *     }
  * }
+ *
+ * @Component
+ * @Scope(value = ScopeEnum.CUSTOM, name = "tenant")
+ * public class TenantBean {
+ *     // ...
+ * }
  * }</pre>
  *
+ * <p>Beans of the request, thread and custom scopes are injected into other
+ * beans as proxies which look the instance of the current scope up on every
+ * method call.
+ *
  * @author Cheng Gong
  */
 @Retention(RetentionPolicy.RUNTIME)
@@ -59,4 +69,12 @@ public @interface Scope {
      * @return the scope enum value
      */
     ScopeEnum value() default ScopeEnum.SINGLETON;
+
+    /**
+     * Specifies the name of a custom scope.
+     * Only used with {@link ScopeEnum#CUSTOM}.
+     *
+     * @return the name of the custom scope
+     */
+    String name() default "";
 }
\ No newline at end of file
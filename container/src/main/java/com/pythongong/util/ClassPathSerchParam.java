@@ -29,6 +29,8 @@ import lombok.Builder;
  * @param searchSudDirect whether to search in subdirectories
  * @param serachFile whether to search in the file system
  * @param serachJar whether to search in JAR files
+ * @param parallel whether roots and files are processed in parallel, which
+ *                 requires a thread-safe path mapper
  *
  * @author Cheng Gong
  */
@@ -38,5 +40,6 @@ public record ClassPathSerchParam(
     BiConsumer<Path, Path> pathMapper, 
     boolean searchSudDirect, 
     boolean serachFile, 
-    boolean serachJar) {
+    boolean serachJar,
+    boolean parallel) {
 }
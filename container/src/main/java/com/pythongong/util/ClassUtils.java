@@ -17,7 +17,10 @@ package com.pythongong.util;
 
 import java.lang.annotation.Annotation;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Utility class for common class-related operations.
@@ -38,6 +41,18 @@ public class ClassUtils {
     /** The small default initialization size of the collections, which is a power of 2 */
     public static int SMALL_INIT_SIZE = 16;
 
+    /**
+     * Type hierarchies by class, see {@link #getTypeHierarchy(Class)}. A
+     * hierarchy only refers to its class and supertypes, so it goes away with
+     * the class.
+     */
+    private static final ClassValue<Set<Class<?>>> TYPE_HIERARCHY_CACHE = new ClassValue<>() {
+        @Override
+        protected Set<Class<?>> computeValue(Class<?> clazz) {
+            return collectTypeHierarchy(clazz);
+        }
+    };
+
     /**
      * Default bean name for the application event multicaster
      */
@@ -83,6 +98,61 @@ public class ClassUtils {
         return targetAnno;
     }
 
+    /**
+     * Collects the given class, all of its superclasses and all interfaces it
+     * implements directly or indirectly. The hierarchy of a class is computed
+     * once and cached.
+     *
+     * @param clazz the class to inspect
+     * @return the unmodifiable type hierarchy of the class, starting with the
+     *         class itself
+     */
+    public static Set<Class<?>> getTypeHierarchy(Class<?> clazz) {
+        return TYPE_HIERARCHY_CACHE.get(clazz);
+    }
+
+    private static Set<Class<?>> collectTypeHierarchy(Class<?> clazz) {
+        Set<Class<?>> hierarchy = new LinkedHashSet<>();
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+            collectInterfaces(current, hierarchy);
+        }
+        if (clazz.isInterface()) {
+            hierarchy.add(Object.class);
+        }
+        return Collections.unmodifiableSet(hierarchy);
+    }
+
+    /**
+     * Adds the given type and its super interfaces to the hierarchy set.
+     *
+     * @param type      the type to add
+     * @param hierarchy the set collecting the types
+     */
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> hierarchy) {
+        if (!hierarchy.add(type)) {
+            return;
+        }
+        for (Class<?> anInterface : type.getInterfaces()) {
+            collectInterfaces(anInterface, hierarchy);
+        }
+    }
+
+    /**
+     * Checks whether a class can be loaded by the default class loader,
+     * without initializing it.
+     *
+     * @param className the fully qualified name of the class
+     * @return true if the class and the classes it links to are present
+     */
+    public static boolean isPresent(String className) {
+        try {
+            Class.forName(className, false, getDefaultClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
     /**
      * Checks if an array is null or empty.
      *
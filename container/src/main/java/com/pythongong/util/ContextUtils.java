@@ -1,6 +1,7 @@
 package com.pythongong.util;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -13,6 +14,9 @@ import com.pythongong.io.ResourceLoader;
 
 public class ContextUtils {
 
+    /** Cache region of the files directly under a classpath root */
+    private static final String RESOURCE_SCAN_REGION = "resources";
+
     /**
      * Creates and initializes a PropertyResolver by scanning for and loading
      * all .properties files in the classpath.
@@ -22,21 +26,25 @@ public class ContextUtils {
     public static PropertyResolver createPropertyResolver() {
         List<String> propertiesFiles = new ArrayList<>(4);
         List<String> yamlFiles = new ArrayList<>(4);
-        FileUtils.findClassPathFileNames(ClassPathSerchParam.builder()
+        ClassPathSerchParam rootParam = ClassPathSerchParam.builder()
                 .packagePath(FileUtils.ROOT_CLASS_PATH)
                 .searchSudDirect(false)
                 .serachJar(false)
                 .serachFile(true)
-                .pathMapper((basePath, filePath) -> {
-                    String fileName = FileUtils.CLASSPATH_URL_PREFIX + filePath.getFileName().toString();
-                    if (fileName.endsWith(FileUtils.PROPERTY_SUFFIX)) {
-                        propertiesFiles.add(fileName);
-                    }
-                    if (fileName.endsWith(FileUtils.YAML_SUFFIX)) {
-                        yamlFiles.add(fileName);
-                    }
-                })
-                .build());
+                .build();
+        ScanCache scanCache = ScanCache.fromSystemProperties();
+        for (Path basePath : FileUtils.findClassPathRoots(rootParam)) {
+            List<String> fileNames = scanCache == null ? findFileNames(basePath, rootParam)
+                    : scanCache.get(RESOURCE_SCAN_REGION, basePath, false, path -> findFileNames(path, rootParam));
+            fileNames.forEach(fileName -> {
+                if (fileName.endsWith(FileUtils.PROPERTY_SUFFIX)) {
+                    propertiesFiles.add(FileUtils.CLASSPATH_URL_PREFIX + fileName);
+                }
+                if (fileName.endsWith(FileUtils.YAML_SUFFIX)) {
+                    yamlFiles.add(FileUtils.CLASSPATH_URL_PREFIX + fileName);
+                }
+            });
+        }
 
         ResourceLoader resourceLoader = new DefaultResourceLoader();
         PropertyResolver propertyResolver = new PropertyResolver();
@@ -54,4 +62,23 @@ public class ContextUtils {
         });
         return propertyResolver;
     }
+
+    /**
+     * Lists the names of the files directly under a classpath root.
+     *
+     * @param basePath  the classpath root
+     * @param rootParam the search parameters of the root
+     * @return the file names
+     */
+    private static List<String> findFileNames(Path basePath, ClassPathSerchParam rootParam) {
+        List<String> fileNames = new ArrayList<>();
+        FileUtils.findClassPathFileNames(basePath, ClassPathSerchParam.builder()
+                .packagePath(rootParam.packagePath())
+                .searchSudDirect(rootParam.searchSudDirect())
+                .serachJar(rootParam.serachJar())
+                .serachFile(rootParam.serachFile())
+                .pathMapper((root, filePath) -> fileNames.add(filePath.getFileName().toString()))
+                .build());
+        return fileNames;
+    }
 }
@@ -23,16 +23,19 @@ import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.LoaderOptions;
@@ -107,14 +110,34 @@ public class FileUtils {
 	/**
 	 * Finds class path file names based on the provided search parameters.
 	 * Supports searching in both file system and JAR environments.
+	 * <p>
+	 * With {@link ClassPathSerchParam#parallel()}, the classpath roots and the
+	 * files under them are handed to the path mapper from the common
+	 * {@link java.util.concurrent.ForkJoinPool}, so the mapper must be thread
+	 * safe.
 	 *
 	 * @param param the search parameters containing configuration for the search
 	 * @throws BeansException if an error occurs during file operations
 	 */
 	public static void findClassPathFileNames(ClassPathSerchParam param) {
+		List<Path> basePaths = findClassPathRoots(param);
+		Stream<Path> basePathStream = param.parallel() ? basePaths.parallelStream() : basePaths.stream();
+		basePathStream.forEach(basePath -> findClassPathFileNames(basePath, param));
+	}
+
+	/**
+	 * Finds the locations of the searched package in every classpath root that
+	 * contains it, honoring the file system and JAR options of the parameters.
+	 *
+	 * @param param the search parameters
+	 * @return the package directory of every matching root
+	 * @throws BeansException if an error occurs during file operations
+	 */
+	public static List<Path> findClassPathRoots(ClassPathSerchParam param) {
 		CheckUtils.nullArgs(param, "PathUtils.findClassPathFileNames recevies null param");
+		List<Path> basePaths = new ArrayList<>();
 		if (!param.serachFile() && !param.serachJar()) {
-			return;
+			return basePaths;
 		}
 
 		String packagePath = param.packagePath();
@@ -131,28 +154,52 @@ public class FileUtils {
 				URI uri;
 				uri = url.toURI();
 				String uriStr = URLDecoder.decode(uri.toString(), StandardCharsets.UTF_8);
-				Path basePath = null;
 				if (uriStr.startsWith(FILE_URL_PREFIX) && param.serachFile()) {
-					basePath = Paths.get(uri);
+					basePaths.add(Paths.get(uri));
 
 				} else if (uriStr.startsWith(JAR_URL_PREFIX) && param.serachJar()) {
 					// Jar system needs a new file system to create path
-					basePath = FileSystems.newFileSystem(uri, Map.of()).getPath(packagePath);
-				}
-
-				if (basePath == null) {
-					continue;
-				}
-
-				if (param.searchSudDirect()) {
-					findFileNamesIncluSubdirect(basePath, param.pathMapper());
-				} else {
-					findFileNames(basePath, param.pathMapper());
+					basePaths.add(getJarFileSystem(uri).getPath(packagePath));
 				}
 			}
 		} catch (URISyntaxException | IOException e) {
 			throw new BeansException("file error");
 		}
+		return basePaths;
+	}
+
+	/**
+	 * Finds the file names under one location returned by
+	 * {@link #findClassPathRoots(ClassPathSerchParam)}.
+	 *
+	 * @param basePath the package directory of a classpath root
+	 * @param param    the search parameters
+	 * @throws BeansException if an error occurs during file operations
+	 */
+	public static void findClassPathFileNames(Path basePath, ClassPathSerchParam param) {
+		CheckUtils.nullArgs(basePath, "PathUtils.findClassPathFileNames recevies null base path");
+		CheckUtils.nullArgs(param, "PathUtils.findClassPathFileNames recevies null param");
+		if (param.searchSudDirect()) {
+			findFileNamesIncluSubdirect(basePath, param.pathMapper(), param.parallel());
+		} else {
+			findFileNames(basePath, param.pathMapper());
+		}
+	}
+
+	/**
+	 * Returns the file system of a jar, reusing the one already opened by an
+	 * earlier or concurrent search of the same jar.
+	 *
+	 * @param uri the URI of an entry in the jar
+	 * @return the file system of the jar
+	 * @throws IOException if the jar can't be opened
+	 */
+	private static FileSystem getJarFileSystem(URI uri) throws IOException {
+		try {
+			return FileSystems.newFileSystem(uri, Map.of());
+		} catch (FileSystemAlreadyExistsException e) {
+			return FileSystems.getFileSystem(uri);
+		}
 	}
 
 	/**
@@ -214,19 +261,19 @@ public class FileUtils {
 	 *
 	 * @param basePath   the base path to start searching from
 	 * @param pathMapper consumer to process found paths
-	 * @return set of found file names
+	 * @param parallel   whether found paths are processed in parallel
 	 * @throws BeansException if an error occurs during file operations
 	 */
-	private static Set<String> findFileNamesIncluSubdirect(Path basePath, BiConsumer<Path, Path> pathMapper) {
-		Set<String> fileNames = new HashSet<>();
-		try {
-			Files.walk(basePath).filter(Files::isRegularFile).forEach(filePath -> {
-				pathMapper.accept(basePath, filePath);
-			});
+	private static void findFileNamesIncluSubdirect(Path basePath, BiConsumer<Path, Path> pathMapper,
+			boolean parallel) {
+		List<Path> filePaths;
+		try (Stream<Path> walk = Files.walk(basePath)) {
+			filePaths = walk.filter(Files::isRegularFile).toList();
 		} catch (IOException e) {
 			throw new BeansException("file error");
 		}
-		return fileNames;
+		Stream<Path> filePathStream = parallel ? filePaths.parallelStream() : filePaths.stream();
+		filePathStream.forEach(filePath -> pathMapper.accept(basePath, filePath));
 	}
 
 	/**
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.util;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import com.pythongong.stereotype.Nullable;
+
+/**
+ * The declared type of an injection point, such as {@code Repository<User>},
+ * matched against the classes of candidate beans.
+ * <p>
+ * A bean class matches when it can be assigned to the raw class and binds the
+ * type arguments of the raw class to the required ones, through its generic
+ * superclasses and interfaces. Wildcards match the classes within their
+ * bounds, and type variables match anything. The bindings of a bean class to
+ * a generic type are resolved once and cached, so that matching a type
+ * against thousands of beans only costs a map lookup per bean.
+ *
+ * @author Cheng Gong
+ */
+public final class ResolvableType {
+
+    /**
+     * Resolved type arguments: bean class to generic type to its arguments.
+     * Held by the bean class, so a class loader isn't kept alive by the cache.
+     */
+    private static final ClassValue<Map<Class<?>, Class<?>[]>> TYPE_ARGUMENTS_CACHE = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, Class<?>[]> computeValue(Class<?> beanClass) {
+            return new ConcurrentHashMap<>(ClassUtils.SMALL_INIT_SIZE);
+        }
+    };
+
+    private final Class<?> rawClass;
+
+    /** Required type arguments, empty if the type doesn't constrain them */
+    private final Type[] typeArguments;
+
+    private ResolvableType(Class<?> rawClass, Type[] typeArguments) {
+        this.rawClass = rawClass;
+        this.typeArguments = typeArguments;
+    }
+
+    /**
+     * Creates the resolvable type of a declared type, such as the generic type
+     * of a field or parameter.
+     *
+     * @param type the declared type
+     * @return the resolvable type
+     * @throws IllegalArgumentException if type is null
+     */
+    public static ResolvableType forType(Type type) {
+        CheckUtils.nullArgs(type, "ResolvableType.forType receives null type");
+        if (type instanceof ParameterizedType parameterizedType) {
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            boolean constrained = Arrays.stream(arguments).anyMatch(ResolvableType::isConstraining);
+            return new ResolvableType((Class<?>) parameterizedType.getRawType(),
+                    constrained ? arguments : new Type[0]);
+        }
+        Class<?> rawClass = resolveClass(type, Collections.emptyMap());
+        return new ResolvableType(rawClass == null ? Object.class : rawClass, new Type[0]);
+    }
+
+    /**
+     * Returns the generic parameter types of a constructor or method, or its
+     * raw parameter types when they don't line up, as for the constructors of
+     * inner classes whose generic signature leaves out synthetic parameters.
+     *
+     * @param executable the constructor or method
+     * @return the parameter types, one per parameter
+     */
+    public static Type[] getGenericParameterTypes(Executable executable) {
+        Type[] genericTypes = executable.getGenericParameterTypes();
+        return genericTypes.length == executable.getParameterCount() ? genericTypes
+                : executable.getParameterTypes();
+    }
+
+    /**
+     * Returns the type of the beans a declared type holds: the component type
+     * of an array, the element type of a {@code List}, {@code Set} or
+     * {@code Collection}, or the value type of a map keyed by {@code String}.
+     * Wildcards and type variables don't name a bean type.
+     *
+     * @param type the declared type of an injection point
+     * @return the element type, or null if the type doesn't hold beans
+     */
+    @Nullable
+    public static Type getCollectionElementType(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz.isArray() && !clazz.getComponentType().isPrimitive() ? clazz.getComponentType() : null;
+        }
+        Type elementType = null;
+        if (type instanceof GenericArrayType arrayType) {
+            elementType = arrayType.getGenericComponentType();
+        } else if (type instanceof ParameterizedType parameterizedType) {
+            Type rawType = parameterizedType.getRawType();
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            if (List.class.equals(rawType) || Set.class.equals(rawType) || Collection.class.equals(rawType)) {
+                elementType = arguments[0];
+            } else if (Map.class.equals(rawType) && String.class.equals(arguments[0])) {
+                elementType = arguments[1];
+            }
+        }
+        return elementType instanceof Class<?> || elementType instanceof ParameterizedType ? elementType : null;
+    }
+
+    /**
+     * Returns the raw class of this type, used to look candidates up in the
+     * type index.
+     *
+     * @return the raw class
+     */
+    public Class<?> getRawClass() {
+        return rawClass;
+    }
+
+    /**
+     * Checks whether this type constrains its type arguments, so that
+     * matching the raw class is not enough.
+     *
+     * @return true if the type has constraining type arguments
+     */
+    public boolean hasGenerics() {
+        return typeArguments.length > 0;
+    }
+
+    /**
+     * Checks whether a bean of the given class can be injected into this type.
+     * <p>
+     * In strict mode, a bean class that leaves a required type argument
+     * unresolved, such as a raw {@code Repository}, doesn't match. Lenient
+     * matching accepts it, as a fallback when no bean matches strictly.
+     *
+     * @param beanClass the class of the candidate bean
+     * @param strict    whether unresolved type arguments fail the match
+     * @return true if the bean class matches
+     */
+    public boolean isAssignableFrom(Class<?> beanClass, boolean strict) {
+        if (!rawClass.isAssignableFrom(beanClass)) {
+            return false;
+        }
+        if (typeArguments.length == 0) {
+            return true;
+        }
+        Class<?>[] candidateArguments = resolveTypeArguments(beanClass, rawClass);
+        for (int i = 0; i < typeArguments.length; i++) {
+            Type required = typeArguments[i];
+            Class<?> candidate = candidateArguments[i];
+            if (!isConstraining(required)) {
+                continue;
+            }
+            if (candidate == null) {
+                if (strict) {
+                    return false;
+                }
+                continue;
+            }
+            if (!matchesArgument(required, candidate)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the classes a bean class binds to the type parameters of one of
+     * its generic supertypes, such as {@code User} for a {@code UserRepository}
+     * implementing {@code Repository<User>}. The result is cached with the
+     * bean class when the generic type is one of its supertypes.
+     *
+     * @param beanClass   the class binding the type parameters
+     * @param genericType the generic supertype
+     * @return the bound classes, with null for the type parameters the bean
+     *         class leaves unresolved
+     */
+    public static Class<?>[] resolveTypeArguments(Class<?> beanClass, Class<?> genericType) {
+        if (!genericType.isAssignableFrom(beanClass)) {
+            // Not cached: an unrelated type may come from a class loader the bean class must not hold
+            return doResolveTypeArguments(beanClass, genericType);
+        }
+        Class<?>[] arguments = TYPE_ARGUMENTS_CACHE.get(beanClass)
+                .computeIfAbsent(genericType, key -> doResolveTypeArguments(beanClass, genericType));
+        return arguments.clone();
+    }
+
+    private static Class<?>[] doResolveTypeArguments(Class<?> beanClass, Class<?> genericType) {
+        Class<?> current = beanClass;
+        Map<TypeVariable<?>, Class<?>> bindings = Collections.emptyMap();
+        while (current != genericType) {
+            Type supertype = findSupertype(current, genericType);
+            if (supertype == null) {
+                return new Class<?>[genericType.getTypeParameters().length];
+            }
+            Class<?> superclass = resolveClass(supertype, bindings);
+            Map<TypeVariable<?>, Class<?>> superBindings = new HashMap<>();
+            if (supertype instanceof ParameterizedType parameterizedType) {
+                TypeVariable<?>[] parameters = superclass.getTypeParameters();
+                Type[] arguments = parameterizedType.getActualTypeArguments();
+                for (int i = 0; i < parameters.length; i++) {
+                    superBindings.put(parameters[i], resolveClass(arguments[i], bindings));
+                }
+            }
+            current = superclass;
+            bindings = superBindings;
+        }
+
+        TypeVariable<?>[] parameters = genericType.getTypeParameters();
+        Class<?>[] arguments = new Class<?>[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            arguments[i] = bindings.get(parameters[i]);
+        }
+        return arguments;
+    }
+
+    /**
+     * Finds the generic superclass or interface of a class through which it
+     * extends or implements the given type.
+     */
+    @Nullable
+    private static Type findSupertype(Class<?> clazz, Class<?> genericType) {
+        List<Type> supertypes = new ArrayList<>();
+        if (clazz.getGenericSuperclass() != null) {
+            supertypes.add(clazz.getGenericSuperclass());
+        }
+        supertypes.addAll(Arrays.asList(clazz.getGenericInterfaces()));
+        for (Type supertype : supertypes) {
+            Class<?> superclass = resolveClass(supertype, Collections.emptyMap());
+            if (superclass != null && genericType.isAssignableFrom(superclass)) {
+                return supertype;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves a type to a class, through the given bindings for type
+     * variables.
+     *
+     * @return the class, or null if the type can't be resolved
+     */
+    @Nullable
+    private static Class<?> resolveClass(Type type, Map<TypeVariable<?>, Class<?>> bindings) {
+        if (type instanceof Class<?> clazz) {
+            return clazz;
+        }
+        if (type instanceof ParameterizedType parameterizedType) {
+            return (Class<?>) parameterizedType.getRawType();
+        }
+        if (type instanceof TypeVariable<?> typeVariable) {
+            return bindings.get(typeVariable);
+        }
+        if (type instanceof GenericArrayType arrayType) {
+            Class<?> componentClass = resolveClass(arrayType.getGenericComponentType(), bindings);
+            return componentClass == null ? null : componentClass.arrayType();
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a required type argument restricts the candidates:
+     * unbounded wildcards and type variables don't.
+     */
+    private static boolean isConstraining(Type argument) {
+        if (argument instanceof TypeVariable<?>) {
+            return false;
+        }
+        if (argument instanceof WildcardType wildcardType) {
+            return wildcardType.getLowerBounds().length > 0
+                    || !Arrays.equals(wildcardType.getUpperBounds(), new Type[] { Object.class });
+        }
+        return true;
+    }
+
+    private static boolean matchesArgument(Type required, Class<?> candidate) {
+        if (required instanceof WildcardType wildcardType) {
+            for (Type upperBound : wildcardType.getUpperBounds()) {
+                Class<?> upperClass = resolveClass(upperBound, Collections.emptyMap());
+                if (upperClass != null && !upperClass.isAssignableFrom(candidate)) {
+                    return false;
+                }
+            }
+            for (Type lowerBound : wildcardType.getLowerBounds()) {
+                Class<?> lowerClass = resolveClass(lowerBound, Collections.emptyMap());
+                if (lowerClass != null && !candidate.isAssignableFrom(lowerClass)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return candidate.equals(resolveClass(required, Collections.emptyMap()));
+    }
+
+    @Override
+    public String toString() {
+        if (typeArguments.length == 0) {
+            return rawClass.getName();
+        }
+        return rawClass.getName() + Arrays.stream(typeArguments)
+                .map(Type::getTypeName)
+                .collect(Collectors.joining(", ", "<", ">"));
+    }
+}
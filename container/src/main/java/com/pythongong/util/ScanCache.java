@@ -0,0 +1,275 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.util;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.pythongong.exception.BeansException;
+import com.pythongong.stereotype.Nullable;
+
+/**
+ * On-disk cache of classpath scan results.
+ * <p>
+ * Results are stored per classpath root location and keyed by a fingerprint
+ * of that location: the size and modification time of a jar, the relative
+ * path, size and modification time of every file of a deep directory search,
+ * or the modification time of the directory for a non-recursive listing. A
+ * location whose fingerprint is unchanged is restored from the cache, any
+ * other location is scanned again and its entry rewritten.
+ * <p>
+ * The cache is enabled by pointing the {@value #CACHE_DIR_PROPERTY} system
+ * property at a writable directory. It is best effort: a location that can't
+ * be fingerprinted, or an entry that can't be read or written, just falls back
+ * to scanning.
+ *
+ * @author Cheng Gong
+ */
+public final class ScanCache {
+
+    /** System property naming the cache directory */
+    public static final String CACHE_DIR_PROPERTY = "tiny-spring.scan.cache-dir";
+
+    /** First line of every cache file, changed whenever the format changes */
+    private static final String FORMAT_VERSION = "tiny-spring-scan-cache-1";
+
+    /** Suffix of the cache files */
+    private static final String CACHE_FILE_SUFFIX = ".scan";
+
+    /** Separator of the region and the location of a cache key */
+    private static final String KEY_SEPARATOR = "|";
+
+    /** Scheme of the URIs of locations inside jars */
+    private static final String JAR_URI_SCHEME = "jar";
+
+    /** Separator of the jar and the entry of a jar URI */
+    private static final String JAR_ENTRY_SEPARATOR = "!/";
+
+    /** Directory holding the cache files */
+    private final Path cacheDir;
+
+    /**
+     * Creates a cache stored in the given directory.
+     *
+     * @param cacheDir the directory holding the cache files
+     * @throws IllegalArgumentException if cacheDir is null
+     */
+    public ScanCache(Path cacheDir) {
+        CheckUtils.nullArgs(cacheDir, "ScanCache recevies null cache directory");
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Creates the cache configured through the {@value #CACHE_DIR_PROPERTY}
+     * system property.
+     *
+     * @return the configured cache, or null if the cache is disabled
+     */
+    @Nullable
+    public static ScanCache fromSystemProperties() {
+        String cacheDir = System.getProperty(CACHE_DIR_PROPERTY);
+        return StringUtils.isEmpty(cacheDir) ? null : new ScanCache(Paths.get(cacheDir));
+    }
+
+    /**
+     * Returns the cached scan result of a location, scanning it when the
+     * location changed since it was cached.
+     *
+     * @param region   the kind of scan, separating results of different scans
+     *                 of the same location
+     * @param basePath the scanned location, as returned by
+     *                 {@link FileUtils#findClassPathRoots(ClassPathSerchParam)}
+     * @param deep     whether the scan covers subdirectories
+     * @param scanner  the scan of the location, producing one line per entry
+     * @return the scan result
+     * @throws IllegalArgumentException if an argument is null or empty
+     */
+    public List<String> get(String region, Path basePath, boolean deep, Function<Path, List<String>> scanner) {
+        CheckUtils.emptyString(region, "ScanCache.get recevies empty region");
+        CheckUtils.nullArgs(basePath, "ScanCache.get recevies null base path");
+        CheckUtils.nullArgs(scanner, "ScanCache.get recevies null scanner");
+
+        String key = region + KEY_SEPARATOR + deep + KEY_SEPARATOR + basePath.toUri();
+        String fingerprint;
+        try {
+            fingerprint = fingerprint(basePath, deep);
+        } catch (IOException | IllegalArgumentException e) {
+            return scanner.apply(basePath);
+        }
+
+        Path cacheFile = cacheDir.resolve(digest(key) + CACHE_FILE_SUFFIX);
+        List<String> cached = read(cacheFile, key, fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+        List<String> entries = scanner.apply(basePath);
+        write(cacheFile, key, fingerprint, entries);
+        return entries;
+    }
+
+    /**
+     * Reads a cache file.
+     *
+     * @param cacheFile   the cache file
+     * @param key         the expected key of the entry
+     * @param fingerprint the current fingerprint of the location
+     * @return the cached entries, or null if the file is missing, stale or
+     *         unreadable
+     */
+    @Nullable
+    private static List<String> read(Path cacheFile, String key, String fingerprint) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        try {
+            List<String> lines = Files.readAllLines(cacheFile, StandardCharsets.UTF_8);
+            if (lines.size() < 3 || !FORMAT_VERSION.equals(lines.get(0)) || !key.equals(lines.get(1))
+                    || !fingerprint.equals(lines.get(2))) {
+                return null;
+            }
+            return List.copyOf(lines.subList(3, lines.size()));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes a cache file atomically, so concurrent startups never read a
+     * partial entry.
+     *
+     * @param cacheFile   the cache file
+     * @param key         the key of the entry
+     * @param fingerprint the fingerprint of the location
+     * @param entries     the scan result
+     */
+    private void write(Path cacheFile, String key, String fingerprint, List<String> entries) {
+        List<String> lines = new ArrayList<>(entries.size() + 3);
+        lines.add(FORMAT_VERSION);
+        lines.add(key);
+        lines.add(fingerprint);
+        lines.addAll(entries);
+        try {
+            Files.createDirectories(cacheDir);
+            Path tempFile = Files.createTempFile(cacheDir, cacheFile.getFileName().toString(), null);
+            try {
+                Files.write(tempFile, lines, StandardCharsets.UTF_8);
+                Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            // The result is still valid, it just won't be cached
+        }
+    }
+
+    /**
+     * Computes the fingerprint of several locations together, which changes
+     * whenever a file of any of them changes.
+     *
+     * @param basePaths the locations, as returned by
+     *                  {@link FileUtils#findClassPathRoots(ClassPathSerchParam)}
+     * @return the fingerprint
+     * @throws IOException              if a location can't be inspected
+     * @throws IllegalArgumentException if a location isn't a directory or a
+     *                                  jar entry
+     */
+    public static String fingerprint(List<Path> basePaths) throws IOException {
+        CheckUtils.nullArgs(basePaths, "ScanCache.fingerprint recevies null base paths");
+        StringBuilder state = new StringBuilder();
+        for (Path basePath : basePaths.stream().sorted(Comparator.comparing(Path::toUri)).toList()) {
+            state.append(basePath.toUri()).append(KEY_SEPARATOR).append(fingerprint(basePath, true)).append('\n');
+        }
+        return digest(state.toString());
+    }
+
+    /**
+     * Computes the fingerprint of a location.
+     *
+     * @param basePath the location
+     * @param deep     whether subdirectories are part of the location
+     * @return the fingerprint
+     * @throws IOException              if the location can't be inspected
+     * @throws IllegalArgumentException if the location isn't a directory or a
+     *                                  jar entry
+     */
+    private static String fingerprint(Path basePath, boolean deep) throws IOException {
+        StringBuilder state = new StringBuilder();
+        URI uri = basePath.toUri();
+        if (JAR_URI_SCHEME.equals(uri.getScheme())) {
+            String jarUri = uri.toString();
+            int separatorIndex = jarUri.indexOf(JAR_ENTRY_SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException(String.format("Not a jar entry: {%s}", jarUri));
+            }
+            Path jarPath = Paths.get(URI.create(jarUri.substring(JAR_URI_SCHEME.length() + 1, separatorIndex)));
+            appendAttributes(state, jarPath.toString(), Files.readAttributes(jarPath, BasicFileAttributes.class));
+        } else if (deep) {
+            try (Stream<Path> walk = Files.walk(basePath)) {
+                for (Path filePath : walk.sorted().toList()) {
+                    BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        appendAttributes(state, basePath.relativize(filePath).toString(), attributes);
+                    }
+                }
+            }
+        } else {
+            appendAttributes(state, basePath.toString(), Files.readAttributes(basePath, BasicFileAttributes.class));
+        }
+        return digest(state.toString());
+    }
+
+    /**
+     * Appends the name, size and modification time of a file to a fingerprint.
+     *
+     * @param state      the fingerprint being built
+     * @param name       the name of the file
+     * @param attributes the attributes of the file
+     */
+    private static void appendAttributes(StringBuilder state, String name, BasicFileAttributes attributes) {
+        state.append(name).append(':').append(attributes.size()).append(':')
+                .append(attributes.lastModifiedTime().toMillis()).append('\n');
+    }
+
+    /**
+     * Hashes a string with SHA-256.
+     *
+     * @param value the string to hash
+     * @return the hex encoded hash
+     */
+    private static String digest(String value) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new BeansException("SHA-256 is not available", e);
+        }
+    }
+}
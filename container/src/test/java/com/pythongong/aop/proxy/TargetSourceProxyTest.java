@@ -0,0 +1,132 @@
+package com.pythongong.aop.proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.pythongong.exception.AopConfigException;
+
+class TargetSourceProxyTest {
+
+    @Test
+    void shouldThrowExceptionWhenArgumentsAreNull() {
+        assertThrows(IllegalArgumentException.class, () -> TargetSourceProxy.createProxy(null, () -> "a"));
+        assertThrows(IllegalArgumentException.class, () -> TargetSourceProxy.createProxy(List.class, null));
+    }
+
+    @Test
+    void shouldProxyInterfaceAndResolveTargetOnCall() {
+        AtomicInteger lookups = new AtomicInteger();
+        Supplier<List<String>> targetSource = () -> {
+            lookups.incrementAndGet();
+            return List.of("a", "b");
+        };
+
+        Object proxy = TargetSourceProxy.createProxy(List.class, targetSource);
+
+        assertEquals(0, lookups.get());
+        assertTrue(proxy instanceof List);
+        assertEquals(2, ((List<?>) proxy).size());
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void shouldProxyClassWithoutCallingItsConstructor() {
+        int constructions = CountingService.CONSTRUCTIONS.get();
+        CountingService target = new CountingService("target");
+
+        Object proxy = TargetSourceProxy.createProxy(CountingService.class, () -> target);
+        Object anotherProxy = TargetSourceProxy.createProxy(CountingService.class, () -> target);
+
+        assertTrue(proxy instanceof CountingService);
+        assertEquals(constructions + 1, CountingService.CONSTRUCTIONS.get());
+        assertEquals("target", ((CountingService) proxy).getValue());
+        assertSame(proxy.getClass(), anotherProxy.getClass());
+    }
+
+    @Test
+    void shouldDelegateNonPublicMethods() {
+        CountingService target = new CountingService("target");
+        CountingService proxy = (CountingService) TargetSourceProxy.createProxy(CountingService.class,
+                () -> target);
+
+        assertEquals("package:target", proxy.describePackagePrivate());
+        assertEquals("protected:target", proxy.describeProtected());
+    }
+
+    @Test
+    void shouldProxyClassWithoutNoArgConstructor() throws ReflectiveOperationException {
+        NumberedService target = new NumberedService(7, "seven");
+        NumberedService proxy = (NumberedService) TargetSourceProxy.createProxy(NumberedService.class,
+                () -> target);
+
+        assertEquals(7, proxy.getNumber());
+        assertEquals("seven", proxy.getName());
+        assertNotNull(proxy.getClass().getConstructor().newInstance());
+    }
+
+    @Test
+    void shouldRethrowTargetException() {
+        CountingService target = new CountingService(null);
+        CountingService proxy = (CountingService) TargetSourceProxy.createProxy(CountingService.class,
+                () -> target);
+
+        assertThrows(IllegalStateException.class, proxy::getValue);
+    }
+
+    @Test
+    void shouldRejectFinalClasses() {
+        assertFalse(TargetSourceProxy.canProxy(String.class));
+        assertFalse(TargetSourceProxy.canProxy(int.class));
+        assertThrows(AopConfigException.class, () -> TargetSourceProxy.createProxy(String.class, () -> "a"));
+    }
+
+    public static class CountingService {
+        static final AtomicInteger CONSTRUCTIONS = new AtomicInteger();
+
+        private final String value;
+
+        public CountingService(String value) {
+            CONSTRUCTIONS.incrementAndGet();
+            this.value = value;
+        }
+
+        public String getValue() {
+            if (value == null) {
+                throw new IllegalStateException("no value");
+            }
+            return value;
+        }
+
+        String describePackagePrivate() {
+            return "package:" + value;
+        }
+
+        protected String describeProtected() {
+            return "protected:" + value;
+        }
+    }
+
+    static class NumberedService {
+        private final int number;
+
+        private final String name;
+
+        NumberedService(int number, String name) {
+            this.number = number;
+            this.name = name;
+        }
+
+        int getNumber() {
+            return number;
+        }
+
+        String getName() {
+            return name;
+        }
+    }
+}
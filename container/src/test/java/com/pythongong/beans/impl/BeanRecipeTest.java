@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pythongong.beans.config.BeanDefinition;
+import com.pythongong.enums.ScopeEnum;
+import com.pythongong.test.ioc.normal.AwareBean;
+import com.pythongong.test.ioc.normal.BeanWithConstructorInjection;
+import com.pythongong.test.ioc.normal.BeanWithMethodInjection;
+import com.pythongong.test.ioc.normal.LifecycleTestBean;
+import com.pythongong.test.ioc.normal.TestBean;
+import com.pythongong.test.ioc.normal.TestBeanPostProcessor;
+import com.pythongong.test.ioc.normal.TestComponent;
+import com.pythongong.test.ioc.normal.TestInitializingBean;
+
+/**
+ * Unit tests for {@link BeanRecipe}, exercised through the prototype creation
+ * path of {@link DefaultListableBeanFactory}.
+ *
+ * @author Cheng Gong
+ */
+class BeanRecipeTest {
+
+    private DefaultListableBeanFactory beanFactory;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                .beanName("testBean")
+                .beanClass(TestBean.class)
+                .build());
+        registerPrototype("awareBean", AwareBean.class, null);
+        registerPrototype("testInitializingBean", TestInitializingBean.class, null);
+        registerPrototype("lifecycleBean", LifecycleTestBean.class, "init");
+        registerPrototype("testComponent", TestComponent.class, null);
+        registerPrototype("beanWithMethodInjection", BeanWithMethodInjection.class, null);
+        beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                .beanName("beanWithConstructorInjection")
+                .beanClass(BeanWithConstructorInjection.class)
+                .constructor(BeanWithConstructorInjection.class.getConstructor(TestBean.class))
+                .scope(ScopeEnum.PROTOTYPE)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should run every creation step through the recipe")
+    void shouldRunEveryCreationStep() {
+        // Given
+        beanFactory.addBeanProcessor(new TestBeanPostProcessor());
+
+        // Then
+        assertCreationSteps();
+    }
+
+    @Test
+    @DisplayName("Should create the same beans with recipes disabled")
+    void shouldCreateSameBeansWithoutRecipes() {
+        // Given
+        beanFactory.setPrototypeRecipes(false);
+        beanFactory.addBeanProcessor(new TestBeanPostProcessor());
+
+        // Then
+        assertCreationSteps();
+    }
+
+    @Test
+    @DisplayName("Should apply processors added after the recipe was built")
+    void shouldRebuildRecipeWhenProcessorAdded() {
+        // Given
+        assertFalse(((TestComponent) beanFactory.getBean("testComponent")).isPostProcessed());
+
+        // When
+        beanFactory.addBeanProcessor(new TestBeanPostProcessor());
+
+        // Then
+        assertTrue(((TestComponent) beanFactory.getBean("testComponent")).isPostProcessed());
+    }
+
+    private void assertCreationSteps() {
+        Object testBean = beanFactory.getBean("testBean");
+
+        AwareBean awareBean = (AwareBean) beanFactory.getBean("awareBean");
+        assertEquals("awareBean", awareBean.getBeanName());
+        assertSame(beanFactory, awareBean.getBeanFactory());
+        assertNotSame(awareBean, beanFactory.getBean("awareBean"));
+
+        assertTrue(((TestInitializingBean) beanFactory.getBean("testInitializingBean")).isInitialized());
+        assertTrue(((LifecycleTestBean) beanFactory.getBean("lifecycleBean")).isInitialized());
+        assertTrue(((TestComponent) beanFactory.getBean("testComponent")).isPostProcessed());
+        assertSame(testBean, ((BeanWithMethodInjection) beanFactory.getBean("beanWithMethodInjection"))
+                .getTestBean());
+        assertSame(testBean, ((BeanWithConstructorInjection) beanFactory.getBean("beanWithConstructorInjection"))
+                .getTestBean());
+    }
+
+    private void registerPrototype(String beanName, Class<?> beanClass, String initMethodName) {
+        beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                .beanName(beanName)
+                .beanClass(beanClass)
+                .initMethodName(initMethodName)
+                .scope(ScopeEnum.PROTOTYPE)
+                .build());
+    }
+}
@@ -16,7 +16,20 @@
 package com.pythongong.beans.impl;
 
 import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -25,12 +38,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.pythongong.beans.config.BeanDefinition;
+import com.pythongong.beans.config.BeanReference;
 import com.pythongong.beans.config.FieldValue;
 import com.pythongong.beans.config.FieldValueList;
+import com.pythongong.beans.config.ProviderReference;
+import com.pythongong.beans.factory.ObjectProvider;
+import com.pythongong.beans.scope.RequestScope;
+import com.pythongong.beans.scope.ThreadScope;
 import com.pythongong.context.event.ApplicationEventMulticaster;
 import com.pythongong.context.event.GeneralApplicationEventMulticaster;
 import com.pythongong.enums.ScopeEnum;
+import com.pythongong.exception.BeansException;
+import com.pythongong.exception.NoSuchBeanException;
+import com.pythongong.test.ioc.concurrent.CountingFactoryBean;
+import com.pythongong.test.ioc.concurrent.SlowBean;
+import com.pythongong.test.ioc.generic.AccountService;
+import com.pythongong.test.ioc.generic.OrderRepository;
+import com.pythongong.test.ioc.generic.UserRepository;
 import com.pythongong.test.ioc.normal.AwareBean;
+import com.pythongong.test.ioc.normal.BeanWithConstructorInjection;
 import com.pythongong.test.ioc.normal.BeanWithMethodInjection;
 import com.pythongong.test.ioc.normal.BeanWithProperties;
 import com.pythongong.test.ioc.normal.SubTestBean;
@@ -39,6 +65,20 @@ import com.pythongong.test.ioc.normal.TestBeanPostProcessor;
 import com.pythongong.test.ioc.normal.TestComponent;
 import com.pythongong.test.ioc.normal.TestDisposableBean;
 import com.pythongong.test.ioc.normal.TestInitializingBean;
+import com.pythongong.test.ioc.provider.Dispatcher;
+import com.pythongong.test.ioc.provider.FirstHandler;
+import com.pythongong.test.ioc.provider.Handler;
+import com.pythongong.test.ioc.provider.SecondHandler;
+import com.pythongong.test.ioc.provider.Task;
+import com.pythongong.test.ioc.reload.ReloadClient;
+import com.pythongong.test.ioc.reload.ReloadableSettings;
+import com.pythongong.test.ioc.reload.StableService;
+import com.pythongong.test.ioc.scope.PooledBuffer;
+import com.pythongong.test.ioc.scope.PooledBufferClient;
+import com.pythongong.test.ioc.scope.RequestCounter;
+import com.pythongong.test.ioc.shutdown.Channel;
+import com.pythongong.test.ioc.shutdown.ConnectionPool;
+import com.pythongong.test.ioc.shutdown.Repository;
 import com.pythongong.util.ClassUtils;
 
 /**
@@ -217,6 +257,47 @@ class DefaultConfigurableListableBeanFactoryTest {
                 assertTrue(beans.get("subTestBean") instanceof SubTestBean);
         }
 
+        @Test
+        @DisplayName("Should index bean names by superclasses and interfaces")
+        void shouldIndexBeanNamesByTypeHierarchy() {
+                // Given
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("arrayList")
+                                .beanClass(ArrayList.class)
+                                .build());
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("linkedList")
+                                .beanClass(LinkedList.class)
+                                .build());
+
+                // Then
+                assertEquals(List.of("arrayList", "linkedList"), beanFactory.getBeanNamesOfType(Collection.class));
+                assertEquals(List.of("linkedList"), beanFactory.getBeanNamesOfType(Deque.class));
+                assertEquals(2, beanFactory.getBeanDefinitionsOfType(Object.class).size());
+                assertTrue(beanFactory.getBeanNamesOfType(Map.class).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should update type index when a bean definition is overridden")
+        void shouldUpdateTypeIndexWhenDefinitionOverridden() {
+                // Given
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("collection")
+                                .beanClass(LinkedList.class)
+                                .build());
+
+                // When
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("collection")
+                                .beanClass(ArrayList.class)
+                                .build());
+
+                // Then
+                assertTrue(beanFactory.getBeanNamesOfType(LinkedList.class).isEmpty());
+                assertEquals(List.of("collection"), beanFactory.getBeanNamesOfType(ArrayList.class));
+                assertEquals(List.of("collection"), beanFactory.getBeanNamesOfType(List.class));
+        }
+
         @Test
         public void testDestroySingletons() throws NoSuchMethodException, SecurityException {
 
@@ -409,4 +490,536 @@ class DefaultConfigurableListableBeanFactoryTest {
                 assertThrows(IllegalArgumentException.class, () -> beanFactory.addBeanProcessor(null));
         }
 
+        @Test
+        @DisplayName("Should create singleton and factory bean objects once under concurrent getBean")
+        void shouldCreateSingletonsOnceUnderConcurrentGetBean() throws Exception {
+                // Given
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("slowBean")
+                                .beanClass(SlowBean.class)
+                                .scope(ScopeEnum.SINGLETON)
+                                .build());
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("factoryProduct")
+                                .beanClass(CountingFactoryBean.class)
+                                .scope(ScopeEnum.SINGLETON)
+                                .build());
+                int slowInstances = SlowBean.INSTANCES.get();
+                int factoryObjects = CountingFactoryBean.OBJECTS.get();
+                int threads = 32;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Object[]>> results = new ArrayList<>();
+
+                // When
+                try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+                        for (int i = 0; i < threads; i++) {
+                                results.add(executor.submit(() -> {
+                                        start.await();
+                                        return new Object[] { beanFactory.getBean("slowBean"),
+                                                        beanFactory.getBean("factoryProduct") };
+                                }));
+                        }
+                        start.countDown();
+
+                        // Then
+                        Object[] first = results.get(0).get(5, TimeUnit.SECONDS);
+                        for (Future<Object[]> result : results) {
+                                Object[] beans = result.get(5, TimeUnit.SECONDS);
+                                assertSame(first[0], beans[0]);
+                                assertSame(first[1], beans[1]);
+                        }
+                }
+                assertEquals(factoryObjects + 1, CountingFactoryBean.OBJECTS.get());
+                assertEquals(slowInstances + 2, SlowBean.INSTANCES.get());
+        }
+        @Test
+        @DisplayName("Should keep one request scoped instance per request")
+        void shouldKeepOneInstancePerRequest() {
+                // Given
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("requestCounter")
+                                .beanClass(RequestCounter.class)
+                                .scope(ScopeEnum.REQUEST)
+                                .build());
+                int destroyed = RequestCounter.DESTROYED.get();
+
+                // When
+                assertThrows(BeansException.class, () -> beanFactory.getBean("requestCounter"),
+                                "Request scoped bean should not be created outside of a request");
+                assertTrue(RequestScope.beginRequest());
+                Object first;
+                try {
+                        first = beanFactory.getBean("requestCounter");
+                        assertSame(first, beanFactory.getBean("requestCounter"));
+                        assertFalse(RequestScope.beginRequest(), "Nested request should join the bound one");
+                } finally {
+                        RequestScope.endRequest();
+                }
+                RequestScope.beginRequest();
+                Object second;
+                try {
+                        second = beanFactory.getBean("requestCounter");
+                } finally {
+                        RequestScope.endRequest();
+                }
+
+                // Then
+                assertNotSame(first, second);
+                assertEquals(destroyed + 2, RequestCounter.DESTROYED.get(),
+                                "Request scoped beans should be destroyed when their request ends");
+        }
+
+        @Test
+        @DisplayName("Should keep one thread scoped instance per thread")
+        void shouldKeepOneInstancePerThread() throws Exception {
+                // Given
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("threadBean")
+                                .beanClass(TestBean.class)
+                                .scope(ScopeEnum.THREAD)
+                                .build());
+
+                // When
+                Object first = beanFactory.getBean("threadBean");
+                Object again = beanFactory.getBean("threadBean");
+                Object other;
+                try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+                        other = executor.submit(() -> beanFactory.getBean("threadBean")).get(5, TimeUnit.SECONDS);
+                }
+                ((ThreadScope) beanFactory.getRegisteredScope(ScopeEnum.THREAD.getScopeName()))
+                                .destroyCurrentThread();
+
+                // Then
+                assertSame(first, again);
+                assertNotSame(first, other);
+                assertNotSame(first, beanFactory.getBean("threadBean"),
+                                "Destroyed thread scope should create a new instance");
+        }
+
+        @Test
+        @DisplayName("Should get custom scoped beans from the registered scope")
+        void shouldUseRegisteredCustomScope() {
+                // Given
+                ThreadScope tenantScope = new ThreadScope();
+                beanFactory.registerScope("tenant", tenantScope);
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("tenantBean")
+                                .beanClass(TestBean.class)
+                                .scope(ScopeEnum.CUSTOM)
+                                .scopeName("tenant")
+                                .build());
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("unknownScopeBean")
+                                .beanClass(TestBean.class)
+                                .scope(ScopeEnum.CUSTOM)
+                                .scopeName("unknown")
+                                .build());
+
+                // When
+                Object tenantBean = beanFactory.getBean("tenantBean");
+
+                // Then
+                assertSame(tenantBean, beanFactory.getBean("tenantBean"));
+                assertSame(tenantScope, beanFactory.getRegisteredScope("tenant"));
+                assertThrows(BeansException.class, () -> beanFactory.getBean("unknownScopeBean"));
+                assertThrows(IllegalArgumentException.class,
+                                () -> beanFactory.registerScope(ScopeEnum.SINGLETON.getScopeName(), tenantScope));
+                assertThrows(IllegalArgumentException.class, () -> BeanDefinition.builder()
+                                .beanName("unnamedScopeBean")
+                                .beanClass(TestBean.class)
+                                .scope(ScopeEnum.CUSTOM)
+                                .build());
+        }
+        @Test
+        @DisplayName("Should lend pooled beans to the proxies injected into other beans")
+        void shouldLendPooledBeansToProxies() {
+                // Given
+                FieldValueList clientFields = new FieldValueList();
+                clientFields.add(new FieldValue("pooledBuffer", new BeanReference("pooledBuffer")));
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("pooledBuffer")
+                                .beanClass(PooledBuffer.class)
+                                .scope(ScopeEnum.POOLED)
+                                .build());
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("pooledBufferClient")
+                                .beanClass(PooledBufferClient.class)
+                                .fieldValueList(clientFields)
+                                .build());
+                int instances = PooledBuffer.INSTANCES.get();
+                int destroyed = PooledBuffer.DESTROYED.get();
+
+                // When
+                PooledBuffer buffer = ((PooledBufferClient) beanFactory.getBean("pooledBufferClient"))
+                                .getPooledBuffer();
+                String first = buffer.append("first");
+                String second = buffer.append("second");
+                Object borrowed = beanFactory.getBean("pooledBuffer");
+                beanFactory.releaseBean("pooledBuffer", borrowed);
+
+                // Then
+                assertNotSame(PooledBuffer.class, buffer.getClass(), "Pooled bean should be a proxy");
+                assertEquals("first", first);
+                assertEquals("second", second, "Every call should borrow a reset instance");
+                assertEquals(instances + 1, PooledBuffer.INSTANCES.get(), "Pool should reuse its instance");
+                beanFactory.destroySingletons();
+                assertEquals(destroyed + 1, PooledBuffer.DESTROYED.get());
+        }
+
+        @Test
+        @DisplayName("Should resolve the beans it doesn't define from the parent")
+        void shouldResolveBeansFromParent() throws NoSuchMethodException {
+                // Given
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("testBean")
+                                .beanClass(TestBean.class)
+                                .build());
+                DefaultListableBeanFactory childFactory = new DefaultListableBeanFactory(beanFactory);
+                childFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("constructorInjected")
+                                .beanClass(BeanWithConstructorInjection.class)
+                                .constructor(BeanWithConstructorInjection.class.getConstructor(TestBean.class))
+                                .build());
+
+                // When
+                childFactory.preInstantiateSingletons();
+
+                // Then
+                Object sharedBean = beanFactory.getBean("testBean");
+                assertSame(sharedBean, childFactory.getBean("testBean"), "Parent bean should be shared");
+                assertSame(sharedBean, ((BeanWithConstructorInjection) childFactory.getBean("constructorInjected"))
+                                .getTestBean(), "Parent bean should be injected by type");
+                assertFalse(childFactory.containsLocalBean("testBean"));
+                assertTrue(childFactory.containsBean("testBean"));
+                assertFalse(beanFactory.containsBean("constructorInjected"), "Parent should not see child beans");
+                assertSame(beanFactory, childFactory.getParentBeanFactory());
+        }
+
+        @Test
+        @DisplayName("Should prefer its own definitions over the parent's")
+        void shouldPreferLocalDefinitions() {
+                // Given
+                BeanDefinition beanDefinition = BeanDefinition.builder()
+                                .beanName("testBean")
+                                .beanClass(TestBean.class)
+                                .build();
+                beanFactory.registerBeanDefinition(beanDefinition);
+                DefaultListableBeanFactory childFactory = new DefaultListableBeanFactory(beanFactory);
+                childFactory.registerBeanDefinition(beanDefinition);
+
+                // When
+                Object childBean = childFactory.getBean("testBean");
+
+                // Then
+                assertNotSame(beanFactory.getBean("testBean"), childBean, "Child should create its own bean");
+                assertEquals(List.of("testBean"), childFactory.resolveBeanNamesOfType(TestBean.class));
+        }
+
+        @Test
+        @DisplayName("Should recreate only the changed beans and their dependents")
+        void shouldUpdateChangedBeansAndDependents() {
+                // Given
+                List<BeanDefinition> oldDefinitions = reloadDefinitions("hello");
+                oldDefinitions.forEach(beanFactory::registerBeanDefinition);
+                beanFactory.preInstantiateSingletons();
+                Object stable = beanFactory.getBean("stableService");
+                Object client = beanFactory.getBean("reloadClient");
+                int destroyed = ReloadableSettings.DESTROYED.get();
+
+                // When
+                Set<String> affected = beanFactory.updateBeanDefinitions(oldDefinitions, reloadDefinitions("bye"));
+                beanFactory.preInstantiateSingletons();
+
+                // Then
+                assertEquals(Set.of("reloadClient", "reloadableSettings"), affected);
+                assertEquals(destroyed + 1, ReloadableSettings.DESTROYED.get(), "Old settings should be destroyed");
+                assertSame(stable, beanFactory.getBean("stableService"), "Unchanged bean should be kept");
+                ReloadClient newClient = (ReloadClient) beanFactory.getBean("reloadClient");
+                assertNotSame(client, newClient, "Dependent should be recreated");
+                assertEquals("bye tiny", newClient.greet("tiny"));
+        }
+
+        @Test
+        @DisplayName("Should find the beans an update would recreate without changing them")
+        void shouldFindAffectedBeansWithoutUpdating() {
+                // Given
+                List<BeanDefinition> oldDefinitions = reloadDefinitions("hello");
+                oldDefinitions.forEach(beanFactory::registerBeanDefinition);
+                beanFactory.preInstantiateSingletons();
+                Object settings = beanFactory.getBean("reloadableSettings");
+                int destroyed = ReloadableSettings.DESTROYED.get();
+
+                // When
+                Set<String> affected = beanFactory.findAffectedBeans(oldDefinitions, reloadDefinitions("bye"));
+
+                // Then
+                assertEquals(Set.of("reloadClient", "reloadableSettings"), affected);
+                assertEquals(destroyed, ReloadableSettings.DESTROYED.get(), "Nothing should be destroyed");
+                assertSame(settings, beanFactory.getBean("reloadableSettings"));
+                assertEquals(affected, beanFactory.updateBeanDefinitions(oldDefinitions, reloadDefinitions("bye")));
+        }
+
+        @Test
+        @DisplayName("Should destroy the singleton of a removed definition")
+        void shouldRemoveBeanDefinition() {
+                // Given
+                reloadDefinitions("hello").forEach(beanFactory::registerBeanDefinition);
+                beanFactory.preInstantiateSingletons();
+                int destroyed = ReloadableSettings.DESTROYED.get();
+
+                // When
+                BeanDefinition removed = beanFactory.removeBeanDefinition("reloadableSettings");
+
+                // Then
+                assertEquals("reloadableSettings", removed.beanName());
+                assertEquals(destroyed + 1, ReloadableSettings.DESTROYED.get());
+                assertNull(beanFactory.getBean("reloadableSettings"));
+                assertTrue(beanFactory.getBeanNamesOfType(ReloadableSettings.class).isEmpty());
+                assertNull(beanFactory.removeBeanDefinition("reloadableSettings"));
+        }
+
+        @Test
+        @DisplayName("Should destroy dependents before their dependencies")
+        void shouldDestroyInReverseDependencyOrder() {
+                // Given
+                FieldValueList repositoryFields = new FieldValueList();
+                repositoryFields.add(new FieldValue("pool", new BeanReference("connectionPool")));
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("repository")
+                                .beanClass(Repository.class)
+                                .fieldValueList(repositoryFields)
+                                .build());
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("connectionPool")
+                                .beanClass(ConnectionPool.class)
+                                .build());
+                beanFactory.preInstantiateSingletons();
+                ConnectionPool.DESTROYED.clear();
+
+                // When
+                beanFactory.destroySingletons();
+
+                // Then
+                assertEquals(List.of("repository", "connectionPool"), ConnectionPool.DESTROYED);
+                assertEquals(Set.of("repository", "connectionPool"), beanFactory.getDestructionTimes().keySet());
+        }
+
+        @Test
+        @DisplayName("Should destroy the dependents of a cycle before the cycle")
+        void shouldDestroyDependentsOfCycleFirst() {
+                // Given
+                registerChannel("client", "left");
+                registerChannel("left", "right");
+                registerChannel("right", "left");
+                beanFactory.preInstantiateSingletons();
+                ConnectionPool.DESTROYED.clear();
+
+                // When
+                beanFactory.destroySingletons();
+
+                // Then
+                assertEquals(3, ConnectionPool.DESTROYED.size());
+                assertEquals("client", ConnectionPool.DESTROYED.get(0), "Dependent should go first");
+                assertEquals(Set.of("left", "right"), Set.copyOf(ConnectionPool.DESTROYED.subList(1, 3)));
+        }
+
+        @Test
+        @DisplayName("Should cache the provided singleton until beans are registered")
+        void shouldProvideBeansLazily() {
+                // Given
+                ObjectProvider<Handler> provider = beanFactory.getBeanProvider(Handler.class);
+                List<Handler> consumed = new ArrayList<>();
+                provider.ifAvailable(consumed::add);
+                assertNull(provider.getIfAvailable());
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("firstHandler")
+                                .beanClass(FirstHandler.class)
+                                .build());
+
+                // When
+                Handler first = provider.getObject();
+                Handler cached = provider.getObject();
+                provider.ifAvailable(consumed::add);
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("secondHandler")
+                                .beanClass(SecondHandler.class)
+                                .build());
+
+                // Then
+                assertSame(beanFactory.getBean("firstHandler"), first);
+                assertSame(first, cached);
+                assertEquals(List.of(first), consumed);
+                assertThrows(BeansException.class, provider::getObject);
+                List<Handler> handlers = new ArrayList<>();
+                provider.forEach(handlers::add);
+                assertEquals(2, handlers.size());
+                assertSame(first, handlers.get(0));
+        }
+
+        @Test
+        @DisplayName("Should inject a provider into a field planned with a provider reference")
+        void shouldInjectProviderReference() {
+                // Given
+                FieldValueList dispatcherFields = new FieldValueList();
+                dispatcherFields.add(new FieldValue("tasks", new ProviderReference(Task.class, null)));
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("dispatcher")
+                                .beanClass(Dispatcher.class)
+                                .fieldValueList(dispatcherFields)
+                                .build());
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("task")
+                                .beanClass(Task.class)
+                                .scope(ScopeEnum.PROTOTYPE)
+                                .build());
+
+                // When
+                Dispatcher dispatcher = (Dispatcher) beanFactory.getBean("dispatcher");
+
+                // Then
+                Task task = dispatcher.getTasks().getObject();
+                assertNotNull(task);
+                assertNotSame(task, dispatcher.getTasks().getObject());
+                assertTrue(beanFactory.getDependencyGraph().getDependencies("dispatcher").isEmpty(),
+                                "A provider should not make the bean depend on the provided beans");
+        }
+
+        @Test
+        @DisplayName("Should create a provided prototype from its definition until it is redefined")
+        void shouldCreateProvidedPrototype() {
+                // Given
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("task")
+                                .beanClass(Task.class)
+                                .scope(ScopeEnum.PROTOTYPE)
+                                .build());
+                ObjectProvider<Task> provider = beanFactory.getBeanProvider(Task.class);
+
+                // When
+                Task first = provider.getObject();
+                Task second = provider.getObject();
+                Task streamed = provider.stream().findFirst().orElseThrow();
+
+                // Then
+                assertNotSame(first, second);
+                assertNotSame(second, streamed);
+
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("task")
+                                .beanClass(Task.class)
+                                .build());
+                Task singleton = provider.getObject();
+                assertSame(singleton, provider.getObject(), "A redefined singleton should not be created again");
+                assertSame(beanFactory.getBean("task"), singleton);
+        }
+
+        @Test
+        @DisplayName("Should get the unique bean of a type until registrations make it ambiguous")
+        void shouldGetBeanByType() {
+                // Given
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("firstHandler")
+                                .beanClass(FirstHandler.class)
+                                .build());
+
+                // When
+                Handler handler = beanFactory.getBean(Handler.class);
+
+                // Then
+                assertSame(beanFactory.getBean("firstHandler"), handler);
+                assertSame(handler, beanFactory.getBean(Handler.class));
+                assertSame(beanFactory.getBeanProvider(Handler.class), beanFactory.getBeanProvider(Handler.class));
+                assertThrows(NoSuchBeanException.class, () -> beanFactory.getBean(Task.class));
+                assertThrows(BeansException.class, () -> beanFactory.getBean("firstHandler", Task.class));
+
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("secondHandler")
+                                .beanClass(SecondHandler.class)
+                                .build());
+                assertThrows(BeansException.class, () -> beanFactory.getBean(Handler.class));
+                assertSame(handler, beanFactory.getBean(FirstHandler.class));
+        }
+
+        @Test
+        @DisplayName("Should prefer the bean of exactly the required class")
+        void shouldPreferExactClassByType() {
+                // Given
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("testBean")
+                                .beanClass(TestBean.class)
+                                .build());
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("subTestBean")
+                                .beanClass(SubTestBean.class)
+                                .build());
+
+                // When
+                TestBean testBean = beanFactory.getBean(TestBean.class);
+
+                // Then
+                assertSame(beanFactory.getBean("testBean"), testBean);
+                assertEquals(2, beanFactory.getBeanProvider(TestBean.class).stream().count());
+        }
+
+        @Test
+        @DisplayName("Should resolve constructor arguments by generic type")
+        void shouldResolveCandidatesByGenericType() {
+                // Given
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("userRepository")
+                                .beanClass(UserRepository.class)
+                                .build());
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("orderRepository")
+                                .beanClass(OrderRepository.class)
+                                .build());
+                Constructor<?> constructor = AccountService.class.getConstructors()[0];
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName("accountService")
+                                .beanClass(AccountService.class)
+                                .constructor(constructor)
+                                .build());
+
+                // When
+                AccountService accountService = beanFactory.getBean("accountService", AccountService.class);
+
+                // Then
+                assertEquals(List.of("orderRepository"), beanFactory.resolveAutowireCandidates(
+                                constructor.getGenericParameterTypes()[0]));
+                assertEquals(2, beanFactory.resolveAutowireCandidates(constructor.getParameterTypes()[0]).size());
+                assertSame(beanFactory.getBean("orderRepository"), accountService.getOrderRepository());
+        }
+
+        private static List<BeanDefinition> reloadDefinitions(String greeting) {
+                FieldValueList settingsFields = new FieldValueList();
+                settingsFields.add(new FieldValue("greeting", greeting));
+                FieldValueList clientFields = new FieldValueList();
+                clientFields.add(new FieldValue("settings", new BeanReference("reloadableSettings")));
+                return List.of(
+                                BeanDefinition.builder()
+                                                .beanName("reloadableSettings")
+                                                .beanClass(ReloadableSettings.class)
+                                                .fieldValueList(settingsFields)
+                                                .build(),
+                                BeanDefinition.builder()
+                                                .beanName("reloadClient")
+                                                .beanClass(ReloadClient.class)
+                                                .fieldValueList(clientFields)
+                                                .build(),
+                                BeanDefinition.builder()
+                                                .beanName("stableService")
+                                                .beanClass(StableService.class)
+                                                .build());
+        }
+
+        private void registerChannel(String beanName, String peerName) {
+                FieldValueList channelFields = new FieldValueList();
+                channelFields.add(new FieldValue("name", beanName));
+                channelFields.add(new FieldValue("peer", new BeanReference(peerName)));
+                beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                                .beanName(beanName)
+                                .beanClass(Channel.class)
+                                .fieldValueList(channelFields)
+                                .build());
+        }
 }
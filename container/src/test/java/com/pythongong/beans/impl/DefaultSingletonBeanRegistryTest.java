@@ -18,9 +18,24 @@ package com.pythongong.beans.impl;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import com.pythongong.beans.config.DisposableBean;
+import com.pythongong.context.startup.ApplicationStartup;
+import com.pythongong.exception.BeansException;
 
 /**
  * Test class for DefaultSingletonBeanRegistry
@@ -77,4 +92,188 @@ public class DefaultSingletonBeanRegistryTest {
         assertThrows(IllegalArgumentException.class, () -> registry.registerDisposableBean("test", null));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testConcurrentGetSingletonCreatesOnce() throws Exception {
+        int threads = 64;
+        AtomicInteger creations = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return registry.getSingleton("slowBean", () -> {
+                        creations.incrementAndGet();
+                        sleep(50);
+                        return new Object();
+                    });
+                }));
+            }
+            start.countDown();
+
+            Object first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Object> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, creations.get());
+        assertNotNull(registry.getSingleton("slowBean"));
+    }
+
+    @Test
+    void testFailedCreationPropagatesToWaitersAndAllowsRetry() throws Exception {
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return registry.getSingleton("failingBean", () -> {
+                        sleep(50);
+                        throw new BeansException("creation failed");
+                    });
+                }));
+            }
+            start.countDown();
+
+            for (Future<Object> result : results) {
+                ExecutionException e = assertThrows(ExecutionException.class,
+                        () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(BeansException.class, e.getCause());
+            }
+        }
+        assertNull(registry.getSingleton("failingBean"));
+
+        Object bean = new Object();
+        assertSame(bean, registry.getSingleton("failingBean", () -> bean));
+    }
+
+    @Test
+    void testReentrantGetSingletonReturnsEarlyReference() {
+        Object early = new Object();
+        Object[] seen = new Object[1];
+
+        Object singleton = registry.getSingleton("cyclicBean", () -> {
+            registry.registerEarlySingleton("cyclicBean", early);
+            seen[0] = registry.getSingleton("cyclicBean", Object::new);
+            return early;
+        });
+
+        assertSame(early, seen[0]);
+        assertSame(early, singleton);
+        assertNull(registry.getEarlySingleton("cyclicBean"));
+    }
+
+    @Test
+    void testReentrantGetSingletonWithoutEarlyReferenceThrows() {
+        assertThrows(BeansException.class, () -> registry.getSingleton("cyclicBean",
+                () -> registry.getSingleton("cyclicBean", Object::new)));
+        assertNull(registry.getSingleton("cyclicBean"));
+    }
+
+    @Test
+    void testCrossThreadCycleDoesNotDeadlock() throws Exception {
+        Object earlyA = new Object();
+        Object earlyB = new Object();
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<Object> a = executor.submit(() -> registry.getSingleton("a", () -> {
+                registry.registerEarlySingleton("a", earlyA);
+                countDownAndAwait(bothStarted);
+                registry.getSingleton("b", Object::new);
+                return earlyA;
+            }));
+            Future<Object> b = executor.submit(() -> registry.getSingleton("b", () -> {
+                registry.registerEarlySingleton("b", earlyB);
+                countDownAndAwait(bothStarted);
+                registry.getSingleton("a", Object::new);
+                return earlyB;
+            }));
+
+            assertSame(earlyA, a.get(5, TimeUnit.SECONDS));
+            assertSame(earlyB, b.get(5, TimeUnit.SECONDS));
+        }
+        assertSame(earlyA, registry.getSingleton("a"));
+        assertSame(earlyB, registry.getSingleton("b"));
+    }
+
+    @Test
+    void testDestroySingletonsInReverseRegistrationOrder() {
+        List<String> destroyed = Collections.synchronizedList(new ArrayList<>());
+        registry.registerDisposableBean("dependency", () -> destroyed.add("dependency"));
+        registry.registerDisposableBean("dependent", () -> destroyed.add("dependent"));
+
+        registry.destroySingletons();
+
+        assertEquals(List.of("dependent", "dependency"), destroyed);
+        assertEquals(2, registry.getDestructionTimes().size());
+    }
+
+    @Test
+    void testDestroySingletonsByLayersConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        List<String> destroyed = Collections.synchronizedList(new ArrayList<>());
+        registry.registerDisposableBean("dependency", () -> destroyed.add("dependency"));
+        registry.registerDisposableBean("left", () -> {
+            countDownAndAwait(bothStarted);
+            destroyed.add("left");
+        });
+        registry.registerDisposableBean("right", () -> {
+            countDownAndAwait(bothStarted);
+            destroyed.add("right");
+        });
+
+        registry.destroySingletons(List.of(List.of("left", "right"), List.of("dependency")),
+                ApplicationStartup.DEFAULT);
+
+        assertEquals(3, destroyed.size());
+        assertEquals("dependency", destroyed.get(2));
+    }
+
+    @Test
+    void testDestroySingletonsCollectsFailuresAndTimeouts() {
+        AtomicInteger destroyed = new AtomicInteger();
+        registry.setDestroyTimeout(Duration.ofMillis(100));
+        registry.registerDisposableBean("failing", () -> {
+            throw new IllegalStateException("destroy failed");
+        });
+        registry.registerDisposableBean("hanging", () -> Thread.sleep(10_000));
+        registry.registerDisposableBean("healthy", destroyed::incrementAndGet);
+
+        long start = System.nanoTime();
+        BeansException e = assertThrows(BeansException.class, () -> registry.destroySingletons());
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "Hanging bean should be abandoned");
+        assertEquals(1, destroyed.get());
+        assertEquals(2, e.getSuppressed().length);
+        assertInstanceOf(IllegalStateException.class, e.getSuppressed()[1].getCause());
+        assertFalse(registry.getDestructionTimes().get("hanging").compareTo(Duration.ofMillis(100)) < 0);
+    }
+
+    @Test
+    void testSetNegativeDestroyTimeoutThrows() {
+        assertThrows(IllegalArgumentException.class, () -> registry.setDestroyTimeout(Duration.ofMillis(-1)));
+    }
+
+    private static void countDownAndAwait(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
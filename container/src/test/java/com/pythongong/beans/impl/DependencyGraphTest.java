@@ -0,0 +1,441 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pythongong.beans.config.BeanDefinition;
+import com.pythongong.beans.config.BeanReference;
+import com.pythongong.beans.config.CollectionReference;
+import com.pythongong.beans.config.FactoryDefinition;
+import com.pythongong.beans.config.FieldValue;
+import com.pythongong.beans.config.FieldValueList;
+import com.pythongong.exception.BeansException;
+import com.pythongong.exception.NoSuchBeanException;
+import com.pythongong.test.ioc.collection.Codec;
+import com.pythongong.test.ioc.collection.CodecRegistry;
+import com.pythongong.test.ioc.collection.JsonCodec;
+import com.pythongong.test.ioc.collection.XmlCodec;
+import com.pythongong.test.ioc.concurrent.SlowBean;
+import com.pythongong.test.ioc.generic.OrderRepository;
+import com.pythongong.test.ioc.generic.Repository;
+import com.pythongong.test.ioc.generic.UserDirectory;
+import com.pythongong.test.ioc.generic.UserRepository;
+import com.pythongong.test.ioc.normal.BeanWithConstructorInjection;
+import com.pythongong.test.ioc.normal.BeanWithMethodInjection;
+import com.pythongong.test.ioc.normal.TestBean;
+import com.pythongong.test.ioc.normal.TestComponent;
+
+/**
+ * Unit tests for {@link DependencyGraph}.
+ *
+ * @author Cheng Gong
+ */
+class DependencyGraphTest {
+
+    private DefaultListableBeanFactory beanFactory;
+
+    @BeforeEach
+    void setUp() {
+        beanFactory = new DefaultListableBeanFactory();
+    }
+
+    @Test
+    @DisplayName("Should derive edges from constructors, methods and factory definitions")
+    void shouldDeriveEdgesFromDefinitions() throws NoSuchMethodException {
+        // Given
+        register(BeanDefinition.builder()
+                .beanName("testBean")
+                .beanClass(TestBean.class)
+                .build());
+        register(BeanDefinition.builder()
+                .beanName("constructorInjected")
+                .beanClass(BeanWithConstructorInjection.class)
+                .constructor(BeanWithConstructorInjection.class.getConstructor(TestBean.class))
+                .build());
+        register(BeanDefinition.builder()
+                .beanName("methodInjected")
+                .beanClass(BeanWithMethodInjection.class)
+                .build());
+        register(BeanDefinition.builder()
+                .beanName("produced")
+                .beanClass(TestComponent.class)
+                .factoryDefinition(new FactoryDefinition("methodInjected", "getTestBean", new Class<?>[0]))
+                .build());
+
+        // When
+        DependencyGraph graph = buildGraph();
+
+        // Then
+        assertEquals(Set.of("testBean"), graph.getDependencies("constructorInjected"));
+        assertEquals(Set.of("testBean"), graph.getDependencies("methodInjected"));
+        assertEquals(Set.of("methodInjected"), graph.getDependencies("produced"));
+        assertEquals(Set.of("constructorInjected", "methodInjected"), graph.getDependents("testBean"));
+        assertEquals(List.of(List.of("testBean"), List.of("constructorInjected", "methodInjected"),
+                List.of("produced")), graph.getCreationLayers());
+    }
+
+    @Test
+    @DisplayName("Should order a cycle as one layer ahead of its dependents")
+    void shouldOrderCycleAheadOfDependents() {
+        // Given
+        register(referencing("b", "a"));
+        register(referencing("a", "b"));
+        register(referencing("c", "a"));
+        register(BeanDefinition.builder()
+                .beanName("d")
+                .beanClass(TestBean.class)
+                .build());
+
+        // When
+        List<List<String>> layers = buildGraph().getCreationLayers();
+
+        // Then
+        assertEquals(List.of(List.of("d"), List.of("a", "b"), List.of("c")), layers);
+    }
+
+    @Test
+    @DisplayName("Should order the dependencies of a cycle before it and its dependents after it")
+    void shouldOrderBeansAroundCycle() {
+        // Given
+        register(referencing("a", "x"));
+        register(referencing("x", "y"));
+        register(referencing("y", "x"));
+        register(referencing("b", "a"));
+        register(BeanDefinition.builder()
+                .beanName("d")
+                .beanClass(TestBean.class)
+                .build());
+
+        // When
+        DependencyGraph graph = buildGraph();
+
+        // Then
+        assertEquals(List.of(List.of("x", "y")), graph.getCycles());
+        assertEquals(List.of(List.of("d"), List.of("x", "y"), List.of("a"), List.of("b")),
+                graph.getCreationLayers());
+        assertEquals(List.of("d", "x", "y", "a", "b"), graph.getCreationOrder());
+    }
+
+    @Test
+    @DisplayName("Should create every bean in parallel mode")
+    void shouldPreInstantiateInParallel() throws NoSuchMethodException {
+        // Given
+        register(BeanDefinition.builder()
+                .beanName("testBean")
+                .beanClass(TestBean.class)
+                .build());
+        register(BeanDefinition.builder()
+                .beanName("constructorInjected")
+                .beanClass(BeanWithConstructorInjection.class)
+                .constructor(BeanWithConstructorInjection.class.getConstructor(TestBean.class))
+                .build());
+        register(BeanDefinition.builder()
+                .beanName("methodInjected")
+                .beanClass(BeanWithMethodInjection.class)
+                .build());
+        beanFactory.setParallelPreInstantiation(true);
+
+        // When
+        beanFactory.preInstantiateSingletons();
+
+        // Then
+        Object testBean = beanFactory.getSingleton("testBean");
+        assertNotNull(testBean);
+        assertSame(testBean, ((BeanWithConstructorInjection) beanFactory.getSingleton("constructorInjected"))
+                .getTestBean());
+        assertSame(testBean, ((BeanWithMethodInjection) beanFactory.getSingleton("methodInjected")).getTestBean());
+    }
+
+    @Test
+    @DisplayName("Should create each bean once while parallel mode races with lookups")
+    void shouldCreateOnceInParallelMode() throws Exception {
+        // Given
+        register(BeanDefinition.builder()
+                .beanName("slowBean")
+                .beanClass(SlowBean.class)
+                .build());
+        register(BeanDefinition.builder()
+                .beanName("a")
+                .beanClass(TestBean.class)
+                .build());
+        register(BeanDefinition.builder()
+                .beanName("b")
+                .beanClass(TestBean.class)
+                .build());
+        beanFactory.setParallelPreInstantiation(true);
+        int instances = SlowBean.INSTANCES.get();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Object>> lookups = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                lookups.add(executor.submit(() -> {
+                    start.await();
+                    return beanFactory.getBean("slowBean");
+                }));
+            }
+            start.countDown();
+            beanFactory.preInstantiateSingletons();
+
+            // Then
+            for (Future<Object> lookup : lookups) {
+                assertSame(beanFactory.getSingleton("slowBean"), lookup.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(instances + 1, SlowBean.INSTANCES.get());
+    }
+
+    @Test
+    @DisplayName("Should walk dependency chains far deeper than the thread stack")
+    void shouldWalkDeepChains() {
+        // Given
+        int depth = 100_000;
+        List<BeanDefinition> chain = new ArrayList<>(depth);
+        for (int i = 0; i < depth; i++) {
+            chain.add(referencing("bean" + i, "bean" + ((i + 1) % depth)));
+        }
+        List<BeanDefinition> acyclicChain = new ArrayList<>(chain.subList(0, depth - 1));
+        acyclicChain.add(BeanDefinition.builder()
+                .beanName("bean" + (depth - 1))
+                .beanClass(TestBean.class)
+                .build());
+
+        // When
+        List<List<String>> cycles = DependencyGraph.build(chain, type -> List.of()).getCycles();
+        DependencyGraph acyclicGraph = DependencyGraph.build(acyclicChain, type -> List.of());
+
+        // Then
+        assertEquals(1, cycles.size());
+        assertEquals(depth, cycles.get(0).size());
+        assertTrue(acyclicGraph.getCycles().isEmpty());
+        assertEquals(depth, acyclicGraph.getCreationLayers().size());
+    }
+
+    @Test
+    @DisplayName("Should report cycles and the cycles early references can't break")
+    void shouldReportCycles() {
+        // Given
+        register(referencing("a", "b"));
+        register(referencing("b", "a"));
+        register(producedBy("x", "y"));
+        register(producedBy("y", "x"));
+        register(referencing("c", "a"));
+
+        // When
+        DependencyGraph graph = buildGraph();
+
+        // Then
+        assertEquals(List.of(List.of("a", "b"), List.of("x", "y")), graph.getCycles());
+        assertEquals(List.of(List.of("x", "y")), graph.getUnresolvableCycles());
+    }
+
+    @Test
+    @DisplayName("Should report references and types without a matching bean")
+    void shouldReportMissingDependencies() throws NoSuchMethodException {
+        // Given
+        register(referencing("a", "ghost"));
+        register(BeanDefinition.builder()
+                .beanName("constructorInjected")
+                .beanClass(BeanWithConstructorInjection.class)
+                .constructor(BeanWithConstructorInjection.class.getConstructor(TestBean.class))
+                .build());
+
+        // When
+        DependencyGraph graph = buildGraph();
+
+        // Then
+        assertEquals(Map.of("a", Set.of("ghost"), "constructorInjected", Set.of(TestBean.class.getName())),
+                graph.getMissingDependencies());
+    }
+
+    @Test
+    @DisplayName("Should find the most expensive chain of dependencies")
+    void shouldFindCriticalPath() throws NoSuchMethodException {
+        // Given
+        register(BeanDefinition.builder()
+                .beanName("testBean")
+                .beanClass(TestBean.class)
+                .build());
+        register(BeanDefinition.builder()
+                .beanName("constructorInjected")
+                .beanClass(BeanWithConstructorInjection.class)
+                .constructor(BeanWithConstructorInjection.class.getConstructor(TestBean.class))
+                .build());
+        register(BeanDefinition.builder()
+                .beanName("methodInjected")
+                .beanClass(BeanWithMethodInjection.class)
+                .build());
+        register(producedBy("produced", "methodInjected"));
+        Map<String, Long> costs = Map.of("testBean", 5L, "constructorInjected", 4L, "methodInjected", 3L,
+                "produced", 2L);
+
+        // When
+        DependencyGraph graph = buildGraph();
+
+        // Then
+        assertEquals(List.of("testBean", "methodInjected", "produced"), graph.getCriticalPath(costs::get));
+        assertEquals(List.of("testBean", "constructorInjected", "methodInjected", "produced"),
+                graph.getCreationOrder());
+    }
+
+    @Test
+    @DisplayName("Should fail before creating any bean when a dependency is missing")
+    void shouldFailFastOnMissingDependency() {
+        // Given
+        register(BeanDefinition.builder()
+                .beanName("testBean")
+                .beanClass(TestBean.class)
+                .build());
+        register(referencing("a", "ghost"));
+
+        // When
+        NoSuchBeanException exception = assertThrows(NoSuchBeanException.class,
+                () -> beanFactory.preInstantiateSingletons());
+
+        // Then
+        assertTrue(exception.getMessage().contains("ghost"));
+        assertNull(beanFactory.getSingleton("testBean"), "No bean should be created");
+    }
+
+    @Test
+    @DisplayName("Should fail before creating any bean on a constructor cycle")
+    void shouldFailFastOnUnresolvableCycle() {
+        // Given
+        register(BeanDefinition.builder()
+                .beanName("testBean")
+                .beanClass(TestBean.class)
+                .build());
+        register(producedBy("x", "y"));
+        register(producedBy("y", "x"));
+
+        // When
+        BeansException exception = assertThrows(BeansException.class,
+                () -> beanFactory.preInstantiateSingletons());
+
+        // Then
+        assertTrue(exception.getMessage().contains("x, y"));
+        assertNull(beanFactory.getSingleton("testBean"), "No bean should be created");
+    }
+
+    @Test
+    @DisplayName("Should make collection injections depend on every bean of the element type")
+    void shouldDeriveEdgesFromCollections() throws NoSuchMethodException {
+        // Given
+        register(BeanDefinition.builder()
+                .beanName("xmlCodec")
+                .beanClass(XmlCodec.class)
+                .build());
+        register(BeanDefinition.builder()
+                .beanName("jsonCodec")
+                .beanClass(JsonCodec.class)
+                .build());
+        FieldValueList fieldValueList = new FieldValueList();
+        fieldValueList.add(new FieldValue("codecs", new CollectionReference(List.class, Codec.class)));
+        register(BeanDefinition.builder()
+                .beanName("codecRegistry")
+                .beanClass(CodecRegistry.class)
+                .constructor(CodecRegistry.class.getConstructor(Set.class))
+                .fieldValueList(fieldValueList)
+                .build());
+
+        // When
+        DependencyGraph graph = DependencyGraph.build(List.of("xmlCodec", "jsonCodec", "codecRegistry").stream()
+                .map(beanFactory::getBeanDefinition)
+                .toList(), beanFactory::resolveAutowireCandidates);
+
+        // Then
+        assertEquals(Set.of("jsonCodec", "xmlCodec"), graph.getDependencies("codecRegistry"));
+        assertTrue(graph.getMissingDependencies().isEmpty());
+        assertEquals(List.of(List.of("jsonCodec", "xmlCodec"), List.of("codecRegistry")), graph.getCreationLayers());
+    }
+
+    @Test
+    @DisplayName("Should make collection injections depend only on the beans of the declared element type")
+    void shouldDeriveEdgesFromGenericCollections() {
+        // Given
+        register(BeanDefinition.builder()
+                .beanName("userRepository")
+                .beanClass(UserRepository.class)
+                .build());
+        register(BeanDefinition.builder()
+                .beanName("orderRepository")
+                .beanClass(OrderRepository.class)
+                .build());
+        FieldValueList fieldValueList = new FieldValueList();
+        fieldValueList.add(new FieldValue("userRepositories", new CollectionReference(List.class, Repository.class)));
+        register(BeanDefinition.builder()
+                .beanName("userDirectory")
+                .beanClass(UserDirectory.class)
+                .fieldValueList(fieldValueList)
+                .build());
+
+        // When
+        DependencyGraph graph = DependencyGraph.build(List.of("userRepository", "orderRepository", "userDirectory")
+                .stream()
+                .map(beanFactory::getBeanDefinition)
+                .toList(), beanFactory::resolveAutowireCandidates);
+
+        // Then
+        assertEquals(Set.of("userRepository"), graph.getDependencies("userDirectory"));
+        assertTrue(graph.getDependents("orderRepository").isEmpty());
+    }
+
+    private void register(BeanDefinition beanDefinition) {
+        beanFactory.registerBeanDefinition(beanDefinition);
+    }
+
+    private DependencyGraph buildGraph() {
+        return DependencyGraph.build(List.of("testBean", "constructorInjected", "methodInjected", "produced",
+                "a", "b", "c", "d", "x", "y").stream()
+                .map(beanFactory::getBeanDefinition)
+                .filter(beanDefinition -> beanDefinition != null)
+                .toList(), beanFactory::resolveAutowireCandidates);
+    }
+
+    private static BeanDefinition producedBy(String beanName, String factoryName) {
+        return BeanDefinition.builder()
+                .beanName(beanName)
+                .beanClass(TestComponent.class)
+                .factoryDefinition(new FactoryDefinition(factoryName, "create", new Class<?>[0]))
+                .build();
+    }
+
+    private static BeanDefinition referencing(String beanName, String referencedName) {
+        FieldValueList fieldValueList = new FieldValueList();
+        fieldValueList.add(new FieldValue("reference", new BeanReference(referencedName)));
+        return BeanDefinition.builder()
+                .beanName(beanName)
+                .beanClass(TestComponent.class)
+                .fieldValueList(fieldValueList)
+                .build();
+    }
+}
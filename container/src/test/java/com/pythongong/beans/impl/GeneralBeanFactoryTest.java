@@ -26,6 +26,7 @@ import org.junit.jupiter.api.Test;
 
 import com.pythongong.beans.config.BeanDefinition;
 import com.pythongong.beans.registry.SingletonBeanRegistry;
+import com.pythongong.exception.BeansException;
 
 /**
  * Test class for GeneralBeanFactory.
@@ -123,4 +124,16 @@ class GeneralBeanFactoryTest {
         String actualBean = beanFactory.getBean(beanName, String.class);
         assertEquals(expectedBean, actualBean);
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests bean retrieval with a type the bean doesn't match.
+     */
+    @Test
+    void whenGetBeanWithWrongType_thenThrowException() {
+        String beanName = "testBean";
+
+        when(singletonRegistry.getSingleton(beanName)).thenReturn("test");
+
+        assertThrows(BeansException.class, () -> beanFactory.getBean(beanName, Integer.class));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pythongong.beans.config.BeanDefinition;
+import com.pythongong.beans.config.BeanReference;
+import com.pythongong.beans.config.FieldValue;
+import com.pythongong.beans.config.FieldValueList;
+import com.pythongong.beans.config.ProviderReference;
+import com.pythongong.enums.ScopeEnum;
+import com.pythongong.exception.BeansException;
+import com.pythongong.exception.NoSuchBeanException;
+import com.pythongong.test.ioc.normal.BeanWithMethodInjection;
+import com.pythongong.test.ioc.normal.BeanWithProperties;
+import com.pythongong.test.ioc.normal.TestBean;
+
+/**
+ * Unit tests for {@link InjectionPlan}.
+ *
+ * @author Cheng Gong
+ */
+class InjectionPlanTest {
+
+    /** Provider factory of plans that inject no provider */
+    private static final Function<ProviderReference, Object> NO_PROVIDERS = providerReference -> {
+        throw new AssertionError("No provider should be created");
+    };
+
+    @Test
+    @DisplayName("Should replay field values on every instance")
+    void shouldReplayFieldValues() {
+        // Given
+        FieldValueList fieldValueList = new FieldValueList();
+        fieldValueList.add(new FieldValue("testProperty", "value"));
+        InjectionPlan plan = InjectionPlan.build(BeanDefinition.builder()
+                .beanName("beanWithProperties")
+                .beanClass(BeanWithProperties.class)
+                .fieldValueList(fieldValueList)
+                .build(), type -> List.of(), NO_PROVIDERS);
+        BeanWithProperties first = new BeanWithProperties();
+        BeanWithProperties second = new BeanWithProperties();
+
+        // When
+        plan.inject(first, (beanName, type) -> {
+            throw new AssertionError("No bean should be resolved");
+        });
+        plan.inject(second, (beanName, type) -> {
+            throw new AssertionError("No bean should be resolved");
+        });
+
+        // Then
+        assertEquals("value", first.getTestProperty());
+        assertEquals("value", second.getTestProperty());
+    }
+
+    @Test
+    @DisplayName("Should resolve referenced and autowired beans with their injection types")
+    void shouldResolveBeansWithInjectionTypes() {
+        // Given
+        FieldValueList fieldValueList = new FieldValueList();
+        fieldValueList.add(new FieldValue("testBean", new BeanReference("testBean")));
+        InjectionPlan plan = InjectionPlan.build(BeanDefinition.builder()
+                .beanName("beanWithMethodInjection")
+                .beanClass(BeanWithMethodInjection.class)
+                .fieldValueList(fieldValueList)
+                .build(), type -> type == TestBean.class ? List.of("testBean") : List.of(), NO_PROVIDERS);
+        TestBean testBean = new TestBean();
+        Map<String, Class<?>> resolved = new HashMap<>();
+        BeanWithMethodInjection bean = new BeanWithMethodInjection();
+
+        // When
+        plan.inject(bean, (beanName, type) -> {
+            resolved.put(beanName, type);
+            return testBean;
+        });
+
+        // Then
+        assertSame(testBean, bean.getTestBean());
+        assertEquals(Map.of("testBean", TestBean.class), resolved);
+    }
+
+    @Test
+    @DisplayName("Should fail to plan missing fields and unresolvable inject methods")
+    void shouldFailToPlanInvalidInjections() {
+        // Given
+        FieldValueList fieldValueList = new FieldValueList();
+        fieldValueList.add(new FieldValue("missing", "value"));
+
+        // When/Then
+        assertThrows(BeansException.class, () -> InjectionPlan.build(BeanDefinition.builder()
+                .beanName("beanWithProperties")
+                .beanClass(BeanWithProperties.class)
+                .fieldValueList(fieldValueList)
+                .build(), type -> List.of(), NO_PROVIDERS));
+        assertThrows(NoSuchBeanException.class, () -> InjectionPlan.build(BeanDefinition.builder()
+                .beanName("beanWithMethodInjection")
+                .beanClass(BeanWithMethodInjection.class)
+                .build(), type -> List.of(), NO_PROVIDERS));
+        assertThrows(BeansException.class, () -> InjectionPlan.build(BeanDefinition.builder()
+                .beanName("beanWithMethodInjection")
+                .beanClass(BeanWithMethodInjection.class)
+                .build(), type -> List.of("a", "b"), NO_PROVIDERS));
+    }
+
+    @Test
+    @DisplayName("Should rebuild the plan when a definition is registered again")
+    void shouldRebuildPlanOnRegistration() {
+        // Given
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition(propertiesDefinition("first"));
+        BeanWithProperties first = (BeanWithProperties) beanFactory.getBean("beanWithProperties");
+
+        // When
+        beanFactory.registerBeanDefinition(propertiesDefinition("second"));
+        BeanWithProperties second = (BeanWithProperties) beanFactory.getBean("beanWithProperties");
+
+        // Then
+        assertEquals("first", first.getTestProperty());
+        assertEquals("second", second.getTestProperty());
+    }
+
+    private static BeanDefinition propertiesDefinition(String value) {
+        FieldValueList fieldValueList = new FieldValueList();
+        fieldValueList.add(new FieldValue("testProperty", value));
+        return BeanDefinition.builder()
+                .beanName("beanWithProperties")
+                .beanClass(BeanWithProperties.class)
+                .scope(ScopeEnum.PROTOTYPE)
+                .fieldValueList(fieldValueList)
+                .build();
+    }
+}
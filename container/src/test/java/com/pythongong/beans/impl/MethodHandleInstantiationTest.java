@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Constructor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pythongong.beans.config.BeanDefinition;
+import com.pythongong.enums.ScopeEnum;
+import com.pythongong.exception.BeansException;
+import com.pythongong.test.ioc.normal.TestBean;
+
+/**
+ * Unit tests for {@link MethodHandleInstantiation}.
+ * Tests the bean instantiation functionality using linked constructor handles.
+ *
+ * @author Cheng Gong
+ */
+class MethodHandleInstantiationTest {
+
+    /**
+     * The instantiation strategy being tested
+     */
+    private MethodHandleInstantiation instantiation;
+
+    @BeforeEach
+    void setUp() {
+        instantiation = new MethodHandleInstantiation();
+    }
+
+    @Test
+    @DisplayName("Should create new instances using default constructor")
+    void shouldCreateInstancesUsingDefaultConstructor() {
+        // When
+        Object first = instantiation.instance(TestBean.class, null, null);
+        Object second = instantiation.instance(TestBean.class, null, null);
+
+        // Then
+        assertTrue(first instanceof TestBean);
+        assertTrue(second instanceof TestBean);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should create instance using parameterized constructor")
+    void shouldCreateInstanceUsingParameterizedConstructor() throws Exception {
+        // Given
+        Constructor<TestBeanWithParam> constructor = TestBeanWithParam.class.getConstructor(String.class);
+
+        // When
+        Object first = instantiation.instance(TestBeanWithParam.class, constructor, new Object[] { "first" });
+        Object second = instantiation.instance(TestBeanWithParam.class, constructor, new Object[] { "second" });
+
+        // Then
+        assertEquals("first", ((TestBeanWithParam) first).getName());
+        assertEquals("second", ((TestBeanWithParam) second).getName());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when class is null")
+    void shouldThrowExceptionWhenClassIsNull() {
+        assertThrows(IllegalArgumentException.class, () -> instantiation.instance(null, null, null));
+    }
+
+    @Test
+    @DisplayName("Should throw exception when constructor is not accessible")
+    void shouldThrowExceptionWhenConstructorIsNotAccessible() {
+        assertThrows(BeansException.class,
+                () -> instantiation.instance(TestBeanWithPrivateConstructor.class, null, null));
+    }
+
+    @Test
+    @DisplayName("Should throw exception when constructor arguments don't match")
+    void shouldThrowExceptionWhenConstructorArgumentsDontMatch() throws Exception {
+        // Given
+        Constructor<TestBeanWithParam> constructor = TestBeanWithParam.class.getConstructor(String.class);
+
+        // When/Then
+        assertThrows(BeansException.class,
+                () -> instantiation.instance(TestBeanWithParam.class, constructor, new Object[] { 1 }));
+        assertThrows(BeansException.class,
+                () -> instantiation.instance(TestBeanWithParam.class, constructor, null));
+    }
+
+    @Test
+    @DisplayName("Should be usable as the bean factory's instantiation strategy")
+    void shouldCreateBeansThroughBeanFactory() {
+        // Given
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setInstantiationStrategy(instantiation);
+        beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                .beanName("prototypeBean")
+                .beanClass(TestBean.class)
+                .scope(ScopeEnum.PROTOTYPE)
+                .build());
+
+        // When
+        Object first = beanFactory.getBean("prototypeBean");
+        Object second = beanFactory.getBean("prototypeBean");
+
+        // Then
+        assertTrue(first instanceof TestBean);
+        assertNotSame(first, second);
+        assertThrows(IllegalArgumentException.class, () -> beanFactory.setInstantiationStrategy(null));
+    }
+}
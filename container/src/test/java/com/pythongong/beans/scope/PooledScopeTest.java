@@ -0,0 +1,159 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.scope;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pythongong.context.impl.PropertyResolver;
+import com.pythongong.test.ioc.scope.PooledBuffer;
+
+/**
+ * Unit tests for {@link PooledScope}.
+ *
+ * @author Cheng Gong
+ */
+@DisplayName("PooledScope Tests")
+class PooledScopeTest {
+
+    @Test
+    @DisplayName("Should reuse returned instances after resetting them")
+    void shouldReuseReturnedInstances() {
+        // Given
+        PooledScope scope = new PooledScope();
+        AtomicInteger created = new AtomicInteger();
+
+        // When
+        PooledBuffer first = (PooledBuffer) scope.get("buffer", 0, () -> {
+            created.incrementAndGet();
+            return new PooledBuffer();
+        });
+        first.append("dirty");
+        scope.release("buffer", 0, first);
+        PooledBuffer second = (PooledBuffer) scope.get("buffer", 0, PooledBuffer::new);
+
+        // Then
+        assertSame(first, second);
+        assertEquals("clean", second.append("clean"), "Returned instance should be reset");
+        PoolMetrics metrics = scope.getMetrics().get(0);
+        assertEquals("buffer", metrics.beanName());
+        assertEquals(PooledScope.DEFAULT_MAX_IDLE, metrics.maxIdle());
+        assertEquals(2, metrics.borrowed());
+        assertEquals(1, metrics.reused());
+        assertEquals(1, metrics.created());
+        assertEquals(0.5, metrics.hitRatio());
+    }
+
+    @Test
+    @DisplayName("Should destroy instances which don't fit in the pool or fail to reset")
+    void shouldDestroyDiscardedInstances() {
+        // Given
+        Properties properties = new Properties();
+        properties.setProperty("tiny-spring.pool.buffer.max-idle", "1");
+        PooledScope scope = new PooledScope(new PropertyResolver(properties));
+        int destroyed = PooledBuffer.DESTROYED.get();
+        PooledBuffer first = borrow(scope);
+        PooledBuffer second = borrow(scope);
+        PooledBuffer broken = borrow(scope);
+        broken.breakBuffer();
+
+        // When
+        scope.release("buffer", 0, first);
+        scope.release("buffer", 0, second);
+        scope.release("buffer", 0, broken);
+
+        // Then
+        PoolMetrics metrics = scope.getMetrics().get(0);
+        assertEquals(1, metrics.maxIdle());
+        assertEquals(1, metrics.idle());
+        assertEquals(3, metrics.returned());
+        assertEquals(2, metrics.discarded());
+        assertEquals(destroyed + 2, PooledBuffer.DESTROYED.get());
+
+        scope.destroy();
+        assertEquals(destroyed + 3, PooledBuffer.DESTROYED.get(), "Idle instances should be destroyed");
+        assertEquals(0, scope.getMetrics().get(0).idle());
+    }
+
+    @Test
+    @DisplayName("Should read the default pool size from the property resolver")
+    void shouldReadDefaultPoolSize() {
+        // Given
+        Properties properties = new Properties();
+        properties.setProperty(PooledScope.MAX_IDLE_PROPERTY, "3");
+        PooledScope scope = new PooledScope(new PropertyResolver(properties));
+
+        // When
+        scope.release("parser", 2, scope.get("parser", 2, Object::new));
+
+        // Then
+        assertEquals(3, scope.getMetrics().get(0).maxIdle());
+        assertThrows(IllegalArgumentException.class, () -> scope.get("parser", -1, Object::new));
+    }
+
+    @Test
+    @DisplayName("Should never lend one instance to two threads")
+    void shouldLendInstancesExclusively() throws Exception {
+        // Given
+        PooledScope scope = new PooledScope();
+        int threads = 16;
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    for (int round = 0; round < 500; round++) {
+                        AtomicInteger owner = (AtomicInteger) scope.get("counter", 0, AtomicInteger::new);
+                        if (owner.incrementAndGet() != 1) {
+                            return false;
+                        }
+                        owner.decrementAndGet();
+                        scope.release("counter", 0, owner);
+                    }
+                    return true;
+                }));
+            }
+
+            // Then
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(10, TimeUnit.SECONDS));
+            }
+        }
+        PoolMetrics metrics = scope.getMetrics().get(0);
+        assertEquals(threads * 500L, metrics.borrowed());
+        assertTrue(metrics.created() <= threads + metrics.discarded());
+    }
+
+    private PooledBuffer borrow(PooledScope scope) {
+        return (PooledBuffer) scope.get("buffer", 0, () -> {
+            PooledBuffer buffer = new PooledBuffer();
+            scope.registerDestructionCallback("buffer", 0, buffer, buffer);
+            return buffer;
+        });
+    }
+}
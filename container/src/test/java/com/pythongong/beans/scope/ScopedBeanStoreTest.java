@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.beans.scope;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pythongong.exception.BeansException;
+
+/**
+ * Unit tests for {@link ScopedBeanStore}.
+ *
+ * @author Cheng Gong
+ */
+@DisplayName("ScopedBeanStore Tests")
+class ScopedBeanStoreTest {
+
+    private ScopedBeanStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ScopedBeanStore();
+    }
+
+    @Test
+    @DisplayName("Should create an instance once per ordinal")
+    void shouldCreateInstanceOncePerOrdinal() {
+        // When
+        Object first = store.computeIfAbsent(3, Object::new);
+        Object again = store.computeIfAbsent(3, Object::new);
+        Object far = store.computeIfAbsent(40, Object::new);
+
+        // Then
+        assertSame(first, again);
+        assertNotSame(first, far);
+        assertSame(far, store.get(40));
+        assertNull(store.get(41));
+    }
+
+    @Test
+    @DisplayName("Should remove an instance without destroying it")
+    void shouldRemoveInstance() {
+        // Given
+        List<String> destroyed = new ArrayList<>();
+        Object bean = store.computeIfAbsent(0, Object::new);
+        store.registerDestructionCallback(0, () -> destroyed.add("bean"));
+
+        // When
+        Object removed = store.remove(0);
+        store.destroy();
+
+        // Then
+        assertSame(bean, removed);
+        assertNull(store.get(0));
+        assertTrue(destroyed.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should destroy instances in reverse ordinal order despite failures")
+    void shouldDestroyInReverseOrder() {
+        // Given
+        List<Integer> destroyed = new ArrayList<>();
+        store.put(0, "first");
+        store.put(1, "second");
+        store.put(2, "third");
+        store.registerDestructionCallback(0, () -> destroyed.add(0));
+        store.registerDestructionCallback(1, () -> {
+            throw new IllegalStateException("broken");
+        });
+        store.registerDestructionCallback(2, () -> destroyed.add(2));
+
+        // When
+        BeansException exception = assertThrows(BeansException.class, store::destroy);
+
+        // Then
+        assertEquals(List.of(2, 0), destroyed);
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+        assertNull(store.get(2), "Destroyed store should be empty");
+    }
+
+    @Test
+    @DisplayName("Should reject negative ordinals and null beans")
+    void shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> store.put(-1, "bean"));
+        assertThrows(IllegalArgumentException.class, () -> store.put(0, null));
+        assertThrows(IllegalArgumentException.class, () -> store.computeIfAbsent(0, null));
+    }
+}
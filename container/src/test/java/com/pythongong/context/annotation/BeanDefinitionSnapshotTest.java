@@ -0,0 +1,253 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.context.annotation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.pythongong.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import com.pythongong.aop.autoproxy.AspectJAutoProxyCreator;
+import com.pythongong.beans.config.BeanDefinition;
+import com.pythongong.beans.config.CollectionReference;
+import com.pythongong.beans.config.FieldValue;
+import com.pythongong.beans.config.FieldValueList;
+import com.pythongong.beans.config.ProviderReference;
+import com.pythongong.context.impl.PropertyResolver;
+import com.pythongong.context.startup.ApplicationStartup;
+import com.pythongong.context.startup.BufferingApplicationStartup;
+import com.pythongong.test.aop.valid.AopConfig;
+import com.pythongong.test.ioc.collection.Codec;
+import com.pythongong.test.ioc.conditional.ConditionalConfiguration;
+import com.pythongong.test.ioc.collection.CollectionConfiguration;
+import com.pythongong.test.ioc.normal.TestConfiguration;
+import com.pythongong.test.ioc.normal.TestPropertyComponent;
+import com.pythongong.test.ioc.provider.Handler;
+import com.pythongong.test.ioc.provider.ProviderConfiguration;
+
+/**
+ * Unit tests for {@link BeanDefinitionSnapshot}.
+ *
+ * @author Cheng Gong
+ */
+class BeanDefinitionSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path snapshotFile;
+
+    @BeforeEach
+    void setUp() {
+        snapshotFile = tempDir.resolve("snapshot").resolve("definitions.bin");
+    }
+
+    @Test
+    @DisplayName("Should restore the parsed definitions without scanning")
+    void shouldRestoreParsedDefinitions() {
+        // Given
+        Set<BeanDefinition> parsed = parse(TestConfiguration.class, propertyResolver("1.0.0"), null);
+        BufferingApplicationStartup startup = new BufferingApplicationStartup();
+
+        // When
+        Set<BeanDefinition> restored = parse(TestConfiguration.class, propertyResolver("1.0.0"), startup);
+
+        // Then
+        assertTrue(startup.getTimeline().stream()
+                .noneMatch(step -> step.name().equals(ApplicationStartup.CONFIG_SCAN)),
+                "Restored definitions should not be scanned");
+        Map<String, BeanDefinition> restoredByName = byName(restored);
+        assertEquals(byName(parsed).keySet(), restoredByName.keySet());
+        for (BeanDefinition expected : parsed) {
+            BeanDefinition actual = restoredByName.get(expected.beanName());
+            assertEquals(expected.beanClass(), actual.beanClass());
+            assertEquals(expected.constructor(), actual.constructor());
+            assertEquals(expected.scope(), actual.scope());
+            assertEquals(expected.scopeName(), actual.scopeName());
+            assertEquals(expected.lazyInit(), actual.lazyInit());
+            assertEquals(expected.initMethodName(), actual.initMethodName());
+            assertEquals(expected.destroyMethodName(), actual.destroyMethodName());
+            assertEquals(expected.fieldValueList(), actual.fieldValueList(), expected.beanName());
+            if (expected.factoryDefinition() != null) {
+                assertEquals(expected.factoryDefinition().factoryName(), actual.factoryDefinition().factoryName());
+                assertEquals(expected.factoryDefinition().factoryMethodName(),
+                        actual.factoryDefinition().factoryMethodName());
+                assertArrayEquals(expected.factoryDefinition().factoryMethodParamTypes(),
+                        actual.factoryDefinition().factoryMethodParamTypes());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should resolve the properties again on restore")
+    void shouldResolvePropertiesOnRestore() {
+        // Given
+        parse(TestConfiguration.class, propertyResolver("1.0.0"), null);
+
+        // When
+        Set<BeanDefinition> restored = parse(TestConfiguration.class, propertyResolver("2.0.0"), null);
+
+        // Then
+        FieldValue version = byName(restored).values().stream()
+                .filter(beanDefinition -> beanDefinition.beanClass() == TestPropertyComponent.class)
+                .findFirst()
+                .orElseThrow()
+                .fieldValueList()
+                .getFieldValue("version");
+        assertEquals("2.0.0", version.value());
+    }
+
+    @Test
+    @DisplayName("Should restore the advisors of the aspects")
+    void shouldRestoreAdvisors() {
+        // Given
+        List<AspectJExpressionPointcutAdvisor> parsed = advisors(
+                parse(AopConfig.class, propertyResolver("1.0.0"), null));
+
+        // When
+        List<AspectJExpressionPointcutAdvisor> restored = advisors(
+                parse(AopConfig.class, propertyResolver("1.0.0"), null));
+
+        // Then
+        assertFalse(parsed.isEmpty());
+        assertEquals(parsed.size(), restored.size());
+        for (int i = 0; i < parsed.size(); i++) {
+            assertEquals(parsed.get(i).aspectName(), restored.get(i).aspectName());
+            assertEquals(parsed.get(i).adviceEnum(), restored.get(i).adviceEnum());
+            assertEquals(parsed.get(i).method(), restored.get(i).method());
+            assertEquals(parsed.get(i).pointcut().getExpression(), restored.get(i).pointcut().getExpression());
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore a snapshot of another fingerprint or configuration")
+    void shouldIgnoreStaleSnapshot() {
+        // Given
+        parse(TestConfiguration.class, propertyResolver("1.0.0"), null);
+        BeanDefinitionSnapshot snapshot = new BeanDefinitionSnapshot(snapshotFile);
+        String fingerprint = snapshot.fingerprint(new String[] { TestConfiguration.class.getPackageName() });
+
+        // When / Then
+        assertNotNull(snapshot.restore(TestConfiguration.class, fingerprint, propertyResolver("1.0.0"), key -> null));
+        assertNull(snapshot.restore(TestConfiguration.class, "stale", propertyResolver("1.0.0"), key -> null));
+        assertNull(snapshot.restore(AopConfig.class, fingerprint, propertyResolver("1.0.0"), key -> null));
+        assertFalse(snapshot.save(), "Nothing was recorded");
+    }
+
+    @Test
+    @DisplayName("Should restore the provider references of the fields")
+    void shouldRestoreProviderReferences() {
+        // Given
+        parse(ProviderConfiguration.class, propertyResolver("1.0.0"), null);
+        BufferingApplicationStartup startup = new BufferingApplicationStartup();
+
+        // When
+        Set<BeanDefinition> restored = parse(ProviderConfiguration.class, propertyResolver("1.0.0"), startup);
+
+        // Then
+        assertTrue(startup.getTimeline().stream()
+                .noneMatch(step -> step.name().equals(ApplicationStartup.CONFIG_SCAN)));
+        FieldValueList fieldValues = byName(restored).get("dispatcher").fieldValueList();
+        assertEquals(new ProviderReference(Handler.class, null), fieldValues.getFieldValue("handlers").value());
+        assertEquals(new ProviderReference(Handler.class, "firstHandler"),
+                fieldValues.getFieldValue("firstHandler").value());
+    }
+
+    @Test
+    @DisplayName("Should restore the collection references of the fields")
+    void shouldRestoreCollectionReferences() {
+        // Given
+        parse(CollectionConfiguration.class, propertyResolver("1.0.0"), null);
+
+        // When
+        Set<BeanDefinition> restored = parse(CollectionConfiguration.class, propertyResolver("1.0.0"), null);
+
+        // Then
+        FieldValueList fieldValues = byName(restored).get("codecRegistry").fieldValueList();
+        assertEquals(new CollectionReference(List.class, Codec.class), fieldValues.getFieldValue("codecs").value());
+        assertEquals(new CollectionReference(Map.class, Codec.class),
+                fieldValues.getFieldValue("codecsByName").value());
+        assertEquals(new CollectionReference(Codec[].class, Codec.class),
+                fieldValues.getFieldValue("codecArray").value());
+    }
+
+    @Test
+    @DisplayName("Should parse again when a condition input changed")
+    void shouldIgnoreSnapshotWithChangedConditions() {
+        // Given
+        Properties props = new Properties();
+        props.setProperty("notifier.channel", "sms");
+        parse(ConditionalConfiguration.class, new PropertyResolver(props), null);
+        BufferingApplicationStartup startup = new BufferingApplicationStartup();
+
+        // When
+        Set<BeanDefinition> restored = parse(ConditionalConfiguration.class, new PropertyResolver(new Properties()),
+                startup);
+
+        // Then
+        assertTrue(startup.getTimeline().stream()
+                .anyMatch(step -> step.name().equals(ApplicationStartup.CONFIG_SCAN)));
+        assertFalse(byName(restored).containsKey("smsNotifier"));
+        assertTrue(byName(restored).containsKey("logNotifier"));
+    }
+
+    private Set<BeanDefinition> parse(Class<?> configurationClass, PropertyResolver propertyResolver,
+            ApplicationStartup applicationStartup) {
+        BeanDefinitionSnapshot snapshot = new BeanDefinitionSnapshot(snapshotFile);
+        ConfigurableClassParser parser = new ConfigurableClassParser(propertyResolver);
+        parser.setSnapshot(snapshot);
+        if (applicationStartup != null) {
+            parser.setApplicationStartup(applicationStartup);
+        }
+        Set<BeanDefinition> beanDefinitions = parser.parse(configurationClass);
+        snapshot.save();
+        return beanDefinitions;
+    }
+
+    private static PropertyResolver propertyResolver(String version) {
+        Properties props = new Properties();
+        props.setProperty("test.name", "testValue");
+        props.setProperty("test.version", version);
+        props.setProperty("app.description", "Test Application");
+        props.setProperty("spring.datasource.auto-commit", "true");
+        return new PropertyResolver(props);
+    }
+
+    private static Map<String, BeanDefinition> byName(Set<BeanDefinition> beanDefinitions) {
+        return beanDefinitions.stream()
+                .collect(Collectors.toMap(BeanDefinition::beanName, Function.identity()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<AspectJExpressionPointcutAdvisor> advisors(Set<BeanDefinition> beanDefinitions) {
+        return (List<AspectJExpressionPointcutAdvisor>) byName(beanDefinitions)
+                .get(AspectJAutoProxyCreator.BEAN_NAME)
+                .fieldValueList()
+                .getFieldValue("advisors")
+                .value();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.context.annotation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pythongong.enums.ScopeEnum;
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.ComponentScan;
+import com.pythongong.stereotype.Scope;
+import com.pythongong.test.ioc.normal.TestComponent;
+import com.pythongong.test.ioc.normal.TestConfigurableFactory;
+import com.pythongong.test.ioc.normal.TestConfiguration;
+
+/**
+ * Unit tests for {@link ClassFileAnnotationMatcher}.
+ *
+ * @author Cheng Gong
+ */
+class ClassFileAnnotationMatcherTest {
+
+    private ClassFileAnnotationMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        matcher = new ClassFileAnnotationMatcher(getClass().getClassLoader(), Component.class);
+    }
+
+    @Test
+    @DisplayName("Should match directly annotated classes")
+    void shouldMatchDirectlyAnnotatedClasses() throws IOException {
+        assertTrue(matcher.matches(TestComponent.class.getName()));
+    }
+
+    @Test
+    @DisplayName("Should match classes through their meta-annotations")
+    void shouldMatchMetaAnnotatedClasses() throws IOException {
+        assertTrue(matcher.matches(TestConfigurableFactory.class.getName()));
+        assertTrue(matcher.matches(NestedService.class.getName()));
+    }
+
+    @Test
+    @DisplayName("Should not match classes without the annotation")
+    void shouldNotMatchPlainClasses() throws IOException {
+        assertFalse(matcher.matches(TestConfiguration.class.getName()));
+        assertFalse(matcher.matches(AnnotatedPlainClass.class.getName()));
+        assertFalse(matcher.matches(getClass().getName()));
+    }
+
+    @Test
+    @DisplayName("Should throw IOException for missing class files")
+    void shouldThrowForMissingClassFiles() {
+        assertThrows(IOException.class, () -> matcher.matches("com.pythongong.missing.Nothing"));
+    }
+
+    @Test
+    @DisplayName("Should throw exception for null arguments")
+    void shouldThrowExceptionForNullArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ClassFileAnnotationMatcher(null, Component.class));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ClassFileAnnotationMatcher(getClass().getClassLoader(), null));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Component
+    @interface Service {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Values {
+        long number();
+
+        String[] names();
+
+        ScopeEnum scope();
+
+        Class<?> type();
+
+        Retention nested();
+    }
+
+    @Deprecated
+    @Values(number = 42L, names = { "a", "b" }, scope = ScopeEnum.PROTOTYPE, type = String.class,
+            nested = @Retention(RetentionPolicy.CLASS))
+    @Scope(ScopeEnum.PROTOTYPE)
+    @Service
+    public static class NestedService {
+        public static final double RATE = 0.5;
+    }
+
+    @Deprecated
+    @ComponentScan(basePackages = "com.pythongong.test")
+    @Values(number = 1L, names = {}, scope = ScopeEnum.SINGLETON, type = int.class,
+            nested = @Retention(RetentionPolicy.SOURCE))
+    public static class AnnotatedPlainClass {
+        public static final long ID = 1L;
+    }
+}
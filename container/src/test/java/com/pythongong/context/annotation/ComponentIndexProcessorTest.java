@@ -0,0 +1,176 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.context.annotation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.pythongong.stereotype.Bean;
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.Configuration;
+
+/**
+ * Unit tests for {@link ComponentIndexProcessor}, compiling sample sources
+ * with the system Java compiler.
+ *
+ * @author Cheng Gong
+ */
+class ComponentIndexProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should index components with their stereotypes")
+    void shouldIndexComponents() throws IOException {
+        // Given
+        writeSource("demo/Service.java", """
+                package demo;
+                @com.pythongong.stereotype.Component
+                public class Service {
+                    @com.pythongong.stereotype.Component
+                    public static class Nested {
+                    }
+                }
+                """);
+        writeSource("demo/AppConfig.java", """
+                package demo;
+                @com.pythongong.stereotype.Configuration
+                public class AppConfig {
+                    @com.pythongong.stereotype.Bean
+                    public Service service() {
+                        return new Service();
+                    }
+                }
+                """);
+        writeSource("demo/Plain.java", """
+                package demo;
+                public class Plain {
+                }
+                """);
+
+        // When
+        Properties index = compile();
+
+        // Then
+        assertEquals(3, index.size());
+        assertEquals(Component.class.getName(), index.getProperty("demo.Service"));
+        assertEquals(Component.class.getName(), index.getProperty("demo.Service$Nested"));
+        assertEquals(String.join(",", Bean.class.getName(), Component.class.getName(),
+                Configuration.class.getName()), index.getProperty("demo.AppConfig"));
+        assertNull(index.getProperty("demo.Plain"));
+    }
+
+    @Test
+    @DisplayName("Should merge the previous index on incremental compilation")
+    void shouldMergePreviousIndex() throws IOException {
+        // Given
+        writeSource("demo/Kept.java", """
+                package demo;
+                @com.pythongong.stereotype.Component
+                public class Kept {
+                }
+                """);
+        writeSource("demo/Changed.java", """
+                package demo;
+                @com.pythongong.stereotype.Component
+                public class Changed {
+                }
+                """);
+        writeSource("demo/Removed.java", """
+                package demo;
+                @com.pythongong.stereotype.Component
+                public class Removed {
+                }
+                """);
+        compile();
+        deleteRecursively(tempDir.resolve("src"));
+        Files.delete(tempDir.resolve("classes/demo/Removed.class"));
+        writeSource("demo/Changed.java", """
+                package demo;
+                public class Changed {
+                }
+                """);
+        writeSource("demo/Added.java", """
+                package demo;
+                @com.pythongong.stereotype.Configuration
+                public class Added {
+                }
+                """);
+
+        // When
+        Properties index = compile();
+
+        // Then
+        assertEquals(2, index.size());
+        assertEquals(Component.class.getName(), index.getProperty("demo.Kept"));
+        assertEquals(String.join(",", Component.class.getName(), Configuration.class.getName()),
+                index.getProperty("demo.Added"));
+        assertNull(index.getProperty("demo.Changed"));
+        assertNull(index.getProperty("demo.Removed"));
+    }
+
+    private void deleteRecursively(Path root) throws IOException {
+        try (var paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private void writeSource(String path, String source) throws IOException {
+        Path file = tempDir.resolve("src").resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, source);
+    }
+
+    private Properties compile() throws IOException {
+        Path output = Files.createDirectories(tempDir.resolve("classes"));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+                var sources = Files.walk(tempDir.resolve("src"))) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromPaths(
+                    sources.filter(Files::isRegularFile).toList());
+            List<String> options = List.of("-classpath", System.getProperty("java.class.path"),
+                    "-d", output.toString());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+            task.setProcessors(List.of(new ComponentIndexProcessor()));
+            assertTrue(task.call(), "Sample sources should compile");
+        }
+
+        Properties index = new Properties();
+        try (Reader reader = Files.newBufferedReader(output.resolve(ComponentIndex.INDEX_LOCATION))) {
+            index.load(reader);
+        }
+        return index;
+    }
+}
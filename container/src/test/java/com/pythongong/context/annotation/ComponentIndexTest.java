@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.context.annotation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.Configuration;
+
+/**
+ * Unit tests for {@link ComponentIndex}.
+ *
+ * @author Cheng Gong
+ */
+class ComponentIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should return indexed candidates of a package and its subpackages")
+    void shouldReturnIndexedCandidates() throws IOException {
+        // Given
+        Path root = createRoot("indexed", true);
+
+        // When
+        Set<String> components;
+        Set<String> configurations;
+        try (URLClassLoader classLoader = classLoader(root)) {
+            ComponentIndex componentIndex = new ComponentIndex(classLoader);
+            components = componentIndex.getCandidateTypes("demo", Component.class.getName());
+            configurations = componentIndex.getCandidateTypes("demo.sub", Configuration.class.getName());
+        }
+
+        // Then
+        assertEquals(Set.of("demo.Service", "demo.sub.AppConfig"), components);
+        assertEquals(Set.of("demo.sub.AppConfig"), configurations);
+    }
+
+    @Test
+    @DisplayName("Should not serve a package when one of its roots has no index")
+    void shouldFallBackWhenRootHasNoIndex() throws IOException {
+        // Given
+        Path indexedRoot = createRoot("indexed", true);
+        Path plainRoot = createRoot("plain", false);
+
+        // When
+        Set<String> components;
+        try (URLClassLoader classLoader = classLoader(indexedRoot, plainRoot)) {
+            components = new ComponentIndex(classLoader).getCandidateTypes("demo", Component.class.getName());
+        }
+
+        // Then
+        assertNull(components);
+    }
+
+    @Test
+    @DisplayName("Should throw exception for null class loader or empty arguments")
+    void shouldValidateArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ComponentIndex(null));
+        ComponentIndex componentIndex = new ComponentIndex(getClass().getClassLoader());
+        assertThrows(IllegalArgumentException.class,
+                () -> componentIndex.getCandidateTypes("", Component.class.getName()));
+        assertThrows(IllegalArgumentException.class, () -> componentIndex.getCandidateTypes("demo", ""));
+    }
+
+    private Path createRoot(String name, boolean withIndex) throws IOException {
+        Path root = tempDir.resolve(name);
+        Files.createDirectories(root.resolve("demo/sub"));
+        if (withIndex) {
+            Path index = root.resolve(ComponentIndex.INDEX_LOCATION);
+            Files.createDirectories(index.getParent());
+            Files.writeString(index, String.join("\n",
+                    "demo.Service=" + Component.class.getName(),
+                    "demo.sub.AppConfig=" + Component.class.getName() + "," + Configuration.class.getName(),
+                    "other.Service=" + Component.class.getName()));
+        }
+        return root;
+    }
+
+    private static URLClassLoader classLoader(Path... roots) throws IOException {
+        URL[] urls = new URL[roots.length];
+        for (int i = 0; i < roots.length; i++) {
+            urls[i] = roots[i].toUri().toURL();
+        }
+        return new URLClassLoader(urls, null);
+    }
+}
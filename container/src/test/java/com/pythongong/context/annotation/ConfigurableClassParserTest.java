@@ -20,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -33,6 +34,11 @@ import com.pythongong.context.impl.PropertyResolver;
 import com.pythongong.stereotype.ComponentScan;
 import com.pythongong.stereotype.Configuration;
 import com.pythongong.test.aop.valid.AopConfig;
+import com.pythongong.test.ioc.conditional.ConditionalConfiguration;
+import com.pythongong.test.ioc.conditional.Notifier;
+import com.pythongong.test.ioc.lazy.EagerClient;
+import com.pythongong.test.ioc.lazy.LazyConfiguration;
+import com.pythongong.test.ioc.lazy.LazyService;
 import com.pythongong.test.ioc.normal.LifecycleTestBean;
 import com.pythongong.test.ioc.normal.TestConfiguration;
 import com.pythongong.test.ioc.normal.TestConfugrableBean;
@@ -168,6 +174,85 @@ class ConfigurableClassParserTest {
         assertTrue(aspectJAutoProxyCreators.size() == 0);
     }
 
+    @Test
+    @DisplayName("Should record lazy initialization of components and bean methods")
+    void shouldRecordLazyInitialization() {
+        // Given
+        Set<BeanDefinition> lazyDefinitions = parser.parse(LazyConfiguration.class);
+
+        // When
+        BeanDefinition lazyService = findDefinition(lazyDefinitions, LazyService.class.getName());
+        BeanDefinition eagerClient = findDefinition(lazyDefinitions, EagerClient.class.getName());
+        BeanDefinition lazyReport = findDefinition(lazyDefinitions, "lazyReport");
+
+        // Then
+        assertTrue(lazyService.lazyInit(), "@Lazy component should be lazy");
+        assertFalse(eagerClient.lazyInit(), "Plain component should be eager");
+        assertTrue(lazyReport.lazyInit(), "@Lazy bean method should be lazy");
+    }
+
+    @Test
+    @DisplayName("Should skip beans whose conditions don't match")
+    void shouldSkipDisabledBeans() {
+        // Given
+        ConfigurableClassParser conditionalParser = new ConfigurableClassParser(new PropertyResolver(new Properties()));
+
+        // When
+        Set<String> beanNames = beanNames(conditionalParser.parse(ConditionalConfiguration.class));
+
+        // Then
+        assertEquals(Set.of("conditionalConfiguration", "auditLog", "logNotifier", "jdkCodec"), beanNames);
+    }
+
+    @Test
+    @DisplayName("Should register beans enabled by properties instead of the fallbacks")
+    void shouldRegisterBeansEnabledByProperties() {
+        // Given
+        Properties props = new Properties();
+        props.setProperty("notifier.email.enabled", "true");
+        props.setProperty("notifier.channel", "sms");
+        props.setProperty("audit.enabled", "false");
+        ConfigurableClassParser conditionalParser = new ConfigurableClassParser(new PropertyResolver(props));
+
+        // When
+        Set<String> beanNames = beanNames(conditionalParser.parse(ConditionalConfiguration.class));
+
+        // Then
+        assertEquals(Set.of("conditionalConfiguration", "fallbackAuditLog", "emailNotifier", "smsNotifier",
+                "jdkCodec"), beanNames);
+    }
+
+    @Test
+    @DisplayName("Should evaluate missing beans against the parent")
+    void shouldEvaluateMissingBeansAgainstParent() {
+        // Given
+        Properties props = new Properties();
+        props.setProperty("notifier.email.enabled", "false");
+        ConfigurableClassParser conditionalParser = new ConfigurableClassParser(new PropertyResolver(props));
+        conditionalParser.setParentBeanNamesOfType(
+                type -> Notifier.class.equals(type) ? List.of("parentNotifier") : List.of());
+
+        // When
+        Set<String> beanNames = beanNames(conditionalParser.parse(ConditionalConfiguration.class));
+
+        // Then
+        assertFalse(beanNames.contains("emailNotifier"), "A false property should disable the bean");
+        assertFalse(beanNames.contains("logNotifier"), "The parent's notifier should replace the fallback");
+    }
+
+    private static Set<String> beanNames(Set<BeanDefinition> beanDefinitions) {
+        return beanDefinitions.stream()
+                .map(BeanDefinition::beanName)
+                .collect(Collectors.toSet());
+    }
+
+    private static BeanDefinition findDefinition(Set<BeanDefinition> beanDefinitions, String beanName) {
+        return beanDefinitions.stream()
+                .filter(def -> def.beanName().equals(beanName))
+                .findFirst()
+                .orElseThrow();
+    }
+
     // Test configurations
     @Configuration
     @ComponentScan(basePackages = {})
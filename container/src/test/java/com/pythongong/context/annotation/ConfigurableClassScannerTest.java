@@ -16,16 +16,28 @@
 package com.pythongong.context.annotation;
 
 import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.pythongong.test.ioc.lazy.LazyService;
+import com.pythongong.test.ioc.normal.TestComponent;
 import com.pythongong.test.ioc.normal.TestConfiguration;
 import com.pythongong.util.ClassUtils;
+import com.pythongong.util.ScanCache;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("ConfigurableClassScanner Tests")
@@ -35,6 +47,9 @@ class ConfigurableClassScannerTest {
 
     private ConfigurableClassScanner scanner;
 
+    @TempDir
+    Path cacheDir;
+
     @BeforeEach
     void setUp() {
         scanner = new ConfigurableClassScanner();
@@ -65,6 +80,48 @@ class ConfigurableClassScannerTest {
                         c.getPackage().getName().equals(pkg2)));
     }
 
+    @Test
+    @DisplayName("Should return each class once, ordered by name")
+    void shouldReturnOrderedDistinctClasses() {
+        // Given
+        String subPackage = LazyService.class.getPackageName();
+        String parentPackage = subPackage.substring(0, subPackage.lastIndexOf('.'));
+
+        // When
+        List<Class<?>> classes = new ArrayList<>(scanner.scan(subPackage, parentPackage, basePackage));
+
+        // Then
+        assertEquals(classes.size(), new HashSet<>(classes).size());
+        assertTrue(classes.contains(LazyService.class));
+        for (int i = 1; i < classes.size(); i++) {
+            assertTrue(classes.get(i - 1).getName().compareTo(classes.get(i).getName()) < 0);
+        }
+        assertEquals(classes, new ArrayList<>(scanner.scan(parentPackage, subPackage)));
+    }
+
+    @Test
+    @DisplayName("Should restore walked packages from the scan cache")
+    void shouldRestoreScanFromCache() throws IOException {
+        // Given
+        System.setProperty(ComponentIndex.IGNORE_INDEX_PROPERTY, "true");
+        System.setProperty(ScanCache.CACHE_DIR_PROPERTY, cacheDir.toString());
+        try {
+            // When
+            Set<Class<?>> scanned = new ConfigurableClassScanner().scan(basePackage);
+            Set<Class<?>> restored = new ConfigurableClassScanner().scan(basePackage);
+
+            // Then
+            assertEquals(scanned, restored);
+            assertTrue(scanned.contains(TestComponent.class));
+            try (Stream<Path> cacheFiles = Files.list(cacheDir)) {
+                assertTrue(cacheFiles.findAny().isPresent());
+            }
+        } finally {
+            System.clearProperty(ComponentIndex.IGNORE_INDEX_PROPERTY);
+            System.clearProperty(ScanCache.CACHE_DIR_PROPERTY);
+        }
+    }
+
     @Test
     @DisplayName("Should throw exception for invalid package")
     void shouldThrowExceptionForInvalidPackage() {
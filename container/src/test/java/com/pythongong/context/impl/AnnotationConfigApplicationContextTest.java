@@ -24,8 +24,12 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -37,9 +41,20 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.pythongong.beans.scope.RequestScope;
+import com.pythongong.context.startup.ApplicationStartup;
+import com.pythongong.context.startup.BufferingApplicationStartup;
+import com.pythongong.context.startup.StartupStepRecord;
+import com.pythongong.exception.BeansException;
+import com.pythongong.exception.NoSuchBeanException;
 import com.pythongong.test.aop.valid.AdviceOrder;
 import com.pythongong.test.aop.valid.AopConfig;
 import com.pythongong.test.aop.valid.AopTestTarget;
+import com.pythongong.test.ioc.hierarchy.TenantConfiguration;
+import com.pythongong.test.ioc.hierarchy.TenantService;
+import com.pythongong.test.ioc.lazy.EagerClient;
+import com.pythongong.test.ioc.lazy.LazyConfiguration;
+import com.pythongong.test.ioc.lazy.LazyService;
 import com.pythongong.test.ioc.normal.ContextRefreshListener;
 import com.pythongong.test.ioc.normal.FactoryPostProcessedBean;
 import com.pythongong.test.ioc.normal.LifecycleTestBean;
@@ -47,7 +62,29 @@ import com.pythongong.test.ioc.normal.ProxyBeanFactory;
 import com.pythongong.test.ioc.normal.TestComponent;
 import com.pythongong.test.ioc.normal.TestConfiguration;
 import com.pythongong.test.ioc.normal.TestPropertyComponent;
+import com.pythongong.test.ioc.collection.Codec;
+import com.pythongong.test.ioc.collection.CodecClient;
+import com.pythongong.test.ioc.collection.CodecRegistry;
+import com.pythongong.test.ioc.collection.CollectionConfiguration;
+import com.pythongong.test.ioc.collection.YamlCodec;
+import com.pythongong.test.ioc.generic.AccountService;
+import com.pythongong.test.ioc.generic.GenericConfiguration;
+import com.pythongong.test.ioc.generic.Order;
+import com.pythongong.test.ioc.generic.User;
+import com.pythongong.test.ioc.generic.UserDirectory;
+import com.pythongong.test.ioc.provider.Dispatcher;
+import com.pythongong.test.ioc.provider.Handler;
+import com.pythongong.test.ioc.provider.ProviderConfiguration;
+import com.pythongong.test.ioc.reload.ReloadClient;
+import com.pythongong.test.ioc.reload.ReloadConfiguration;
+import com.pythongong.test.ioc.reload.ReloadableSettings;
+import com.pythongong.test.ioc.reload.StableService;
 import com.pythongong.test.ioc.normal.TestUsingProxy;
+import com.pythongong.test.ioc.request.RequestConfiguration;
+import com.pythongong.test.ioc.request.TenantClient;
+import com.pythongong.test.ioc.scope.RequestCounter;
+import com.pythongong.test.ioc.scope.ScopeConfiguration;
+import com.pythongong.test.ioc.scope.ScopedClient;
 import com.pythongong.util.ClassUtils;
 
 @ExtendWith(MockitoExtension.class)
@@ -242,4 +279,285 @@ class AnnotationConfigApplicationContextTest {
         assertFalse(AdviceOrder.ORDER.isEmpty());
     }
 
+    @Test
+    @DisplayName("Should defer lazy beans and inject a resolving proxy")
+    void shouldDeferLazyBeans() {
+        // Given
+        int instances = LazyService.INSTANCES.get();
+
+        // When
+        AnnotationConfigApplicationContext lazyContext = new AnnotationConfigApplicationContext(
+                LazyConfiguration.class);
+        EagerClient client = lazyContext.getBean(EagerClient.class.getName(), EagerClient.class);
+
+        // Then
+        assertEquals(instances, LazyService.INSTANCES.get(), "Lazy bean should not be created on refresh");
+        LazyService lazyService = client.getLazyService();
+        assertNotSame(LazyService.class, lazyService.getClass(), "Lazy bean should be injected as a proxy");
+        assertEquals("Hello tiny", lazyService.greet("tiny"));
+        assertEquals(instances + 1, LazyService.INSTANCES.get(), "Lazy bean should be created on first call");
+        assertSame(lazyContext.getBean(LazyService.class.getName()),
+                lazyContext.getBean(LazyService.class.getName()));
+        assertEquals("Hello again", lazyService.greet("again"));
+        assertEquals(instances + 1, LazyService.INSTANCES.get(), "Lazy bean should be created once");
+    }
+
+    @Test
+    @DisplayName("Should record the refresh steps and bean creations")
+    void shouldRecordStartupSteps() {
+        // Given
+        BufferingApplicationStartup startup = new BufferingApplicationStartup();
+
+        // When
+        AnnotationConfigApplicationContext recordedContext = new AnnotationConfigApplicationContext(
+                LazyConfiguration.class, new PropertyResolver(), startup);
+
+        // Then
+        assertSame(startup, recordedContext.getApplicationStartup());
+        List<StartupStepRecord> timeline = startup.getTimeline();
+        StartupStepRecord refresh = timeline.stream()
+                .filter(step -> step.name().equals(ApplicationStartup.CONTEXT_REFRESH))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(-1, refresh.parentId());
+        assertTrue(timeline.stream().anyMatch(step -> step.name().equals(ApplicationStartup.CONFIG_SCAN)));
+        assertTrue(timeline.stream()
+                .anyMatch(step -> step.name().equals(ApplicationStartup.SINGLETONS_PRE_INSTANTIATE)));
+        List<String> createdBeans = startup.getSlowestBeans(Integer.MAX_VALUE).stream()
+                .map(step -> step.tags().get(ApplicationStartup.BEAN_NAME_TAG))
+                .toList();
+        assertTrue(createdBeans.contains(EagerClient.class.getName()));
+        assertFalse(createdBeans.contains(LazyService.class.getName()), "Lazy bean should not be created");
+
+        // When
+        recordedContext.close();
+
+        // Then
+        assertTrue(startup.getTimeline().stream()
+                .anyMatch(step -> step.name().equals(ApplicationStartup.CONTEXT_CLOSE)));
+    }
+
+    @Test
+    @DisplayName("Should inject request scoped beans into singletons as scoped proxies")
+    void shouldInjectScopedProxy() {
+        // Given
+        AnnotationConfigApplicationContext scopeContext = new AnnotationConfigApplicationContext(
+                ScopeConfiguration.class);
+        ScopedClient client = scopeContext.getBean(ScopedClient.class.getName(), ScopedClient.class);
+        RequestCounter counter = client.getRequestCounter();
+
+        // When
+        int firstId;
+        RequestScope.beginRequest();
+        try {
+            firstId = counter.getId();
+            counter.increment();
+            assertEquals(2, counter.increment(), "Calls in one request should reach one instance");
+        } finally {
+            RequestScope.endRequest();
+        }
+        int secondId;
+        RequestScope.beginRequest();
+        try {
+            secondId = counter.getId();
+            assertEquals(1, counter.increment(), "A new request should reach a new instance");
+        } finally {
+            RequestScope.endRequest();
+        }
+
+        // Then
+        assertNotSame(RequestCounter.class, counter.getClass(), "Request scoped bean should be a proxy");
+        assertNotEquals(firstId, secondId);
+        assertThrows(BeansException.class, counter::getId, "Proxy should fail outside of a request");
+    }
+
+    @Test
+    @DisplayName("Should keep request scoped beans of a parent and a child context apart")
+    void shouldSeparateRequestScopedBeansOfContexts() {
+        // Given
+        AnnotationConfigApplicationContext parentContext = new AnnotationConfigApplicationContext(
+                ScopeConfiguration.class);
+        AnnotationConfigApplicationContext childContext = new AnnotationConfigApplicationContext(
+                RequestConfiguration.class, parentContext);
+        ScopedClient parentClient = parentContext.getBean(ScopedClient.class.getName(), ScopedClient.class);
+        TenantClient childClient = childContext.getBean(TenantClient.class.getName(), TenantClient.class);
+
+        // When
+        RequestScope.beginRequest();
+        try {
+            childClient.getRequestTenant().setName("tenant");
+            parentClient.getRequestCounter().increment();
+
+            // Then
+            assertEquals("tenant", childClient.getRequestTenant().getName());
+            assertEquals(2, childClient.getRequestCounter().increment(),
+                    "Child should reach the parent's instance of the request");
+            assertEquals(parentClient.getRequestCounter().getId(), childClient.getRequestCounter().getId());
+        } finally {
+            RequestScope.endRequest();
+        }
+    }
+
+    @Test
+    @DisplayName("Should share the parent's beans with a child context")
+    void shouldShareParentBeans() {
+        // Given
+        AnnotationConfigApplicationContext parentContext = new AnnotationConfigApplicationContext(
+                LazyConfiguration.class);
+        int instances = LazyService.INSTANCES.get();
+
+        // When
+        AnnotationConfigApplicationContext childContext = new AnnotationConfigApplicationContext(
+                TenantConfiguration.class, parentContext);
+        TenantService tenantService = childContext.getBean(TenantService.class.getName(), TenantService.class);
+
+        // Then
+        assertSame(parentContext, childContext.getParent());
+        assertSame(parentContext.getBean(EagerClient.class.getName()), tenantService.getEagerClient(),
+                "Child should be wired to the parent's bean");
+        assertSame(parentContext.getBean(EagerClient.class.getName()),
+                childContext.getBean(EagerClient.class.getName()));
+        assertEquals(instances, LazyService.INSTANCES.get(), "Child should not create the parent's beans");
+        assertTrue(childContext.getBeansOfType(EagerClient.class).isEmpty(), "Child should list its own beans");
+        assertNull(parentContext.getBean(TenantService.class.getName()), "Parent should not see child beans");
+        childContext.close();
+        assertNotNull(parentContext.getBean(EagerClient.class.getName()), "Parent should outlive its child");
+    }
+
+    @Test
+    @DisplayName("Should resolve from the parent's current beans after the parent is refreshed")
+    void shouldFollowRefreshedParent() {
+        // Given
+        AnnotationConfigApplicationContext parentContext = new AnnotationConfigApplicationContext(
+                LazyConfiguration.class);
+        AnnotationConfigApplicationContext childContext = new AnnotationConfigApplicationContext(
+                TenantConfiguration.class, parentContext);
+        Object oldClient = childContext.getBean(EagerClient.class);
+
+        // When
+        parentContext.refresh();
+
+        // Then
+        Object newClient = parentContext.getBean(EagerClient.class.getName());
+        assertNotSame(oldClient, newClient);
+        assertSame(newClient, childContext.getBean(EagerClient.class.getName()));
+        assertSame(newClient, childContext.getBean(EagerClient.class), "Cached lookups should follow the parent");
+    }
+
+    @Test
+    @DisplayName("Should recreate only the beans reached by a configuration change")
+    void shouldRefreshIncrementally() {
+        // Given
+        Properties properties = new Properties();
+        properties.setProperty("reload.greeting", "hello");
+        BufferingApplicationStartup startup = new BufferingApplicationStartup();
+        AnnotationConfigApplicationContext reloadContext = new AnnotationConfigApplicationContext(
+                ReloadConfiguration.class, new PropertyResolver(properties), startup);
+        Object stable = reloadContext.getBean(StableService.class.getName());
+        ReloadClient client = reloadContext.getBean(ReloadClient.class.getName(), ReloadClient.class);
+
+        // When
+        Set<String> unchanged = reloadContext.incrementalRefresh();
+        properties.setProperty("reload.greeting", "bye");
+        Set<String> recreated = reloadContext.incrementalRefresh();
+
+        // Then
+        assertTrue(unchanged.isEmpty(), "Nothing should be recreated without a change");
+        assertEquals(Set.of(ReloadClient.class.getName(), ReloadableSettings.class.getName()), recreated);
+        StartupStepRecord lastRefresh = startup.getTimeline().stream()
+                .filter(step -> step.name().equals(ApplicationStartup.CONTEXT_REFRESH))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        assertEquals(recreated, Set.of(lastRefresh.tags().get("recreatedBeans").split(",")));
+        assertSame(stable, reloadContext.getBean(StableService.class.getName()));
+        assertEquals("hello tiny", client.greet("tiny"), "Old instance keeps its configuration");
+        assertEquals("bye tiny",
+                reloadContext.getBean(ReloadClient.class.getName(), ReloadClient.class).greet("tiny"));
+    }
+
+    @Test
+    @DisplayName("Should inject lazy providers of singletons, prototypes and missing beans")
+    void shouldInjectObjectProviders() {
+        // Given
+        AnnotationConfigApplicationContext providerContext = new AnnotationConfigApplicationContext(
+                ProviderConfiguration.class);
+
+        // When
+        Dispatcher dispatcher = providerContext.getBean("dispatcher", Dispatcher.class);
+
+        // Then
+        assertEquals(List.of("first:a", "second:a"),
+                dispatcher.getHandlers().stream().map(handler -> handler.handle("a")).toList());
+        assertThrows(BeansException.class, () -> dispatcher.getHandlers().getObject());
+        assertSame(providerContext.getBean("firstHandler"), dispatcher.getFirstHandler().getObject());
+        assertSame(dispatcher.getFirstHandler().getObject(), dispatcher.getFirstHandler().getObject());
+        assertNotSame(dispatcher.getTasks().getObject(), dispatcher.getTasks().getObject(),
+                "Prototypes should be created on every call");
+        assertNull(dispatcher.getRunnables().getIfAvailable());
+        assertThrows(NoSuchBeanException.class, () -> dispatcher.getRunnables().getObject());
+    }
+
+    @Test
+    @DisplayName("Should get beans by type from the context and its parent")
+    void shouldGetBeanByType() {
+        // Given
+        AnnotationConfigApplicationContext parentContext = new AnnotationConfigApplicationContext(
+                ProviderConfiguration.class);
+
+        // When
+        AnnotationConfigApplicationContext childContext = new AnnotationConfigApplicationContext(
+                TenantConfiguration.class, new AnnotationConfigApplicationContext(LazyConfiguration.class));
+        Dispatcher dispatcher = parentContext.getBean(Dispatcher.class);
+
+        // Then
+        assertSame(parentContext.getBean("dispatcher"), dispatcher);
+        assertSame(childContext.getParent().getBean(EagerClient.class.getName()),
+                childContext.getBean(EagerClient.class));
+        assertSame(childContext.getBean(TenantService.class), childContext.getBean(TenantService.class));
+        assertEquals(2, parentContext.getBeanProvider(Handler.class).stream().count());
+        assertThrows(BeansException.class, () -> parentContext.getBean(Handler.class));
+    }
+
+    @Test
+    @DisplayName("Should autowire fields and constructors by generic type")
+    void shouldAutowireByGenericType() {
+        // Given
+        AnnotationConfigApplicationContext genericContext = new AnnotationConfigApplicationContext(
+                GenericConfiguration.class);
+
+        // When
+        AccountService accountService = genericContext.getBean("accountService", AccountService.class);
+
+        // Then
+        assertSame(genericContext.getBean("userRepository"), accountService.getUserRepository());
+        assertSame(genericContext.getBean("orderRepository"), accountService.getOrderRepository());
+        assertEquals(User.class, accountService.getUserRepository().entityType());
+        assertEquals(Order.class, accountService.getOrderRepository().entityType());
+        assertEquals(List.of(genericContext.getBean("userRepository")),
+                genericContext.getBean("userDirectory", UserDirectory.class).getUserRepositories());
+    }
+
+    @Test
+    @DisplayName("Should inject ordered immutable collections, arrays and maps of beans")
+    void shouldInjectOrderedCollections() {
+        // Given
+        AnnotationConfigApplicationContext collectionContext = new AnnotationConfigApplicationContext(
+                CollectionConfiguration.class);
+
+        // When
+        CodecRegistry registry = collectionContext.getBean("codecRegistry", CodecRegistry.class);
+        CodecClient client = collectionContext.getBean("codecClient", CodecClient.class);
+
+        // Then
+        List<String> formats = List.of("xml", "json", "yaml");
+        assertEquals(formats, registry.getCodecs().stream().map(Codec::format).toList());
+        assertEquals(formats, Arrays.stream(registry.getCodecArray()).map(Codec::format).toList());
+        assertEquals(formats, registry.getCodecSet().stream().map(Codec::format).toList());
+        assertEquals(formats, registry.getCodecCollection().stream().map(Codec::format).toList());
+        assertEquals(List.of("xmlCodec", "jsonCodec", "yamlCodec"), List.copyOf(registry.getCodecsByName().keySet()));
+        assertSame(collectionContext.getBean("jsonCodec"), registry.getCodecsByName().get("jsonCodec"));
+        assertEquals(formats, client.getCodecs().stream().map(Codec::format).toList());
+        assertThrows(UnsupportedOperationException.class, () -> registry.getCodecs().add(new YamlCodec()));
+        assertThrows(UnsupportedOperationException.class, () -> registry.getCodecsByName().clear());
+    }
 }
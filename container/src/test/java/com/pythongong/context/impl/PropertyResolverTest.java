@@ -92,6 +92,19 @@ class PropertyResolverTest {
                 "Should use default value from properties file");
     }
 
+    @Test
+    @DisplayName("Should find existing properties and null for missing ones")
+    void shouldFindProperty() throws IOException {
+        // When
+        resolver.load(Files.newInputStream(propertiesFile));
+
+        // Then
+        assertEquals("pythongong", resolver.findProperty("test.name"));
+        assertEquals("1.0.0", resolver.findProperty("${version:1.0.0}"));
+        assertNull(resolver.findProperty("non.existent.property"));
+        assertNull(resolver.findProperty("${non.existent.property}"));
+    }
+
     @Test
     @DisplayName("Should throw exception for missing property")
     void shouldThrowExceptionForMissingProperty() throws IOException {
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.context.startup;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link BufferingApplicationStartup}.
+ *
+ * @author Cheng Gong
+ */
+class BufferingApplicationStartupTest {
+
+    @Test
+    @DisplayName("Should nest steps started on the same thread")
+    void shouldNestSteps() {
+        // Given
+        BufferingApplicationStartup startup = new BufferingApplicationStartup();
+
+        // When
+        try (StartupStep outer = startup.start("outer")) {
+            try (StartupStep inner = startup.start("inner")) {
+                inner.tag("key", "value");
+            }
+        }
+        startup.start("sibling").end();
+
+        // Then
+        List<StartupStepRecord> timeline = startup.getTimeline();
+        assertEquals(3, timeline.size());
+        assertEquals(-1, timeline.get(0).parentId());
+        assertEquals(timeline.get(0).id(), timeline.get(1).parentId());
+        assertEquals("value", timeline.get(1).tags().get("key"));
+        assertEquals(-1, timeline.get(2).parentId());
+    }
+
+    @Test
+    @DisplayName("Should rank steps by their own duration")
+    void shouldRankStepsBySelfDuration() {
+        // Given
+        BufferingApplicationStartup startup = new BufferingApplicationStartup();
+
+        // When
+        try (StartupStep parent = startup.start(ApplicationStartup.BEAN_INSTANTIATE)) {
+            parent.tag(ApplicationStartup.BEAN_NAME_TAG, "parent");
+            try (StartupStep child = startup.start(ApplicationStartup.BEAN_INSTANTIATE)) {
+                child.tag(ApplicationStartup.BEAN_NAME_TAG, "child");
+                LockSupport.parkNanos(20_000_000);
+            }
+        }
+
+        // Then
+        List<StartupStepRecord> slowest = startup.getSlowestBeans(1);
+        assertEquals(1, slowest.size());
+        assertEquals("child", slowest.get(0).tags().get(ApplicationStartup.BEAN_NAME_TAG));
+        StartupStepRecord parent = startup.getSlowestBeans(2).get(1);
+        assertTrue(parent.durationNanos() >= slowest.get(0).durationNanos());
+        assertTrue(parent.selfNanos() < parent.durationNanos());
+    }
+
+    @Test
+    @DisplayName("Should only report ended steps")
+    void shouldOnlyReportEndedSteps() {
+        // Given
+        BufferingApplicationStartup startup = new BufferingApplicationStartup();
+
+        // When
+        StartupStep running = startup.start("running");
+        startup.start("ended").end();
+
+        // Then
+        assertEquals(List.of("ended"), startup.getTimeline().stream().map(StartupStepRecord::name).toList());
+        running.end();
+        assertEquals(2, startup.getTimeline().size());
+    }
+
+    @Test
+    @DisplayName("Should count steps beyond the capacity as dropped")
+    void shouldDropStepsBeyondCapacity() {
+        // Given
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(2);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            startup.start("step").end();
+        }
+
+        // Then
+        assertEquals(2, startup.getTimeline().size());
+        assertEquals(3, startup.getDroppedSteps());
+    }
+
+    @Test
+    @DisplayName("Should dump the timeline as escaped JSON")
+    void shouldDumpJson() {
+        // Given
+        BufferingApplicationStartup startup = new BufferingApplicationStartup();
+
+        // When
+        startup.start("step").tag("quote", "a\"b\\c\n").end();
+        String json = startup.toJson();
+
+        // Then
+        assertTrue(json.startsWith("{\"droppedSteps\":0,\"steps\":[{\"id\":0,\"parentId\":-1,\"name\":\"step\""));
+        assertTrue(json.contains("\"tags\":{\"quote\":\"a\\\"b\\\\c\\n\"}"));
+        assertTrue(json.endsWith("}]}"));
+    }
+
+    @Test
+    @DisplayName("Should record nothing with the default startup")
+    void shouldRecordNothingByDefault() {
+        StartupStep step = ApplicationStartup.DEFAULT.start("step");
+        assertSame(step, step.tag("key", "value"));
+        assertSame(step, ApplicationStartup.DEFAULT.start("other"));
+        step.end();
+    }
+
+    @Test
+    @DisplayName("Should throw exception for invalid arguments")
+    void shouldValidateArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BufferingApplicationStartup(0));
+        BufferingApplicationStartup startup = new BufferingApplicationStartup();
+        assertThrows(IllegalArgumentException.class, () -> startup.start(""));
+        assertThrows(IllegalArgumentException.class, () -> startup.getSlowestSteps("step", -1));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.jfr;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.pythongong.aop.AdvisedSupport;
+import com.pythongong.aop.interceptor.MethodMatcherInterceptor;
+import com.pythongong.aop.proxy.ByteBuddyAopProxy;
+import com.pythongong.beans.config.BeanDefinition;
+import com.pythongong.beans.impl.DefaultListableBeanFactory;
+import com.pythongong.enums.ScopeEnum;
+import com.pythongong.test.aop.valid.AopTestTarget;
+import com.pythongong.test.ioc.normal.TestBean;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Unit tests for the flight recorder events of the bean container.
+ *
+ * @author Cheng Gong
+ */
+@DisplayName("Framework JFR Events Tests")
+class FrameworkEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should record bean instantiation when its event is enabled")
+    void shouldRecordBeanInstantiation() throws Exception {
+        // Given
+        DefaultListableBeanFactory beanFactory = newBeanFactory();
+
+        // When
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(BeanInstantiationEvent.NAME);
+            recording.start();
+            beanFactory.getBean("testBean");
+            recording.stop();
+            events = readEvents(recording, BeanInstantiationEvent.NAME);
+        }
+
+        // Then
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("testBean", event.getString("beanName"));
+        assertEquals(TestBean.class.getName(), event.getClass("beanClass").getName());
+        assertEquals(ScopeEnum.PROTOTYPE.toString(), event.getString("scope"));
+    }
+
+    @Test
+    @DisplayName("Should not record bean instantiation by default")
+    void shouldNotRecordBeanInstantiationByDefault() throws Exception {
+        // Given
+        DefaultListableBeanFactory beanFactory = newBeanFactory();
+
+        // When
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.start();
+            beanFactory.getBean("testBean");
+            recording.stop();
+            events = readEvents(recording, BeanInstantiationEvent.NAME);
+        }
+
+        // Then
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should record proxy generation when its event is enabled")
+    void shouldRecordProxyGeneration() throws Exception {
+        // Given
+        ByteBuddyAopProxy proxy = new ByteBuddyAopProxy(new AdvisedSupport(new AopTestTarget(),
+                List.of(new MethodMatcherInterceptor(invocation -> invocation.proceed(), method -> true))));
+
+        // When
+        List<RecordedEvent> events;
+        Object proxyTarget;
+        try (Recording recording = new Recording()) {
+            recording.enable(ProxyGenerationEvent.NAME);
+            recording.start();
+            proxyTarget = proxy.getProxy();
+            recording.stop();
+            events = readEvents(recording, ProxyGenerationEvent.NAME);
+        }
+
+        // Then
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals(AopTestTarget.class.getName(), event.getClass("targetClass").getName());
+        assertEquals(proxyTarget.getClass().getName(), event.getClass("proxyClass").getName());
+    }
+
+    private DefaultListableBeanFactory newBeanFactory() throws NoSuchMethodException {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition(BeanDefinition.builder()
+                .beanName("testBean")
+                .beanClass(TestBean.class)
+                .constructor(TestBean.class.getConstructor())
+                .scope(ScopeEnum.PROTOTYPE)
+                .build());
+        return beanFactory;
+    }
+
+    private List<RecordedEvent> readEvents(Recording recording, String eventName) throws IOException {
+        Path dump = tempDir.resolve(eventName + ".jfr");
+        recording.dump(dump);
+        return RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .toList();
+    }
+}
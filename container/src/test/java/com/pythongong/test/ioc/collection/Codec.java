@@ -0,0 +1,6 @@
+package com.pythongong.test.ioc.collection;
+
+public interface Codec {
+
+    String format();
+}
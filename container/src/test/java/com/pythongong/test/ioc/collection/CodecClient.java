@@ -0,0 +1,24 @@
+package com.pythongong.test.ioc.collection;
+
+import java.util.List;
+
+import com.pythongong.enums.ScopeEnum;
+import com.pythongong.stereotype.AutoWired;
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.Scope;
+
+@Component("codecClient")
+@Scope(ScopeEnum.PROTOTYPE)
+public class CodecClient {
+
+    private final List<Codec> codecs;
+
+    @AutoWired
+    public CodecClient(List<Codec> codecs) {
+        this.codecs = codecs;
+    }
+
+    public List<Codec> getCodecs() {
+        return codecs;
+    }
+}
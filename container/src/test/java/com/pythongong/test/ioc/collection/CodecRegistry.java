@@ -0,0 +1,56 @@
+package com.pythongong.test.ioc.collection;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.pythongong.stereotype.AutoWired;
+import com.pythongong.stereotype.Component;
+
+@Component("codecRegistry")
+public class CodecRegistry {
+
+    @AutoWired
+    private List<Codec> codecs;
+
+    @AutoWired
+    private Map<String, Codec> codecsByName;
+
+    @AutoWired
+    private Codec[] codecArray;
+
+    private final Set<Codec> codecSet;
+
+    private Collection<Codec> codecCollection;
+
+    @AutoWired
+    public CodecRegistry(Set<Codec> codecSet) {
+        this.codecSet = codecSet;
+    }
+
+    @AutoWired
+    public void setCodecCollection(Collection<Codec> codecCollection) {
+        this.codecCollection = codecCollection;
+    }
+
+    public List<Codec> getCodecs() {
+        return codecs;
+    }
+
+    public Map<String, Codec> getCodecsByName() {
+        return codecsByName;
+    }
+
+    public Codec[] getCodecArray() {
+        return codecArray;
+    }
+
+    public Set<Codec> getCodecSet() {
+        return codecSet;
+    }
+
+    public Collection<Codec> getCodecCollection() {
+        return codecCollection;
+    }
+}
@@ -0,0 +1,9 @@
+package com.pythongong.test.ioc.collection;
+
+import com.pythongong.stereotype.ComponentScan;
+import com.pythongong.stereotype.Configuration;
+
+@ComponentScan
+@Configuration("collectionConfiguration")
+public class CollectionConfiguration {
+}
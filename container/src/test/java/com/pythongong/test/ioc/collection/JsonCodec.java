@@ -0,0 +1,14 @@
+package com.pythongong.test.ioc.collection;
+
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.Order;
+
+@Component("jsonCodec")
+@Order(2)
+public class JsonCodec implements Codec {
+
+    @Override
+    public String format() {
+        return "json";
+    }
+}
@@ -0,0 +1,14 @@
+package com.pythongong.test.ioc.collection;
+
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.Order;
+
+@Component("xmlCodec")
+@Order(1)
+public class XmlCodec implements Codec {
+
+    @Override
+    public String format() {
+        return "xml";
+    }
+}
@@ -0,0 +1,12 @@
+package com.pythongong.test.ioc.collection;
+
+import com.pythongong.stereotype.Component;
+
+@Component("yamlCodec")
+public class YamlCodec implements Codec {
+
+    @Override
+    public String format() {
+        return "yaml";
+    }
+}
@@ -0,0 +1,21 @@
+package com.pythongong.test.ioc.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.pythongong.beans.config.FactoryBean;
+
+public class CountingFactoryBean implements FactoryBean<SlowBean> {
+
+    public static final AtomicInteger OBJECTS = new AtomicInteger();
+
+    @Override
+    public SlowBean getObject() throws Exception {
+        OBJECTS.incrementAndGet();
+        return new SlowBean();
+    }
+
+    @Override
+    public boolean isSingleton() {
+        return true;
+    }
+}
@@ -0,0 +1,13 @@
+package com.pythongong.test.ioc.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SlowBean {
+
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public SlowBean() throws InterruptedException {
+        INSTANCES.incrementAndGet();
+        Thread.sleep(20);
+    }
+}
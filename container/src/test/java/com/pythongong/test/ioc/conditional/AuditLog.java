@@ -0,0 +1,4 @@
+package com.pythongong.test.ioc.conditional;
+
+public class AuditLog {
+}
@@ -0,0 +1,24 @@
+package com.pythongong.test.ioc.conditional;
+
+import com.pythongong.stereotype.Bean;
+import com.pythongong.stereotype.ComponentScan;
+import com.pythongong.stereotype.ConditionalOnMissingBean;
+import com.pythongong.stereotype.ConditionalOnProperty;
+import com.pythongong.stereotype.Configuration;
+
+@ComponentScan
+@Configuration("conditionalConfiguration")
+public class ConditionalConfiguration {
+
+    @Bean("auditLog")
+    @ConditionalOnProperty(value = "audit.enabled", matchIfMissing = true)
+    public AuditLog auditLog() {
+        return new AuditLog();
+    }
+
+    @Bean("fallbackAuditLog")
+    @ConditionalOnMissingBean
+    public AuditLog fallbackAuditLog() {
+        return new AuditLog();
+    }
+}
@@ -0,0 +1,14 @@
+package com.pythongong.test.ioc.conditional;
+
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.ConditionalOnProperty;
+
+@Component("emailNotifier")
+@ConditionalOnProperty("notifier.email.enabled")
+public class EmailNotifier implements Notifier {
+
+    @Override
+    public String channel() {
+        return "email";
+    }
+}
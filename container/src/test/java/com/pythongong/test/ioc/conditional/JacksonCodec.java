@@ -0,0 +1,9 @@
+package com.pythongong.test.ioc.conditional;
+
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.ConditionalOnClass;
+
+@Component("jacksonCodec")
+@ConditionalOnClass("com.fasterxml.jackson.databind.ObjectMapper")
+public class JacksonCodec {
+}
@@ -0,0 +1,9 @@
+package com.pythongong.test.ioc.conditional;
+
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.ConditionalOnClass;
+
+@Component("jdkCodec")
+@ConditionalOnClass({ "java.io.ObjectOutputStream", "java.io.ObjectInputStream" })
+public class JdkCodec {
+}
@@ -0,0 +1,14 @@
+package com.pythongong.test.ioc.conditional;
+
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.ConditionalOnMissingBean;
+
+@Component("logNotifier")
+@ConditionalOnMissingBean(Notifier.class)
+public class LogNotifier implements Notifier {
+
+    @Override
+    public String channel() {
+        return "log";
+    }
+}
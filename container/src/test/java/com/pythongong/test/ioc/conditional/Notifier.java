@@ -0,0 +1,6 @@
+package com.pythongong.test.ioc.conditional;
+
+public interface Notifier {
+
+    String channel();
+}
@@ -0,0 +1,14 @@
+package com.pythongong.test.ioc.conditional;
+
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.ConditionalOnProperty;
+
+@Component("smsNotifier")
+@ConditionalOnProperty(value = "notifier.channel", havingValue = "sms")
+public class SmsNotifier implements Notifier {
+
+    @Override
+    public String channel() {
+        return "sms";
+    }
+}
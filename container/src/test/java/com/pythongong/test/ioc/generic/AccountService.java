@@ -0,0 +1,26 @@
+package com.pythongong.test.ioc.generic;
+
+import com.pythongong.stereotype.AutoWired;
+import com.pythongong.stereotype.Component;
+
+@Component("accountService")
+public class AccountService {
+
+    @AutoWired
+    private Repository<User> userRepository;
+
+    private final Repository<Order> orderRepository;
+
+    @AutoWired
+    public AccountService(Repository<Order> orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    public Repository<User> getUserRepository() {
+        return userRepository;
+    }
+
+    public Repository<Order> getOrderRepository() {
+        return orderRepository;
+    }
+}
@@ -0,0 +1,9 @@
+package com.pythongong.test.ioc.generic;
+
+import com.pythongong.stereotype.ComponentScan;
+import com.pythongong.stereotype.Configuration;
+
+@ComponentScan
+@Configuration("genericConfiguration")
+public class GenericConfiguration {
+}
@@ -0,0 +1,12 @@
+package com.pythongong.test.ioc.generic;
+
+import com.pythongong.stereotype.Component;
+
+@Component("orderRepository")
+public class OrderRepository implements Repository<Order> {
+
+    @Override
+    public Class<Order> entityType() {
+        return Order.class;
+    }
+}
@@ -0,0 +1,6 @@
+package com.pythongong.test.ioc.generic;
+
+public interface Repository<T> {
+
+    Class<T> entityType();
+}
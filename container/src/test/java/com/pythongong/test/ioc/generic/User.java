@@ -0,0 +1,4 @@
+package com.pythongong.test.ioc.generic;
+
+public class User {
+}
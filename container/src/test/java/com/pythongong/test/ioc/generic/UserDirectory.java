@@ -0,0 +1,17 @@
+package com.pythongong.test.ioc.generic;
+
+import java.util.List;
+
+import com.pythongong.stereotype.AutoWired;
+import com.pythongong.stereotype.Component;
+
+@Component("userDirectory")
+public class UserDirectory {
+
+    @AutoWired
+    private List<Repository<User>> userRepositories;
+
+    public List<Repository<User>> getUserRepositories() {
+        return userRepositories;
+    }
+}
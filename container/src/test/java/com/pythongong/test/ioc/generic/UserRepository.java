@@ -0,0 +1,12 @@
+package com.pythongong.test.ioc.generic;
+
+import com.pythongong.stereotype.Component;
+
+@Component("userRepository")
+public class UserRepository implements Repository<User> {
+
+    @Override
+    public Class<User> entityType() {
+        return User.class;
+    }
+}
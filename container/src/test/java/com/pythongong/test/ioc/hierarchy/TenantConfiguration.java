@@ -0,0 +1,9 @@
+package com.pythongong.test.ioc.hierarchy;
+
+import com.pythongong.stereotype.ComponentScan;
+import com.pythongong.stereotype.Configuration;
+
+@ComponentScan
+@Configuration("tenantConfiguration")
+public class TenantConfiguration {
+}
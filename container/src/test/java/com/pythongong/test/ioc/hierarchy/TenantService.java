@@ -0,0 +1,16 @@
+package com.pythongong.test.ioc.hierarchy;
+
+import com.pythongong.stereotype.AutoWired;
+import com.pythongong.stereotype.Component;
+import com.pythongong.test.ioc.lazy.EagerClient;
+
+@Component
+public class TenantService {
+
+    @AutoWired
+    private EagerClient eagerClient;
+
+    public EagerClient getEagerClient() {
+        return eagerClient;
+    }
+}
@@ -0,0 +1,15 @@
+package com.pythongong.test.ioc.lazy;
+
+import com.pythongong.stereotype.AutoWired;
+import com.pythongong.stereotype.Component;
+
+@Component
+public class EagerClient {
+
+    @AutoWired
+    private LazyService lazyService;
+
+    public LazyService getLazyService() {
+        return lazyService;
+    }
+}
@@ -0,0 +1,17 @@
+package com.pythongong.test.ioc.lazy;
+
+import com.pythongong.stereotype.Bean;
+import com.pythongong.stereotype.ComponentScan;
+import com.pythongong.stereotype.Configuration;
+import com.pythongong.stereotype.Lazy;
+
+@ComponentScan
+@Configuration("lazyConfiguration")
+public class LazyConfiguration {
+
+    @Bean("lazyReport")
+    @Lazy
+    public LazyReport createLazyReport() {
+        return new LazyReport();
+    }
+}
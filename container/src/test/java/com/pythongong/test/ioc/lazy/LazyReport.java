@@ -0,0 +1,8 @@
+package com.pythongong.test.ioc.lazy;
+
+public class LazyReport {
+
+    public String render() {
+        return "report";
+    }
+}
@@ -0,0 +1,21 @@
+package com.pythongong.test.ioc.lazy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.Lazy;
+
+@Component
+@Lazy
+public class LazyService {
+
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public LazyService() {
+        INSTANCES.incrementAndGet();
+    }
+
+    public String greet(String name) {
+        return "Hello " + name;
+    }
+}
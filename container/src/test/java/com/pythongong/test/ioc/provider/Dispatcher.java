@@ -0,0 +1,37 @@
+package com.pythongong.test.ioc.provider;
+
+import com.pythongong.beans.factory.ObjectProvider;
+import com.pythongong.stereotype.AutoWired;
+import com.pythongong.stereotype.Component;
+
+@Component("dispatcher")
+public class Dispatcher {
+
+    @AutoWired
+    private ObjectProvider<Handler> handlers;
+
+    @AutoWired("firstHandler")
+    private ObjectProvider<Handler> firstHandler;
+
+    @AutoWired
+    private ObjectProvider<Task> tasks;
+
+    @AutoWired
+    private ObjectProvider<Runnable> runnables;
+
+    public ObjectProvider<Handler> getHandlers() {
+        return handlers;
+    }
+
+    public ObjectProvider<Handler> getFirstHandler() {
+        return firstHandler;
+    }
+
+    public ObjectProvider<Task> getTasks() {
+        return tasks;
+    }
+
+    public ObjectProvider<Runnable> getRunnables() {
+        return runnables;
+    }
+}
@@ -0,0 +1,6 @@
+package com.pythongong.test.ioc.provider;
+
+public interface Handler {
+
+    String handle(String request);
+}
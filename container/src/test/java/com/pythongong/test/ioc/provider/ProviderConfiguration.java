@@ -0,0 +1,9 @@
+package com.pythongong.test.ioc.provider;
+
+import com.pythongong.stereotype.ComponentScan;
+import com.pythongong.stereotype.Configuration;
+
+@ComponentScan
+@Configuration("providerConfiguration")
+public class ProviderConfiguration {
+}
@@ -0,0 +1,12 @@
+package com.pythongong.test.ioc.provider;
+
+import com.pythongong.stereotype.Component;
+
+@Component("secondHandler")
+public class SecondHandler implements Handler {
+
+    @Override
+    public String handle(String request) {
+        return "second:" + request;
+    }
+}
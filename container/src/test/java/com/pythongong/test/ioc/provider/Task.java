@@ -0,0 +1,10 @@
+package com.pythongong.test.ioc.provider;
+
+import com.pythongong.enums.ScopeEnum;
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.Scope;
+
+@Component("task")
+@Scope(ScopeEnum.PROTOTYPE)
+public class Task {
+}
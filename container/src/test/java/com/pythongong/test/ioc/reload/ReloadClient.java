@@ -0,0 +1,15 @@
+package com.pythongong.test.ioc.reload;
+
+import com.pythongong.stereotype.AutoWired;
+import com.pythongong.stereotype.Component;
+
+@Component
+public class ReloadClient {
+
+    @AutoWired
+    private ReloadableSettings settings;
+
+    public String greet(String name) {
+        return settings.getGreeting() + " " + name;
+    }
+}
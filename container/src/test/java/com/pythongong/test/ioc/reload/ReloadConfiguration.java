@@ -0,0 +1,9 @@
+package com.pythongong.test.ioc.reload;
+
+import com.pythongong.stereotype.ComponentScan;
+import com.pythongong.stereotype.Configuration;
+
+@ComponentScan
+@Configuration("reloadConfiguration")
+public class ReloadConfiguration {
+}
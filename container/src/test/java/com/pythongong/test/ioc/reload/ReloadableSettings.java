@@ -0,0 +1,25 @@
+package com.pythongong.test.ioc.reload;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.pythongong.beans.config.DisposableBean;
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.Value;
+
+@Component
+public class ReloadableSettings implements DisposableBean {
+
+    public static final AtomicInteger DESTROYED = new AtomicInteger();
+
+    @Value("${reload.greeting}")
+    private String greeting;
+
+    public String getGreeting() {
+        return greeting;
+    }
+
+    @Override
+    public void destroy() {
+        DESTROYED.incrementAndGet();
+    }
+}
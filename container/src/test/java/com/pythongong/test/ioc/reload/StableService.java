@@ -0,0 +1,7 @@
+package com.pythongong.test.ioc.reload;
+
+import com.pythongong.stereotype.Component;
+
+@Component
+public class StableService {
+}
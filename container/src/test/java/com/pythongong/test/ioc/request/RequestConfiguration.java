@@ -0,0 +1,9 @@
+package com.pythongong.test.ioc.request;
+
+import com.pythongong.stereotype.ComponentScan;
+import com.pythongong.stereotype.Configuration;
+
+@ComponentScan
+@Configuration("requestConfiguration")
+public class RequestConfiguration {
+}
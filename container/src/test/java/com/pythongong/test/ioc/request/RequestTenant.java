@@ -0,0 +1,20 @@
+package com.pythongong.test.ioc.request;
+
+import com.pythongong.enums.ScopeEnum;
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.Scope;
+
+@Component
+@Scope(ScopeEnum.REQUEST)
+public class RequestTenant {
+
+    private String name = "default";
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
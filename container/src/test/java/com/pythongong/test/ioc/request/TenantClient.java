@@ -0,0 +1,23 @@
+package com.pythongong.test.ioc.request;
+
+import com.pythongong.stereotype.AutoWired;
+import com.pythongong.stereotype.Component;
+import com.pythongong.test.ioc.scope.RequestCounter;
+
+@Component
+public class TenantClient {
+
+    @AutoWired
+    private RequestTenant requestTenant;
+
+    @AutoWired
+    private RequestCounter requestCounter;
+
+    public RequestTenant getRequestTenant() {
+        return requestTenant;
+    }
+
+    public RequestCounter getRequestCounter() {
+        return requestCounter;
+    }
+}
@@ -0,0 +1,42 @@
+package com.pythongong.test.ioc.scope;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.pythongong.beans.config.DisposableBean;
+import com.pythongong.beans.scope.PoolableBean;
+
+public class PooledBuffer implements PoolableBean, DisposableBean {
+
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public static final AtomicInteger DESTROYED = new AtomicInteger();
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    private boolean broken;
+
+    public PooledBuffer() {
+        INSTANCES.incrementAndGet();
+    }
+
+    public String append(String text) {
+        return buffer.append(text).toString();
+    }
+
+    public void breakBuffer() {
+        broken = true;
+    }
+
+    @Override
+    public void reset() {
+        if (broken) {
+            throw new IllegalStateException("broken buffer");
+        }
+        buffer.setLength(0);
+    }
+
+    @Override
+    public void destroy() {
+        DESTROYED.incrementAndGet();
+    }
+}
@@ -0,0 +1,10 @@
+package com.pythongong.test.ioc.scope;
+
+public class PooledBufferClient {
+
+    private PooledBuffer pooledBuffer;
+
+    public PooledBuffer getPooledBuffer() {
+        return pooledBuffer;
+    }
+}
@@ -0,0 +1,34 @@
+package com.pythongong.test.ioc.scope;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.pythongong.beans.config.DisposableBean;
+import com.pythongong.enums.ScopeEnum;
+import com.pythongong.stereotype.Component;
+import com.pythongong.stereotype.Scope;
+
+@Component
+@Scope(ScopeEnum.REQUEST)
+public class RequestCounter implements DisposableBean {
+
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public static final AtomicInteger DESTROYED = new AtomicInteger();
+
+    private final int id = INSTANCES.incrementAndGet();
+
+    private int count;
+
+    public int getId() {
+        return id;
+    }
+
+    public int increment() {
+        return ++count;
+    }
+
+    @Override
+    public void destroy() {
+        DESTROYED.incrementAndGet();
+    }
+}
@@ -0,0 +1,9 @@
+package com.pythongong.test.ioc.scope;
+
+import com.pythongong.stereotype.ComponentScan;
+import com.pythongong.stereotype.Configuration;
+
+@ComponentScan
+@Configuration("scopeConfiguration")
+public class ScopeConfiguration {
+}
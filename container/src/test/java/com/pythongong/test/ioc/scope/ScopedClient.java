@@ -0,0 +1,15 @@
+package com.pythongong.test.ioc.scope;
+
+import com.pythongong.stereotype.AutoWired;
+import com.pythongong.stereotype.Component;
+
+@Component
+public class ScopedClient {
+
+    @AutoWired
+    private RequestCounter requestCounter;
+
+    public RequestCounter getRequestCounter() {
+        return requestCounter;
+    }
+}
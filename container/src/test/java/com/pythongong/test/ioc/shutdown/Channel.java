@@ -0,0 +1,19 @@
+package com.pythongong.test.ioc.shutdown;
+
+import com.pythongong.beans.config.DisposableBean;
+
+public class Channel implements DisposableBean {
+
+    private String name;
+
+    private Channel peer;
+
+    public Channel getPeer() {
+        return peer;
+    }
+
+    @Override
+    public void destroy() {
+        ConnectionPool.DESTROYED.add(name);
+    }
+}
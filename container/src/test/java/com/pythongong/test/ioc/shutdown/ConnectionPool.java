@@ -0,0 +1,17 @@
+package com.pythongong.test.ioc.shutdown;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.pythongong.beans.config.DisposableBean;
+
+public class ConnectionPool implements DisposableBean {
+
+    public static final List<String> DESTROYED = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void destroy() {
+        DESTROYED.add("connectionPool");
+    }
+}
@@ -0,0 +1,17 @@
+package com.pythongong.test.ioc.shutdown;
+
+import com.pythongong.beans.config.DisposableBean;
+
+public class Repository implements DisposableBean {
+
+    private ConnectionPool pool;
+
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    @Override
+    public void destroy() {
+        ConnectionPool.DESTROYED.add("repository");
+    }
+}
@@ -45,6 +45,14 @@ class ClassUtilsTest {
         assertEquals(Thread.currentThread().getContextClassLoader(), loader);
     }
 
+    @Test
+    @DisplayName("Should check whether classes are present")
+    void shouldCheckClassPresence() {
+        assertTrue(ClassUtils.isPresent("java.util.List"));
+        assertTrue(ClassUtils.isPresent(ClassUtilsTest.class.getName()));
+        assertFalse(ClassUtils.isPresent("com.pythongong.missing.MissingClass"));
+    }
+
     @Test
     @DisplayName("Should find direct annotation")
     void shouldFindDirectAnnotation() {
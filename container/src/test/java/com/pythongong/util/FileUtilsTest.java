@@ -29,6 +29,8 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -149,6 +151,31 @@ class FileUtilsTest {
         assertTrue(foundFiles.contains("test3.properties"));
     }
 
+    @Test
+    @DisplayName("Should find files including subdirectories in parallel")
+    void shouldFindFilesInParallel() {
+        // Given
+        Set<String> parallelFiles = ConcurrentHashMap.newKeySet();
+        BiConsumer<Path, Path> pathMapper = (basePath, filePath) -> parallelFiles
+                .add(filePath.getFileName().toString());
+
+        ClassPathSerchParam param = ClassPathSerchParam.builder()
+                .packagePath(TEST_RESOURCES_PATH)
+                .pathMapper(pathMapper)
+                .searchSudDirect(true)
+                .serachFile(true)
+                .serachJar(false)
+                .parallel(true)
+                .build();
+
+        // When
+        FileUtils.findClassPathFileNames(param);
+
+        // Then
+        assertEquals(5, parallelFiles.size());
+        assertTrue(parallelFiles.contains("test3.properties"));
+    }
+
     @Test
     @DisplayName("Should find only property files")
     void shouldFindOnlyPropertyFiles() {
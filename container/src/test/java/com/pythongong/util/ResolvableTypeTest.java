@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ResolvableType}.
+ *
+ * @author Cheng Gong
+ */
+@DisplayName("ResolvableType Tests")
+class ResolvableTypeTest {
+
+    @Test
+    @DisplayName("Should resolve type arguments bound through the class hierarchy")
+    void shouldResolveTypeArguments() {
+        // When
+        Class<?>[] direct = ResolvableType.resolveTypeArguments(StringStore.class, Store.class);
+        Class<?>[] inherited = ResolvableType.resolveTypeArguments(CachedStringStore.class, Store.class);
+        Class<?>[] throughSuperclass = ResolvableType.resolveTypeArguments(IntegerStore.class, Store.class);
+        Class<?>[] unresolved = ResolvableType.resolveTypeArguments(RawStore.class, Store.class);
+        Class<?>[] unrelated = ResolvableType.resolveTypeArguments(String.class, Store.class);
+
+        // Then
+        assertArrayEquals(new Class<?>[] { String.class }, direct);
+        assertArrayEquals(new Class<?>[] { String.class }, inherited);
+        assertArrayEquals(new Class<?>[] { Integer.class }, throughSuperclass);
+        assertArrayEquals(new Class<?>[] { null }, unresolved);
+        assertArrayEquals(new Class<?>[] { null }, unrelated);
+    }
+
+    @Test
+    @DisplayName("Should not expose the cached type arguments")
+    void shouldCopyCachedTypeArguments() {
+        // Given
+        Class<?>[] first = ResolvableType.resolveTypeArguments(StringStore.class, Store.class);
+
+        // When
+        first[0] = Object.class;
+
+        // Then
+        assertArrayEquals(new Class<?>[] { String.class },
+                ResolvableType.resolveTypeArguments(StringStore.class, Store.class));
+    }
+
+    @Test
+    @DisplayName("Should match bean classes by type arguments, strictly or leniently")
+    void shouldMatchTypeArguments() throws NoSuchFieldException {
+        // Given
+        ResolvableType stringStore = ResolvableType.forType(fieldType("stringStore"));
+
+        // Then
+        assertTrue(stringStore.hasGenerics());
+        assertEquals(Store.class, stringStore.getRawClass());
+        assertTrue(stringStore.isAssignableFrom(StringStore.class, true));
+        assertTrue(stringStore.isAssignableFrom(CachedStringStore.class, true));
+        assertFalse(stringStore.isAssignableFrom(IntegerStore.class, false));
+        assertFalse(stringStore.isAssignableFrom(RawStore.class, true));
+        assertTrue(stringStore.isAssignableFrom(RawStore.class, false));
+        assertFalse(stringStore.isAssignableFrom(String.class, false));
+    }
+
+    @Test
+    @DisplayName("Should treat unbounded wildcards as raw types and honor bounded ones")
+    void shouldMatchWildcards() throws NoSuchFieldException {
+        // Given
+        ResolvableType anyStore = ResolvableType.forType(fieldType("anyStore"));
+        ResolvableType numberStore = ResolvableType.forType(fieldType("numberStore"));
+
+        // Then
+        assertFalse(anyStore.hasGenerics());
+        assertTrue(anyStore.isAssignableFrom(RawStore.class, true));
+        assertTrue(numberStore.isAssignableFrom(IntegerStore.class, true));
+        assertFalse(numberStore.isAssignableFrom(StringStore.class, false));
+    }
+
+    @Test
+    @DisplayName("Should resolve the generic parameter types of a constructor")
+    void shouldGetGenericParameterTypes() throws NoSuchMethodException {
+        // When
+        Type[] parameterTypes = ResolvableType.getGenericParameterTypes(
+                StoreClient.class.getDeclaredConstructor(Store.class, List.class));
+
+        // Then
+        assertEquals(2, parameterTypes.length);
+        assertEquals(Store.class, ResolvableType.forType(parameterTypes[0]).getRawClass());
+        assertTrue(ResolvableType.forType(parameterTypes[0]).isAssignableFrom(StringStore.class, true));
+        assertEquals(List.class, ResolvableType.forType(parameterTypes[1]).getRawClass());
+    }
+
+    private static Type fieldType(String fieldName) throws NoSuchFieldException {
+        return StoreClient.class.getDeclaredField(fieldName).getGenericType();
+    }
+
+    interface Store<T> {
+    }
+
+    static class StringStore implements Store<String> {
+    }
+
+    static class CachedStringStore extends StringStore {
+    }
+
+    abstract static class AbstractStore<T> implements Store<T> {
+    }
+
+    static class IntegerStore extends AbstractStore<Integer> {
+    }
+
+    @SuppressWarnings("rawtypes")
+    static class RawStore implements Store {
+    }
+
+    static class StoreClient {
+
+        Store<String> stringStore;
+
+        Store<?> anyStore;
+
+        Store<? extends Number> numberStore;
+
+        StoreClient(Store<String> stringStore, List<String> names) {
+            this.stringStore = stringStore;
+        }
+    }
+}
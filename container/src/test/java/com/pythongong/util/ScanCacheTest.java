@@ -0,0 +1,177 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link ScanCache}.
+ *
+ * @author Cheng Gong
+ */
+class ScanCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ScanCache scanCache;
+
+    private AtomicInteger scans;
+
+    private Function<Path, List<String>> scanner;
+
+    @BeforeEach
+    void setUp() {
+        scanCache = new ScanCache(tempDir.resolve("cache"));
+        scans = new AtomicInteger();
+        scanner = path -> List.of("scan-" + scans.incrementAndGet());
+    }
+
+    @Test
+    @DisplayName("Should restore unchanged directories from the cache")
+    void shouldRestoreUnchangedDirectories() throws IOException {
+        // Given
+        Path root = Files.createDirectories(tempDir.resolve("classes/demo"));
+        Files.writeString(root.resolve("A.class"), "a");
+
+        // When
+        List<String> first = scanCache.get("classes", root, true, scanner);
+        List<String> second = new ScanCache(tempDir.resolve("cache")).get("classes", root, true, scanner);
+
+        // Then
+        assertEquals(List.of("scan-1"), first);
+        assertEquals(first, second);
+        assertEquals(1, scans.get());
+    }
+
+    @Test
+    @DisplayName("Should rescan directories whose files changed")
+    void shouldRescanChangedDirectories() throws IOException {
+        // Given
+        Path root = Files.createDirectories(tempDir.resolve("classes/demo"));
+        Path classFile = Files.writeString(root.resolve("A.class"), "a");
+        scanCache.get("classes", root, true, scanner);
+
+        // When
+        Files.setLastModifiedTime(classFile, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        List<String> afterChange = scanCache.get("classes", root, true, scanner);
+        Files.writeString(Files.createDirectories(root.resolve("sub")).resolve("B.class"), "b");
+        List<String> afterAddition = scanCache.get("classes", root, true, scanner);
+
+        // Then
+        assertEquals(List.of("scan-2"), afterChange);
+        assertEquals(List.of("scan-3"), afterAddition);
+    }
+
+    @Test
+    @DisplayName("Should keep regions of the same location apart")
+    void shouldSeparateRegions() throws IOException {
+        // Given
+        Path root = Files.createDirectories(tempDir.resolve("resources"));
+
+        // When
+        scanCache.get("classes", root, false, scanner);
+        List<String> otherRegion = scanCache.get("resources", root, false, scanner);
+
+        // Then
+        assertEquals(List.of("scan-2"), otherRegion);
+    }
+
+    @Test
+    @DisplayName("Should rescan when a cache file is corrupted")
+    void shouldRescanCorruptedEntries() throws IOException {
+        // Given
+        Path root = Files.createDirectories(tempDir.resolve("resources"));
+        scanCache.get("resources", root, false, scanner);
+        try (var cacheFiles = Files.list(tempDir.resolve("cache"))) {
+            for (Path cacheFile : cacheFiles.toList()) {
+                Files.writeString(cacheFile, "garbage");
+            }
+        }
+
+        // When
+        List<String> result = scanCache.get("resources", root, false, scanner);
+
+        // Then
+        assertEquals(List.of("scan-2"), result);
+    }
+
+    @Test
+    @DisplayName("Should key jar locations by the jar file")
+    void shouldCacheJarLocations() throws IOException {
+        // Given
+        Path jar = tempDir.resolve("lib.jar");
+        writeJar(jar, "demo/A.class");
+        URI jarUri = URI.create("jar:" + jar.toUri());
+
+        // When
+        List<String> first;
+        List<String> second;
+        try (FileSystem fileSystem = FileSystems.newFileSystem(jarUri, Map.of())) {
+            first = scanCache.get("classes", fileSystem.getPath("demo"), true, scanner);
+            second = scanCache.get("classes", fileSystem.getPath("demo"), true, scanner);
+        }
+        writeJar(jar, "demo/B.class");
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        List<String> afterChange;
+        try (FileSystem fileSystem = FileSystems.newFileSystem(jarUri, Map.of())) {
+            afterChange = scanCache.get("classes", fileSystem.getPath("demo"), true, scanner);
+        }
+
+        // Then
+        assertEquals(List.of("scan-1"), first);
+        assertEquals(first, second);
+        assertEquals(List.of("scan-2"), afterChange);
+    }
+
+    @Test
+    @DisplayName("Should throw exception for invalid arguments")
+    void shouldValidateArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ScanCache(null));
+        assertThrows(IllegalArgumentException.class, () -> scanCache.get("", tempDir, true, scanner));
+        assertThrows(IllegalArgumentException.class, () -> scanCache.get("classes", null, true, scanner));
+        assertThrows(IllegalArgumentException.class, () -> scanCache.get("classes", tempDir, true, null));
+    }
+
+    private static void writeJar(Path jar, String entryName) throws IOException {
+        try (OutputStream outputStream = Files.newOutputStream(jar);
+                JarOutputStream jarOutputStream = new JarOutputStream(outputStream)) {
+            jarOutputStream.putNextEntry(new ZipEntry(entryName));
+            jarOutputStream.write(entryName.getBytes());
+            jarOutputStream.closeEntry();
+        }
+    }
+}
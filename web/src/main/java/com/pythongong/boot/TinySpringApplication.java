@@ -17,15 +17,23 @@
 package com.pythongong.boot;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.catalina.Context;
 import org.apache.catalina.LifecycleException;
 import org.apache.catalina.Server;
 import org.apache.catalina.startup.Tomcat;
+import com.pythongong.context.ApplicationContext;
+import com.pythongong.context.impl.AnnotationConfigApplicationContext;
 import com.pythongong.context.impl.PropertyResolver;
+import com.pythongong.context.startup.ApplicationStartup;
+import com.pythongong.context.startup.BufferingApplicationStartup;
+import com.pythongong.context.startup.StartupStepRecord;
 import com.pythongong.exception.WebException;
 import com.pythongong.restful.ContextLoaderInitialize;
 import com.pythongong.util.CheckUtils;
@@ -64,6 +72,9 @@ public class TinySpringApplication {
     /** Temporary directory for Tomcat */
     private File tempBaseDir;
 
+    /** Initializer creating the application context in Tomcat */
+    private ContextLoaderInitialize contextLoader;
+
     /**
      * Static helper that can be used to run a {@link TinySpringApplication}
      * from the specified source.
@@ -99,6 +110,7 @@ public class TinySpringApplication {
         final String appTime = String.format("%.3f", (endTime - startTime) / 1000.0);
         final String jvmTime = String.format("%.3f", ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0);
         log.info("Started {} in {} seconds (process running for {})", configClass.getSimpleName(), appTime, jvmTime);
+        reportStartup(propertyResolver);
         
         try {
             server.await();
@@ -131,7 +143,8 @@ public class TinySpringApplication {
         tomcat.setBaseDir(tempBaseDir.getAbsolutePath());
 
         Context context = tomcat.addContext(BASE_DIR, classDir);
-        context.addServletContainerInitializer(new ContextLoaderInitialize(configClass, propertyResolver), Set.of());
+        contextLoader = new ContextLoaderInitialize(configClass, propertyResolver);
+        context.addServletContainerInitializer(contextLoader, Set.of());
 
         tomcat.setPort(port);
         tomcat.getConnector();
@@ -145,6 +158,48 @@ public class TinySpringApplication {
         return tomcat.getServer();
     }
 
+    /**
+     * Logs the slowest beans, the critical path of the bean creations and the
+     * dependency cycles, and writes the startup timeline as JSON when the
+     * application context recorded its startup steps.
+     *
+     * @param propertyResolver resolver for the report size and the JSON file
+     */
+    void reportStartup(PropertyResolver propertyResolver) {
+        ApplicationContext applicationContext = contextLoader == null ? null : contextLoader.getApplicationContext();
+        if (applicationContext == null
+                || !(applicationContext.getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+
+        int reportSize = (int) propertyResolver.getProperty("${tiny-spring.startup.report-size:10}", int.class);
+        for (StartupStepRecord bean : startup.getSlowestBeans(reportSize)) {
+            log.info("Bean {} took {} ms ({} ms with dependencies)",
+                    bean.tags().get(ApplicationStartup.BEAN_NAME_TAG),
+                    String.format("%.3f", bean.selfNanos() / 1_000_000.0),
+                    String.format("%.3f", bean.durationNanos() / 1_000_000.0));
+        }
+        if (applicationContext instanceof AnnotationConfigApplicationContext annotationContext) {
+            List<String> criticalPath = annotationContext.getStartupCriticalPath();
+            if (!criticalPath.isEmpty()) {
+                log.info("Startup critical path: {}", String.join(" -> ", criticalPath));
+            }
+            annotationContext.getDependencyGraph().getCycles()
+                    .forEach(cycle -> log.info("Beans {} depend on each other", cycle));
+        }
+
+        String jsonFile = propertyResolver.getProperty("${tiny-spring.startup.json-file:}");
+        if (StringUtils.isEmpty(jsonFile)) {
+            return;
+        }
+        try {
+            Files.writeString(Paths.get(jsonFile), startup.toJson());
+            log.info("Startup timeline written to {}", jsonFile);
+        } catch (IOException e) {
+            log.warn("Failed to write startup timeline to {}", jsonFile, e);
+        }
+    }
+
     /**
      * Closes the server and cleans up resources.
      *
@@ -101,8 +101,14 @@ public class JdbcTemplate {
      */
     public int update(UpdateParam param) throws DataAccessException {
         return execute((connection) -> {
+            SqlExecutionEvent event = new SqlExecutionEvent();
+            event.begin();
+            int updateNum = 0;
             try (PreparedStatement statement = createStatement(connection, param.sql(), param.argus())) {
-                return statement.executeUpdate();
+                updateNum = statement.executeUpdate();
+                return updateNum;
+            } finally {
+                commitEvent(event, SqlExecutionEvent.UPDATE, param.sql(), updateNum);
             }
         });
     }
@@ -116,8 +122,11 @@ public class JdbcTemplate {
      */
     public Number updateAndGetKey(UpdateParam param) {
         return execute((connection) -> {
+            SqlExecutionEvent event = new SqlExecutionEvent();
+            event.begin();
+            int updateNum = 0;
             try (PreparedStatement statement = createStatement(connection, param.sql(), param.argus())) {
-                int updateNum = statement.executeUpdate();
+                updateNum = statement.executeUpdate();
                 if (updateNum == 0) {
                     throw new DataAccessException("No update");
                 }
@@ -138,6 +147,8 @@ public class JdbcTemplate {
                     throw new DataAccessException("Key type is wrong");
                 }
                 return (Number) number;
+            } finally {
+                commitEvent(event, SqlExecutionEvent.UPDATE_AND_GET_KEY, param.sql(), updateNum);
             }
 
         });
@@ -178,9 +189,11 @@ public class JdbcTemplate {
 
     @SuppressWarnings("unchecked")
     private <T> List<T> doQuery(Connection connection, QueryParam param, int size) {
+        SqlExecutionEvent event = new SqlExecutionEvent();
+        event.begin();
+        List<T> results = new ArrayList<>(size);
         try (PreparedStatement statement = createStatement(connection, param.sql(), param.argus())) {
             statement.setFetchSize(size);
-            List<T> results = new ArrayList<>(size);
             RowMapper<T> rowMapper = (RowMapper<T>) RowMapperFactory.create(param.reuiredClass());
             ResultSet resultSet = statement.executeQuery();
             while (resultSet.next()) {
@@ -195,9 +208,22 @@ public class JdbcTemplate {
             return results;
         } catch (SQLException e) {
             throw new DataAccessException("SQL is wrong");
+        } finally {
+            commitEvent(event, SqlExecutionEvent.QUERY, param.sql(), results.size());
         }
     }
 
+    private void commitEvent(SqlExecutionEvent event, String operation, String sql, long rowCount) {
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.operation = operation;
+        event.sql = sql;
+        event.rowCount = rowCount;
+        event.transactional = DataSourceTransactionManager.getConnection() != null;
+        event.commit();
+    }
+
     private PreparedStatement createStatement(Connection connection, String sql, List<Object> argus) {
         try (PreparedStatement statement = connection.prepareStatement(sql)) {
             for (int i = 0; i < argus.size(); i++) {
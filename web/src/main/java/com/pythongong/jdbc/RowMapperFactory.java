@@ -22,7 +22,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.pythongong.beans.impl.InstantiationStrategy;
-import com.pythongong.beans.impl.SimpleInstantiation;
+import com.pythongong.beans.impl.MethodHandleInstantiation;
 import com.pythongong.exception.DataAccessException;
 
 /**
@@ -46,6 +46,9 @@ public class RowMapperFactory {
     /** Cache of pre-configured row mappers */
     public static final Map<Class<?>, RowMapper<?>> rowMapperMap = new HashMap<>(2);
 
+    /** Strategy creating one target object per mapped row */
+    private static final InstantiationStrategy instantiationStrategy = new MethodHandleInstantiation();
+
     /** Initialize built-in mappers */
     static {
         rowMapperMap.put(Boolean.class, (resultSet, rowNum) -> {
@@ -71,7 +74,8 @@ public class RowMapperFactory {
     }
 
     /**
-     * Creates a default row mapper using reflection.
+     * Creates a default row mapper using reflection. Each row is mapped into a
+     * new instance of the target class.
      *
      * @param <T> the target type
      * @param targetClass the class to create a mapper for
@@ -79,9 +83,8 @@ public class RowMapperFactory {
      */
     @SuppressWarnings("unchecked")
     private static <T> RowMapper<T> defaultRowMapper(Class<T> targetClass) {
-        InstantiationStrategy instantiationStrategy = new SimpleInstantiation();
-        T instance = (T) instantiationStrategy.instance(targetClass, null, null);
         return (resultSet, rowNum) -> {
+            T instance = (T) instantiationStrategy.instance(targetClass, null, null);
             ResultSetMetaData metaData = resultSet.getMetaData();
             if (metaData == null) {
                 throw new DataAccessException("");
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.jdbc;
+
+import com.pythongong.jfr.FrameworkEvents;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the execution of one SQL statement by the
+ * {@link JdbcTemplate}, from the statement preparation to the mapping of the
+ * last row.
+ *
+ * @author Cheng Gong
+ * @see FrameworkEvents
+ */
+@Name(SqlExecutionEvent.NAME)
+@Label("SQL Execution")
+@Category({ FrameworkEvents.CATEGORY, FrameworkEvents.JDBC })
+@Description("Execution of a SQL statement by the JdbcTemplate")
+@Enabled(false)
+public final class SqlExecutionEvent extends jdk.jfr.Event {
+
+    /** Name of the event */
+    public static final String NAME = FrameworkEvents.PREFIX + "SqlExecution";
+
+    /** Operation of an update statement */
+    static final String UPDATE = "update";
+
+    /** Operation of an insert statement returning the generated key */
+    static final String UPDATE_AND_GET_KEY = "updateAndGetKey";
+
+    /** Operation of a query */
+    static final String QUERY = "query";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Row Count")
+    @Description("Updated rows of an update, mapped rows of a query")
+    public long rowCount;
+
+    @Label("Transactional")
+    public boolean transactional;
+}
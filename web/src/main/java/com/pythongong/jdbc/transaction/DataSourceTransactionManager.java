@@ -93,6 +93,9 @@ public class DataSourceTransactionManager implements PlatformTransactionManager,
             return invocation.proceed();
         }
 
+        TransactionEvent event = new TransactionEvent();
+        event.begin();
+        String outcome = TransactionEvent.FAILED;
         try (Connection connection = dataSource.getConnection()) {
             connection.setAutoCommit(false);
             connection.setTransactionIsolation(isolationLevel);
@@ -100,10 +103,12 @@ public class DataSourceTransactionManager implements PlatformTransactionManager,
                 LOCAL_STATUS.set(new TransactionStatus(connection));
                 Object result = invocation.proceed();
                 connection.commit();
+                outcome = TransactionEvent.COMMITTED;
                 return result;
             } catch (AopConfigException | SQLException e) {
                 try {
                     connection.rollback();
+                    outcome = TransactionEvent.ROLLED_BACK;
                 } catch (SQLException e1) {
 
                     throw new AopConfigException(String.format("Transaction rollback failed for method {%s} in class {%s}" 
@@ -118,6 +123,14 @@ public class DataSourceTransactionManager implements PlatformTransactionManager,
         } catch (SQLException e) {
             throw new AopConfigException(String.format("Get transactional connection failed for method {%s} in class {%s}" 
             , invocation.method().getName(), invocation.target().getClass().getCanonicalName()));
+        } finally {
+            if (event.shouldCommit()) {
+                event.targetClass = invocation.target().getClass();
+                event.method = invocation.method().getName();
+                event.isolationLevel = isolationLevel;
+                event.outcome = outcome;
+                event.commit();
+            }
         }
     }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.jdbc.transaction;
+
+import com.pythongong.jfr.FrameworkEvents;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for one transaction started by the
+ * {@link DataSourceTransactionManager}, from getting its connection to its
+ * commit or rollback. Methods joining an outer transaction are part of the
+ * outer event.
+ *
+ * @author Cheng Gong
+ * @see FrameworkEvents
+ */
+@Name(TransactionEvent.NAME)
+@Label("Transaction")
+@Category({ FrameworkEvents.CATEGORY, FrameworkEvents.TRANSACTIONS })
+@Description("Transaction of a transactional method")
+@Enabled(false)
+public final class TransactionEvent extends jdk.jfr.Event {
+
+    /** Name of the event */
+    public static final String NAME = FrameworkEvents.PREFIX + "Transaction";
+
+    /** Outcome of a committed transaction */
+    static final String COMMITTED = "committed";
+
+    /** Outcome of a rolled back transaction */
+    static final String ROLLED_BACK = "rolledBack";
+
+    /** Outcome of a transaction which could be neither committed nor rolled back */
+    static final String FAILED = "failed";
+
+    @Label("Target Class")
+    public Class<?> targetClass;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Isolation Level")
+    public int isolationLevel;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -46,6 +46,9 @@ public class ContextLoaderInitialize implements ServletContainerInitializer {
     /** The property resolver for configuration values */
     private final PropertyResolver propertyResolver;
 
+    /** The application context created on startup */
+    private volatile ApplicationContext applicationContext;
+
     /**
      * Constructs a new context loader with the specified configuration.
      * 
@@ -72,9 +75,19 @@ public class ContextLoaderInitialize implements ServletContainerInitializer {
         servletContext.setRequestCharacterEncoding(encoding);
         servletContext.setResponseCharacterEncoding(encoding);
         RestConfiguration.setServletContext(servletContext);
-        ApplicationContext applicationContext = new AnnotationConfigApplicationContext(configClass);
+        applicationContext = new AnnotationConfigApplicationContext(configClass);
         WebUtils.resgisterDispatcher(servletContext, applicationContext);
 
         WebUtils.registerFilters(servletContext, applicationContext);
     }
+
+    /**
+     * Returns the application context created by this initializer.
+     *
+     * @return the application context, or null before the servlet container
+     *         started
+     */
+    public ApplicationContext getApplicationContext() {
+        return applicationContext;
+    }
 }
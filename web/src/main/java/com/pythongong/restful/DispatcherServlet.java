@@ -28,8 +28,10 @@ import java.util.Map;
 import com.pythongong.annotation.GetMapping;
 import com.pythongong.annotation.PostMapping;
 import com.pythongong.annotation.RestController;
+import com.pythongong.beans.scope.RequestScope;
 import com.pythongong.context.ApplicationContext;
 import com.pythongong.context.impl.AnnotationConfigApplicationContext;
+import com.pythongong.context.startup.StartupStep;
 import com.pythongong.exception.WebException;
 import com.pythongong.util.ClassUtils;
 import com.pythongong.utils.JsonUtils;
@@ -61,6 +63,9 @@ import jakarta.servlet.http.HttpServletResponse;
  */
 public class DispatcherServlet extends HttpServlet {
 
+    /** Name of the startup step recording {@link #init()} */
+    public static final String INIT_STEP = "web.dispatcher.init";
+
     /** Default content type for responses */
     private static final String DEFAULT_CONTENT = "application/json";
 
@@ -88,16 +93,19 @@ public class DispatcherServlet extends HttpServlet {
      */
     @Override
     public void init() {
-        Map<String, Object> concreteBeans = ((AnnotationConfigApplicationContext) applicationContext)
-                .getBeansOfType(Object.class);
-        concreteBeans.forEach((name, bean) -> {
-            Class<? extends Object> beanClass = bean.getClass();
-            if (!beanClass.isAnnotationPresent(RestController.class)) {
-                return;
-            }
-            createDispatchers(bean, beanClass);
+        try (StartupStep step = applicationContext.getApplicationStartup().start(INIT_STEP)) {
+            Map<String, Object> concreteBeans = ((AnnotationConfigApplicationContext) applicationContext)
+                    .getBeansOfType(Object.class);
+            concreteBeans.forEach((name, bean) -> {
+                Class<? extends Object> beanClass = bean.getClass();
+                if (!beanClass.isAnnotationPresent(RestController.class)) {
+                    return;
+                }
+                createDispatchers(bean, beanClass);
 
-        });
+            });
+            step.tag("dispatchers", String.valueOf(getDispatchers.size() + postDispatchers.size()));
+        }
     }
 
     /**
@@ -171,18 +179,35 @@ public class DispatcherServlet extends HttpServlet {
     }
 
     /**
-     * Processes requests using the appropriate dispatchers.
+     * Processes requests using the appropriate dispatchers. The request scope
+     * is bound to the serving thread while the request is processed, and its
+     * beans are destroyed afterwards.
      *
      * @param req the HTTP servlet request
      * @param resp the HTTP servlet response
      * @param dispatchers list of dispatchers to try
      */
     private void doService(HttpServletRequest req, HttpServletResponse resp, List<Dispatcher> dispatchers) {
-        dispatchers.forEach(dispatcher -> {
-            if (processReq(req, resp, dispatcher)) {
-                return;
+        RequestDispatchEvent event = new RequestDispatchEvent();
+        event.begin();
+        boolean requestBound = RequestScope.beginRequest();
+        try {
+            dispatchers.forEach(dispatcher -> {
+                if (processReq(req, resp, dispatcher)) {
+                    return;
+                }
+            });
+        } finally {
+            if (event.shouldCommit()) {
+                event.method = req.getMethod();
+                event.uri = req.getRequestURI();
+                event.status = resp.getStatus();
+                event.commit();
             }
-        });
+            if (requestBound) {
+                RequestScope.endRequest();
+            }
+        }
     }
 
     /**
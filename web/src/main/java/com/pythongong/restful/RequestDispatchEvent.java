@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 Cheng Gong
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pythongong.restful;
+
+import com.pythongong.jfr.FrameworkEvents;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for the dispatch of one request by the
+ * {@link DispatcherServlet}, including the handler call and the response
+ * writing.
+ *
+ * @author Cheng Gong
+ * @see FrameworkEvents
+ */
+@Name(RequestDispatchEvent.NAME)
+@Label("Request Dispatch")
+@Category({ FrameworkEvents.CATEGORY, FrameworkEvents.WEB })
+@Description("Dispatch of a request to its handler")
+@Enabled(false)
+@StackTrace(false)
+public final class RequestDispatchEvent extends jdk.jfr.Event {
+
+    /** Name of the event */
+    public static final String NAME = FrameworkEvents.PREFIX + "RequestDispatch";
+
+    @Label("Method")
+    public String method;
+
+    @Label("URI")
+    public String uri;
+
+    @Label("Status")
+    public int status;
+}